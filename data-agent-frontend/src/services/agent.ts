@@ -32,6 +32,7 @@ export interface Agent {
   createTime?: Date;
   updateTime?: Date;
   humanReviewEnabled?: number | boolean; // 0 or 1, default is 0
+  queryFastPathEnabled?: number | boolean; // 0 or 1, default is 0
 }
 
 const API_BASE_URL = '/api/agent';
@@ -107,6 +108,7 @@ class AgentService {
         category: agent.category,
         tags: agent.tags,
         humanReviewEnabled: agent.humanReviewEnabled ? 1 : 0,
+        queryFastPathEnabled: agent.queryFastPathEnabled ? 1 : 0,
       };
       const response = await axios.put<Agent>(`${API_BASE_URL}/${id}`, agentData);
       return response.data;
@@ -28,22 +28,80 @@ interface UpdateDatasourceTablesDto {
   tables?: string[];
 }
 
+export interface SchemaInitJob {
+  jobId: string;
+  agentId: number;
+  datasourceId: number;
+  tableCount: number;
+  status: 'PENDING' | 'RUNNING' | 'SUCCEEDED' | 'FAILED' | 'CANCELLED';
+  phase: 'QUEUED' | 'FOREIGN_KEYS' | 'COLUMNS' | 'SAMPLES' | 'EMBEDDING' | 'DONE';
+  percent: number;
+  completed: number;
+  total: number;
+  message?: string;
+}
+
 const BASE_URL_FUNC = (agentId: string) => `/api/agent/${agentId}/datasources`;
 
 class AgentDatasourceService {
   /**
-   * 初始化数据源Schema
+   * 提交数据源Schema初始化任务
    * @param agentId 智能体ID
    */
-  async initSchema(agentId: string): Promise<ApiResponse<null>> {
+  async initSchema(agentId: string): Promise<ApiResponse<SchemaInitJob>> {
     try {
-      const response = await axios.post<ApiResponse<null>>(`${BASE_URL_FUNC(agentId)}/init`);
+      const response = await axios.post<ApiResponse<SchemaInitJob>>(`${BASE_URL_FUNC(agentId)}/init`);
       return response.data;
     } catch (error) {
       throw new Error(`初始化Schema失败: ${error}`);
     }
   }
 
+  /**
+   * 订阅Schema初始化任务进度，任务结束后返回最终状态
+   * @param agentId 智能体ID
+   * @param jobId 任务ID
+   * @param onProgress 进度回调
+   */
+  watchSchemaInitJob(
+    agentId: string,
+    jobId: string,
+    onProgress: (job: SchemaInitJob) => void,
+  ): Promise<SchemaInitJob> {
+    return new Promise((resolve, reject) => {
+      const source = new EventSource(`${BASE_URL_FUNC(agentId)}/init/jobs/${jobId}/stream`);
+      source.addEventListener('progress', event => {
+        onProgress(JSON.parse((event as MessageEvent<string>).data) as SchemaInitJob);
+      });
+      source.addEventListener('complete', event => {
+        source.close();
+        const job = JSON.parse((event as MessageEvent<string>).data) as SchemaInitJob;
+        onProgress(job);
+        resolve(job);
+      });
+      source.onerror = error => {
+        source.close();
+        reject(new Error(`订阅初始化进度失败: ${error}`));
+      };
+    });
+  }
+
+  /**
+   * 取消Schema初始化任务
+   * @param agentId 智能体ID
+   * @param jobId 任务ID
+   */
+  async cancelSchemaInitJob(agentId: string, jobId: string): Promise<ApiResponse<SchemaInitJob>> {
+    try {
+      const response = await axios.delete<ApiResponse<SchemaInitJob>>(
+        `${BASE_URL_FUNC(agentId)}/init/jobs/${jobId}`,
+      );
+      return response.data;
+    } catch (error) {
+      throw new Error(`取消初始化失败: ${error}`);
+    }
+  }
+
   /**
    * 获取智能体的数据源列表
    * @param agentId 智能体ID
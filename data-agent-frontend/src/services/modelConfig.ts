@@ -23,10 +23,11 @@ export interface ModelConfig {
   apiKey: string;
   baseUrl: string;
   modelName: string;
-  modelType: string; // "CHAT" or "EMBEDDING"
+  modelType: string; // "CHAT"、"EMBEDDING"，或按节点分配的对话模型 "CLASSIFY"、"SQL"、"PLAN"、"REPORT"
   temperature?: number;
   maxTokens?: number;
   isActive?: boolean;
+  poolWeight?: number; // 对话模型负载均衡权重，0表示不参与
   completionsPath?: string; // 对话模型路径
   embeddingsPath?: string; // 嵌入模型路径
 }
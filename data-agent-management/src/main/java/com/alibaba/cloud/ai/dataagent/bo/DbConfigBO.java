@@ -26,6 +26,12 @@ import lombok.NoArgsConstructor;
 @AllArgsConstructor
 public class DbConfigBO {
 
+	/**
+	 * Id of the datasource the configuration was built from, null for ad-hoc
+	 * configurations such as connection tests
+	 */
+	private Integer datasourceId;
+
 	private String schema;
 
 	private String url;
@@ -38,4 +44,14 @@ public class DbConfigBO {
 
 	private String dialectType;
 
+	/**
+	 * Connection pool sizing, falls back to the global defaults when null
+	 */
+	private DbPoolConfigBO poolConfig;
+
+	/**
+	 * Whether query results of this datasource may be served from the result cache
+	 */
+	private boolean resultCacheEnabled;
+
 }
@@ -0,0 +1,58 @@
+/*
+ * Copyright 2024-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.cloud.ai.dataagent.bo;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Point-in-time statistics of one cached analysed-datasource pool.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DbPoolStatsBO {
+
+	/**
+	 * Id of the datasource the pool belongs to, null for pools of ad-hoc configurations
+	 */
+	private Integer datasourceId;
+
+	private String url;
+
+	private String username;
+
+	private int activeCount;
+
+	private int idleCount;
+
+	private int waitThreadCount;
+
+	private int maxActive;
+
+	/**
+	 * Number of connections borrowed since the pool was created
+	 */
+	private long acquireCount;
+
+	private double avgAcquireMillis;
+
+	private long maxAcquireMillis;
+
+}
@@ -0,0 +1,174 @@
+/*
+ * Copyright 2024-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.cloud.ai.dataagent.bo.schema;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Column-oriented query result. Column names are cleaned once, and the values of each
+ * column are held in a single array, so a result with R rows and C columns costs C
+ * arrays instead of R maps.
+ * <p>
+ * {@code values[c][r]} is the value of column {@code c} in row {@code r}; null cells are
+ * stored as empty strings, matching {@link ResultSetBO}.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public final class ColumnarResultSetBO {
+
+	private List<String> column;
+
+	private String[][] values;
+
+	public static ColumnarResultSetBO empty() {
+		return new ColumnarResultSetBO(new ArrayList<>(), new String[0][]);
+	}
+
+	public int columnCount() {
+		return column == null ? 0 : column.size();
+	}
+
+	public int rowCount() {
+		return values == null || values.length == 0 ? 0 : values[0].length;
+	}
+
+	public int indexOf(String columnName) {
+		return column == null ? -1 : column.indexOf(columnName);
+	}
+
+	public String valueAt(int row, int columnIndex) {
+		return values[columnIndex][row];
+	}
+
+	/**
+	 * Values of one column, or an empty list when the column does not exist.
+	 */
+	public List<String> columnValues(String columnName) {
+		int idx = indexOf(columnName);
+		return idx < 0 ? Collections.emptyList() : Arrays.asList(values[idx]);
+	}
+
+	/**
+	 * First {@code limit} rows of this result, sharing no arrays with it.
+	 */
+	public ColumnarResultSetBO head(int limit) {
+		return slice(0, limit);
+	}
+
+	/**
+	 * Rows {@code [from, to)} of this result, clamped to the available rows and sharing no
+	 * arrays with it.
+	 */
+	public ColumnarResultSetBO slice(int from, int to) {
+		int start = Math.min(Math.max(from, 0), rowCount());
+		int end = Math.min(Math.max(to, start), rowCount());
+		String[][] sliced = new String[columnCount()][];
+		for (int c = 0; c < sliced.length; c++) {
+			sliced[c] = Arrays.copyOfRange(values[c], start, end);
+		}
+		return new ColumnarResultSetBO(new ArrayList<>(column), sliced);
+	}
+
+	/**
+	 * Materialize rows as maps, the shape used by {@link ResultSetBO#getData()}.
+	 */
+	public List<Map<String, String>> toRowMaps() {
+		int rows = rowCount();
+		int cols = columnCount();
+		List<Map<String, String>> data = new ArrayList<>(rows);
+		for (int r = 0; r < rows; r++) {
+			Map<String, String> kv = new HashMap<>((int) (cols / 0.75f) + 1);
+			for (int c = 0; c < cols; c++) {
+				kv.put(column.get(c), values[c][r]);
+			}
+			data.add(kv);
+		}
+		return data;
+	}
+
+	/**
+	 * Adapter to the row-oriented {@link ResultSetBO} for existing callers.
+	 */
+	public ResultSetBO toResultSetBO() {
+		return ResultSetBO.builder().column(new ArrayList<>(column)).data(toRowMaps()).build();
+	}
+
+	/**
+	 * Write the rows as a JSON array of objects without building intermediate maps.
+	 * @param objectMapper mapper providing the JSON factory
+	 * @return JSON string such as {@code [{"a":"1"},{"a":"2"}]}
+	 */
+	public String toJsonRows(ObjectMapper objectMapper) throws IOException {
+		StringWriter writer = new StringWriter();
+		try (JsonGenerator generator = objectMapper.getFactory().createGenerator(writer)) {
+			writeRows(generator);
+		}
+		return writer.toString();
+	}
+
+	/**
+	 * Write this result in the JSON shape of {@link ResultSetBO}, which the frontend
+	 * renders, without building intermediate maps.
+	 * @param objectMapper mapper providing the JSON factory
+	 * @return JSON string with {@code column}, {@code data} and {@code errorMsg} fields
+	 */
+	public String toResultSetJson(ObjectMapper objectMapper) throws IOException {
+		StringWriter writer = new StringWriter();
+		try (JsonGenerator generator = objectMapper.getFactory().createGenerator(writer)) {
+			generator.writeStartObject();
+			generator.writeArrayFieldStart("column");
+			for (String name : column) {
+				generator.writeString(name);
+			}
+			generator.writeEndArray();
+			generator.writeFieldName("data");
+			writeRows(generator);
+			generator.writeNullField("errorMsg");
+			generator.writeEndObject();
+		}
+		return writer.toString();
+	}
+
+	private void writeRows(JsonGenerator generator) throws IOException {
+		int rows = rowCount();
+		int cols = columnCount();
+		generator.writeStartArray();
+		for (int r = 0; r < rows; r++) {
+			generator.writeStartObject();
+			for (int c = 0; c < cols; c++) {
+				generator.writeStringField(column.get(c), values[c][r]);
+			}
+			generator.writeEndObject();
+		}
+		generator.writeEndArray();
+	}
+
+}
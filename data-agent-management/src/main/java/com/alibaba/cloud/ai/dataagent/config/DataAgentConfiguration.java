@@ -16,12 +16,18 @@
 
 package com.alibaba.cloud.ai.dataagent.config;
 
+import com.alibaba.cloud.ai.dataagent.dto.ModelConfigDTO;
+import com.alibaba.cloud.ai.dataagent.enums.ModelType;
 import com.alibaba.cloud.ai.dataagent.properties.CodeExecutorProperties;
 import com.alibaba.cloud.ai.dataagent.properties.DataAgentProperties;
 import com.alibaba.cloud.ai.dataagent.properties.FileStorageProperties;
 import com.alibaba.cloud.ai.dataagent.util.McpServerToolUtil;
 import com.alibaba.cloud.ai.dataagent.util.NodeBeanUtil;
 import com.alibaba.cloud.ai.dataagent.service.aimodelconfig.AiModelRegistry;
+import com.alibaba.cloud.ai.dataagent.service.aimodelconfig.EmbeddingCache;
+import com.alibaba.cloud.ai.dataagent.service.aimodelconfig.ModelConfigDataService;
+import com.alibaba.cloud.ai.dataagent.service.vectorstore.IndexedSimpleVectorStore;
+import com.alibaba.cloud.ai.dataagent.service.vectorstore.SnapshotSimpleVectorStore;
 import com.alibaba.cloud.ai.dataagent.strategy.EnhancedTokenCountBatchingStrategy;
 import com.alibaba.cloud.ai.dataagent.workflow.dispatcher.*;
 import com.alibaba.cloud.ai.dataagent.workflow.node.*;
@@ -42,7 +48,6 @@ import org.springframework.ai.tool.resolution.StaticToolCallbackResolver;
 import org.springframework.ai.tool.resolution.ToolCallbackResolver;
 import org.springframework.ai.transformer.splitter.TextSplitter;
 import org.springframework.ai.transformer.splitter.TokenTextSplitter;
-import org.springframework.ai.vectorstore.SimpleVectorStore;
 import org.springframework.ai.vectorstore.VectorStore;
 import org.springframework.aop.TargetSource;
 import org.springframework.aop.framework.ProxyFactory;
@@ -59,13 +64,16 @@ import org.springframework.context.annotation.Primary;
 import org.springframework.context.support.GenericApplicationContext;
 import org.springframework.http.client.reactive.ReactorClientHttpConnector;
 import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.util.StringUtils;
 import org.springframework.web.reactive.function.client.WebClient;
 import reactor.netty.http.client.HttpClient;
 
+import java.nio.file.Path;
 import java.time.Duration;
 import java.util.*;
 import java.util.concurrent.*;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
 
 import static com.alibaba.cloud.ai.dataagent.constant.Constant.*;
 import static com.alibaba.cloud.ai.graph.StateGraph.END;
@@ -119,12 +127,18 @@ public class DataAgentConfiguration implements DisposableBean {
 			keyStrategyHashMap.put(INPUT_KEY, KeyStrategy.REPLACE);
 			// Agent ID
 			keyStrategyHashMap.put(AGENT_ID, KeyStrategy.REPLACE);
+			// Graph thread ID
+			keyStrategyHashMap.put(THREAD_ID, KeyStrategy.REPLACE);
 			// Multi-turn context
 			keyStrategyHashMap.put(MULTI_TURN_CONTEXT, KeyStrategy.REPLACE);
 			// Intent recognition
 			keyStrategyHashMap.put(INTENT_RECOGNITION_NODE_OUTPUT, KeyStrategy.REPLACE);
 			// QUERY_ENHANCE_NODE节点输出
 			keyStrategyHashMap.put(QUERY_ENHANCE_NODE_OUTPUT, KeyStrategy.REPLACE);
+			// 查询理解快速路径
+			keyStrategyHashMap.put(QUERY_FAST_PATH_ENABLED, KeyStrategy.REPLACE);
+			keyStrategyHashMap.put(QUERY_UNDERSTANDING_NODE_OUTPUT, KeyStrategy.REPLACE);
+			keyStrategyHashMap.put(QUERY_START_TIME, KeyStrategy.REPLACE);
 			// Semantic model
 			keyStrategyHashMap.put(GENEGRATED_SEMANTIC_MODEL_PROMPT, KeyStrategy.REPLACE);
 			// EVIDENCE节点输出
@@ -143,6 +157,7 @@ public class DataAgentConfiguration implements DisposableBean {
 			keyStrategyHashMap.put(SQL_GENERATE_OUTPUT, KeyStrategy.REPLACE);
 			keyStrategyHashMap.put(SQL_GENERATE_COUNT, KeyStrategy.REPLACE);
 			keyStrategyHashMap.put(SQL_REGENERATE_REASON, KeyStrategy.REPLACE);
+			keyStrategyHashMap.put(SQL_EXECUTE_BUSY, KeyStrategy.REPLACE);
 			// Semantic consistence节点输出
 			keyStrategyHashMap.put(SEMANTIC_CONSISTENCY_NODE_OUTPUT, KeyStrategy.REPLACE);
 			// Planner 节点输出
@@ -174,6 +189,7 @@ public class DataAgentConfiguration implements DisposableBean {
 
 		StateGraph stateGraph = new StateGraph(NL2SQL_GRAPH_NAME, keyStrategyFactory)
 			.addNode(INTENT_RECOGNITION_NODE, nodeBeanUtil.getNodeBeanAsync(IntentRecognitionNode.class))
+			.addNode(QUERY_UNDERSTANDING_NODE, nodeBeanUtil.getNodeBeanAsync(QueryUnderstandingNode.class))
 			.addNode(EVIDENCE_RECALL_NODE, nodeBeanUtil.getNodeBeanAsync(EvidenceRecallNode.class))
 			.addNode(QUERY_ENHANCE_NODE, nodeBeanUtil.getNodeBeanAsync(QueryEnhanceNode.class))
 			.addNode(SCHEMA_RECALL_NODE, nodeBeanUtil.getNodeBeanAsync(SchemaRecallNode.class))
@@ -190,10 +206,17 @@ public class DataAgentConfiguration implements DisposableBean {
 			.addNode(SEMANTIC_CONSISTENCY_NODE, nodeBeanUtil.getNodeBeanAsync(SemanticConsistencyNode.class))
 			.addNode(HUMAN_FEEDBACK_NODE, nodeBeanUtil.getNodeBeanAsync(HumanFeedbackNode.class));
 
-		stateGraph.addEdge(START, INTENT_RECOGNITION_NODE)
+		stateGraph
+			.addConditionalEdges(START, edge_async(new EntryDispatcher()),
+					Map.of(INTENT_RECOGNITION_NODE, INTENT_RECOGNITION_NODE, QUERY_UNDERSTANDING_NODE,
+							QUERY_UNDERSTANDING_NODE))
 			.addConditionalEdges(INTENT_RECOGNITION_NODE, edge_async(new IntentRecognitionDispatcher()),
 					Map.of(EVIDENCE_RECALL_NODE, EVIDENCE_RECALL_NODE, END, END))
-			.addEdge(EVIDENCE_RECALL_NODE, QUERY_ENHANCE_NODE)
+			// 快速路径：一次调用完成意图识别、查询重写和查询增强
+			.addConditionalEdges(QUERY_UNDERSTANDING_NODE, edge_async(new QueryUnderstandingDispatcher()),
+					Map.of(EVIDENCE_RECALL_NODE, EVIDENCE_RECALL_NODE, END, END))
+			.addConditionalEdges(EVIDENCE_RECALL_NODE, edge_async(new EvidenceRecallDispatcher()),
+					Map.of(QUERY_ENHANCE_NODE, QUERY_ENHANCE_NODE, SCHEMA_RECALL_NODE, SCHEMA_RECALL_NODE))
 			.addConditionalEdges(QUERY_ENHANCE_NODE, edge_async(new QueryEnhanceDispatcher()),
 					Map.of(SCHEMA_RECALL_NODE, SCHEMA_RECALL_NODE, END, END))
 			.addConditionalEdges(SCHEMA_RECALL_NODE, edge_async(new SchemaRecallDispatcher()),
@@ -241,7 +264,7 @@ public class DataAgentConfiguration implements DisposableBean {
 			.addConditionalEdges(SEMANTIC_CONSISTENCY_NODE, edge_async(new SemanticConsistenceDispatcher()),
 					Map.of(SQL_GENERATE_NODE, SQL_GENERATE_NODE, SQL_EXECUTE_NODE, SQL_EXECUTE_NODE))
 			.addConditionalEdges(SQL_EXECUTE_NODE, edge_async(new SQLExecutorDispatcher()),
-					Map.of(SQL_GENERATE_NODE, SQL_GENERATE_NODE, PLAN_EXECUTOR_NODE, PLAN_EXECUTOR_NODE));
+					Map.of(SQL_GENERATE_NODE, SQL_GENERATE_NODE, PLAN_EXECUTOR_NODE, PLAN_EXECUTOR_NODE, END, END));
 
 		GraphRepresentation graphRepresentation = stateGraph.getGraph(GraphRepresentation.Type.PLANTUML,
 				"workflow graph");
@@ -260,8 +283,28 @@ public class DataAgentConfiguration implements DisposableBean {
 	@Bean
 	@ConditionalOnMissingBean(VectorStore.class)
 	@ConditionalOnProperty(name = "spring.ai.vectorstore.type", havingValue = "simple", matchIfMissing = true)
-	public VectorStore simpleVectorStore(EmbeddingModel embeddingModel) {
-		return SimpleVectorStore.builder(embeddingModel).build();
+	public VectorStore simpleVectorStore(EmbeddingModel embeddingModel, DataAgentProperties properties,
+			ModelConfigDataService modelConfigDataService) {
+		DataAgentProperties.VectorStoreProperties config = properties.getVectorStore();
+		IndexedSimpleVectorStore.AnnOptions annOptions = config.isAnnIndexEnabled()
+				? new IndexedSimpleVectorStore.AnnOptions(config.getAnnM(), config.getAnnEfConstruction(),
+						config.getAnnEfSearch(), config.getAnnRerankMultiplier(), config.getAnnExactSearchThreshold())
+				: null;
+		if (!config.isSnapshotEnabled()) {
+			return new IndexedSimpleVectorStore(embeddingModel, annOptions);
+		}
+		String snapshotPath = config.getSnapshotPath();
+		if (!StringUtils.hasText(snapshotPath) || !Path.of(snapshotPath).isAbsolute()) {
+			throw new IllegalStateException(
+					"vector-store.snapshot-path must be an absolute path when snapshots are enabled: " + snapshotPath);
+		}
+		// 持久化到本地快照文件，重启后无需重新调用嵌入模型；快照记录写入向量的嵌入模型，切换模型后丢弃
+		Supplier<String> modelKey = () -> {
+			ModelConfigDTO embeddingConfig = modelConfigDataService.getActiveConfigByType(ModelType.EMBEDDING);
+			return embeddingConfig == null ? "" : EmbeddingCache.modelKey(embeddingConfig);
+		};
+		return new SnapshotSimpleVectorStore(embeddingModel, Path.of(snapshotPath), modelKey,
+				config.getSnapshotCompactMinRecords(), annOptions);
 	}
 
 	@Bean
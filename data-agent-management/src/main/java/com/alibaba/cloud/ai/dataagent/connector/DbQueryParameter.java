@@ -47,6 +47,11 @@ public class DbQueryParameter {
 
 	private String sql;
 
+	/**
+	 * Runtime handle for cancelling the query, not part of the query identity.
+	 */
+	private SqlCancellation cancellation;
+
 	public DbQueryParameter() {
 	}
 
@@ -175,6 +180,24 @@ public class DbQueryParameter {
 		return this;
 	}
 
+	public SqlCancellation getCancellation() {
+		return cancellation;
+	}
+
+	public DbQueryParameter setCancellation(SqlCancellation cancellation) {
+		this.cancellation = cancellation;
+		return this;
+	}
+
+	/**
+	 * Copy of the query without its cancellation handle, for work that outlives the
+	 * request, such as a background refresh of a cached result.
+	 */
+	public DbQueryParameter withoutCancellation() {
+		return new DbQueryParameter(aliuid, workspaceId, region, secretArn, dbInstanceId, database, schema, table,
+				tablePattern, tables, column, sql);
+	}
+
 	public static DbQueryParameter from(DbConfigBO config) {
 		DbQueryParameter param = new DbQueryParameter();
 		BeanUtils.copyProperties(config, param);
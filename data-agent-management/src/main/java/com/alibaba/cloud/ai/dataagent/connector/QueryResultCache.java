@@ -0,0 +1,352 @@
+/*
+ * Copyright 2024-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.cloud.ai.dataagent.connector;
+
+import com.alibaba.cloud.ai.dataagent.bo.DbConfigBO;
+import com.alibaba.cloud.ai.dataagent.bo.schema.ColumnarResultSetBO;
+import com.alibaba.cloud.ai.dataagent.properties.DataAgentProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Cache of query results keyed by datasource (url and username), schema and normalized
+ * SQL. Only datasources with {@link DbConfigBO#isResultCacheEnabled()} and queries that
+ * are known to be read-only are cached, see {@link #isReadOnly(String)}. Entries live for
+ * {@code ttl-seconds}; for a further {@code stale-while-revalidate-seconds} the stale
+ * result is returned while a single background refresh reloads it. The total estimated size is bounded by
+ * {@code max-bytes}, evicting least recently used entries first.
+ */
+@Slf4j
+@Component
+public class QueryResultCache {
+
+	private static final String METRIC_PREFIX = "data-agent.query-result-cache.";
+
+	private static final Set<String> WRITE_KEYWORDS = Set.of("insert", "update", "delete", "merge", "upsert",
+			"truncate", "drop", "alter", "create", "grant", "revoke", "call", "exec", "execute", "into", "lock");
+
+	private static final Set<String> LOCKING_KEYWORDS = Set.of("update", "share", "no", "key");
+
+	/**
+	 * Words that may precede a parenthesis in a read-only query: SQL keywords and built-in
+	 * functions without side effects whose result only depends on their arguments (or,
+	 * like {@code now}, on the time, which the cache TTL already accounts for).
+	 */
+	private static final Set<String> SAFE_FUNCTIONS = Set.of(
+			// keywords
+			"select", "from", "where", "and", "or", "not", "in", "exists", "as", "on", "join", "using", "when", "then",
+			"else", "over", "filter", "within", "by", "values", "any", "all", "some", "having", "union", "intersect",
+			"except", "lateral", "case", "is", "between", "like", "distinct", "limit", "offset", "with", "array", "row",
+			// aggregate and window functions
+			"count", "sum", "avg", "min", "max", "stddev", "stddev_pop", "stddev_samp", "variance", "var_pop",
+			"var_samp", "group_concat", "string_agg", "array_agg", "listagg", "percentile_cont", "percentile_disc",
+			"row_number", "rank", "dense_rank", "percent_rank", "cume_dist", "ntile", "lag", "lead", "first_value",
+			"last_value", "nth_value",
+			// conditional and conversion functions
+			"coalesce", "ifnull", "nvl", "nullif", "if", "greatest", "least", "cast", "convert", "decimal", "numeric",
+			"varchar", "char", "to_char", "to_number", "to_date", "to_timestamp",
+			// math functions
+			"abs", "round", "floor", "ceil", "ceiling", "mod", "power", "pow", "sqrt", "ln", "log", "log10", "exp",
+			"sign", "trunc",
+			// string functions
+			"lower", "upper", "length", "char_length", "character_length", "substr", "substring", "trim", "ltrim",
+			"rtrim", "concat", "concat_ws", "replace", "left", "right", "lpad", "rpad", "position", "instr", "locate",
+			"split_part", "regexp_replace", "reverse", "json_extract", "json_unquote",
+			// date and time functions
+			"date", "date_format", "date_trunc", "date_part", "extract", "year", "quarter", "month", "week", "day",
+			"hour", "minute", "second", "now", "current_date", "current_timestamp", "datediff", "date_add", "date_sub",
+			"adddate", "subdate", "timestampdiff", "timestampadd", "str_to_date", "unix_timestamp", "from_unixtime",
+			"last_day", "dayofweek", "dayofmonth", "dayofyear", "weekofyear", "age");
+
+	private final long ttlMillis;
+
+	private final long staleMillis;
+
+	private final long maxBytes;
+
+	private final ExecutorService refreshExecutor;
+
+	private final LinkedHashMap<String, CachedResult> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+	private final Set<String> refreshing = ConcurrentHashMap.newKeySet();
+
+	private long totalBytes;
+
+	private final Counter hitCounter;
+
+	private final Counter staleHitCounter;
+
+	private final Counter missCounter;
+
+	public QueryResultCache(DataAgentProperties properties,
+			@Qualifier("dbOperationExecutor") ExecutorService refreshExecutor, MeterRegistry meterRegistry) {
+		DataAgentProperties.QueryResultCache config = properties.getQueryResultCache();
+		this.ttlMillis = config.getTtlSeconds() * 1000;
+		this.staleMillis = config.getStaleWhileRevalidateSeconds() * 1000;
+		this.maxBytes = config.getMaxBytes();
+		this.refreshExecutor = refreshExecutor;
+		this.hitCounter = Counter.builder(METRIC_PREFIX + "requests").tag("result", "hit").register(meterRegistry);
+		this.staleHitCounter = Counter.builder(METRIC_PREFIX + "requests")
+			.tag("result", "stale")
+			.register(meterRegistry);
+		this.missCounter = Counter.builder(METRIC_PREFIX + "requests").tag("result", "miss").register(meterRegistry);
+		Gauge.builder(METRIC_PREFIX + "bytes", this, QueryResultCache::currentBytes)
+			.description("Estimated size of cached query results")
+			.baseUnit("bytes")
+			.register(meterRegistry);
+	}
+
+	/**
+	 * Return the cached result of the query, or run {@code loader} and cache its result.
+	 * @param dbConfig datasource the query runs against
+	 * @param schema schema the query runs in
+	 * @param sql the query
+	 * @param loader executes the query for the calling request
+	 * @param refresher executes the query for a background refresh; it must not depend on
+	 * the calling request (e.g. its cancellation), which may be over when the refresh runs
+	 * @return query result, possibly shared with other callers and not to be modified
+	 */
+	public ColumnarResultSetBO get(DbConfigBO dbConfig, String schema, String sql,
+			Callable<ColumnarResultSetBO> loader, Callable<ColumnarResultSetBO> refresher) throws Exception {
+		String normalizedSql = normalizeSql(sql);
+		if (!dbConfig.isResultCacheEnabled() || !isReadOnly(normalizedSql)) {
+			return loader.call();
+		}
+		String key = datasourcePrefix(dbConfig.getUrl(), dbConfig.getUsername()) + schema + "|" + normalizedSql;
+		CachedResult cached = lookup(key);
+		if (cached != null) {
+			long age = System.currentTimeMillis() - cached.createdAt();
+			if (age <= ttlMillis) {
+				hitCounter.increment();
+				return cached.result();
+			}
+			if (age <= ttlMillis + staleMillis) {
+				staleHitCounter.increment();
+				refreshAsync(key, refresher);
+				return cached.result();
+			}
+		}
+		missCounter.increment();
+		ColumnarResultSetBO result = loader.call();
+		put(key, result);
+		return result;
+	}
+
+	/**
+	 * Drop all cached results of the given datasource.
+	 */
+	public synchronized void invalidate(String url, String username) {
+		String prefix = datasourcePrefix(url, username);
+		Iterator<Map.Entry<String, CachedResult>> it = entries.entrySet().iterator();
+		while (it.hasNext()) {
+			Map.Entry<String, CachedResult> entry = it.next();
+			if (entry.getKey().startsWith(prefix)) {
+				totalBytes -= entry.getValue().bytes();
+				it.remove();
+			}
+		}
+	}
+
+	public synchronized long currentBytes() {
+		return totalBytes;
+	}
+
+	private void refreshAsync(String key, Callable<ColumnarResultSetBO> refresher) {
+		if (!refreshing.add(key)) {
+			return;
+		}
+		try {
+			refreshExecutor.execute(() -> {
+				try {
+					put(key, refresher.call());
+				}
+				catch (Exception e) {
+					log.warn("Failed to refresh cached query result: {}", e.getMessage());
+				}
+				finally {
+					refreshing.remove(key);
+				}
+			});
+		}
+		catch (RejectedExecutionException e) {
+			refreshing.remove(key);
+		}
+	}
+
+	private synchronized CachedResult lookup(String key) {
+		CachedResult cached = entries.get(key);
+		if (cached != null && System.currentTimeMillis() - cached.createdAt() > ttlMillis + staleMillis) {
+			entries.remove(key);
+			totalBytes -= cached.bytes();
+			return null;
+		}
+		return cached;
+	}
+
+	private synchronized void put(String key, ColumnarResultSetBO result) {
+		long bytes = estimateBytes(key, result);
+		if (bytes > maxBytes) {
+			return;
+		}
+		CachedResult previous = entries.put(key, new CachedResult(result, System.currentTimeMillis(), bytes));
+		if (previous != null) {
+			totalBytes -= previous.bytes();
+		}
+		totalBytes += bytes;
+		Iterator<CachedResult> it = entries.values().iterator();
+		while (totalBytes > maxBytes && it.hasNext()) {
+			totalBytes -= it.next().bytes();
+			it.remove();
+		}
+	}
+
+	private static String datasourcePrefix(String url, String username) {
+		return url + "|" + username + "|";
+	}
+
+	/**
+	 * Collapse whitespace and lower-case the SQL outside of quoted literals and
+	 * identifiers, and drop trailing semicolons, so that equivalent spellings share a
+	 * cache entry.
+	 */
+	static String normalizeSql(String sql) {
+		StringBuilder sb = new StringBuilder(sql.length());
+		char quote = 0;
+		boolean pendingSpace = false;
+		for (int i = 0; i < sql.length(); i++) {
+			char c = sql.charAt(i);
+			if (quote != 0) {
+				sb.append(c);
+				if (c == quote) {
+					quote = 0;
+				}
+				continue;
+			}
+			if (Character.isWhitespace(c)) {
+				pendingSpace = sb.length() > 0;
+				continue;
+			}
+			if (pendingSpace) {
+				sb.append(' ');
+				pendingSpace = false;
+			}
+			if (c == '\'' || c == '"' || c == '`') {
+				quote = c;
+				sb.append(c);
+			}
+			else {
+				sb.append(Character.toLowerCase(c));
+			}
+		}
+		int end = sb.length();
+		while (end > 0 && (sb.charAt(end - 1) == ';' || sb.charAt(end - 1) == ' ')) {
+			end--;
+		}
+		sb.setLength(end);
+		return sb.toString();
+	}
+
+	/**
+	 * Conservative check that the normalized SQL is a single read-only query whose result
+	 * only depends on the data. Rejects data-modifying CTEs ({@code WITH ... DELETE}),
+	 * {@code SELECT ... INTO}, locking reads ({@code FOR UPDATE/SHARE}), multiple
+	 * statements and comments, and calls to functions outside {@link #SAFE_FUNCTIONS}, as
+	 * these may have side effects ({@code nextval}, user-defined functions) or return a
+	 * different result on every call ({@code rand}).
+	 */
+	static boolean isReadOnly(String normalizedSql) {
+		if (!normalizedSql.startsWith("select") && !normalizedSql.startsWith("with")) {
+			return false;
+		}
+		String previousWord = null;
+		int length = normalizedSql.length();
+		int i = 0;
+		while (i < length) {
+			char c = normalizedSql.charAt(i);
+			if (c == '\'' || c == '"' || c == '`') {
+				int close = normalizedSql.indexOf(c, i + 1);
+				if (close < 0 || (c != '\'' && nextNonSpace(normalizedSql, close + 1) == '(')) {
+					return false;
+				}
+				i = close + 1;
+				continue;
+			}
+			if (c == ';' || c == '#' || normalizedSql.startsWith("--", i) || normalizedSql.startsWith("/*", i)) {
+				return false;
+			}
+			if (!Character.isLetter(c) && c != '_') {
+				i++;
+				continue;
+			}
+			int start = i;
+			while (i < length && isWordChar(normalizedSql.charAt(i))) {
+				i++;
+			}
+			String word = normalizedSql.substring(start, i);
+			if (WRITE_KEYWORDS.contains(word) || ("for".equals(previousWord) && LOCKING_KEYWORDS.contains(word))) {
+				return false;
+			}
+			if (nextNonSpace(normalizedSql, i) == '(' && !SAFE_FUNCTIONS.contains(word)) {
+				return false;
+			}
+			previousWord = word;
+		}
+		return true;
+	}
+
+	private static boolean isWordChar(char c) {
+		return Character.isLetterOrDigit(c) || c == '_' || c == '$';
+	}
+
+	private static char nextNonSpace(String sql, int from) {
+		int i = from;
+		while (i < sql.length() && sql.charAt(i) == ' ') {
+			i++;
+		}
+		return i < sql.length() ? sql.charAt(i) : 0;
+	}
+
+	private static long estimateBytes(String key, ColumnarResultSetBO result) {
+		long bytes = 64 + 2L * key.length();
+		for (String name : result.getColumn()) {
+			bytes += 40 + 2L * name.length();
+		}
+		for (String[] column : result.getValues()) {
+			bytes += 16 + 8L * column.length;
+			for (String value : column) {
+				bytes += 40 + 2L * value.length();
+			}
+		}
+		return bytes;
+	}
+
+	private record CachedResult(ColumnarResultSetBO result, long createdAt, long bytes) {
+	}
+
+}
@@ -15,66 +15,130 @@
  */
 package com.alibaba.cloud.ai.dataagent.connector;
 
+import com.alibaba.cloud.ai.dataagent.bo.schema.ColumnarResultSetBO;
 import com.alibaba.cloud.ai.dataagent.bo.schema.ResultSetBO;
-import org.apache.commons.compress.utils.Lists;
+import com.alibaba.cloud.ai.dataagent.util.JsonUtil;
+import com.fasterxml.jackson.core.JsonGenerator;
 import org.apache.commons.lang3.StringUtils;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.sql.ResultSet;
 import java.sql.ResultSetMetaData;
 import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
+import java.util.stream.Collectors;
 
 public class ResultSetBuilder {
 
+	/**
+	 * Initial capacity of each column buffer, grown on demand up to the row limit.
+	 */
+	private static final int INITIAL_COLUMN_CAPACITY = 64;
+
 	public static ResultSetBO buildFrom(ResultSet rs, String schema) throws SQLException {
+		return buildColumnarFrom(rs).toResultSetBO();
+	}
+
+	/**
+	 * Read the result set column by column with index-based access. Column names are
+	 * cleaned once instead of once per row.
+	 * @param rs open result set, positioned before the first row
+	 * @return columnar result holding at most {@link SqlExecutor#RESULT_SET_LIMIT} rows
+	 * @throws SQLException if reading the result set fails
+	 */
+	public static ColumnarResultSetBO buildColumnarFrom(ResultSet rs) throws SQLException {
 		ResultSetMetaData data = rs.getMetaData();
 		int columnsCount = data.getColumnCount();
-		ResultSetBO resultSetBO = new ResultSetBO();
 		String[] rowHead = new String[columnsCount];
 
 		for (int i = 1; i <= columnsCount; i++) {
 			rowHead[i - 1] = data.getColumnLabel(i);
 		}
 
-		List<Map<String, String>> resultSetData = Lists.newArrayList();
-		int count = 0;
+		List<List<String>> columnBuffers = new ArrayList<>(columnsCount);
+		for (int i = 0; i < columnsCount; i++) {
+			columnBuffers.add(new ArrayList<>(INITIAL_COLUMN_CAPACITY));
+		}
 
-		while (rs.next() && count < SqlExecutor.RESULT_SET_LIMIT) {
-			Map<String, String> kv = new HashMap<>();
-			for (String h : rowHead) {
-				kv.put(h, rs.getString(h) == null ? "" : rs.getString(h));
+		int count = 0;
+		while (count < SqlExecutor.RESULT_SET_LIMIT && rs.next()) {
+			for (int i = 1; i <= columnsCount; i++) {
+				String value = rs.getString(i);
+				columnBuffers.get(i - 1).add(value == null ? "" : value);
 			}
-			resultSetData.add(kv);
 			count++;
 		}
 
-		// Clean column names
-		List<String> cleanedHead = cleanColumnNames(Arrays.asList(rowHead));
-		List<Map<String, String>> cleanedData = cleanResultSet(resultSetData);
-
-		resultSetBO.setColumn(cleanedHead);
-		resultSetBO.setData(cleanedData);
+		String[][] values = new String[columnsCount][];
+		for (int i = 0; i < columnsCount; i++) {
+			values[i] = columnBuffers.get(i).toArray(new String[0]);
+		}
 
-		return resultSetBO;
+		return new ColumnarResultSetBO(cleanColumnNames(Arrays.asList(rowHead)), values);
 	}
 
-	private static List<String> cleanColumnNames(List<String> columnNames) {
-		return columnNames.stream().map(name -> StringUtils.remove(StringUtils.remove(name, "`"), "\"")).toList();
+	/**
+	 * Stream the result set into a spool file as a JSON array of row objects, keeping
+	 * only the first rows in memory.
+	 * @param rs open result set, positioned before the first row
+	 * @param file spool file, created or truncated
+	 * @param previewRows number of leading rows kept in memory
+	 * @param maxRows maximum number of rows written to the file
+	 * @return spool describing the written file
+	 * @throws SQLException if reading the result set fails
+	 * @throws IOException if writing the spool file fails
+	 */
+	public static ResultSpool spoolFrom(ResultSet rs, Path file, int previewRows, int maxRows)
+			throws SQLException, IOException {
+		ResultSetMetaData data = rs.getMetaData();
+		int columnsCount = data.getColumnCount();
+		List<String> rowHead = new ArrayList<>(columnsCount);
+		for (int i = 1; i <= columnsCount; i++) {
+			rowHead.add(data.getColumnLabel(i));
+		}
+		List<String> columnNames = cleanColumnNames(rowHead);
+
+		List<List<String>> previewBuffers = new ArrayList<>(columnsCount);
+		for (int i = 0; i < columnsCount; i++) {
+			previewBuffers.add(new ArrayList<>(INITIAL_COLUMN_CAPACITY));
+		}
+
+		long count = 0;
+		try (OutputStream out = Files.newOutputStream(file);
+				JsonGenerator generator = JsonUtil.getObjectMapper().getFactory().createGenerator(out)) {
+			generator.writeStartArray();
+			while (count < maxRows && rs.next()) {
+				generator.writeStartObject();
+				for (int i = 1; i <= columnsCount; i++) {
+					String value = rs.getString(i);
+					value = value == null ? "" : value;
+					generator.writeStringField(columnNames.get(i - 1), value);
+					if (count < previewRows) {
+						previewBuffers.get(i - 1).add(value);
+					}
+				}
+				generator.writeEndObject();
+				count++;
+			}
+			generator.writeEndArray();
+		}
+
+		String[][] values = new String[columnsCount][];
+		for (int i = 0; i < columnsCount; i++) {
+			values[i] = previewBuffers.get(i).toArray(new String[0]);
+		}
+		return new ResultSpool(file, new ColumnarResultSetBO(columnNames, values), count);
 	}
 
-	private static List<Map<String, String>> cleanResultSet(List<Map<String, String>> data) {
-		return data.stream().map(row -> {
-			Map<String, String> cleanedRow = new HashMap<>();
-			row.forEach((k, v) -> {
-				String cleanedKey = StringUtils.remove(k, "`");
-				cleanedKey = StringUtils.remove(cleanedKey, "\"");
-				cleanedRow.put(cleanedKey, v);
-			});
-			return cleanedRow;
-		}).toList();
+	private static List<String> cleanColumnNames(List<String> columnNames) {
+		return columnNames.stream()
+			.map(name -> StringUtils.remove(StringUtils.remove(name, "`"), "\""))
+			.collect(Collectors.toCollection(ArrayList::new));
 	}
 
 }
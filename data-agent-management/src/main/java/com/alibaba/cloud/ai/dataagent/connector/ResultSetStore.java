@@ -0,0 +1,196 @@
+/*
+ * Copyright 2024-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.cloud.ai.dataagent.connector;
+
+import com.alibaba.cloud.ai.dataagent.bo.schema.ColumnarResultSetBO;
+import com.alibaba.cloud.ai.dataagent.properties.DataAgentProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Holds query results of in-flight graph runs so that graph state only carries a short
+ * handle instead of a copy of the rows. Every checkpoint of the state would otherwise
+ * duplicate the whole result. A result is either held in memory or spooled to a file
+ * (see {@link ResultSpool}). Entries are released explicitly when replaced, together with
+ * the other results of their thread when the thread's graph run ends, or dropped once they
+ * have not been read for {@code result-retention-minutes}; spool files are deleted with
+ * their entry.
+ */
+@Slf4j
+@Component
+public class ResultSetStore implements DisposableBean {
+
+	private static final String SPOOL_FILE_PREFIX = "result-spool-";
+
+	private final long retentionMillis;
+
+	private final String spoolDirectory;
+
+	private final Map<String, StoredResult> results = new ConcurrentHashMap<>();
+
+	public ResultSetStore(DataAgentProperties properties) {
+		this.retentionMillis = TimeUnit.MINUTES.toMillis(properties.getSqlExecution().getResultRetentionMinutes());
+		this.spoolDirectory = properties.getResultSpooling().getDirectory();
+	}
+
+	/**
+	 * Store an in-memory result.
+	 * @param threadId graph thread owning the result, may be null
+	 * @param result query result, must not be modified afterwards
+	 * @return handle to resolve the result with {@link #get(String)}
+	 */
+	public String put(String threadId, ColumnarResultSetBO result) {
+		return put(new StoredResult(threadId, result, null, System.currentTimeMillis()));
+	}
+
+	/**
+	 * Store a spooled result; the store takes ownership of its file.
+	 * @param threadId graph thread owning the result, may be null
+	 * @param spool spooled query result
+	 * @return handle to resolve the result with {@link #get(String)} and
+	 * {@link #getSpool(String)}
+	 */
+	public String put(String threadId, ResultSpool spool) {
+		return put(new StoredResult(threadId, spool.getPreview(), spool, System.currentTimeMillis()));
+	}
+
+	private String put(StoredResult stored) {
+		String handle = UUID.randomUUID().toString();
+		results.put(handle, stored);
+		return handle;
+	}
+
+	/**
+	 * Resolve a handle to its in-memory rows; for a spooled result this is the preview.
+	 * Reading a result extends its retention.
+	 * @param handle handle returned by {@code put}, may be null
+	 * @return the stored rows, or an empty result when the handle is null
+	 * @throws IllegalStateException if the handle is unknown or expired
+	 */
+	public ColumnarResultSetBO get(String handle) {
+		if (handle == null) {
+			return ColumnarResultSetBO.empty();
+		}
+		return touch(handle).result();
+	}
+
+	/**
+	 * Resolve a handle to its spool. Reading a result extends its retention.
+	 * @param handle handle returned by {@code put}, may be null
+	 * @return the spool, or null when the handle is null or the result is held in memory
+	 * @throws IllegalStateException if the handle is unknown or expired
+	 */
+	public ResultSpool getSpool(String handle) {
+		return handle == null ? null : touch(handle).spool();
+	}
+
+	private StoredResult touch(String handle) {
+		long now = System.currentTimeMillis();
+		StoredResult stored = results.computeIfPresent(handle, (key, value) -> value.accessedAt(now));
+		if (stored == null) {
+			throw new IllegalStateException("Result set " + handle + " is no longer available, run the query again");
+		}
+		return stored;
+	}
+
+	/**
+	 * Create an empty file for spooling a new result.
+	 * @return path of the created file
+	 * @throws IOException if the file cannot be created
+	 */
+	public Path newSpoolFile() throws IOException {
+		if (StringUtils.hasText(spoolDirectory)) {
+			Path directory = Files.createDirectories(Paths.get(spoolDirectory));
+			return Files.createTempFile(directory, SPOOL_FILE_PREFIX, ".json");
+		}
+		return Files.createTempFile(SPOOL_FILE_PREFIX, ".json");
+	}
+
+	public void release(String handle) {
+		if (handle != null) {
+			StoredResult stored = results.remove(handle);
+			if (stored != null) {
+				stored.discard();
+			}
+		}
+	}
+
+	/**
+	 * Release all results of a thread, called when its graph run ends.
+	 * @param threadId graph thread id, may be null
+	 */
+	public void releaseThread(String threadId) {
+		if (threadId == null) {
+			return;
+		}
+		results.entrySet().removeIf(entry -> {
+			if (threadId.equals(entry.getValue().threadId())) {
+				entry.getValue().discard();
+				return true;
+			}
+			return false;
+		});
+	}
+
+	public int size() {
+		return results.size();
+	}
+
+	@Scheduled(fixedDelay = 1, timeUnit = TimeUnit.MINUTES)
+	public void evictExpired() {
+		long expireBefore = System.currentTimeMillis() - retentionMillis;
+		results.entrySet().removeIf(entry -> {
+			if (entry.getValue().lastAccessedAt() < expireBefore) {
+				entry.getValue().discard();
+				return true;
+			}
+			return false;
+		});
+	}
+
+	@Override
+	public void destroy() {
+		results.values().forEach(StoredResult::discard);
+		results.clear();
+	}
+
+	private record StoredResult(String threadId, ColumnarResultSetBO result, ResultSpool spool, long lastAccessedAt) {
+
+		StoredResult accessedAt(long time) {
+			return new StoredResult(threadId, result, spool, time);
+		}
+
+		void discard() {
+			if (spool != null) {
+				spool.delete();
+			}
+		}
+
+	}
+
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright 2024-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.cloud.ai.dataagent.connector;
+
+import com.alibaba.cloud.ai.dataagent.bo.schema.ColumnarResultSetBO;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Query result spooled to a temp file. The file holds all rows, up to the spool limit,
+ * as a JSON array of row objects, which is the stdin format of the generated Python
+ * code, so it can be handed to the code executor without loading it on-heap. Only the
+ * first rows are kept in memory as a preview for display and prompts.
+ */
+@Slf4j
+public final class ResultSpool {
+
+	private final Path file;
+
+	private final ColumnarResultSetBO preview;
+
+	private final long rowCount;
+
+	public ResultSpool(Path file, ColumnarResultSetBO preview, long rowCount) {
+		this.file = file;
+		this.preview = preview;
+		this.rowCount = rowCount;
+	}
+
+	public Path getFile() {
+		return file;
+	}
+
+	public ColumnarResultSetBO getPreview() {
+		return preview;
+	}
+
+	/**
+	 * Number of rows in the spool file.
+	 */
+	public long getRowCount() {
+		return rowCount;
+	}
+
+	/**
+	 * Whether the spool file holds more rows than the in-memory preview.
+	 */
+	public boolean isPreviewTruncated() {
+		return rowCount > preview.rowCount();
+	}
+
+	public void delete() {
+		try {
+			Files.deleteIfExists(file);
+		}
+		catch (IOException e) {
+			log.warn("Failed to delete result spool file {}: {}", file, e.getMessage());
+		}
+	}
+
+}
@@ -0,0 +1,81 @@
+/*
+ * Copyright 2024-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.cloud.ai.dataagent.connector;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Handle used to cancel a running SQL statement from another thread. The executing thread
+ * binds the statement while the query runs; {@link #cancel()} may be called at any time,
+ * before or during execution.
+ */
+@Slf4j
+public class SqlCancellation {
+
+	/**
+	 * SQLState of a cancelled operation.
+	 */
+	public static final String CANCELLED_SQL_STATE = "HY008";
+
+	private volatile Statement statement;
+
+	private volatile boolean cancelled;
+
+	/**
+	 * Bind the statement about to run. The statement is bound before the flag is read, so
+	 * a concurrent {@link #cancel()} either sees the statement or is seen here.
+	 * @throws SQLException with SQLState {@value #CANCELLED_SQL_STATE} if cancellation was
+	 * already requested; the caller must not execute the statement, since
+	 * {@link Statement#cancel()} only affects a statement that is running
+	 */
+	void bind(Statement statement) throws SQLException {
+		this.statement = statement;
+		if (cancelled) {
+			throw new SQLException("SQL statement was cancelled before it was executed", CANCELLED_SQL_STATE);
+		}
+	}
+
+	void release() {
+		this.statement = null;
+	}
+
+	/**
+	 * Request cancellation; the bound statement, if any, is cancelled through
+	 * {@link Statement#cancel()}.
+	 */
+	public void cancel() {
+		cancelled = true;
+		Statement running = statement;
+		if (running == null) {
+			return;
+		}
+		try {
+			running.cancel();
+			log.info("Cancelled running SQL statement");
+		}
+		catch (SQLException e) {
+			log.warn("Failed to cancel SQL statement: {}", e.getMessage());
+		}
+	}
+
+	public boolean isCancelled() {
+		return cancelled;
+	}
+
+}
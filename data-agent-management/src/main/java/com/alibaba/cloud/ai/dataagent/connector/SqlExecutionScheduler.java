@@ -0,0 +1,217 @@
+/*
+ * Copyright 2024-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.cloud.ai.dataagent.connector;
+
+import com.alibaba.cloud.ai.dataagent.properties.DataAgentProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.stereotype.Component;
+
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs analysis SQL on a dedicated bounded thread pool so that slow queries never block
+ * graph threads. Each agent may run at most
+ * {@code spring.ai.alibaba.data-agent.sql-execution.max-concurrent-per-agent} queries at
+ * once, further queries of that agent wait in its own queue without holding a pool
+ * thread. An agent's queue is removed once it has no running or queued queries. Running
+ * queries are tracked by graph thread id so that stopping a stream cancels them through
+ * {@link java.sql.Statement#cancel()}.
+ */
+@Slf4j
+@Component
+public class SqlExecutionScheduler implements DisposableBean {
+
+	private final ThreadPoolExecutor executor;
+
+	private final int maxConcurrentPerAgent;
+
+	private final ConcurrentHashMap<Integer, AgentLane> lanes = new ConcurrentHashMap<>();
+
+	private final ConcurrentHashMap<String, Set<SqlCancellation>> cancellations = new ConcurrentHashMap<>();
+
+	public SqlExecutionScheduler(DataAgentProperties properties) {
+		DataAgentProperties.SqlExecution config = properties.getSqlExecution();
+		this.maxConcurrentPerAgent = Math.max(1, config.getMaxConcurrentPerAgent());
+		ThreadFactory threadFactory = new ThreadFactory() {
+			private final AtomicInteger threadNumber = new AtomicInteger(1);
+
+			@Override
+			public Thread newThread(Runnable r) {
+				Thread t = new Thread(r, "sql-execute-" + threadNumber.getAndIncrement());
+				t.setDaemon(true);
+				return t;
+			}
+		};
+		this.executor = new ThreadPoolExecutor(config.getThreadPoolSize(), config.getThreadPoolSize(), 60L,
+				TimeUnit.SECONDS, new LinkedBlockingQueue<>(config.getQueueCapacity()), threadFactory,
+				new ThreadPoolExecutor.AbortPolicy());
+		this.executor.allowCoreThreadTimeOut(true);
+		log.info("SQL execution scheduler initialized with {} threads, {} concurrent queries per agent",
+				config.getThreadPoolSize(), maxConcurrentPerAgent);
+	}
+
+	/**
+	 * Submit a query of the given agent.
+	 * @param agentId agent the query belongs to, used for the concurrency limit
+	 * @param threadId graph thread id used by {@link #cancel(String)}, may be null
+	 * @param cancellation handle the query binds its statement to
+	 * @param task the query
+	 * @return future completed with the query result; cancelling it cancels the statement
+	 */
+	public <T> CompletableFuture<T> submit(Integer agentId, String threadId, SqlCancellation cancellation,
+			Callable<T> task) {
+		CompletableFuture<T> future = new CompletableFuture<>();
+		if (threadId != null) {
+			cancellations.computeIfAbsent(threadId, k -> ConcurrentHashMap.newKeySet()).add(cancellation);
+		}
+		future.whenComplete((result, error) -> {
+			if (future.isCancelled()) {
+				cancellation.cancel();
+			}
+			if (threadId != null) {
+				cancellations.computeIfPresent(threadId, (k, set) -> {
+					set.remove(cancellation);
+					return set.isEmpty() ? null : set;
+				});
+			}
+		});
+
+		Runnable action = () -> {
+			if (future.isDone()) {
+				return;
+			}
+			if (cancellation.isCancelled()) {
+				future.completeExceptionally(new CancellationException("SQL execution cancelled"));
+				return;
+			}
+			try {
+				future.complete(task.call());
+			}
+			catch (Throwable e) {
+				future.completeExceptionally(e);
+			}
+		};
+		// 入队与空闲队列的移除都在 compute 中完成，避免任务进入已被移除的队列
+		AgentLane lane = lanes.compute(agentId, (k, existing) -> {
+			AgentLane target = existing != null ? existing : new AgentLane(agentId);
+			target.pending.add(new PendingTask(action, future));
+			return target;
+		});
+		lane.drain();
+		return future;
+	}
+
+	/**
+	 * Cancel every query started by the given graph thread.
+	 * @param threadId graph thread id
+	 * @return number of cancelled queries
+	 */
+	public int cancel(String threadId) {
+		Set<SqlCancellation> running = cancellations.remove(threadId);
+		if (running == null) {
+			return 0;
+		}
+		running.forEach(SqlCancellation::cancel);
+		log.info("Cancelled {} SQL execution(s) for threadId: {}", running.size(), threadId);
+		return running.size();
+	}
+
+	int laneCount() {
+		return lanes.size();
+	}
+
+	@Override
+	public void destroy() {
+		log.info("Shutting down SQL execution scheduler, active: {}, queued: {}", executor.getActiveCount(),
+				executor.getQueue().size());
+		cancellations.values().forEach(set -> set.forEach(SqlCancellation::cancel));
+		executor.shutdownNow();
+	}
+
+	private record PendingTask(Runnable action, CompletableFuture<?> future) {
+	}
+
+	/**
+	 * Queue of one agent, handing at most {@link #maxConcurrentPerAgent} tasks to the pool
+	 * at a time.
+	 */
+	private final class AgentLane {
+
+		private final Integer agentId;
+
+		private final Queue<PendingTask> pending = new ConcurrentLinkedQueue<>();
+
+		private final AtomicInteger running = new AtomicInteger();
+
+		AgentLane(Integer agentId) {
+			this.agentId = agentId;
+		}
+
+		private void drain() {
+			while (!pending.isEmpty()) {
+				int current = running.get();
+				if (current >= maxConcurrentPerAgent) {
+					return;
+				}
+				if (!running.compareAndSet(current, current + 1)) {
+					continue;
+				}
+				PendingTask task = pending.poll();
+				if (task == null) {
+					running.decrementAndGet();
+					continue;
+				}
+				try {
+					executor.execute(() -> {
+						try {
+							task.action().run();
+						}
+						finally {
+							running.decrementAndGet();
+							drain();
+							removeIfIdle();
+						}
+					});
+				}
+				catch (RejectedExecutionException e) {
+					running.decrementAndGet();
+					task.future().completeExceptionally(e);
+					removeIfIdle();
+				}
+			}
+		}
+
+		private void removeIfIdle() {
+			lanes.computeIfPresent(agentId,
+					(k, lane) -> lane == this && running.get() == 0 && pending.isEmpty() ? null : lane);
+		}
+
+	}
+
+}
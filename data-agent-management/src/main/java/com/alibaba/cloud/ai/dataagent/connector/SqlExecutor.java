@@ -16,11 +16,14 @@
 
 package com.alibaba.cloud.ai.dataagent.connector;
 
+import com.alibaba.cloud.ai.dataagent.bo.schema.ColumnarResultSetBO;
 import com.alibaba.cloud.ai.dataagent.bo.schema.ResultSetBO;
 import com.alibaba.cloud.ai.dataagent.enums.DatabaseDialectEnum;
 import com.alibaba.cloud.ai.dataagent.util.ResultSetConvertUtil;
 import org.apache.commons.lang3.StringUtils;
 
+import java.io.IOException;
+import java.nio.file.Path;
 import java.sql.Connection;
 import java.sql.DatabaseMetaData;
 import java.sql.ResultSet;
@@ -37,6 +40,25 @@ public class SqlExecutor {
 
 	public static final Integer STATEMENT_TIMEOUT = 30;
 
+	/**
+	 * Fetch size of spooled queries on drivers that fetch through a cursor. MySQL only
+	 * streams with {@link Integer#MIN_VALUE} (without {@code useCursorFetch}), PostgreSQL
+	 * only uses a cursor outside of autocommit mode.
+	 */
+	private static final int SPOOL_FETCH_SIZE = 1000;
+
+	/**
+	 * Database product name of the connection, read from {@link DatabaseMetaData}. Callers
+	 * that run many statements on one connection read it once and pass it along, see
+	 * {@link com.alibaba.cloud.ai.dataagent.connector.accessor.AccessorSession}
+	 * @param connection database connection
+	 * @return database product name
+	 * @throws SQLException when the metadata cannot be read
+	 */
+	public static String getDialect(Connection connection) throws SQLException {
+		return connection.getMetaData().getDatabaseProductName();
+	}
+
 	/**
 	 * Execute SQL query and return structured results (with column information)
 	 * @param connection database connection
@@ -46,28 +68,194 @@ public class SqlExecutor {
 	 */
 	public static ResultSetBO executeSqlAndReturnObject(Connection connection, String schema, String sql)
 			throws SQLException {
+		return executeSqlAndReturnColumnar(connection, schema, sql).toResultSetBO();
+	}
+
+	/**
+	 * Execute SQL query and return a column-oriented result, reading cells by index
+	 * @param connection database connection
+	 * @param schema schema to switch to before executing, may be empty
+	 * @param sql SQL statement
+	 * @return ColumnarResultSetBO columnar result
+	 * @throws SQLException SQL execution exception
+	 */
+	public static ColumnarResultSetBO executeSqlAndReturnColumnar(Connection connection, String schema, String sql)
+			throws SQLException {
+		return executeSqlAndReturnColumnar(connection, schema, sql, null);
+	}
+
+	/**
+	 * Execute SQL query and return a column-oriented result, allowing the running
+	 * statement to be cancelled from another thread
+	 * @param connection database connection
+	 * @param schema schema to switch to before executing, may be empty
+	 * @param sql SQL statement
+	 * @param cancellation cancellation handle bound to the statement, may be null
+	 * @return ColumnarResultSetBO columnar result
+	 * @throws SQLException SQL execution exception, including cancellation
+	 */
+	public static ColumnarResultSetBO executeSqlAndReturnColumnar(Connection connection, String schema, String sql,
+			SqlCancellation cancellation) throws SQLException {
+		return executeSqlAndReturnColumnar(connection, schema, sql, cancellation, STATEMENT_TIMEOUT);
+	}
+
+	/**
+	 * Execute SQL query and return a column-oriented result, with the given statement
+	 * timeout instead of {@link #STATEMENT_TIMEOUT}
+	 * @param connection database connection
+	 * @param schema schema to switch to before executing, may be empty
+	 * @param sql SQL statement
+	 * @param cancellation cancellation handle bound to the statement, may be null
+	 * @param queryTimeoutSeconds statement timeout in seconds, 0 means no limit
+	 * @return ColumnarResultSetBO columnar result
+	 * @throws SQLException SQL execution exception, including cancellation and timeout
+	 */
+	public static ColumnarResultSetBO executeSqlAndReturnColumnar(Connection connection, String schema, String sql,
+			SqlCancellation cancellation, int queryTimeoutSeconds) throws SQLException {
+		return executeSqlAndReturnColumnar(connection, null, schema, sql, cancellation, queryTimeoutSeconds);
+	}
+
+	/**
+	 * Execute SQL query and return a column-oriented result on a connection whose dialect
+	 * the caller already knows, so that switching the schema does not read the connection
+	 * metadata again
+	 * @param connection database connection
+	 * @param dialect database product name of the connection, null to read it from the
+	 * metadata when needed
+	 * @param schema schema to switch to before executing, may be empty
+	 * @param sql SQL statement
+	 * @param cancellation cancellation handle bound to the statement, may be null
+	 * @param queryTimeoutSeconds statement timeout in seconds, 0 means no limit
+	 * @return ColumnarResultSetBO columnar result
+	 * @throws SQLException SQL execution exception, including cancellation and timeout
+	 */
+	public static ColumnarResultSetBO executeSqlAndReturnColumnar(Connection connection, String dialect,
+			String schema, String sql, SqlCancellation cancellation, int queryTimeoutSeconds) throws SQLException {
 		try (Statement statement = connection.createStatement()) {
+			if (cancellation != null) {
+				cancellation.bind(statement);
+			}
 			statement.setMaxRows(RESULT_SET_LIMIT);
-			statement.setQueryTimeout(STATEMENT_TIMEOUT);
-
-			DatabaseMetaData metaData = connection.getMetaData();
-			String dialect = metaData.getDatabaseProductName();
+			statement.setQueryTimeout(queryTimeoutSeconds);
+			switchSchema(connection, dialect, statement, schema);
 
-			if (dialect.equals(DatabaseDialectEnum.POSTGRESQL.code)) {
-				if (StringUtils.isNotEmpty(schema)) {
-					statement.execute("set search_path = '" + schema + "';");
-				}
+			try (ResultSet rs = statement.executeQuery(sql)) {
+				return ResultSetBuilder.buildColumnarFrom(rs);
 			}
-			else if (dialect.equals(DatabaseDialectEnum.H2.code)) {
-				if (StringUtils.isNotEmpty(schema)) {
-					statement.execute("use " + schema + ";");
-				}
+		}
+		finally {
+			if (cancellation != null) {
+				cancellation.release();
 			}
+		}
+	}
+
+	/**
+	 * Execute SQL query and spool up to {@code maxRows} rows to a file, keeping the first
+	 * {@link #RESULT_SET_LIMIT} rows in memory as a preview
+	 * @param connection database connection
+	 * @param schema schema to switch to before executing, may be empty
+	 * @param sql SQL statement
+	 * @param cancellation cancellation handle bound to the statement, may be null
+	 * @param file spool file, created or truncated
+	 * @param maxRows maximum number of rows written to the file
+	 * @return spooled result
+	 * @throws SQLException SQL execution exception, including cancellation
+	 * @throws IOException if writing the spool file fails
+	 */
+	public static ResultSpool executeSqlAndSpool(Connection connection, String schema, String sql,
+			SqlCancellation cancellation, Path file, int maxRows) throws SQLException, IOException {
+		String dialect = getDialect(connection);
+		// PostgreSQL ignores the fetch size in autocommit mode, so run this query in its own
+		// read-only transaction and restore the pooled connection afterwards
+		boolean restoreAutoCommit = dialect.equals(DatabaseDialectEnum.POSTGRESQL.code) && connection.getAutoCommit();
+		if (restoreAutoCommit) {
+			connection.setAutoCommit(false);
+		}
+		Throwable primary = null;
+		try (Statement statement = connection.createStatement(ResultSet.TYPE_FORWARD_ONLY,
+				ResultSet.CONCUR_READ_ONLY)) {
+			if (cancellation != null) {
+				cancellation.bind(statement);
+			}
+			statement.setMaxRows(maxRows);
+			statement.setFetchSize(spoolFetchSize(dialect));
+			statement.setQueryTimeout(STATEMENT_TIMEOUT);
+			switchSchema(connection, dialect, statement, schema);
 
 			try (ResultSet rs = statement.executeQuery(sql)) {
-				return ResultSetBuilder.buildFrom(rs, schema);
+				return ResultSetBuilder.spoolFrom(rs, file, RESULT_SET_LIMIT, maxRows);
+			}
+		}
+		catch (Throwable e) {
+			primary = e;
+			throw e;
+		}
+		finally {
+			if (cancellation != null) {
+				cancellation.release();
+			}
+			if (restoreAutoCommit) {
+				restoreAutoCommit(connection, primary);
+			}
+		}
+	}
+
+	/**
+	 * End the transaction opened for a spooled query and switch the connection back to
+	 * autocommit, attempting both steps even if the rollback fails
+	 * @param connection database connection
+	 * @param primary exception the query failed with, null if it succeeded; failures here
+	 * are added to it as suppressed exceptions instead of replacing it
+	 * @throws SQLException if the query succeeded but the connection could not be
+	 * restored
+	 */
+	private static void restoreAutoCommit(Connection connection, Throwable primary) throws SQLException {
+		SQLException failure = null;
+		try {
+			connection.rollback();
+		}
+		catch (SQLException e) {
+			failure = e;
+		}
+		try {
+			connection.setAutoCommit(true);
+		}
+		catch (SQLException e) {
+			if (failure == null) {
+				failure = e;
+			}
+			else {
+				failure.addSuppressed(e);
 			}
 		}
+		if (failure == null) {
+			return;
+		}
+		if (primary != null) {
+			primary.addSuppressed(failure);
+		}
+		else {
+			throw failure;
+		}
+	}
+
+	static int spoolFetchSize(String dialect) {
+		return dialect.equals(DatabaseDialectEnum.MYSQL.code) ? Integer.MIN_VALUE : SPOOL_FETCH_SIZE;
+	}
+
+	private static void switchSchema(Connection connection, String knownDialect, Statement statement, String schema)
+			throws SQLException {
+		if (StringUtils.isEmpty(schema)) {
+			return;
+		}
+		String dialect = knownDialect != null ? knownDialect : getDialect(connection);
+		if (dialect.equals(DatabaseDialectEnum.POSTGRESQL.code)) {
+			statement.execute("set search_path = '" + schema + "';");
+		}
+		else if (dialect.equals(DatabaseDialectEnum.H2.code)) {
+			statement.execute("use " + schema + ";");
+		}
 	}
 
 	/**
@@ -98,8 +286,7 @@ public class SqlExecutor {
 	private static List<String[]> executeQuery(Connection connection, String databaseOrSchema, String sql)
 			throws SQLException {
 		String originalDb = connection.getCatalog();
-		DatabaseMetaData metaData = connection.getMetaData();
-		String dialect = metaData.getDatabaseProductName();
+		String dialect = getDialect(connection);
 
 		try (Statement statement = connection.createStatement()) {
 
@@ -19,8 +19,11 @@ package com.alibaba.cloud.ai.dataagent.connector.accessor;
 import com.alibaba.cloud.ai.dataagent.connector.ddl.AbstractJdbcDdl;
 import com.alibaba.cloud.ai.dataagent.connector.pool.DBConnectionPool;
 import com.alibaba.cloud.ai.dataagent.connector.ddl.DdlFactory;
+import com.alibaba.cloud.ai.dataagent.connector.QueryResultCache;
+import com.alibaba.cloud.ai.dataagent.connector.ResultSpool;
 import com.alibaba.cloud.ai.dataagent.connector.SqlExecutor;
 import com.alibaba.cloud.ai.dataagent.bo.schema.ColumnInfoBO;
+import com.alibaba.cloud.ai.dataagent.bo.schema.ColumnarResultSetBO;
 import com.alibaba.cloud.ai.dataagent.bo.schema.DatabaseInfoBO;
 import com.alibaba.cloud.ai.dataagent.connector.DbQueryParameter;
 import com.alibaba.cloud.ai.dataagent.bo.schema.ForeignKeyInfoBO;
@@ -30,9 +33,12 @@ import com.alibaba.cloud.ai.dataagent.bo.schema.TableInfoBO;
 import com.alibaba.cloud.ai.dataagent.bo.DbConfigBO;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
 
+import java.nio.file.Path;
 import java.sql.Connection;
 import java.util.List;
+import java.util.Map;
 
 /**
  * @author yuluo
@@ -46,6 +52,13 @@ public abstract class AbstractAccessor implements Accessor {
 
 	private final DBConnectionPool dbConnectionPool;
 
+	private QueryResultCache queryResultCache;
+
+	@Autowired
+	public void setQueryResultCache(QueryResultCache queryResultCache) {
+		this.queryResultCache = queryResultCache;
+	}
+
 	public <T> T accessDb(DbConfigBO dbConfig, String method, DbQueryParameter param) throws Exception {
 
 		try (Connection connection = getConnection(dbConfig)) {
@@ -63,6 +76,8 @@ public abstract class AbstractAccessor implements Accessor {
 					return (T) ddlExecutor.fetchTables(connection, param.getSchema(), param.getTables());
 				case "showColumns":
 					return (T) ddlExecutor.showColumns(connection, param.getSchema(), param.getTable());
+				case "showColumnsForTables":
+					return (T) ddlExecutor.showColumnsForTables(connection, param.getSchema(), param.getTables());
 				case "showForeignKeys":
 					return (T) ddlExecutor.showForeignKeys(connection, param.getSchema(), param.getTables());
 				case "sampleColumn":
@@ -72,6 +87,9 @@ public abstract class AbstractAccessor implements Accessor {
 					return (T) ddlExecutor.scanTable(connection, param.getSchema(), param.getTable());
 				case "executeSqlAndReturnObject":
 					return (T) SqlExecutor.executeSqlAndReturnObject(connection, param.getSchema(), param.getSql());
+				case "executeSqlAndReturnColumnar":
+					return (T) SqlExecutor.executeSqlAndReturnColumnar(connection, param.getSchema(), param.getSql(),
+							param.getCancellation());
 				default:
 					throw new UnsupportedOperationException("Unknown method: " + method);
 			}
@@ -103,6 +121,11 @@ public abstract class AbstractAccessor implements Accessor {
 		return accessDb(dbConfig, "showColumns", param);
 	}
 
+	public Map<String, List<ColumnInfoBO>> showColumnsForTables(DbConfigBO dbConfig, DbQueryParameter param)
+			throws Exception {
+		return accessDb(dbConfig, "showColumnsForTables", param);
+	}
+
 	public List<ForeignKeyInfoBO> showForeignKeys(DbConfigBO dbConfig, DbQueryParameter param) throws Exception {
 		return accessDb(dbConfig, "showForeignKeys", param);
 	}
@@ -116,7 +139,42 @@ public abstract class AbstractAccessor implements Accessor {
 	}
 
 	public ResultSetBO executeSqlAndReturnObject(DbConfigBO dbConfig, DbQueryParameter param) throws Exception {
-		return accessDb(dbConfig, "executeSqlAndReturnObject", param);
+		return executeSqlAndReturnColumnar(dbConfig, param).toResultSetBO();
+	}
+
+	public ColumnarResultSetBO executeSqlAndReturnColumnar(DbConfigBO dbConfig, DbQueryParameter param)
+			throws Exception {
+		if (queryResultCache == null) {
+			return accessDb(dbConfig, "executeSqlAndReturnColumnar", param);
+		}
+		DbQueryParameter refreshParam = param.withoutCancellation();
+		return queryResultCache.get(dbConfig, param.getSchema(), param.getSql(),
+				() -> accessDb(dbConfig, "executeSqlAndReturnColumnar", param),
+				() -> accessDb(dbConfig, "executeSqlAndReturnColumnar", refreshParam));
+	}
+
+	public ResultSpool executeSqlAndSpool(DbConfigBO dbConfig, DbQueryParameter param, Path file, int maxRows)
+			throws Exception {
+		try (Connection connection = getConnection(dbConfig)) {
+			return SqlExecutor.executeSqlAndSpool(connection, param.getSchema(), param.getSql(),
+					param.getCancellation(), file, maxRows);
+		}
+		catch (Exception e) {
+			log.error("Error spooling query result, reason: {}", e.getMessage());
+			throw e;
+		}
+	}
+
+	public AccessorSession openSession(DbConfigBO dbConfig) throws Exception {
+		Connection connection = getConnection(dbConfig);
+		try {
+			AbstractJdbcDdl ddlExecutor = (AbstractJdbcDdl) ddlFactory.getDdlExecutorByDbConfig(dbConfig);
+			return new AccessorSession(dbConfig, connection, ddlExecutor);
+		}
+		catch (Exception e) {
+			connection.close();
+			throw e;
+		}
 	}
 
 	public Connection getConnection(DbConfigBO config) {
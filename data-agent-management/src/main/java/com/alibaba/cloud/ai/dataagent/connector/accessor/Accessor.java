@@ -17,8 +17,10 @@
 package com.alibaba.cloud.ai.dataagent.connector.accessor;
 
 import com.alibaba.cloud.ai.dataagent.bo.schema.ColumnInfoBO;
+import com.alibaba.cloud.ai.dataagent.bo.schema.ColumnarResultSetBO;
 import com.alibaba.cloud.ai.dataagent.bo.schema.DatabaseInfoBO;
 import com.alibaba.cloud.ai.dataagent.connector.DbQueryParameter;
+import com.alibaba.cloud.ai.dataagent.connector.ResultSpool;
 import com.alibaba.cloud.ai.dataagent.bo.schema.ForeignKeyInfoBO;
 import com.alibaba.cloud.ai.dataagent.bo.schema.ResultSetBO;
 import com.alibaba.cloud.ai.dataagent.bo.schema.SchemaInfoBO;
@@ -26,7 +28,9 @@ import com.alibaba.cloud.ai.dataagent.bo.schema.TableInfoBO;
 import com.alibaba.cloud.ai.dataagent.bo.DbConfigBO;
 import com.alibaba.cloud.ai.dataagent.enums.BizDataSourceTypeEnum;
 
+import java.nio.file.Path;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Data access interface definition.
@@ -66,6 +70,13 @@ public interface Accessor {
 
 	List<ColumnInfoBO> showColumns(DbConfigBO dbConfig, DbQueryParameter param) throws Exception;
 
+	/**
+	 * Columns of all {@link DbQueryParameter#getTables()} in a single round trip per
+	 * batch of tables, keyed by table name.
+	 */
+	Map<String, List<ColumnInfoBO>> showColumnsForTables(DbConfigBO dbConfig, DbQueryParameter param)
+			throws Exception;
+
 	List<ForeignKeyInfoBO> showForeignKeys(DbConfigBO dbConfig, DbQueryParameter param) throws Exception;
 
 	List<String> sampleColumn(DbConfigBO dbConfig, DbQueryParameter param) throws Exception;
@@ -74,4 +85,37 @@ public interface Accessor {
 
 	ResultSetBO executeSqlAndReturnObject(DbConfigBO dbConfig, DbQueryParameter param) throws Exception;
 
+	/**
+	 * Execute the query and return a column-oriented result. Prefer this over
+	 * {@link #executeSqlAndReturnObject} for wide or large results.
+	 * @param dbConfig database configuration
+	 * @param param query parameters, {@code sql} and {@code schema} are used
+	 * @return columnar result
+	 * @throws Exception if an error occurs during database access
+	 */
+	ColumnarResultSetBO executeSqlAndReturnColumnar(DbConfigBO dbConfig, DbQueryParameter param) throws Exception;
+
+	/**
+	 * Execute the query and spool its rows to a file instead of holding them in memory.
+	 * The result is not cached.
+	 * @param dbConfig database configuration
+	 * @param param query parameters, {@code sql}, {@code schema} and {@code cancellation}
+	 * are used
+	 * @param file spool file, created or truncated
+	 * @param maxRows maximum number of rows written to the file
+	 * @return spooled result with an in-memory preview
+	 * @throws Exception if an error occurs during database access or writing the file
+	 */
+	ResultSpool executeSqlAndSpool(DbConfigBO dbConfig, DbQueryParameter param, Path file, int maxRows)
+			throws Exception;
+
+	/**
+	 * Open a session pinned to one pooled connection for a series of calls against the
+	 * same database. The caller must close it.
+	 * @param dbConfig database configuration
+	 * @return open session
+	 * @throws Exception if no connection can be obtained
+	 */
+	AccessorSession openSession(DbConfigBO dbConfig) throws Exception;
+
 }
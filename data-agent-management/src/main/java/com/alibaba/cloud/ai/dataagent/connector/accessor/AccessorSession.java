@@ -0,0 +1,112 @@
+/*
+ * Copyright 2024-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.cloud.ai.dataagent.connector.accessor;
+
+import com.alibaba.cloud.ai.dataagent.bo.DbConfigBO;
+import com.alibaba.cloud.ai.dataagent.bo.schema.ColumnInfoBO;
+import com.alibaba.cloud.ai.dataagent.bo.schema.ColumnarResultSetBO;
+import com.alibaba.cloud.ai.dataagent.bo.schema.ForeignKeyInfoBO;
+import com.alibaba.cloud.ai.dataagent.bo.schema.TableInfoBO;
+import com.alibaba.cloud.ai.dataagent.connector.DbQueryParameter;
+import com.alibaba.cloud.ai.dataagent.connector.SqlExecutor;
+import com.alibaba.cloud.ai.dataagent.connector.ddl.AbstractJdbcDdl;
+import lombok.extern.slf4j.Slf4j;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A series of accessor calls pinned to one pooled connection, for work such as schema
+ * initialization that would otherwise borrow a connection and resolve the DDL executor
+ * on every call. The dialect is read once when the session opens and passed to the
+ * queries of the session.
+ * <p>
+ * A session is not thread-safe; parallel work opens one session per worker. Closing the
+ * session returns the connection to the pool.
+ */
+@Slf4j
+public class AccessorSession implements AutoCloseable {
+
+	private final DbConfigBO dbConfig;
+
+	private final Connection connection;
+
+	private final AbstractJdbcDdl ddlExecutor;
+
+	private final String dialect;
+
+	AccessorSession(DbConfigBO dbConfig, Connection connection, AbstractJdbcDdl ddlExecutor) throws SQLException {
+		this.dbConfig = dbConfig;
+		this.connection = connection;
+		this.ddlExecutor = ddlExecutor;
+		this.dialect = SqlExecutor.getDialect(connection);
+	}
+
+	public DbConfigBO getDbConfig() {
+		return dbConfig;
+	}
+
+	/**
+	 * Database product name of the pinned connection.
+	 */
+	public String getDialect() {
+		return dialect;
+	}
+
+	public List<TableInfoBO> fetchTables(DbQueryParameter param) {
+		return ddlExecutor.fetchTables(connection, param.getSchema(), param.getTables());
+	}
+
+	public List<ColumnInfoBO> showColumns(DbQueryParameter param) {
+		return ddlExecutor.showColumns(connection, param.getSchema(), param.getTable());
+	}
+
+	public Map<String, List<ColumnInfoBO>> showColumnsForTables(DbQueryParameter param) {
+		return ddlExecutor.showColumnsForTables(connection, param.getSchema(), param.getTables());
+	}
+
+	public List<ForeignKeyInfoBO> showForeignKeys(DbQueryParameter param) {
+		return ddlExecutor.showForeignKeys(connection, param.getSchema(), param.getTables());
+	}
+
+	public ColumnarResultSetBO executeSqlAndReturnColumnar(DbQueryParameter param) throws SQLException {
+		return SqlExecutor.executeSqlAndReturnColumnar(connection, dialect, param.getSchema(), param.getSql(),
+				param.getCancellation(), SqlExecutor.STATEMENT_TIMEOUT);
+	}
+
+	/**
+	 * Execute the query with its own statement timeout, e.g. one derived from a time
+	 * budget shared by several queries.
+	 */
+	public ColumnarResultSetBO executeSqlAndReturnColumnar(DbQueryParameter param, int queryTimeoutSeconds)
+			throws SQLException {
+		return SqlExecutor.executeSqlAndReturnColumnar(connection, dialect, param.getSchema(), param.getSql(),
+				param.getCancellation(), queryTimeoutSeconds);
+	}
+
+	@Override
+	public void close() {
+		try {
+			connection.close();
+		}
+		catch (SQLException e) {
+			log.warn("Failed to close session connection: {}", e.getMessage());
+		}
+	}
+
+}
@@ -24,10 +24,24 @@ import com.alibaba.cloud.ai.dataagent.bo.schema.TableInfoBO;
 import com.alibaba.cloud.ai.dataagent.util.SqlUtil;
 
 import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 public abstract class AbstractJdbcDdl implements Ddl {
 
+	/**
+	 * Maximum number of tables per bulk column query, keeping the IN list well below
+	 * dialect limits.
+	 */
+	protected static final int COLUMNS_BATCH_SIZE = 500;
+
 	@Deprecated
 	public abstract List<DatabaseInfoBO> showDatabases(Connection connection);
 
@@ -39,6 +53,21 @@ public abstract class AbstractJdbcDdl implements Ddl {
 
 	public abstract List<ColumnInfoBO> showColumns(Connection connection, String schema, String table);
 
+	/**
+	 * Columns of several tables, keyed by table name in the order of {@code tables};
+	 * tables without columns map to an empty list. This default calls
+	 * {@link #showColumns} per table, dialects override it with one metadata query per
+	 * {@link #COLUMNS_BATCH_SIZE} tables.
+	 */
+	public Map<String, List<ColumnInfoBO>> showColumnsForTables(Connection connection, String schema,
+			List<String> tables) {
+		Map<String, List<ColumnInfoBO>> columnsByTable = new LinkedHashMap<>();
+		for (String table : tables) {
+			columnsByTable.put(table, showColumns(connection, schema, table));
+		}
+		return columnsByTable;
+	}
+
 	public abstract List<ForeignKeyInfoBO> showForeignKeys(Connection connection, String schema, List<String> tables);
 
 	public abstract List<String> sampleColumn(Connection connection, String schema, String table, String column);
@@ -49,4 +78,60 @@ public abstract class AbstractJdbcDdl implements Ddl {
 		return SqlUtil.buildSelectSql(typeName, tableName, columnNames, limit);
 	}
 
+	/**
+	 * Run a bulk column query per batch of tables and group the rows by the table name
+	 * in their first column. The database may return a name in another case than it was
+	 * requested in, e.g. MySQL with {@code lower_case_table_names} or H2 folding unquoted
+	 * names, so rows are mapped back to the requested name case-insensitively when there
+	 * is no exact match.
+	 * @param tables table names
+	 * @param batchQuery runs the query for a quoted, comma separated table list and
+	 * returns rows with a header row at index 0
+	 * @param rowMapper maps a result row to a column
+	 * @return columns keyed by table name in the order of {@code tables}
+	 */
+	protected Map<String, List<ColumnInfoBO>> queryColumnsForTables(List<String> tables, BatchQuery batchQuery,
+			Function<String[], ColumnInfoBO> rowMapper) {
+		Map<String, List<ColumnInfoBO>> columnsByTable = new LinkedHashMap<>();
+		Map<String, String> requestedByLowerCase = new HashMap<>();
+		for (String table : tables) {
+			columnsByTable.put(table, new ArrayList<>());
+			requestedByLowerCase.putIfAbsent(table.toLowerCase(Locale.ROOT), table);
+		}
+		for (int from = 0; from < tables.size(); from += COLUMNS_BATCH_SIZE) {
+			List<String> batch = tables.subList(from, Math.min(from + COLUMNS_BATCH_SIZE, tables.size()));
+			String tableListStr = batch.stream()
+				.map(table -> "'" + table.replace("'", "''") + "'")
+				.collect(Collectors.joining(", "));
+			String[][] resultArr;
+			try {
+				resultArr = batchQuery.query(tableListStr);
+			}
+			catch (SQLException e) {
+				throw new RuntimeException(e);
+			}
+			for (int i = 1; i < resultArr.length; i++) {
+				if (resultArr[i].length == 0) {
+					continue;
+				}
+				String table = resultArr[i][0];
+				if (!columnsByTable.containsKey(table) && table != null) {
+					table = requestedByLowerCase.getOrDefault(table.toLowerCase(Locale.ROOT), table);
+				}
+				columnsByTable.computeIfAbsent(table, k -> new ArrayList<>()).add(rowMapper.apply(resultArr[i]));
+			}
+		}
+		return columnsByTable;
+	}
+
+	/**
+	 * Bulk metadata query over a quoted table list.
+	 */
+	@FunctionalInterface
+	protected interface BatchQuery {
+
+		String[][] query(String tableListStr) throws SQLException;
+
+	}
+
 }
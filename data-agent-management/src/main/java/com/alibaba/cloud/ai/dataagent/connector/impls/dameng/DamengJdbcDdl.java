@@ -28,6 +28,7 @@ import java.sql.Connection;
 import java.sql.SQLException;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -132,13 +133,7 @@ public class DamengJdbcDdl extends AbstractJdbcDdl {
 				if (resultArr[i].length == 0) {
 					continue;
 				}
-				columnInfoList.add(ColumnInfoBO.builder()
-					.name(resultArr[i][0])
-					.description("")
-					.type(wrapType(resultArr[i][1]))
-					.primary(false)
-					.notnull(BooleanUtils.toBoolean("N".equalsIgnoreCase(resultArr[i][3]) ? "true" : "false"))
-					.build());
+				columnInfoList.add(toColumnInfo(resultArr[i], 0));
 			}
 		}
 		catch (SQLException e) {
@@ -147,6 +142,25 @@ public class DamengJdbcDdl extends AbstractJdbcDdl {
 		return columnInfoList;
 	}
 
+	@Override
+	public Map<String, List<ColumnInfoBO>> showColumnsForTables(Connection connection, String schema,
+			List<String> tables) {
+		String sql = "SELECT TABLE_NAME, COLUMN_NAME, DATA_TYPE, DATA_LENGTH, NULLABLE FROM USER_TAB_COLUMNS "
+				+ "WHERE TABLE_NAME IN (%s) ORDER BY TABLE_NAME, COLUMN_ID";
+		return queryColumnsForTables(tables, tableListStr -> SqlExecutor.executeSqlAndReturnArr(connection, null,
+				String.format(sql, tableListStr)), row -> toColumnInfo(row, 1));
+	}
+
+	private ColumnInfoBO toColumnInfo(String[] row, int offset) {
+		return ColumnInfoBO.builder()
+			.name(row[offset])
+			.description("")
+			.type(wrapType(row[offset + 1]))
+			.primary(false)
+			.notnull(BooleanUtils.toBoolean("N".equalsIgnoreCase(row[offset + 3]) ? "true" : "false"))
+			.build();
+	}
+
 	@Override
 	public List<ForeignKeyInfoBO> showForeignKeys(Connection connection, String schema, List<String> tables) {
 		if (tables == null || tables.isEmpty()) {
@@ -32,6 +32,7 @@ import org.springframework.stereotype.Service;
 import java.sql.Connection;
 import java.sql.SQLException;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -169,13 +170,7 @@ public class H2JdbcDdl extends AbstractJdbcDdl {
 				if (resultArr[i].length == 0) {
 					continue;
 				}
-				columnInfoList.add(ColumnInfoBO.builder()
-					.name(resultArr[i][0])
-					.description(resultArr[i][1])
-					.type(wrapType(resultArr[i][2]))
-					.primary(BooleanUtils.toBoolean(resultArr[i][3]))
-					.notnull(BooleanUtils.toBoolean(resultArr[i][4]))
-					.build());
+				columnInfoList.add(toColumnInfo(resultArr[i], 0));
 			}
 		}
 		catch (SQLException e) {
@@ -185,6 +180,28 @@ public class H2JdbcDdl extends AbstractJdbcDdl {
 		return columnInfoList;
 	}
 
+	@Override
+	public Map<String, List<ColumnInfoBO>> showColumnsForTables(Connection connection, String schema,
+			List<String> tables) {
+		String sql = "SELECT table_name, column_name, remarks, data_type, \n"
+				+ "CASE WHEN IS_IDENTITY = 'YES' THEN TRUE ELSE FALSE END AS 主键唯一, \n"
+				+ "CASE WHEN IS_NULLABLE = 'NO' THEN TRUE ELSE FALSE END AS 非空 \n" + "FROM information_schema.COLUMNS "
+				+ "WHERE table_schema='%s' " + "and table_name in (%s) \n"
+				+ "ORDER BY table_name, ordinal_position;";
+		return queryColumnsForTables(tables, tableListStr -> SqlExecutor.executeSqlAndReturnArr(connection,
+				"INFORMATION_SCHEMA", String.format(sql, schema, tableListStr)), row -> toColumnInfo(row, 1));
+	}
+
+	private ColumnInfoBO toColumnInfo(String[] row, int offset) {
+		return ColumnInfoBO.builder()
+			.name(row[offset])
+			.description(row[offset + 1])
+			.type(wrapType(row[offset + 2]))
+			.primary(BooleanUtils.toBoolean(row[offset + 3]))
+			.notnull(BooleanUtils.toBoolean(row[offset + 4]))
+			.build();
+	}
+
 	@Override
 	public List<ForeignKeyInfoBO> showForeignKeys(Connection connection, String schema, List<String> tables) {
 		String sql = "SELECT \n" + "    kc.TABLE_NAME AS 表名,\n" + "    kc.COLUMN_NAME AS 列名,\n"
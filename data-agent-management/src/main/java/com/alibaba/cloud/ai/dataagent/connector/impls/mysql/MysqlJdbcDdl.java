@@ -33,6 +33,7 @@ import java.sql.Connection;
 import java.sql.SQLException;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -149,13 +150,7 @@ public class MysqlJdbcDdl extends AbstractJdbcDdl {
 				if (resultArr[i].length == 0) {
 					continue;
 				}
-				columnInfoList.add(ColumnInfoBO.builder()
-					.name(resultArr[i][0])
-					.description(resultArr[i][1])
-					.type(wrapType(resultArr[i][2]))
-					.primary(BooleanUtils.toBoolean(resultArr[i][3]))
-					.notnull(BooleanUtils.toBoolean(resultArr[i][4]))
-					.build());
+				columnInfoList.add(toColumnInfo(resultArr[i], 0));
 			}
 		}
 		catch (SQLException e) {
@@ -165,6 +160,28 @@ public class MysqlJdbcDdl extends AbstractJdbcDdl {
 		return columnInfoList;
 	}
 
+	@Override
+	public Map<String, List<ColumnInfoBO>> showColumnsForTables(Connection connection, String schema,
+			List<String> tables) {
+		String sql = "SELECT table_name, column_name, column_comment, data_type, "
+				+ "IF(column_key='PRI','true','false') AS '主键唯一', \n" + "IF(IS_NULLABLE='NO','true','false') AS '非空' \n"
+				+ "FROM information_schema.COLUMNS " + "WHERE table_schema='%s' " + "and table_name in (%s) \n"
+				+ "ORDER BY table_name, ordinal_position;";
+		// information_schema is fully qualified, so no `use` switch is needed
+		return queryColumnsForTables(tables, tableListStr -> SqlExecutor.executeSqlAndReturnArr(connection, null,
+				String.format(sql, connection.getCatalog(), tableListStr)), row -> toColumnInfo(row, 1));
+	}
+
+	private ColumnInfoBO toColumnInfo(String[] row, int offset) {
+		return ColumnInfoBO.builder()
+			.name(row[offset])
+			.description(row[offset + 1])
+			.type(wrapType(row[offset + 2]))
+			.primary(BooleanUtils.toBoolean(row[offset + 3]))
+			.notnull(BooleanUtils.toBoolean(row[offset + 4]))
+			.build();
+	}
+
 	@Override
 	public List<ForeignKeyInfoBO> showForeignKeys(Connection connection, String schema, List<String> tables) {
 		String sql = "SELECT \n" + "    TABLE_NAME AS '表名',\n" + "    COLUMN_NAME AS '列名',\n"
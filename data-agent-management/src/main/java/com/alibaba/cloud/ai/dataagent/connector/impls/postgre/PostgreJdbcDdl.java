@@ -34,6 +34,7 @@ import org.springframework.stereotype.Service;
 import java.sql.Connection;
 import java.sql.SQLException;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -191,13 +192,7 @@ public class PostgreJdbcDdl extends AbstractJdbcDdl {
 				if (resultArr[i].length == 0) {
 					continue;
 				}
-				columnInfoList.add(ColumnInfoBO.builder()
-					.name(resultArr[i][0])
-					.description(resultArr[i][1])
-					.type(wrapType(resultArr[i][2]))
-					.primary(BooleanUtils.toBoolean(resultArr[i][3]))
-					.notnull(BooleanUtils.toBoolean(resultArr[i][4]))
-					.build());
+				columnInfoList.add(toColumnInfo(resultArr[i], 0));
 			}
 		}
 		catch (SQLException e) {
@@ -207,6 +202,33 @@ public class PostgreJdbcDdl extends AbstractJdbcDdl {
 		return columnInfoList;
 	}
 
+	@Override
+	public Map<String, List<ColumnInfoBO>> showColumnsForTables(Connection connection, String schema,
+			List<String> tables) {
+		String sql = "\n" + "SELECT\n" + "    c.relname as table_name,\n" + "    a.attname as column_name,\n"
+				+ "    col_description(a.attrelid, a.attnum) as column_description,\n"
+				+ "    pg_catalog.format_type(a.atttypid, a.atttypmod) as data_type,\n" + "    CASE\n"
+				+ "        WHEN a.attnum = ANY (ind.indkey) THEN true\n" + "        ELSE false\n" + "    END as 主键唯一,\n"
+				+ "     a.attnotnull as 非空\n" + "FROM\n" + "    pg_catalog.pg_attribute a\n" + "LEFT JOIN\n"
+				+ "    pg_catalog.pg_index ind ON ind.indrelid = a.attrelid AND ind.indisprimary\n" + "LEFT JOIN\n"
+				+ "    pg_catalog.pg_class c ON a.attrelid = c.oid\n" + "LEFT JOIN\n"
+				+ "    pg_catalog.pg_namespace n ON n.oid = c.relnamespace\n" + "WHERE\n" + "    c.relname IN (%s)\n"
+				+ "    AND a.attnum > 0\n" + "    AND NOT a.attisdropped\n" + "    AND n.nspname = '%s'\n"
+				+ "ORDER BY\n" + "    c.relname, a.attnum;";
+		return queryColumnsForTables(tables, tableListStr -> SqlExecutor.executeSqlAndReturnArr(connection, null,
+				String.format(sql, tableListStr, schema)), row -> toColumnInfo(row, 1));
+	}
+
+	private ColumnInfoBO toColumnInfo(String[] row, int offset) {
+		return ColumnInfoBO.builder()
+			.name(row[offset])
+			.description(row[offset + 1])
+			.type(wrapType(row[offset + 2]))
+			.primary(BooleanUtils.toBoolean(row[offset + 3]))
+			.notnull(BooleanUtils.toBoolean(row[offset + 4]))
+			.build();
+	}
+
 	@Override
 	public List<ForeignKeyInfoBO> showForeignKeys(Connection connection, String schema, List<String> tables) {
 		String sql = "SELECT\n" + "    tc.table_name,\n" + "    kcu.column_name,\n" + "    tc.constraint_name,\n"
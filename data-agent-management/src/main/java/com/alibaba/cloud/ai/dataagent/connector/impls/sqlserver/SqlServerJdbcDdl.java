@@ -31,6 +31,7 @@ import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 import static com.alibaba.cloud.ai.dataagent.util.ColumnTypeUtil.wrapType;
@@ -192,13 +193,7 @@ public class SqlServerJdbcDdl extends AbstractJdbcDdl {
 				if (resultArr[i].length == 0) {
 					continue;
 				}
-				columnInfoList.add(ColumnInfoBO.builder()
-					.name(resultArr[i][0])
-					.description(resultArr[i][1])
-					.type(wrapType(resultArr[i][2]))
-					.primary(BooleanUtils.toBoolean(resultArr[i][3]))
-					.notnull(BooleanUtils.toBoolean(resultArr[i][4]))
-					.build());
+				columnInfoList.add(toColumnInfo(resultArr[i], 0));
 			}
 		}
 		catch (SQLException e) {
@@ -208,6 +203,37 @@ public class SqlServerJdbcDdl extends AbstractJdbcDdl {
 		return columnInfoList;
 	}
 
+	@Override
+	public Map<String, List<ColumnInfoBO>> showColumnsForTables(Connection connection, String schema,
+			List<String> tables) {
+		String sql = "SELECT \n" + "c.TABLE_NAME, \n" + "c.COLUMN_NAME, \n"
+				+ "CAST(ep.value AS NVARCHAR(MAX)) AS COLUMN_COMMENT, \n" + "c.DATA_TYPE, \n"
+				+ "CASE WHEN pk.COLUMN_NAME IS NOT NULL THEN 'true' ELSE 'false' END AS IS_PRIMARY_KEY, \n"
+				+ "CASE WHEN c.IS_NULLABLE = 'NO' THEN 'true' ELSE 'false' END AS IS_NOT_NULL \n"
+				+ "FROM INFORMATION_SCHEMA.COLUMNS c \n"
+				+ "LEFT JOIN sys.columns sc ON OBJECT_ID(c.TABLE_SCHEMA + '.' + c.TABLE_NAME) = sc.object_id AND c.COLUMN_NAME = sc.name \n"
+				+ "LEFT JOIN sys.extended_properties ep ON sc.object_id = ep.major_id AND sc.column_id = ep.minor_id AND ep.name = 'MS_Description' \n"
+				+ "LEFT JOIN ( \n" + "    SELECT ku.TABLE_SCHEMA, ku.TABLE_NAME, ku.COLUMN_NAME \n"
+				+ "    FROM INFORMATION_SCHEMA.TABLE_CONSTRAINTS tc \n"
+				+ "    JOIN INFORMATION_SCHEMA.KEY_COLUMN_USAGE ku ON tc.CONSTRAINT_NAME = ku.CONSTRAINT_NAME \n"
+				+ "    WHERE tc.CONSTRAINT_TYPE = 'PRIMARY KEY' \n"
+				+ ") pk ON c.TABLE_SCHEMA = pk.TABLE_SCHEMA AND c.TABLE_NAME = pk.TABLE_NAME AND c.COLUMN_NAME = pk.COLUMN_NAME \n"
+				+ "WHERE c.TABLE_SCHEMA = '%s' AND c.TABLE_NAME IN (%s) \n"
+				+ "ORDER BY c.TABLE_NAME, c.ORDINAL_POSITION;";
+		return queryColumnsForTables(tables, tableListStr -> SqlExecutor.executeSqlAndReturnArr(connection, null,
+				String.format(sql, schema, tableListStr)), row -> toColumnInfo(row, 1));
+	}
+
+	private ColumnInfoBO toColumnInfo(String[] row, int offset) {
+		return ColumnInfoBO.builder()
+			.name(row[offset])
+			.description(row[offset + 1])
+			.type(wrapType(row[offset + 2]))
+			.primary(BooleanUtils.toBoolean(row[offset + 3]))
+			.notnull(BooleanUtils.toBoolean(row[offset + 4]))
+			.build();
+	}
+
 	@Override
 	public List<ForeignKeyInfoBO> showForeignKeys(Connection connection, String schema, List<String> tables) {
 		String sql = "SELECT \n" + "FK.TABLE_NAME AS 'Table', \n" + "CU.COLUMN_NAME AS 'Column', \n"
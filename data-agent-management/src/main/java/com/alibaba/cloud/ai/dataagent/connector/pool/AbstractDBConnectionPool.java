@@ -17,11 +17,14 @@
 package com.alibaba.cloud.ai.dataagent.connector.pool;
 
 import com.alibaba.cloud.ai.dataagent.bo.DbConfigBO;
+import com.alibaba.cloud.ai.dataagent.bo.DbPoolConfigBO;
 import com.alibaba.druid.pool.DruidDataSource;
 import com.alibaba.druid.pool.DruidDataSourceFactory;
 import com.alibaba.cloud.ai.dataagent.enums.BizDataSourceTypeEnum;
 import com.alibaba.cloud.ai.dataagent.enums.ErrorCodeEnum;
+import com.alibaba.cloud.ai.dataagent.properties.DataAgentProperties;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
 
 import javax.sql.DataSource;
 import java.sql.Connection;
@@ -30,15 +33,30 @@ import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
 import java.util.Objects;
-import java.util.concurrent.ConcurrentHashMap;
 
 @Slf4j
 public abstract class AbstractDBConnectionPool implements DBConnectionPool {
 
+	/**
+	 * Pool sizing used when the configuration carries none, the defaults of
+	 * {@link DataAgentProperties.ConnectionPool} until the properties are injected.
+	 */
+	private DataAgentProperties.ConnectionPool poolDefaults = new DataAgentProperties.ConnectionPool();
+
 	/**
 	 * DataSource cache to ensure that each configuration creates DataSource only once.
 	 */
-	private static final ConcurrentHashMap<String, DataSource> DATA_SOURCE_CACHE = new ConcurrentHashMap<>();
+	private PooledDataSourceCache dataSourceCache;
+
+	@Autowired
+	public void setDataSourceCache(PooledDataSourceCache dataSourceCache) {
+		this.dataSourceCache = dataSourceCache;
+	}
+
+	@Autowired
+	public void setDataAgentProperties(DataAgentProperties properties) {
+		this.poolDefaults = properties.getConnectionPool();
+	}
 
 	/**
 	 * Driver
@@ -93,10 +111,12 @@ public abstract class AbstractDBConnectionPool implements DBConnectionPool {
 				// Use computeIfAbsent to ensure thread safety and avoid duplicate
 				// DataSource
 				// creation
-				DataSource dataSource = DATA_SOURCE_CACHE.computeIfAbsent(cacheKey, key -> {
+				PooledDataSource pooled = dataSourceCache.computeIfAbsent(cacheKey, key -> {
 					try {
 						log.debug("Creating new DataSource for key: {}", key);
-						return createdDataSource(jdbcUrl, config.getUsername(), config.getPassword());
+						DruidDataSource created = (DruidDataSource) createdDataSource(jdbcUrl, config.getUsername(),
+								config.getPassword(), config.getPoolConfig());
+						return new PooledDataSource(config.getDatasourceId(), jdbcUrl, config.getUsername(), created);
 					}
 					catch (Exception e) {
 						log.error("Failed to create DataSource for key: {}", key, e);
@@ -104,15 +124,21 @@ public abstract class AbstractDBConnectionPool implements DBConnectionPool {
 					}
 				});
 
-				// 记录连接池状态
-				if (dataSource instanceof DruidDataSource druidDataSource) {
-					log.debug("Connection pool status - Active: {}, Idle: {}, Total: {}, WaitCount: {}",
-							druidDataSource.getActiveCount(), druidDataSource.getPoolingCount(),
-							druidDataSource.getActiveCount() + druidDataSource.getPoolingCount(),
-							druidDataSource.getWaitThreadCount());
+				if (pooled.isClosed()) {
+					// Evicted concurrently, the next attempt creates a fresh pool
+					dataSourceCache.remove(cacheKey, pooled);
+					continue;
 				}
+				dataSourceCache.evictLeastRecentlyUsed();
+
+				// 记录连接池状态
+				DruidDataSource druidDataSource = pooled.getDataSource();
+				log.debug("Connection pool status - Active: {}, Idle: {}, Total: {}, WaitCount: {}",
+						druidDataSource.getActiveCount(), druidDataSource.getPoolingCount(),
+						druidDataSource.getActiveCount() + druidDataSource.getPoolingCount(),
+						druidDataSource.getWaitThreadCount());
 
-				return dataSource.getConnection();
+				return pooled.getConnection();
 			}
 			catch (Exception e) {
 				log.warn("Attempt {} to get database connection failed: {}", attempt, e.getMessage());
@@ -148,12 +174,7 @@ public abstract class AbstractDBConnectionPool implements DBConnectionPool {
 
 	@Override
 	public void close() {
-		DATA_SOURCE_CACHE.values().forEach(dataSource -> {
-			if (dataSource instanceof DruidDataSource) {
-				((DruidDataSource) dataSource).close();
-			}
-		});
-		DATA_SOURCE_CACHE.clear();
+		dataSourceCache.clear();
 		log.info("DataSource cache cleared");
 	}
 
@@ -163,8 +184,20 @@ public abstract class AbstractDBConnectionPool implements DBConnectionPool {
 	 */
 
 	public DataSource createdDataSource(String url, String username, String password) throws Exception {
+		return createdDataSource(url, username, password, null);
+	}
+
+	public DataSource createdDataSource(String url, String username, String password, DbPoolConfigBO poolConfig)
+			throws Exception {
 
 		String driver = getDriver();
+		DbPoolConfigBO pool = poolConfig != null ? poolConfig
+				: DbPoolConfigBO.builder()
+					.initialSize(poolDefaults.getInitialSize())
+					.minIdle(poolDefaults.getMinIdle())
+					.maxActive(poolDefaults.getMaxActive())
+					.maxWaitMillis(poolDefaults.getMaxWaitMillis())
+					.build();
 
 		String filters = "wall,stat";
 		if (driver != null && driver.toLowerCase().contains("dm.jdbc.driver.dmdriver")) {
@@ -176,10 +209,10 @@ public abstract class AbstractDBConnectionPool implements DBConnectionPool {
 		props.put(DruidDataSourceFactory.PROP_URL, url);
 		props.put(DruidDataSourceFactory.PROP_USERNAME, username);
 		props.put(DruidDataSourceFactory.PROP_PASSWORD, password);
-		props.put(DruidDataSourceFactory.PROP_INITIALSIZE, "5");
-		props.put(DruidDataSourceFactory.PROP_MINIDLE, "5");
-		props.put(DruidDataSourceFactory.PROP_MAXACTIVE, "20");
-		props.put(DruidDataSourceFactory.PROP_MAXWAIT, "10000");
+		props.put(DruidDataSourceFactory.PROP_INITIALSIZE, String.valueOf(pool.getInitialSize()));
+		props.put(DruidDataSourceFactory.PROP_MINIDLE, String.valueOf(pool.getMinIdle()));
+		props.put(DruidDataSourceFactory.PROP_MAXACTIVE, String.valueOf(pool.getMaxActive()));
+		props.put(DruidDataSourceFactory.PROP_MAXWAIT, String.valueOf(pool.getMaxWaitMillis()));
 		props.put(DruidDataSourceFactory.PROP_TIMEBETWEENEVICTIONRUNSMILLIS, "60000");
 		props.put(DruidDataSourceFactory.PROP_FILTERS, filters);
 
@@ -188,8 +221,8 @@ public abstract class AbstractDBConnectionPool implements DBConnectionPool {
 		dataSource.setConnectionErrorRetryAttempts(2);
 
 		// 记录数据源创建信息
-		log.info(
-				"Created new DataSource with optimized parameters - InitialSize: 5, MinIdle: 5, MaxActive: 20, MaxWait: 10000ms");
+		log.info("Created new DataSource - InitialSize: {}, MinIdle: {}, MaxActive: {}, MaxWait: {}ms",
+				pool.getInitialSize(), pool.getMinIdle(), pool.getMaxActive(), pool.getMaxWaitMillis());
 
 		return dataSource;
 	}
@@ -0,0 +1,38 @@
+/*
+ * Copyright 2024-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.cloud.ai.dataagent.connector.pool;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Periodically closes the idle analysed-datasource pools.
+ */
+@Component
+public class DBConnectionPoolEvictor {
+
+	private final PooledDataSourceCache dataSourceCache;
+
+	public DBConnectionPoolEvictor(PooledDataSourceCache dataSourceCache) {
+		this.dataSourceCache = dataSourceCache;
+	}
+
+	@Scheduled(initialDelay = 60_000, fixedDelay = 60_000)
+	public void evictIdle() {
+		dataSourceCache.evictIdle();
+	}
+
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright 2024-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.cloud.ai.dataagent.connector.pool;
+
+import com.alibaba.cloud.ai.dataagent.bo.DbPoolStatsBO;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.MultiGauge;
+import io.micrometer.core.instrument.Tags;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.DoubleBinaryOperator;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Publishes the state of every cached analysed-datasource pool to Micrometer, tagged by
+ * datasource id rather than url or username, which would leak hosts into the metrics and
+ * create a series per connection string. Pools of the same datasource, and pools of
+ * ad-hoc configurations tagged {@code none}, are folded into one row. Pools come and go
+ * at runtime, so the gauges are re-registered from a fresh snapshot on a fixed schedule.
+ */
+@Component
+public class DBConnectionPoolMetrics {
+
+	private static final String METRIC_PREFIX = "data-agent.datasource.pool.";
+
+	private final PooledDataSourceCache dataSourceCache;
+
+	private final MultiGauge activeGauge;
+
+	private final MultiGauge idleGauge;
+
+	private final MultiGauge waitGauge;
+
+	private final MultiGauge avgAcquireGauge;
+
+	private final MultiGauge maxAcquireGauge;
+
+	public DBConnectionPoolMetrics(PooledDataSourceCache dataSourceCache, MeterRegistry meterRegistry) {
+		this.dataSourceCache = dataSourceCache;
+		this.activeGauge = MultiGauge.builder(METRIC_PREFIX + "active")
+			.description("Active connections")
+			.register(meterRegistry);
+		this.idleGauge = MultiGauge.builder(METRIC_PREFIX + "idle")
+			.description("Idle connections")
+			.register(meterRegistry);
+		this.waitGauge = MultiGauge.builder(METRIC_PREFIX + "wait")
+			.description("Threads waiting for a connection")
+			.register(meterRegistry);
+		this.avgAcquireGauge = MultiGauge.builder(METRIC_PREFIX + "acquire.avg")
+			.description("Average connection acquisition time")
+			.baseUnit("milliseconds")
+			.register(meterRegistry);
+		this.maxAcquireGauge = MultiGauge.builder(METRIC_PREFIX + "acquire.max")
+			.description("Maximum connection acquisition time")
+			.baseUnit("milliseconds")
+			.register(meterRegistry);
+	}
+
+	@Scheduled(initialDelay = 10_000, fixedDelay = 15_000)
+	public void refresh() {
+		List<DbPoolStatsBO> stats = dataSourceCache.getPoolStats();
+		register(activeGauge, stats, DbPoolStatsBO::getActiveCount, Double::sum);
+		register(idleGauge, stats, DbPoolStatsBO::getIdleCount, Double::sum);
+		register(waitGauge, stats, DbPoolStatsBO::getWaitThreadCount, Double::sum);
+		register(avgAcquireGauge, stats, DbPoolStatsBO::getAvgAcquireMillis, Math::max);
+		register(maxAcquireGauge, stats, DbPoolStatsBO::getMaxAcquireMillis, Math::max);
+	}
+
+	private void register(MultiGauge gauge, List<DbPoolStatsBO> stats, ToDoubleFunction<DbPoolStatsBO> value,
+			DoubleBinaryOperator merge) {
+		Map<Tags, Double> values = new LinkedHashMap<>();
+		for (DbPoolStatsBO s : stats) {
+			values.merge(tags(s), value.applyAsDouble(s), merge::applyAsDouble);
+		}
+		List<MultiGauge.Row<?>> rows = values.entrySet()
+			.stream()
+			.<MultiGauge.Row<?>>map(entry -> MultiGauge.Row.of(entry.getKey(), entry.getValue()))
+			.toList();
+		gauge.register(rows, true);
+	}
+
+	private static Tags tags(DbPoolStatsBO stats) {
+		return Tags.of("datasource_id", stats.getDatasourceId() == null ? "none" : stats.getDatasourceId().toString());
+	}
+
+}
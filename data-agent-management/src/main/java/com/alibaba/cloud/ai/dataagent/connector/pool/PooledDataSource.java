@@ -0,0 +1,118 @@
+/*
+ * Copyright 2024-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.cloud.ai.dataagent.connector.pool;
+
+import com.alibaba.cloud.ai.dataagent.bo.DbPoolStatsBO;
+import com.alibaba.druid.pool.DruidDataSource;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A cached Druid pool together with its connection acquisition statistics.
+ */
+class PooledDataSource {
+
+	private final Integer datasourceId;
+
+	private final String url;
+
+	private final String username;
+
+	private final DruidDataSource dataSource;
+
+	private final LongAdder acquireCount = new LongAdder();
+
+	private final LongAdder acquireNanos = new LongAdder();
+
+	private final AtomicLong maxAcquireNanos = new AtomicLong();
+
+	private volatile long lastAccessMillis = System.currentTimeMillis();
+
+	PooledDataSource(Integer datasourceId, String url, String username, DruidDataSource dataSource) {
+		this.datasourceId = datasourceId;
+		this.url = url;
+		this.username = username;
+		this.dataSource = dataSource;
+	}
+
+	DruidDataSource getDataSource() {
+		return dataSource;
+	}
+
+	String getUrl() {
+		return url;
+	}
+
+	String getUsername() {
+		return username;
+	}
+
+	long getLastAccessMillis() {
+		return lastAccessMillis;
+	}
+
+	/**
+	 * Whether no connection has been borrowed for longer than {@code idleTimeoutMillis}
+	 * and none is currently in use, so the pool can be closed safely.
+	 */
+	boolean isIdle(long nowMillis, long idleTimeoutMillis) {
+		return nowMillis - lastAccessMillis > idleTimeoutMillis && dataSource.getActiveCount() == 0;
+	}
+
+	boolean isClosed() {
+		return dataSource.isClosed();
+	}
+
+	/**
+	 * Borrow a connection and record how long the borrow took.
+	 */
+	Connection getConnection() throws SQLException {
+		lastAccessMillis = System.currentTimeMillis();
+		long start = System.nanoTime();
+		Connection connection = dataSource.getConnection();
+		long elapsed = System.nanoTime() - start;
+		acquireCount.increment();
+		acquireNanos.add(elapsed);
+		maxAcquireNanos.accumulateAndGet(elapsed, Math::max);
+		return connection;
+	}
+
+	DbPoolStatsBO toStats() {
+		long count = acquireCount.sum();
+		double avgMillis = count == 0 ? 0 : (double) acquireNanos.sum() / count / TimeUnit.MILLISECONDS.toNanos(1);
+		return DbPoolStatsBO.builder()
+			.datasourceId(datasourceId)
+			.url(url)
+			.username(username)
+			.activeCount(dataSource.getActiveCount())
+			.idleCount(dataSource.getPoolingCount())
+			.waitThreadCount(dataSource.getWaitThreadCount())
+			.maxActive(dataSource.getMaxActive())
+			.acquireCount(count)
+			.avgAcquireMillis(avgMillis)
+			.maxAcquireMillis(TimeUnit.NANOSECONDS.toMillis(maxAcquireNanos.get()))
+			.build();
+	}
+
+	void close() {
+		dataSource.close();
+	}
+
+}
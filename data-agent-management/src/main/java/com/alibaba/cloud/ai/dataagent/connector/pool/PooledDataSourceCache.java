@@ -0,0 +1,159 @@
+/*
+ * Copyright 2024-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.cloud.ai.dataagent.connector.pool;
+
+import com.alibaba.cloud.ai.dataagent.bo.DbPoolStatsBO;
+import com.alibaba.cloud.ai.dataagent.properties.DataAgentProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Cache of the analysed-datasource pools, shared by the pools of all database types so
+ * that each configuration creates its DataSource only once. Pools that are idle longer
+ * than {@code idle-timeout-millis} are closed, and at most {@code max-cached-pools} are
+ * kept, closing the least recently used idle pools first.
+ */
+@Slf4j
+@Component
+public class PooledDataSourceCache {
+
+	private final ConcurrentHashMap<String, PooledDataSource> dataSources = new ConcurrentHashMap<>();
+
+	private final long idleTimeoutMillis;
+
+	private final int maxCachedPools;
+
+	@Autowired
+	public PooledDataSourceCache(DataAgentProperties properties) {
+		this(properties.getConnectionPool().getIdleTimeoutMillis(), properties.getConnectionPool().getMaxCachedPools());
+	}
+
+	PooledDataSourceCache(long idleTimeoutMillis, int maxCachedPools) {
+		this.idleTimeoutMillis = idleTimeoutMillis;
+		this.maxCachedPools = maxCachedPools;
+	}
+
+	PooledDataSource computeIfAbsent(String key, Function<String, PooledDataSource> factory) {
+		return dataSources.computeIfAbsent(key, factory);
+	}
+
+	void remove(String key, PooledDataSource pooled) {
+		dataSources.remove(key, pooled);
+	}
+
+	int size() {
+		return dataSources.size();
+	}
+
+	/**
+	 * Snapshot the statistics of every cached pool, across all database types.
+	 * @return one entry per cached DataSource
+	 */
+	public List<DbPoolStatsBO> getPoolStats() {
+		return dataSources.values().stream().map(PooledDataSource::toStats).toList();
+	}
+
+	/**
+	 * Close and drop every cached pool of the given url and username, whatever password
+	 * it was created with. Called when a datasource is changed or deleted.
+	 * @return number of closed pools
+	 */
+	public int invalidate(String url, String username) {
+		int closed = 0;
+		for (Map.Entry<String, PooledDataSource> entry : dataSources.entrySet()) {
+			PooledDataSource pooled = entry.getValue();
+			if (Objects.equals(pooled.getUrl(), url) && Objects.equals(pooled.getUsername(), username)
+					&& evict(entry.getKey(), pooled)) {
+				closed++;
+			}
+		}
+		if (closed > 0) {
+			log.info("Invalidated {} cached DataSource(s) for url: {}", closed, url);
+		}
+		return closed;
+	}
+
+	/**
+	 * Close pools idle longer than the configured timeout, then trim the cache down to
+	 * its maximum size.
+	 * @return number of closed pools
+	 */
+	public int evictIdle() {
+		long now = System.currentTimeMillis();
+		int closed = 0;
+		for (Map.Entry<String, PooledDataSource> entry : dataSources.entrySet()) {
+			if (entry.getValue().isIdle(now, idleTimeoutMillis) && evict(entry.getKey(), entry.getValue())) {
+				closed++;
+			}
+		}
+		closed += evictLeastRecentlyUsed();
+		if (closed > 0) {
+			log.info("Evicted {} idle DataSource(s), {} remain cached", closed, dataSources.size());
+		}
+		return closed;
+	}
+
+	/**
+	 * Close the least recently used pools without active connections until the cache
+	 * fits {@link #maxCachedPools}.
+	 * @return number of closed pools
+	 */
+	int evictLeastRecentlyUsed() {
+		int excess = dataSources.size() - maxCachedPools;
+		if (excess <= 0) {
+			return 0;
+		}
+		List<Map.Entry<String, PooledDataSource>> candidates = dataSources.entrySet()
+			.stream()
+			.filter(entry -> entry.getValue().getDataSource().getActiveCount() == 0)
+			.sorted(Comparator.comparingLong(entry -> entry.getValue().getLastAccessMillis()))
+			.limit(excess)
+			.toList();
+		int closed = 0;
+		for (Map.Entry<String, PooledDataSource> entry : candidates) {
+			if (evict(entry.getKey(), entry.getValue())) {
+				closed++;
+			}
+		}
+		return closed;
+	}
+
+	/**
+	 * Close and drop every cached pool.
+	 */
+	public void clear() {
+		dataSources.values().forEach(PooledDataSource::close);
+		dataSources.clear();
+	}
+
+	private boolean evict(String key, PooledDataSource pooled) {
+		if (!dataSources.remove(key, pooled)) {
+			return false;
+		}
+		log.debug("Closing cached DataSource for url: {}", pooled.getUrl());
+		pooled.close();
+		return true;
+	}
+
+}
@@ -31,6 +31,8 @@ public final class Constant {
 
 	public static final String AGENT_ID = "agentId";
 
+	public static final String THREAD_ID = "threadId";
+
 	public static final String MULTI_TURN_CONTEXT = "MULTI_TURN_CONTEXT";
 
 	public static final String RESULT = "result";
@@ -41,6 +43,8 @@ public final class Constant {
 
 	public static final String QUERY_ENHANCE_NODE_OUTPUT = "QUERY_ENHANCE_NODE_OUTPUT";
 
+	public static final String QUERY_UNDERSTANDING_NODE_OUTPUT = "QUERY_UNDERSTANDING_NODE_OUTPUT";
+
 	public static final String FEASIBILITY_ASSESSMENT_NODE_OUTPUT = "FEASIBILITY_ASSESSMENT_NODE_OUTPUT";
 
 	public static final String EVIDENCE = "EVIDENCE";
@@ -68,6 +72,9 @@ public final class Constant {
 	// 重新生成SQL的原因
 	public static final String SQL_REGENERATE_REASON = "SQL_REGENERATE_REASON";
 
+	// SQL执行线程池已满，本次请求结束且不重新生成SQL
+	public static final String SQL_EXECUTE_BUSY = "SQL_EXECUTE_BUSY";
+
 	public static final String SEMANTIC_CONSISTENCY_NODE_OUTPUT = "SEMANTIC_CONSISTENCY_NODE_OUTPUT";
 
 	public static final String PLANNER_NODE_OUTPUT = "PLANNER_NODE_OUTPUT";
@@ -101,6 +108,9 @@ public final class Constant {
 
 	public static final String QUERY_ENHANCE_NODE = "QUERY_ENHANCE_NODE";
 
+	// 合并意图识别、查询重写和查询增强的快速路径节点
+	public static final String QUERY_UNDERSTANDING_NODE = "QUERY_UNDERSTANDING_NODE";
+
 	public static final String FEASIBILITY_ASSESSMENT_NODE = "FEASIBILITY_ASSESSMENT_NODE";
 
 	public static final String REPORT_GENERATOR_NODE = "REPORT_GENERATOR_NODE";
@@ -124,6 +134,11 @@ public final class Constant {
 
 	public static final String PYTHON_ANALYZE_NODE = "PYTHON_ANALYZE_NODE";
 
+	// 非图节点的大模型调用方，用于按调用方分配对话模型
+	public static final String JSON_FIX_CALLER = "JSON_FIX";
+
+	public static final String SESSION_TITLE_CALLER = "SESSION_TITLE";
+
 	public static final String SQL_RESULT_LIST_MEMORY = "SQL_RESULT_LIST_MEMORY";
 
 	public static final String PYTHON_IS_SUCCESS = "PYTHON_IS_SUCCESS";
@@ -150,9 +165,17 @@ public final class Constant {
 	// 控制是否生成Markdown简洁报告
 	public static final String PLAIN_REPORT = "PLAIN_REPORT";
 
+	// 是否走合并的查询理解快速路径
+	public static final String QUERY_FAST_PATH_ENABLED = "QUERY_FAST_PATH_ENABLED";
+
+	// 本轮流程开始时间（毫秒），用于统计查询理解阶段耗时
+	public static final String QUERY_START_TIME = "QUERY_START_TIME";
+
 	// StreamEvent 常量
 	public static final String STREAM_EVENT_COMPLETE = "complete";
 
 	public static final String STREAM_EVENT_ERROR = "error";
 
+	public static final String STREAM_EVENT_PROGRESS = "progress";
+
 }
@@ -19,16 +19,26 @@ import com.alibaba.cloud.ai.dataagent.dto.datasource.ToggleDatasourceDTO;
 import com.alibaba.cloud.ai.dataagent.dto.datasource.UpdateDatasourceTablesDTO;
 import com.alibaba.cloud.ai.dataagent.entity.AgentDatasource;
 import com.alibaba.cloud.ai.dataagent.service.datasource.AgentDatasourceService;
+import com.alibaba.cloud.ai.dataagent.service.schema.SchemaInitJobService;
 import com.alibaba.cloud.ai.dataagent.vo.ApiResponse;
+import com.alibaba.cloud.ai.dataagent.vo.SchemaInitJobVO;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
 
 import java.util.List;
 import java.util.Optional;
 
+import static com.alibaba.cloud.ai.dataagent.constant.Constant.STREAM_EVENT_COMPLETE;
+import static com.alibaba.cloud.ai.dataagent.constant.Constant.STREAM_EVENT_ERROR;
+import static com.alibaba.cloud.ai.dataagent.constant.Constant.STREAM_EVENT_PROGRESS;
+
 /**
  * Agent Schema Initialization Controller Handles agent's database Schema initialization
  * to vector storage
@@ -42,6 +52,8 @@ public class AgentDatasourceController {
 
 	private final AgentDatasourceService agentDatasourceService;
 
+	private final SchemaInitJobService schemaInitJobService;
+
 	/**
 	 * Initialize agent's database Schema to vector storage Corresponds to the "Initialize
 	 * Information Source" function on the frontend
@@ -66,17 +78,9 @@ public class AgentDatasourceController {
 				return ResponseEntity.badRequest().body(ApiResponse.error("表列表不能为空"));
 			}
 
-			// Execute Schema initialization
-			Boolean result = agentDatasourceService.initializeSchemaForAgentWithDatasource(agentId, datasourceId,
-					tables);
-
-			if (result) {
-				log.info("Successfully initialized schema for agent: {}, tables: {}", agentId, tables.size());
-				return ResponseEntity.ok(ApiResponse.success("Schema初始化成功"));
-			}
-			else {
-				return ResponseEntity.internalServerError().body(ApiResponse.error("Schema初始化失败"));
-			}
+			// 提交后台初始化任务，通过任务接口查询或订阅进度
+			SchemaInitJobVO job = schemaInitJobService.submit(agentId, datasourceId, tables);
+			return ResponseEntity.ok(ApiResponse.success("Schema初始化任务已提交", job));
 		}
 		catch (Exception e) {
 			log.error("Failed to initialize schema for agent: {}", agentId, e);
@@ -84,6 +88,64 @@ public class AgentDatasourceController {
 		}
 	}
 
+	/**
+	 * 查询智能体的 Schema 初始化任务，最新的在前
+	 */
+	@GetMapping("/init/jobs")
+	public ResponseEntity<ApiResponse> listSchemaInitJobs(@PathVariable(value = "agentId") Long agentId) {
+		return ResponseEntity.ok(ApiResponse.success("操作成功", schemaInitJobService.listJobs(agentId)));
+	}
+
+	/**
+	 * 查询 Schema 初始化任务状态
+	 */
+	@GetMapping("/init/jobs/{jobId}")
+	public ResponseEntity<ApiResponse> getSchemaInitJob(@PathVariable(value = "agentId") Long agentId,
+			@PathVariable(value = "jobId") String jobId) {
+		return schemaInitJobService.getJob(jobId)
+			.filter(job -> job.getAgentId().equals(agentId))
+			.map(job -> ResponseEntity.ok(ApiResponse.success("操作成功", job)))
+			.orElseGet(() -> ResponseEntity.badRequest().body(ApiResponse.error("未找到初始化任务")));
+	}
+
+	/**
+	 * 订阅 Schema 初始化任务进度，任务结束后发送 complete 事件并关闭连接
+	 */
+	@GetMapping(value = "/init/jobs/{jobId}/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+	public Flux<ServerSentEvent<SchemaInitJobVO>> streamSchemaInitJob(@PathVariable(value = "agentId") Long agentId,
+			@PathVariable(value = "jobId") String jobId, HttpServletResponse response) {
+		response.setCharacterEncoding("UTF-8");
+		response.setContentType("text/event-stream");
+		response.setHeader("Cache-Control", "no-cache");
+		response.setHeader("Connection", "keep-alive");
+		response.setHeader("Access-Control-Allow-Origin", "*");
+
+		boolean owned = schemaInitJobService.getJob(jobId).filter(job -> job.getAgentId().equals(agentId)).isPresent();
+		if (!owned) {
+			return Flux.just(ServerSentEvent.<SchemaInitJobVO>builder().event(STREAM_EVENT_ERROR).build());
+		}
+		return schemaInitJobService.subscribe(jobId)
+			.orElseGet(Flux::empty)
+			.map(job -> ServerSentEvent.builder(job)
+				.event(job.getStatus().isTerminal() ? STREAM_EVENT_COMPLETE : STREAM_EVENT_PROGRESS)
+				.build());
+	}
+
+	/**
+	 * 取消 Schema 初始化任务。排队中的任务立即取消，执行中的任务在下一个检查点停止
+	 */
+	@DeleteMapping("/init/jobs/{jobId}")
+	public ResponseEntity<ApiResponse> cancelSchemaInitJob(@PathVariable(value = "agentId") Long agentId,
+			@PathVariable(value = "jobId") String jobId) {
+		boolean owned = schemaInitJobService.getJob(jobId).filter(job -> job.getAgentId().equals(agentId)).isPresent();
+		if (!owned) {
+			return ResponseEntity.badRequest().body(ApiResponse.error("未找到初始化任务"));
+		}
+		return schemaInitJobService.cancel(jobId)
+			.map(job -> ResponseEntity.ok(ApiResponse.success("已请求取消初始化任务", job)))
+			.orElseGet(() -> ResponseEntity.badRequest().body(ApiResponse.error("未找到初始化任务")));
+	}
+
 	/**
 	 * Get list of data sources configured for agent
 	 */
@@ -16,6 +16,7 @@
 
 package com.alibaba.cloud.ai.dataagent.controller;
 
+import com.alibaba.cloud.ai.dataagent.bo.DbPoolStatsBO;
 import com.alibaba.cloud.ai.dataagent.dto.schema.CreateLogicalRelationDTO;
 import com.alibaba.cloud.ai.dataagent.dto.schema.UpdateLogicalRelationDTO;
 import com.alibaba.cloud.ai.dataagent.entity.Datasource;
@@ -161,6 +162,14 @@ public class DatasourceController {
 		}
 	}
 
+	/**
+	 * 获取分析数据源连接池的运行状态（活跃数、空闲数、等待数与获取连接耗时）
+	 */
+	@GetMapping("/pool-stats")
+	public ApiResponse<List<DbPoolStatsBO>> getPoolStats() {
+		return ApiResponse.success("success get pool stats", datasourceService.getPoolStats());
+	}
+
 	/**
 	 * 获取数据源的逻辑外键列表
 	 */
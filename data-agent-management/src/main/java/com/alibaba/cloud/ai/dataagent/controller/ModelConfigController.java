@@ -76,7 +76,7 @@ public class ModelConfigController {
 	@DeleteMapping("/{id}")
 	public ApiResponse<String> delete(@PathVariable Integer id) {
 		try {
-			modelConfigDataService.deleteConfig(id);
+			modelConfigOpsService.deleteAndRefresh(id);
 			return ApiResponse.success("配置已删除");
 		}
 		catch (Exception e) {
@@ -41,6 +41,7 @@ public class ModelConfigConverter {
 			.temperature(entity.getTemperature())
 			.maxTokens(entity.getMaxTokens())
 			.isActive(entity.getIsActive())
+			.poolWeight(entity.getPoolWeight())
 			.apiKey(entity.getApiKey())
 			.modelType(entity.getModelType().getCode())
 			.completionsPath(entity.getCompletionsPath())
@@ -63,6 +64,7 @@ public class ModelConfigConverter {
 		entity.setModelName(dto.getModelName());
 		entity.setTemperature(dto.getTemperature());
 		entity.setMaxTokens(dto.getMaxTokens());
+		entity.setPoolWeight(dto.getPoolWeight() != null ? dto.getPoolWeight() : 0);
 		entity.setModelType(ModelType.fromCode(dto.getModelType()));
 		entity.setCompletionsPath(dto.getCompletionsPath());
 		entity.setEmbeddingsPath(dto.getEmbeddingsPath());
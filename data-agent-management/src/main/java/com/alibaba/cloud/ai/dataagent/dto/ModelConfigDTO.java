@@ -17,6 +17,7 @@ package com.alibaba.cloud.ai.dataagent.dto;
 
 import com.alibaba.cloud.ai.dataagent.annotation.InEnum;
 import com.alibaba.cloud.ai.dataagent.enums.ModelType;
+import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -44,7 +45,7 @@ public class ModelConfigDTO {
 	private String modelName;
 
 	@NotBlank(message = "modelType must not be empty")
-	@InEnum(value = ModelType.class, message = "CHAT/EMBEDDING 之一")
+	@InEnum(value = ModelType.class, message = "CHAT/EMBEDDING/CLASSIFY/SQL/PLAN/REPORT 之一")
 	private String modelType;
 
 	// 仅当厂商路径非标准时填写，例如 "/custom/chat"
@@ -59,4 +60,8 @@ public class ModelConfigDTO {
 
 	private Boolean isActive = true;
 
+	// 对话模型负载均衡权重，大于0时未激活的配置也加入请求池，0表示不加入
+	@Min(value = 0, message = "poolWeight must not be negative")
+	private Integer poolWeight = 0;
+
 }
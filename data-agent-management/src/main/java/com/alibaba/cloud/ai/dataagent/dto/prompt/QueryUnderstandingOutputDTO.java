@@ -0,0 +1,58 @@
+/*
+ * Copyright 2024-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.cloud.ai.dataagent.dto.prompt;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+// 对应 模板query-understanding.txt的输出，合并了意图识别、查询重写和查询增强的结果
+@Data
+@NoArgsConstructor
+public class QueryUnderstandingOutputDTO {
+
+	// 意图分类结果，值为"《闲聊或无关指令》"或"《可能的数据分析请求》"
+	@JsonProperty("classification")
+	private String classification;
+
+	// 用于召回evidence的重写查询
+	@JsonProperty("standalone_query")
+	private String standaloneQuery;
+
+	// 经LLM重写后的 规范化查询
+	@JsonProperty("canonical_query")
+	private String canonicalQuery;
+
+	// 基于canonicalQuery的扩展查询
+	@JsonProperty("expanded_queries")
+	private List<String> expandedQueries;
+
+	public IntentRecognitionOutputDTO toIntentRecognitionOutput() {
+		IntentRecognitionOutputDTO output = new IntentRecognitionOutputDTO();
+		output.setClassification(classification);
+		return output;
+	}
+
+	public QueryEnhanceOutputDTO toQueryEnhanceOutput() {
+		QueryEnhanceOutputDTO output = new QueryEnhanceOutputDTO();
+		output.setCanonicalQuery(canonicalQuery);
+		output.setExpandedQueries(expandedQueries);
+		return output;
+	}
+
+}
@@ -67,4 +67,9 @@ public class Agent {
 	@Builder.Default
 	private Integer humanReviewEnabled = 0; // 0/1 for JDBC compatibility
 
+	// Whether intent recognition, query rewrite and query enhancement are merged into
+	// one LLM call
+	@Builder.Default
+	private Integer queryFastPathEnabled = 0; // 0/1 for JDBC compatibility
+
 }
@@ -57,6 +57,22 @@ public class Datasource {
 
 	private Long creatorId;
 
+	/**
+	 * Connection pool overrides, null means use the global default
+	 */
+	private Integer poolInitialSize;
+
+	private Integer poolMinIdle;
+
+	private Integer poolMaxActive;
+
+	private Long poolMaxWaitMillis;
+
+	/**
+	 * Whether query results of this datasource may be cached, 1 enables, null or 0 disables
+	 */
+	private Integer resultCacheEnabled;
+
 	@JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
 	@DateTimeFormat(pattern = "yyyy-MM-dd HH:mm:ss")
 	private LocalDateTime createTime;
@@ -40,6 +40,9 @@ public class ModelConfig {
 
 	private Boolean isActive = false;
 
+	// 对话模型负载均衡权重，大于0时与激活的配置一起分担请求
+	private Integer poolWeight = 0;
+
 	private Integer maxTokens;
 
 	// 模型类型
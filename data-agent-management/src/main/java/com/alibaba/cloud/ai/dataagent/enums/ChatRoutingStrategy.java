@@ -0,0 +1,33 @@
+/*
+ * Copyright 2024-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.cloud.ai.dataagent.enums;
+
+/**
+ * 多个对话模型配置之间的路由策略
+ */
+public enum ChatRoutingStrategy {
+
+	/**
+	 * 按权重平滑轮询
+	 */
+	WEIGHTED_ROUND_ROBIN,
+
+	/**
+	 * 优先选择近期响应延迟最低的配置，流式调用按首包延迟计算
+	 */
+	LEAST_LATENCY
+
+}
@@ -32,7 +32,27 @@ public enum ModelType {
 	/**
 	 * 嵌入模型
 	 */
-	EMBEDDING("EMBEDDING");
+	EMBEDDING("EMBEDDING"),
+
+	/**
+	 * 分类类对话模型：意图识别、JSON修复、会话标题等简单高频调用，未激活时使用对话模型
+	 */
+	CLASSIFY("CLASSIFY"),
+
+	/**
+	 * SQL生成对话模型：表关系推理、SQL生成与修复、语义一致性校验，未激活时使用对话模型
+	 */
+	SQL("SQL"),
+
+	/**
+	 * 规划对话模型：执行计划生成，未激活时使用对话模型
+	 */
+	PLAN("PLAN"),
+
+	/**
+	 * 报告对话模型：分析报告生成，未激活时使用对话模型
+	 */
+	REPORT("REPORT");
 
 	private final String code;
 
@@ -40,6 +60,13 @@ public enum ModelType {
 		this.code = code;
 	}
 
+	/**
+	 * 是否为对话模型，按节点分配的对话模型类型均由对话模型提供
+	 */
+	public boolean isChatModel() {
+		return this != EMBEDDING;
+	}
+
 	/**
 	 * 根据代码获取枚举
 	 */
@@ -0,0 +1,76 @@
+/*
+ * Copyright 2024-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.cloud.ai.dataagent.enums;
+
+import lombok.Getter;
+
+/**
+ * Schema 初始化阶段，每个阶段占总进度的一段区间
+ */
+@Getter
+public enum SchemaInitPhase {
+
+	/**
+	 * 排队等待执行
+	 */
+	QUEUED(0, 0),
+
+	/**
+	 * 读取外键
+	 */
+	FOREIGN_KEYS(0, 10),
+
+	/**
+	 * 读取表和列信息，并对比表结构指纹
+	 */
+	COLUMNS(10, 25),
+
+	/**
+	 * 抽取列样本数据
+	 */
+	SAMPLES(25, 60),
+
+	/**
+	 * 生成向量并写入向量库
+	 */
+	EMBEDDING(60, 100),
+
+	/**
+	 * 已结束
+	 */
+	DONE(100, 100);
+
+	private final int startPercent;
+
+	private final int endPercent;
+
+	SchemaInitPhase(int startPercent, int endPercent) {
+		this.startPercent = startPercent;
+		this.endPercent = endPercent;
+	}
+
+	/**
+	 * 根据阶段内的完成数量计算总进度百分比
+	 */
+	public int percent(int completed, int total) {
+		if (total <= 0) {
+			return startPercent;
+		}
+		int bounded = Math.max(0, Math.min(completed, total));
+		return startPercent + (endPercent - startPercent) * bounded / total;
+	}
+
+}
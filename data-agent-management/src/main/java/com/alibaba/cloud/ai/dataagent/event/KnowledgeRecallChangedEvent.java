@@ -0,0 +1,42 @@
+/*
+ * Copyright 2024-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.cloud.ai.dataagent.event;
+
+import lombok.Getter;
+import org.springframework.context.ApplicationEvent;
+
+import java.time.Clock;
+
+/**
+ * 智能体知识或业务知识的召回集合发生变化（新增、删除、修改召回状态）
+ */
+@Getter
+public class KnowledgeRecallChangedEvent extends ApplicationEvent {
+
+	private final String agentId;
+
+	/**
+	 * 向量类型，见 DocumentMetadataConstant.AGENT_KNOWLEDGE / BUSINESS_TERM
+	 */
+	private final String vectorType;
+
+	public KnowledgeRecallChangedEvent(Object source, String agentId, String vectorType) {
+		super(source, Clock.systemDefaultZone());
+		this.agentId = agentId;
+		this.vectorType = vectorType;
+	}
+
+}
@@ -31,6 +31,18 @@ public interface AgentKnowledgeMapper {
 			""")
 	AgentKnowledge selectById(@Param("id") Integer id);
 
+	@Select("""
+			<script>
+			SELECT * FROM agent_knowledge
+			WHERE is_deleted = 0
+			  AND id IN
+			  <foreach item='id' collection='ids' open='(' separator=',' close=')'>
+			    #{id}
+			  </foreach>
+			</script>
+			""")
+	List<AgentKnowledge> selectByIds(@Param("ids") List<Integer> ids);
+
 	@Select("""
 			    SELECT * FROM agent_knowledge WHERE id = #{id}
 			""")
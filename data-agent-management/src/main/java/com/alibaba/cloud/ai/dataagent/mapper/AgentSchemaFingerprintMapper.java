@@ -0,0 +1,45 @@
+/*
+ * Copyright 2024-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.cloud.ai.dataagent.mapper;
+
+import com.alibaba.cloud.ai.dataagent.entity.AgentSchemaFingerprint;
+import org.apache.ibatis.annotations.Delete;
+import org.apache.ibatis.annotations.Insert;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Select;
+
+import java.util.List;
+
+@Mapper
+public interface AgentSchemaFingerprintMapper {
+
+	@Select("SELECT * FROM agent_schema_fingerprint WHERE agent_id = #{agentId}")
+	List<AgentSchemaFingerprint> selectByAgentId(@Param("agentId") Integer agentId);
+
+	@Delete("DELETE FROM agent_schema_fingerprint WHERE agent_id = #{agentId}")
+	int deleteByAgentId(@Param("agentId") Integer agentId);
+
+	@Delete("<script>" + "DELETE FROM agent_schema_fingerprint WHERE agent_id = #{agentId} AND table_name IN ("
+			+ "<foreach collection='tables' item='table' separator=','>#{table}</foreach>" + ")" + "</script>")
+	int deleteByAgentIdAndTables(@Param("agentId") Integer agentId, @Param("tables") List<String> tables);
+
+	@Insert("<script>" + "INSERT INTO agent_schema_fingerprint (agent_id, table_name, fingerprint) VALUES "
+			+ "<foreach collection='fingerprints' item='fp' separator=','>"
+			+ "(#{fp.agentId}, #{fp.tableName}, #{fp.fingerprint})" + "</foreach>" + "</script>")
+	int batchInsert(@Param("fingerprints") List<AgentSchemaFingerprint> fingerprints);
+
+}
@@ -44,8 +44,10 @@ public interface DatasourceMapper {
 
 	@Insert("""
 			INSERT INTO datasource
-			    (name, type, host, port, database_name, username, password, connection_url, status, test_status, description, creator_id, create_time, update_time)
-			VALUES (#{name}, #{type}, #{host}, #{port}, #{databaseName}, #{username}, #{password}, #{connectionUrl}, #{status}, #{testStatus}, #{description}, #{creatorId}, NOW(), NOW())
+			    (name, type, host, port, database_name, username, password, connection_url, status, test_status, description, creator_id,
+			     pool_initial_size, pool_min_idle, pool_max_active, pool_max_wait_millis, result_cache_enabled, create_time, update_time)
+			VALUES (#{name}, #{type}, #{host}, #{port}, #{databaseName}, #{username}, #{password}, #{connectionUrl}, #{status}, #{testStatus}, #{description}, #{creatorId},
+			        #{poolInitialSize}, #{poolMinIdle}, #{poolMaxActive}, #{poolMaxWaitMillis}, #{resultCacheEnabled}, NOW(), NOW())
 			""")
 	@Options(useGeneratedKeys = true, keyProperty = "id", keyColumn = "id")
 	int insert(Datasource datasource);
@@ -69,6 +71,11 @@ public interface DatasourceMapper {
 			    <if test="testStatus != null">test_status = #{testStatus},</if>
 			    <if test="description != null">description = #{description},</if>
 			    <if test="creatorId != null">creator_id = #{creatorId},</if>
+			    <if test="poolInitialSize != null">pool_initial_size = #{poolInitialSize},</if>
+			    <if test="poolMinIdle != null">pool_min_idle = #{poolMinIdle},</if>
+			    <if test="poolMaxActive != null">pool_max_active = #{poolMaxActive},</if>
+			    <if test="poolMaxWaitMillis != null">pool_max_wait_millis = #{poolMaxWaitMillis},</if>
+			    <if test="resultCacheEnabled != null">result_cache_enabled = #{resultCacheEnabled},</if>
 			    update_time = NOW()
 			</set>
 			WHERE id = #{id}
@@ -26,24 +26,27 @@ import java.util.List;
 public interface ModelConfigMapper {
 
 	@Select("""
-			SELECT id, provider, base_url, api_key, model_name, temperature, is_active, max_tokens, model_type, completions_path, embeddings_path, created_time, updated_time, is_deleted FROM model_config WHERE is_deleted = 0 ORDER BY created_time DESC
+			SELECT id, provider, base_url, api_key, model_name, temperature, is_active, pool_weight, max_tokens, model_type, completions_path, embeddings_path, created_time, updated_time, is_deleted FROM model_config WHERE is_deleted = 0 ORDER BY created_time DESC
 			""")
 	List<ModelConfig> findAll();
 
 	@Select("""
-			SELECT id, provider, base_url, api_key, model_name, temperature, is_active, max_tokens, model_type, completions_path, embeddings_path, created_time, updated_time, is_deleted FROM model_config WHERE id = #{id} AND is_deleted = 0
+			SELECT id, provider, base_url, api_key, model_name, temperature, is_active, pool_weight, max_tokens, model_type, completions_path, embeddings_path, created_time, updated_time, is_deleted FROM model_config WHERE id = #{id} AND is_deleted = 0
 			""")
 	ModelConfig findById(Integer id);
 
-	@Select("SELECT id, provider, base_url, api_key, model_name, temperature, is_active, max_tokens, model_type, completions_path, embeddings_path, created_time, updated_time, is_deleted FROM model_config WHERE model_type = #{modelType} AND is_active = 1 AND is_deleted = 0 LIMIT 1")
+	@Select("SELECT id, provider, base_url, api_key, model_name, temperature, is_active, pool_weight, max_tokens, model_type, completions_path, embeddings_path, created_time, updated_time, is_deleted FROM model_config WHERE model_type = #{modelType} AND is_active = 1 AND is_deleted = 0 LIMIT 1")
 	ModelConfig selectActiveByType(@Param("modelType") String modelType);
 
+	@Select("SELECT id, provider, base_url, api_key, model_name, temperature, is_active, pool_weight, max_tokens, model_type, completions_path, embeddings_path, created_time, updated_time, is_deleted FROM model_config WHERE model_type = #{modelType} AND (is_active = 1 OR pool_weight > 0) AND is_deleted = 0 ORDER BY is_active DESC, id")
+	List<ModelConfig> selectPooledByType(@Param("modelType") String modelType);
+
 	@Update("UPDATE model_config SET is_active = 0 WHERE model_type = #{modelType} AND id != #{currentId} AND is_deleted = 0")
 	void deactivateOthers(@Param("modelType") String modelType, @Param("currentId") Integer currentId);
 
 	@Select("""
 			<script>
-				SELECT id, provider, base_url, api_key, model_name, temperature, is_active, max_tokens, model_type, completions_path, embeddings_path, created_time, updated_time, is_deleted FROM model_config
+				SELECT id, provider, base_url, api_key, model_name, temperature, is_active, pool_weight, max_tokens, model_type, completions_path, embeddings_path, created_time, updated_time, is_deleted FROM model_config
 				<where>
 					is_deleted = 0
 					<if test='provider != null and provider != ""'>
@@ -72,8 +75,8 @@ public interface ModelConfigMapper {
 			@Param("modelType") String modelType);
 
 	@Insert("""
-			INSERT INTO model_config (provider, base_url, api_key, model_name, temperature, is_active, max_tokens, model_type, completions_path, embeddings_path, created_time, updated_time, is_deleted)
-			VALUES (#{provider}, #{baseUrl}, #{apiKey}, #{modelName}, #{temperature}, #{isActive}, #{maxTokens}, #{modelType}, #{completionsPath}, #{embeddingsPath}, NOW(), NOW(), 0)
+			INSERT INTO model_config (provider, base_url, api_key, model_name, temperature, is_active, pool_weight, max_tokens, model_type, completions_path, embeddings_path, created_time, updated_time, is_deleted)
+			VALUES (#{provider}, #{baseUrl}, #{apiKey}, #{modelName}, #{temperature}, #{isActive}, #{poolWeight}, #{maxTokens}, #{modelType}, #{completionsPath}, #{embeddingsPath}, NOW(), NOW(), 0)
 			""")
 	@Options(useGeneratedKeys = true, keyProperty = "id", keyColumn = "id")
 	int insert(ModelConfig modelConfig);
@@ -88,6 +91,7 @@ public interface ModelConfigMapper {
 			            <if test='modelName != null'>model_name = #{modelName},</if>
 			            <if test='temperature != null'>temperature = #{temperature},</if>
 			            <if test='isActive != null'>is_active = #{isActive},</if>
+			            <if test='poolWeight != null'>pool_weight = #{poolWeight},</if>
 			            <if test='maxTokens != null'>max_tokens = #{maxTokens},</if>
 			            <if test='modelType != null'>model_type = #{modelType},</if>
 			            <if test='completionsPath != null'>completions_path = #{completionsPath},</if>
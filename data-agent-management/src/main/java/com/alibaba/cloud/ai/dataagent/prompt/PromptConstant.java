@@ -44,6 +44,11 @@ public class PromptConstant {
 		return new PromptTemplate(PromptLoader.loadPrompt("query-enhancement"));
 	}
 
+	// query-understanding
+	public static PromptTemplate getQueryUnderstandingPromptTemplate() {
+		return new PromptTemplate(PromptLoader.loadPrompt("query-understanding"));
+	}
+
 	// feasibility-assessment
 	public static PromptTemplate getFeasibilityAssessmentPromptTemplate() {
 		return new PromptTemplate(PromptLoader.loadPrompt("feasibility-assessment"));
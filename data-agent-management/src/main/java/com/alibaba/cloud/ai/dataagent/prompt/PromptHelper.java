@@ -257,6 +257,20 @@ public class PromptHelper {
 		return PromptConstant.getQueryEnhancementPromptTemplate().render(params);
 	}
 
+	/**
+	 * 构建合并意图识别、查询重写和查询增强的查询理解提示词
+	 * @param multiTurn 多轮对话历史
+	 * @param latestQuery 最新用户输入
+	 * @return 查询理解提示词
+	 */
+	public static String buildQueryUnderstandingPrompt(String multiTurn, String latestQuery) {
+		Map<String, Object> params = new HashMap<>();
+		params.put("multi_turn", multiTurn != null ? multiTurn : "(无)");
+		params.put("latest_query", latestQuery);
+		params.put("current_time_info", LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss")));
+		return PromptConstant.getQueryUnderstandingPromptTemplate().render(params);
+	}
+
 	/**
 	 * 构建可行性评估提示词
 	 * @param canonicalQuery 规范化查询
@@ -17,11 +17,18 @@
 package com.alibaba.cloud.ai.dataagent.properties;
 
 import com.alibaba.cloud.ai.dataagent.constant.Constant;
+import com.alibaba.cloud.ai.dataagent.enums.ChatRoutingStrategy;
+import com.alibaba.cloud.ai.dataagent.enums.ModelType;
 import com.alibaba.cloud.ai.dataagent.service.llm.LlmServiceEnum;
 import lombok.Getter;
 import lombok.Setter;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
 @Getter
 @Setter
 @ConfigurationProperties(prefix = Constant.PROJECT_PROPERTIES_PREFIX)
@@ -37,6 +44,21 @@ public class DataAgentProperties {
 	 */
 	private EmbeddingBatch embeddingBatch = new EmbeddingBatch();
 
+	/**
+	 * schema 向量写入的并发、限流与重试配置
+	 */
+	private EmbeddingWriter embeddingWriter = new EmbeddingWriter();
+
+	/**
+	 * 查询文本向量缓存配置，同一问题在多个节点中检索时只调用一次嵌入模型
+	 */
+	private EmbeddingCache embeddingCache = new EmbeddingCache();
+
+	/**
+	 * schema 初始化任务配置
+	 */
+	private SchemaInit schemaInit = new SchemaInit();
+
 	private VectorStoreProperties vectorStore = new VectorStoreProperties();
 
 	private ReportTemplate reportTemplate = new ReportTemplate();
@@ -58,6 +80,50 @@ public class DataAgentProperties {
 
 	private TextSplitter textSplitter = new TextSplitter();
 
+	/**
+	 * 分析数据源连接池的全局默认配置，可在数据源上单独覆盖
+	 */
+	private ConnectionPool connectionPool = new ConnectionPool();
+
+	/**
+	 * 分析SQL执行线程池及每个智能体的并发限制
+	 */
+	private SqlExecution sqlExecution = new SqlExecution();
+
+	/**
+	 * 查询结果缓存配置，需在数据源上开启后生效
+	 */
+	private QueryResultCache queryResultCache = new QueryResultCache();
+
+	/**
+	 * 大结果集落盘配置
+	 */
+	private ResultSpooling resultSpooling = new ResultSpooling();
+
+	/**
+	 * 提示词确定的节点的大模型响应缓存配置
+	 */
+	private LlmResponseCache llmResponseCache = new LlmResponseCache();
+
+	/**
+	 * 初始化 schema 时列样本数据的抽样配置
+	 */
+	private Sampling sampling = new Sampling();
+
+	/**
+	 * 多个对话模型配置之间的负载均衡配置
+	 */
+	private ChatPool chatPool = new ChatPool();
+
+	/**
+	 * 调用方（节点名）使用的对话模型类型，未列出的调用方及未激活对应类型配置时使用 CHAT 模型
+	 */
+	private Map<String, ModelType> nodeModelTypes = new HashMap<>(Map.of(Constant.INTENT_RECOGNITION_NODE,
+			ModelType.CLASSIFY, Constant.JSON_FIX_CALLER, ModelType.CLASSIFY, Constant.SESSION_TITLE_CALLER,
+			ModelType.CLASSIFY, Constant.TABLE_RELATION_NODE, ModelType.SQL, Constant.SQL_GENERATE_NODE, ModelType.SQL,
+			Constant.SEMANTIC_CONSISTENCY_NODE, ModelType.SQL, Constant.PLANNER_NODE, ModelType.PLAN,
+			Constant.REPORT_GENERATOR_NODE, ModelType.REPORT));
+
 	/**
 	 * 最多保留的对话轮数
 	 */
@@ -71,6 +137,16 @@ public class DataAgentProperties {
 	// 每张表的最大预估列数
 	private int maxColumnsPerTable = 50;
 
+	/**
+	 * 证据召回格式化时智能体知识记录的缓存有效期（秒），为0时不缓存
+	 */
+	private long knowledgeMetadataCacheTtlSeconds = 60;
+
+	/**
+	 * 是否在意图识别的同时提前执行证据查询重写和基于原始问题的 schema 召回；增强后的问题与原始问题不一致且不相近时丢弃提前召回的 schema，意图识别为闲聊时丢弃全部提前执行的结果
+	 */
+	private boolean speculativeRecallEnabled = false;
+
 	@Getter
 	@Setter
 	public static class ReportTemplate {
@@ -83,6 +159,300 @@ public class DataAgentProperties {
 
 	}
 
+	@Getter
+	@Setter
+	public static class ConnectionPool {
+
+		/**
+		 * 初始连接数
+		 */
+		private int initialSize = 5;
+
+		/**
+		 * 最小空闲连接数
+		 */
+		private int minIdle = 5;
+
+		/**
+		 * 最大活跃连接数
+		 */
+		private int maxActive = 20;
+
+		/**
+		 * 获取连接的最大等待时间（毫秒）
+		 */
+		private long maxWaitMillis = 10000;
+
+		/**
+		 * 连接池空闲多久（毫秒）后被关闭并移出缓存
+		 */
+		private long idleTimeoutMillis = 1800000;
+
+		/**
+		 * 最多缓存的连接池数量，超出时优先关闭最久未使用的连接池
+		 */
+		private int maxCachedPools = 50;
+
+	}
+
+	@Getter
+	@Setter
+	public static class SqlExecution {
+
+		/**
+		 * SQL执行线程数
+		 */
+		private int threadPoolSize = 16;
+
+		/**
+		 * 等待执行的SQL队列长度，超出后拒绝执行
+		 */
+		private int queueCapacity = 200;
+
+		/**
+		 * 单个智能体同时执行的SQL数量上限
+		 */
+		private int maxConcurrentPerAgent = 4;
+
+		/**
+		 * 查询结果分页推送给前端时每页的行数
+		 */
+		private int resultPageRows = 200;
+
+		/**
+		 * 查询结果最后一次读取后在结果存储中保留的时间（分钟），供后续 Python 节点按引用读取；
+		 * 会话的图执行结束时立即释放
+		 */
+		private long resultRetentionMinutes = 60;
+
+	}
+
+	@Getter
+	@Setter
+	public static class QueryResultCache {
+
+		/**
+		 * 缓存结果的有效期（秒）
+		 */
+		private long ttlSeconds = 300;
+
+		/**
+		 * 过期后仍可直接返回旧结果的时长（秒），期间在后台刷新结果，为0时关闭
+		 */
+		private long staleWhileRevalidateSeconds = 60;
+
+		/**
+		 * 缓存结果占用的最大内存（字节）
+		 */
+		private long maxBytes = 64L * 1024 * 1024;
+
+	}
+
+	@Getter
+	@Setter
+	public static class LlmResponseCache {
+
+		/**
+		 * 是否开启大模型响应缓存
+		 */
+		private boolean enabled = false;
+
+		/**
+		 * 开启缓存的调用方（节点名），仅适用于提示词完全由输入决定的调用。查询增强与查询理解的提示词包含精确到秒的当前时间，缓存永远不会命中，且其对“上个月”等相对时间的解析依赖当前时间，因此不应加入
+		 */
+		private Set<String> nodes = new HashSet<>(Set.of(Constant.INTENT_RECOGNITION_NODE,
+				Constant.EVIDENCE_RECALL_NODE, Constant.TABLE_RELATION_NODE));
+
+		/**
+		 * 缓存响应的有效期（秒）
+		 */
+		private long ttlSeconds = 600;
+
+		/**
+		 * 最多缓存的响应数，超出时淘汰最久未使用的
+		 */
+		private int maxEntries = 1000;
+
+		/**
+		 * 提示词未精确命中时，按用户问题的向量相似度复用相近问题响应的阈值，为0时关闭
+		 */
+		private double similarityThreshold = 0;
+
+		/**
+		 * 允许相似匹配的调用方，仅适用于提示词除用户问题和多轮对话上下文外变化很小的短提示词节点，只在多轮对话上下文相同的响应间匹配
+		 */
+		private Set<String> similarityNodes = new HashSet<>(Set.of(Constant.INTENT_RECOGNITION_NODE,
+				Constant.EVIDENCE_RECALL_NODE));
+
+	}
+
+	@Getter
+	@Setter
+	public static class ChatPool {
+
+		/**
+		 * 请求分配策略：按权重轮询或优先选择近期延迟最低的配置
+		 */
+		private ChatRoutingStrategy strategy = ChatRoutingStrategy.WEIGHTED_ROUND_ROBIN;
+
+		/**
+		 * 每个对话模型配置的最大并发请求数，为0时不限制
+		 */
+		private int maxConcurrentPerEndpoint = 0;
+
+		/**
+		 * 所有配置都达到并发上限时等待空闲的最长时间（毫秒）
+		 */
+		private long acquireTimeoutMillis = 30000;
+
+		/**
+		 * 连续失败多少次后暂时摘除该配置，返回429时立即摘除
+		 */
+		private int failureThreshold = 3;
+
+		/**
+		 * 配置被摘除后恢复参与分配前的冷却时间（秒）
+		 */
+		private long ejectionSeconds = 30;
+
+	}
+
+	@Getter
+	@Setter
+	public static class ResultSpooling {
+
+		/**
+		 * 是否将分析SQL的结果写入临时文件，开启后 Python 节点可处理超过内存结果集上限的数据。
+		 * 写入文件的结果归属于会话线程，无法在请求间共享，因此开启结果缓存的数据源仍走内存路径（最多1000行）
+		 */
+		private boolean enabled = false;
+
+		/**
+		 * 写入临时文件的最大行数
+		 */
+		private int maxRows = 100000;
+
+		/**
+		 * 临时文件目录，为空时使用系统临时目录
+		 */
+		private String directory;
+
+	}
+
+	@Getter
+	@Setter
+	public static class Sampling {
+
+		/**
+		 * 每张表抽取的样本行数
+		 */
+		private int sampleRows = 5;
+
+		/**
+		 * 随机抽样比例（百分比），抽到的行数不足时退化为读取前几行
+		 */
+		private double samplePercent = 10;
+
+		/**
+		 * 样本中非空取值少于该数量的列，额外查询去重取值
+		 */
+		private int distinctProbeLimit = 3;
+
+		/**
+		 * 单张表抽样的时间预算（毫秒），每条抽样和去重查询的超时取剩余预算（至少1秒），超出后不再进行去重探测
+		 */
+		private long tableTimeBudgetMillis = 5000;
+
+		/**
+		 * 样本缓存有效期（分钟），期间重新初始化不会再次扫描列未变化的表
+		 */
+		private long cacheTtlMinutes = 1440;
+
+		/**
+		 * 最多缓存样本的表数量
+		 */
+		private int cacheMaxTables = 10000;
+
+	}
+
+	@Getter
+	@Setter
+	public static class EmbeddingWriter {
+
+		/**
+		 * 单次写入同时进行中的批次数
+		 */
+		private int concurrency = 4;
+
+		/**
+		 * 写入线程池大小，由所有写入任务共享
+		 */
+		private int threadPoolSize = 8;
+
+		/**
+		 * 默认每秒允许发起的嵌入请求数，小于等于0表示不限流
+		 */
+		private double permitsPerSecond = 5;
+
+		/**
+		 * 按嵌入模型供应商覆盖每秒请求数，键为模型配置中的 provider，例如 openai、dashscope
+		 */
+		private Map<String, Double> providerPermitsPerSecond = new HashMap<>();
+
+		/**
+		 * 遇到限流（429）时单个批次的最大重试次数
+		 */
+		private int maxRetries = 5;
+
+		/**
+		 * 首次重试等待时间（毫秒），之后每次翻倍
+		 */
+		private long initialBackoffMillis = 1000;
+
+		/**
+		 * 重试等待时间上限（毫秒）
+		 */
+		private long maxBackoffMillis = 30000;
+
+	}
+
+	@Getter
+	@Setter
+	public static class EmbeddingCache {
+
+		/**
+		 * 是否缓存查询文本的向量
+		 */
+		private boolean enabled = true;
+
+		/**
+		 * 最多缓存的向量数，超出时淘汰最久未使用的
+		 */
+		private int maxEntries = 10000;
+
+		/**
+		 * 向量的缓存有效期（秒）
+		 */
+		private long ttlSeconds = 3600;
+
+	}
+
+	@Getter
+	@Setter
+	public static class SchemaInit {
+
+		/**
+		 * 全局同时执行的初始化任务数，超出的任务排队等待
+		 */
+		private int maxConcurrentJobs = 4;
+
+		/**
+		 * 已结束任务的保留时间（分钟），期间仍可查询任务状态
+		 */
+		private long jobRetentionMinutes = 60;
+
+	}
+
 	@Getter
 	@Setter
 	public static class TextSplitter {
@@ -182,6 +552,56 @@ public class DataAgentProperties {
 		 */
 		private double elasticsearchMinScore = 0.5;
 
+		/**
+		 * 是否将内存向量库（simple）持久化到本地文件，重启后直接加载，无需重新向量化。快照记录写入向量的嵌入模型，切换嵌入模型后丢弃并重新向量化
+		 */
+		private boolean snapshotEnabled = false;
+
+		/**
+		 * 内存向量库快照文件的绝对路径，开启快照时必须配置
+		 */
+		private String snapshotPath;
+
+		/**
+		 * 快照文件记录数达到该值且超过存活文档数两倍时压缩
+		 */
+		private int snapshotCompactMinRecords = 10000;
+
+		/**
+		 * 是否为内存向量库（simple）建立 int8 量化的 HNSW 近似索引。开启后候选文档较多的检索先从索引取出 topK 倍数的候选，再用原始向量精确重排；每个文档额外占用约“向量维度 + 链接数 × 4”字节
+		 */
+		private boolean annIndexEnabled = false;
+
+		/**
+		 * HNSW 图中每个节点的邻居数，底层为其两倍
+		 */
+		private int annM = 16;
+
+		/**
+		 * 构建 HNSW 索引时的候选列表大小
+		 */
+		private int annEfConstruction = 100;
+
+		/**
+		 * 检索 HNSW 索引时的候选列表大小，越大召回率越高、速度越慢
+		 */
+		private int annEfSearch = 64;
+
+		/**
+		 * 近似检索取出的候选数为 topK 的该倍数，再用原始向量精确重排
+		 */
+		private int annRerankMultiplier = 4;
+
+		/**
+		 * 候选文档数不超过该值时直接精确计算相似度，不使用近似索引
+		 */
+		private int annExactSearchThreshold = 1000;
+
+		/**
+		 * 智能体召回知识ID集合的缓存有效期（秒），知识变更时会主动失效，为0时不缓存
+		 */
+		private long recalledIdCacheTtlSeconds = 300;
+
 	}
 
 }
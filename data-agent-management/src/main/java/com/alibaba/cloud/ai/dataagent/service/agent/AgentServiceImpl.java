@@ -17,6 +17,7 @@ package com.alibaba.cloud.ai.dataagent.service.agent;
 
 import com.alibaba.cloud.ai.dataagent.entity.Agent;
 import com.alibaba.cloud.ai.dataagent.mapper.AgentMapper;
+import com.alibaba.cloud.ai.dataagent.mapper.AgentSchemaFingerprintMapper;
 import com.alibaba.cloud.ai.dataagent.service.file.FileStorageService;
 import com.alibaba.cloud.ai.dataagent.service.vectorstore.AgentVectorStoreService;
 import com.alibaba.cloud.ai.dataagent.util.ApiKeyUtil;
@@ -42,6 +43,8 @@ public class AgentServiceImpl implements AgentService {
 
 	private final FileStorageService fileStorageService;
 
+	private final AgentSchemaFingerprintMapper agentSchemaFingerprintMapper;
+
 	@Override
 	public List<Agent> findAll() {
 		return agentMapper.findAll();
@@ -77,6 +80,9 @@ public class AgentServiceImpl implements AgentService {
 			if (agent.getApiKeyEnabled() == null) {
 				agent.setApiKeyEnabled(0);
 			}
+			if (agent.getQueryFastPathEnabled() == null) {
+				agent.setQueryFastPathEnabled(0);
+			}
 
 			agentMapper.insert(agent);
 		}
@@ -90,6 +96,9 @@ public class AgentServiceImpl implements AgentService {
 			if (agent.getApiKeyEnabled() == null) {
 				agent.setApiKeyEnabled(0);
 			}
+			if (agent.getQueryFastPathEnabled() == null) {
+				agent.setQueryFastPathEnabled(0);
+			}
 			agentMapper.updateById(agent);
 		}
 
@@ -105,6 +114,7 @@ public class AgentServiceImpl implements AgentService {
 
 			// Delete agent record from database
 			agentMapper.deleteById(id);
+			agentSchemaFingerprintMapper.deleteByAgentId(id.intValue());
 
 			// Also clean up the agent's vector data
 			if (agentVectorStoreService != null) {
@@ -17,8 +17,11 @@ package com.alibaba.cloud.ai.dataagent.service.agent;
 
 import com.alibaba.cloud.ai.dataagent.entity.Agent;
 import com.alibaba.cloud.ai.dataagent.entity.AgentDatasource;
+import com.alibaba.cloud.ai.dataagent.enums.SchemaInitJobStatus;
 import com.alibaba.cloud.ai.dataagent.service.datasource.AgentDatasourceService;
+import com.alibaba.cloud.ai.dataagent.service.schema.SchemaInitJobService;
 import com.alibaba.cloud.ai.dataagent.service.vectorstore.AgentVectorStoreService;
+import com.alibaba.cloud.ai.dataagent.vo.SchemaInitJobVO;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.DisposableBean;
@@ -26,6 +29,7 @@ import org.springframework.boot.ApplicationArguments;
 import org.springframework.boot.ApplicationRunner;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutorService;
@@ -41,6 +45,8 @@ public class AgentStartupInitialization implements ApplicationRunner, Disposable
 
 	private final AgentDatasourceService agentDatasourceService;
 
+	private final SchemaInitJobService schemaInitJobService;
+
 	private final ExecutorService executorService;
 
 	@Override
@@ -61,7 +67,8 @@ public class AgentStartupInitialization implements ApplicationRunner, Disposable
 	}
 
 	/**
-	 * Initialize all published agents
+	 * Initialize all published agents. Each agent is submitted as a schema init job, the
+	 * job service runs them in parallel up to its global concurrency limit.
 	 */
 	private void initializePublishedAgents() {
 		try {
@@ -74,20 +81,18 @@ public class AgentStartupInitialization implements ApplicationRunner, Disposable
 
 			log.info("Found {} published agents, starting initialization...", publishedAgents.size());
 
-			int successCount = 0;
+			int skippedCount = 0;
 			int failureCount = 0;
+			List<CompletableFuture<SchemaInitJobVO>> jobs = new ArrayList<>();
 
 			for (Agent agent : publishedAgents) {
 				try {
-					boolean initialized = initializeAgentDataSource(agent);
-					if (initialized) {
-						successCount++;
-						log.info("Successfully initialized agent: {} (ID: {})", agent.getName(), agent.getId());
+					SchemaInitJobVO job = submitAgentInitialization(agent);
+					if (job == null) {
+						skippedCount++;
 					}
 					else {
-						failureCount++;
-						log.warn("Failed to initialize agent: {} (ID: {}) - no active datasource or tables",
-								agent.getName(), agent.getId());
+						jobs.add(schemaInitJobService.completion(job.getJobId()));
 					}
 				}
 				catch (Exception e) {
@@ -95,18 +100,26 @@ public class AgentStartupInitialization implements ApplicationRunner, Disposable
 					log.error("Error initializing agent: {} (ID: {}, reason: {})", agent.getName(), agent.getId(),
 							e.getMessage());
 				}
-
-				try {
-					Thread.sleep(1000);
-				}
-				catch (InterruptedException e) {
-					Thread.currentThread().interrupt();
-					break;
-				}
 			}
 
-			log.info("Agent initialization completed. Success: {}, Failed: {}, Total: {}", successCount, failureCount,
-					publishedAgents.size());
+			// 不占用当前线程等待，全部任务结束后汇总结果
+			int submitFailures = failureCount;
+			int skipped = skippedCount;
+			CompletableFuture.allOf(jobs.toArray(new CompletableFuture[0])).whenComplete((v, e) -> {
+				int successCount = 0;
+				int failed = submitFailures;
+				for (CompletableFuture<SchemaInitJobVO> future : jobs) {
+					SchemaInitJobVO job = future.getNow(null);
+					if (job != null && job.getStatus() == SchemaInitJobStatus.SUCCEEDED) {
+						successCount++;
+					}
+					else {
+						failed++;
+					}
+				}
+				log.info("Agent initialization completed. Success: {}, Skipped: {}, Failed: {}, Total: {}",
+						successCount, skipped, failed, publishedAgents.size());
+			});
 
 		}
 		catch (Exception e) {
@@ -115,52 +128,32 @@ public class AgentStartupInitialization implements ApplicationRunner, Disposable
 	}
 
 	/**
-	 * Initialize the data source for a single agent
+	 * Submit the schema initialization of a single agent
 	 * @param agent The agent
-	 * @return Whether the initialization was successful
+	 * @return The submitted job, or null if the agent is already initialized or has no
+	 * tables selected
 	 */
-	private boolean initializeAgentDataSource(Agent agent) {
-		try {
-			Long agentId = agent.getId();
-
-			boolean hasData = isAlreadyInitialized(agentId);
+	private SchemaInitJobVO submitAgentInitialization(Agent agent) {
+		Long agentId = agent.getId();
 
-			if (hasData) {
-				log.info("Agent {} already has vector data , skipping initialization", agentId);
-				return true;
-			}
-
-			AgentDatasource activeDatasource = agentDatasourceService
-				.getCurrentAgentDatasource(Math.toIntExact(agentId));
-
-			Integer datasourceId = activeDatasource.getDatasourceId();
-
-			List<String> tables = activeDatasource.getSelectTables();
+		if (isAlreadyInitialized(agentId)) {
+			log.info("Agent {} already has vector data , skipping initialization", agentId);
+			return null;
+		}
 
-			if (tables.isEmpty()) {
-				log.warn("Datasource {} has no tables available for agent {}", datasourceId, agentId);
-				return false;
-			}
+		AgentDatasource activeDatasource = agentDatasourceService.getCurrentAgentDatasource(Math.toIntExact(agentId));
 
-			log.info("Initializing agent {} with datasource {} and {} tables", agentId, datasourceId, tables.size());
+		Integer datasourceId = activeDatasource.getDatasourceId();
 
-			Boolean result = agentDatasourceService.initializeSchemaForAgentWithDatasource(agentId, datasourceId,
-					tables);
+		List<String> tables = activeDatasource.getSelectTables();
 
-			if (result) {
-				log.info("Successfully initialized datasource for agent {} with {} tables", agentId, tables.size());
-				return true;
-			}
-			else {
-				log.error("Failed to initialize datasource for agent {}", agentId);
-				return false;
-			}
-
-		}
-		catch (Exception e) {
-			log.error("Error initializing datasource for agent {}, reason: {}", agent.getId(), e.getMessage());
-			return false;
+		if (tables.isEmpty()) {
+			log.warn("Datasource {} has no tables available for agent {}", datasourceId, agentId);
+			return null;
 		}
+
+		log.info("Initializing agent {} with datasource {} and {} tables", agentId, datasourceId, tables.size());
+		return schemaInitJobService.submit(agentId, datasourceId, tables);
 	}
 
 	private boolean isAlreadyInitialized(Long agentId) {
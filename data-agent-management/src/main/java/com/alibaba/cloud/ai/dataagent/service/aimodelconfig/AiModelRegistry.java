@@ -17,6 +17,7 @@ package com.alibaba.cloud.ai.dataagent.service.aimodelconfig;
 
 import com.alibaba.cloud.ai.dataagent.enums.ModelType;
 import com.alibaba.cloud.ai.dataagent.dto.ModelConfigDTO;
+import com.alibaba.cloud.ai.dataagent.properties.DataAgentProperties;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.ai.chat.client.ChatClient;
@@ -27,7 +28,11 @@ import org.springframework.ai.embedding.EmbeddingRequest;
 import org.springframework.ai.embedding.EmbeddingResponse;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
 
 @Slf4j
 @Component
@@ -38,11 +43,23 @@ public class AiModelRegistry {
 
 	private final ModelConfigDataService modelConfigDataService;
 
+	private final EmbeddingCache embeddingCache;
+
+	private final DataAgentProperties properties;
+
 	// 缓存对象 (volatile 保证可见性)
 	private volatile ChatClient currentChatClient;
 
 	private volatile EmbeddingModel currentEmbeddingModel;
 
+	// 当前对话模型的配置标识，用于区分不同模型的缓存
+	private volatile String currentChatModelKey;
+
+	// 按节点分配的各类型对话模型（CLASSIFY、SQL 等）
+	private final Map<ModelType, ChatClient> roleChatClients = new ConcurrentHashMap<>();
+
+	private final Map<ModelType, String> roleChatModelKeys = new ConcurrentHashMap<>();
+
 	// =========================================================
 	// 1. 获取 ChatClient (懒加载 + 缓存)
 	// =========================================================
@@ -52,11 +69,11 @@ public class AiModelRegistry {
 				if (currentChatClient == null) {
 					log.info("Initializing global ChatClient...");
 					try {
-						ModelConfigDTO config = modelConfigDataService.getActiveConfigByType(ModelType.CHAT);
-						if (config != null) {
-							ChatModel chatModel = modelFactory.createChatModel(config);
-							// 核心：基于新 Model 创建新 Client，彻底消除旧参数缓存
-							currentChatClient = ChatClient.builder(chatModel).build();
+						List<ModelConfigDTO> configs = modelConfigDataService.getPooledConfigsByType(ModelType.CHAT);
+						ChatClient chatClient = createChatClient(configs);
+						if (chatClient != null) {
+							currentChatModelKey = chatModelKey(configs);
+							currentChatClient = chatClient;
 						}
 					}
 					catch (Exception e) {
@@ -74,6 +91,109 @@ public class AiModelRegistry {
 		return currentChatClient;
 	}
 
+	/**
+	 * 获取指定类型的对话模型，未激活该类型的配置时使用 CHAT 模型
+	 * @param modelType 对话模型类型
+	 */
+	public ChatClient getChatClient(ModelType modelType) {
+		if (modelType == null || modelType == ModelType.CHAT || !modelType.isChatModel()) {
+			return getChatClient();
+		}
+		ChatClient chatClient = roleChatClients.get(modelType);
+		if (chatClient == null) {
+			synchronized (this) {
+				chatClient = roleChatClients.get(modelType);
+				if (chatClient == null) {
+					chatClient = createRoleChatClient(modelType);
+					roleChatClients.put(modelType, chatClient);
+				}
+			}
+		}
+		return chatClient;
+	}
+
+	/**
+	 * 调用方（节点名）使用的对话模型类型，见 data-agent.node-model-types
+	 * @param node 调用方（节点名）
+	 */
+	public ModelType getModelType(String node) {
+		return node == null ? ModelType.CHAT : properties.getNodeModelTypes().getOrDefault(node, ModelType.CHAT);
+	}
+
+	private ChatClient createRoleChatClient(ModelType modelType) {
+		try {
+			List<ModelConfigDTO> configs = modelConfigDataService.getPooledConfigsByType(modelType);
+			ChatClient chatClient = createChatClient(configs);
+			if (chatClient != null) {
+				log.info("Initialized ChatClient for model type {}", modelType);
+				roleChatModelKeys.put(modelType, chatModelKey(configs));
+				return chatClient;
+			}
+		}
+		catch (Exception e) {
+			log.error("Failed to initialize ChatClient for model type {}: {}", modelType, e.getMessage(), e);
+		}
+		// 未激活该类型的配置，使用 CHAT 模型直到下次刷新
+		ChatClient chatClient = getChatClient();
+		roleChatModelKeys.put(modelType, currentChatModelKey);
+		return chatClient;
+	}
+
+	/**
+	 * 激活的配置排在首位，其余为权重大于0、参与负载均衡的配置；没有激活的配置时返回 null
+	 */
+	private ChatClient createChatClient(List<ModelConfigDTO> configs) {
+		if (configs.isEmpty() || !Boolean.TRUE.equals(configs.get(0).getIsActive())) {
+			return null;
+		}
+		ChatModel chatModel = configs.size() == 1 ? modelFactory.createChatModel(configs.get(0))
+				: createPooledChatModel(configs);
+		// 核心：基于新 Model 创建新 Client，彻底消除旧参数缓存
+		return ChatClient.builder(chatModel).build();
+	}
+
+	private ChatModel createPooledChatModel(List<ModelConfigDTO> configs) {
+		DataAgentProperties.ChatPool chatPool = properties.getChatPool();
+		List<PooledChatModel.Endpoint> endpoints = new ArrayList<>();
+		for (ModelConfigDTO config : configs) {
+			int weight = Boolean.TRUE.equals(config.getIsActive()) ? Math.max(1, config.getPoolWeight())
+					: config.getPoolWeight();
+			endpoints.add(new PooledChatModel.Endpoint(chatModelKey(config), modelFactory.createChatModel(config),
+					weight, chatPool.getMaxConcurrentPerEndpoint()));
+		}
+		log.info("Chat requests are balanced over {} model configs by {}", endpoints.size(), chatPool.getStrategy());
+		return new PooledChatModel(endpoints, chatPool);
+	}
+
+	private static String chatModelKey(List<ModelConfigDTO> configs) {
+		return configs.stream().map(AiModelRegistry::chatModelKey).collect(Collectors.joining(","));
+	}
+
+	private static String chatModelKey(ModelConfigDTO config) {
+		return String.join("|", String.valueOf(config.getId()), config.getProvider(), config.getBaseUrl(),
+				config.getModelName(), String.valueOf(config.getTemperature()));
+	}
+
+	/**
+	 * 当前对话模型的配置标识（配置ID、供应商、地址、模型名、温度），模型切换后随之变化
+	 */
+	public String getChatModelKey() {
+		getChatClient();
+		return currentChatModelKey;
+	}
+
+	/**
+	 * 指定类型对话模型的配置标识，未激活该类型的配置时与 CHAT 模型相同
+	 * @param modelType 对话模型类型
+	 */
+	public String getChatModelKey(ModelType modelType) {
+		if (modelType == null || modelType == ModelType.CHAT || !modelType.isChatModel()) {
+			return getChatModelKey();
+		}
+		getChatClient(modelType);
+		return roleChatModelKeys.get(modelType);
+	}
+
 	// =========================================================
 	// 2. 获取 EmbeddingModel (懒加载 + Dummy 兜底)
 	// =========================================================
@@ -85,7 +205,9 @@ public class AiModelRegistry {
 					try {
 						ModelConfigDTO config = modelConfigDataService.getActiveConfigByType(ModelType.EMBEDDING);
 						if (config != null) {
-							currentEmbeddingModel = modelFactory.createEmbeddingModel(config);
+							// 查询文本的向量按模型配置缓存，同一问题在多个节点检索时只调用一次模型
+							currentEmbeddingModel = embeddingCache.wrap(modelFactory.createEmbeddingModel(config),
+									config);
 						}
 					}
 					catch (Exception e) {
@@ -110,11 +232,14 @@ public class AiModelRegistry {
 
 	public void refreshChat() {
 		this.currentChatClient = null;
+		// 各类型的对话模型可能回退到了 CHAT 模型，一并刷新
+		roleChatClients.clear();
 		log.info("Chat cache cleared.");
 	}
 
 	public void refreshEmbedding() {
 		this.currentEmbeddingModel = null;
+		embeddingCache.invalidateAll();
 		log.info("Embedding cache cleared.");
 	}
 
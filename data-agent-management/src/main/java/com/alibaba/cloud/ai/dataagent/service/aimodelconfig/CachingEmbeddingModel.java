@@ -0,0 +1,81 @@
+/*
+ * Copyright 2024-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.cloud.ai.dataagent.service.aimodelconfig;
+
+import org.springframework.ai.document.Document;
+import org.springframework.ai.embedding.BatchingStrategy;
+import org.springframework.ai.embedding.EmbeddingModel;
+import org.springframework.ai.embedding.EmbeddingOptions;
+import org.springframework.ai.embedding.EmbeddingRequest;
+import org.springframework.ai.embedding.EmbeddingResponse;
+
+import java.util.List;
+
+/**
+ * {@link EmbeddingModel} that serves {@link #embed(String)}, the call used for search
+ * queries, from an {@link EmbeddingCache}. Document and batch embeddings go straight to
+ * the delegate.
+ */
+class CachingEmbeddingModel implements EmbeddingModel {
+
+	private final EmbeddingModel delegate;
+
+	private final EmbeddingCache cache;
+
+	private final String modelKey;
+
+	CachingEmbeddingModel(EmbeddingModel delegate, EmbeddingCache cache, String modelKey) {
+		this.delegate = delegate;
+		this.cache = cache;
+		this.modelKey = modelKey;
+	}
+
+	@Override
+	public float[] embed(String text) {
+		return cache.get(modelKey, text, () -> delegate.embed(text));
+	}
+
+	@Override
+	public EmbeddingResponse call(EmbeddingRequest request) {
+		return delegate.call(request);
+	}
+
+	@Override
+	public float[] embed(Document document) {
+		return delegate.embed(document);
+	}
+
+	@Override
+	public List<float[]> embed(List<String> texts) {
+		return delegate.embed(texts);
+	}
+
+	@Override
+	public List<float[]> embed(List<Document> documents, EmbeddingOptions options, BatchingStrategy batchingStrategy) {
+		return delegate.embed(documents, options, batchingStrategy);
+	}
+
+	@Override
+	public EmbeddingResponse embedForResponse(List<String> texts) {
+		return delegate.embedForResponse(texts);
+	}
+
+	@Override
+	public int dimensions() {
+		return delegate.dimensions();
+	}
+
+}
@@ -0,0 +1,213 @@
+/*
+ * Copyright 2024-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.cloud.ai.dataagent.service.aimodelconfig;
+
+import com.alibaba.cloud.ai.dataagent.dto.ModelConfigDTO;
+import com.alibaba.cloud.ai.dataagent.properties.DataAgentProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.ai.embedding.EmbeddingModel;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Cache of query embeddings keyed by the embedding model configuration and the SHA-256
+ * of the text. One user question is embedded by several graph nodes and retrieval
+ * strategies; with the cache the model is called once. Entries live for
+ * {@code ttl-seconds} and at most {@code max-entries} are kept, evicting least recently
+ * used entries first. Concurrent requests for the same text share one model call. The
+ * cache is cleared when the embedding model is switched, see
+ * {@link AiModelRegistry#refreshEmbedding()}.
+ */
+@Slf4j
+@Component
+public class EmbeddingCache {
+
+	private static final String METRIC_PREFIX = "data-agent.embedding-cache.";
+
+	private final boolean enabled;
+
+	private final long ttlMillis;
+
+	private final int maxEntries;
+
+	private final LinkedHashMap<String, CachedEmbedding> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+	private final Map<String, CompletableFuture<float[]>> inFlight = new ConcurrentHashMap<>();
+
+	private long generation;
+
+	private final Counter hitCounter;
+
+	private final Counter missCounter;
+
+	public EmbeddingCache(DataAgentProperties properties, MeterRegistry meterRegistry) {
+		DataAgentProperties.EmbeddingCache config = properties.getEmbeddingCache();
+		this.enabled = config.isEnabled() && config.getMaxEntries() > 0;
+		this.ttlMillis = config.getTtlSeconds() * 1000;
+		this.maxEntries = config.getMaxEntries();
+		this.hitCounter = Counter.builder(METRIC_PREFIX + "requests").tag("result", "hit").register(meterRegistry);
+		this.missCounter = Counter.builder(METRIC_PREFIX + "requests").tag("result", "miss").register(meterRegistry);
+		Gauge.builder(METRIC_PREFIX + "entries", this, EmbeddingCache::size)
+			.description("Number of cached query embeddings")
+			.register(meterRegistry);
+	}
+
+	/**
+	 * Wrap a model created from the given configuration so that its single-text
+	 * embeddings are cached.
+	 * @param embeddingModel model created from {@code config}
+	 * @param config configuration of the model, part of the cache key
+	 * @return caching model, or {@code embeddingModel} itself if the cache is disabled
+	 */
+	public EmbeddingModel wrap(EmbeddingModel embeddingModel, ModelConfigDTO config) {
+		if (!enabled) {
+			return embeddingModel;
+		}
+		return new CachingEmbeddingModel(embeddingModel, this, modelKey(config));
+	}
+
+	/**
+	 * Identity of an embedding model configuration: id, provider, address and model name.
+	 * Vectors of different keys are not comparable.
+	 * @param config embedding model configuration
+	 * @return model key
+	 */
+	public static String modelKey(ModelConfigDTO config) {
+		return String.join("|", String.valueOf(config.getId()), config.getProvider(), config.getBaseUrl(),
+				config.getModelName());
+	}
+
+	/**
+	 * Return the cached embedding of the text, or compute and cache it.
+	 * @param modelKey embedding model configuration
+	 * @param text embedded text
+	 * @param loader calls the embedding model
+	 * @return embedding, a copy that the caller may modify
+	 */
+	float[] get(String modelKey, String text, Supplier<float[]> loader) {
+		String key = modelKey + "|" + sha256(text);
+		long startGeneration = currentGeneration();
+		float[] cached = lookup(key);
+		if (cached != null) {
+			hitCounter.increment();
+			return cached.clone();
+		}
+		CompletableFuture<float[]> future = new CompletableFuture<>();
+		CompletableFuture<float[]> running = inFlight.putIfAbsent(key, future);
+		if (running != null) {
+			// 相同文本正在向量化，等待其结果
+			hitCounter.increment();
+			return join(running).clone();
+		}
+		missCounter.increment();
+		try {
+			float[] embedding = loader.get();
+			put(key, embedding.clone(), startGeneration);
+			future.complete(embedding.clone());
+			return embedding;
+		}
+		catch (RuntimeException e) {
+			future.completeExceptionally(e);
+			throw e;
+		}
+		finally {
+			inFlight.remove(key, future);
+		}
+	}
+
+	/**
+	 * Drop all cached embeddings.
+	 */
+	public synchronized void invalidateAll() {
+		int size = entries.size();
+		entries.clear();
+		// 清空前开始的向量化结果不再写入缓存
+		generation++;
+		log.info("Embedding cache invalidated, {} entries dropped", size);
+	}
+
+	public synchronized int size() {
+		return entries.size();
+	}
+
+	private synchronized float[] lookup(String key) {
+		CachedEmbedding cached = entries.get(key);
+		if (cached == null) {
+			return null;
+		}
+		if (System.currentTimeMillis() - cached.createdAt() > ttlMillis) {
+			entries.remove(key);
+			return null;
+		}
+		return cached.embedding();
+	}
+
+	private synchronized long currentGeneration() {
+		return generation;
+	}
+
+	private synchronized void put(String key, float[] embedding, long startGeneration) {
+		if (startGeneration != generation) {
+			return;
+		}
+		entries.put(key, new CachedEmbedding(embedding, System.currentTimeMillis()));
+		Iterator<CachedEmbedding> it = entries.values().iterator();
+		while (entries.size() > maxEntries && it.hasNext()) {
+			it.next();
+			it.remove();
+		}
+	}
+
+	private static float[] join(CompletableFuture<float[]> future) {
+		try {
+			return future.join();
+		}
+		catch (CompletionException e) {
+			if (e.getCause() instanceof RuntimeException cause) {
+				throw cause;
+			}
+			throw e;
+		}
+	}
+
+	private static String sha256(String text) {
+		try {
+			MessageDigest digest = MessageDigest.getInstance("SHA-256");
+			return HexFormat.of().formatHex(digest.digest(text.getBytes(StandardCharsets.UTF_8)));
+		}
+		catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException("SHA-256 is not available", e);
+		}
+	}
+
+	private record CachedEmbedding(float[] embedding, long createdAt) {
+	}
+
+}
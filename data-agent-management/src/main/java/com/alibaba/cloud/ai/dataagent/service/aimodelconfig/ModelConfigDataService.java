@@ -38,4 +38,9 @@ public interface ModelConfigDataService {
 
 	ModelConfigDTO getActiveConfigByType(ModelType modelType);
 
+	/**
+	 * 参与负载均衡的配置：激活的配置及权重大于0的同类型配置，激活的配置排在最前
+	 */
+	List<ModelConfigDTO> getPooledConfigsByType(ModelType modelType);
+
 }
@@ -117,6 +117,9 @@ public class ModelConfigDataServiceImpl implements ModelConfigDataService {
 		oldEntity.setModelName(dto.getModelName());
 		oldEntity.setTemperature(dto.getTemperature());
 		oldEntity.setMaxTokens(dto.getMaxTokens()); // 新增字段
+		if (dto.getPoolWeight() != null) {
+			oldEntity.setPoolWeight(dto.getPoolWeight());
+		}
 		oldEntity.setCompletionsPath(dto.getCompletionsPath()); // 路径字段
 		oldEntity.setEmbeddingsPath(dto.getEmbeddingsPath()); // 路径字段
 		oldEntity.setUpdatedTime(LocalDateTime.now()); // 更新时间
@@ -149,6 +152,14 @@ public class ModelConfigDataServiceImpl implements ModelConfigDataService {
 		}
 	}
 
+	@Override
+	public List<ModelConfigDTO> getPooledConfigsByType(ModelType modelType) {
+		return modelConfigMapper.selectPooledByType(modelType.getCode())
+			.stream()
+			.map(ModelConfigConverter::toDTO)
+			.collect(Collectors.toList());
+	}
+
 	@Override
 	public ModelConfigDTO getActiveConfigByType(ModelType modelType) {
 		ModelConfig entity = modelConfigMapper.selectActiveByType(modelType.getCode());
@@ -47,8 +47,8 @@ public class ModelConfigOpsService {
 		// 1. 更新数据库
 		ModelConfig entity = modelConfigDataService.updateConfigInDb(dto);
 
-		// 2. 检查是否是激活状态
-		if (Boolean.TRUE.equals(entity.getIsActive())) {
+		// 2. 检查是否是激活状态；对话模型的负载均衡池包含未激活的配置，同样需要刷新
+		if (Boolean.TRUE.equals(entity.getIsActive()) || entity.getModelType().isChatModel()) {
 			try {
 				// 3. 刷新内存模型
 				log.info("Detected update on active config [{}], refreshing memory...", entity.getModelType());
@@ -61,6 +61,18 @@ public class ModelConfigOpsService {
 		}
 	}
 
+	/**
+	 * 删除配置，对话模型配置可能仍在负载均衡池中，删除后刷新内存模型
+	 */
+	@Transactional(rollbackFor = Exception.class)
+	public void deleteAndRefresh(Integer id) {
+		ModelConfig entity = modelConfigDataService.findById(id);
+		modelConfigDataService.deleteConfig(id);
+		if (entity != null && entity.getModelType().isChatModel()) {
+			refreshMemoryModel(entity.getModelType());
+		}
+	}
+
 	/**
 	 * 激活指定配置
 	 */
@@ -86,7 +98,7 @@ public class ModelConfigOpsService {
 	 * 私有方法：根据实体创建并替换内存代理
 	 */
 	private void refreshMemoryModel(ModelType type) {
-		if (ModelType.CHAT.equals(type)) {
+		if (type.isChatModel()) {
 			aiModelRegistry.refreshChat();
 		}
 		else if (ModelType.EMBEDDING.equals(type)) {
@@ -104,12 +116,12 @@ public class ModelConfigOpsService {
 		String modelType = config.getModelType();
 
 		try {
-			if (ModelType.CHAT.getCode().equalsIgnoreCase(modelType)) {
-				testChatModel(config);
-			}
-			else if (ModelType.EMBEDDING.getCode().equalsIgnoreCase(modelType)) {
+			if (ModelType.EMBEDDING.getCode().equalsIgnoreCase(modelType)) {
 				testEmbeddingModel(config);
 			}
+			else if (isChatModelType(modelType)) {
+				testChatModel(config);
+			}
 			else {
 				throw new IllegalArgumentException("未知的模型类型: " + modelType);
 			}
@@ -122,6 +134,15 @@ public class ModelConfigOpsService {
 		}
 	}
 
+	private static boolean isChatModelType(String modelType) {
+		for (ModelType type : ModelType.values()) {
+			if (type.isChatModel() && type.getCode().equalsIgnoreCase(modelType)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
 	private void testChatModel(ModelConfigDTO config) {
 		log.info("Testing Chat Model connection, provider: {}, modelName: {}", config.getProvider(),
 				config.getModelName());
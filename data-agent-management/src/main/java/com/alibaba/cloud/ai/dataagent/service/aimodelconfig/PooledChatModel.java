@@ -0,0 +1,258 @@
+/*
+ * Copyright 2024-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.cloud.ai.dataagent.service.aimodelconfig;
+
+import com.alibaba.cloud.ai.dataagent.enums.ChatRoutingStrategy;
+import com.alibaba.cloud.ai.dataagent.properties.DataAgentProperties;
+import com.alibaba.cloud.ai.dataagent.util.ModelErrorUtil;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.ai.chat.model.ChatModel;
+import org.springframework.ai.chat.model.ChatResponse;
+import org.springframework.ai.chat.prompt.Prompt;
+import reactor.core.publisher.Flux;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * {@link ChatModel} that spreads calls over several chat model configurations, for
+ * example the same model behind different API keys or regions. Each call is routed by
+ * weighted round robin or by the lowest recent latency, limited to a number of
+ * concurrent calls per endpoint. An endpoint is ejected for a cooldown after a run of
+ * failures, or at once when the provider answers 429. Only 429, 5xx and I/O failures
+ * count; other 4xx responses are caused by the request. When every endpoint is ejected
+ * the one whose cooldown ends first is still used rather than failing the call.
+ * <p>
+ * Default options are left empty, so each endpoint applies the model name and
+ * temperature of its own configuration.
+ */
+@Slf4j
+class PooledChatModel implements ChatModel {
+
+	/**
+	 * Weight of the latest sample in the latency moving average.
+	 */
+	private static final double LATENCY_SMOOTHING = 0.3;
+
+	private final List<Endpoint> endpoints;
+
+	private final ChatRoutingStrategy strategy;
+
+	private final long acquireTimeoutMillis;
+
+	private final int failureThreshold;
+
+	private final long ejectionMillis;
+
+	PooledChatModel(List<Endpoint> endpoints, DataAgentProperties.ChatPool config) {
+		this.endpoints = List.copyOf(endpoints);
+		this.strategy = config.getStrategy();
+		this.acquireTimeoutMillis = config.getAcquireTimeoutMillis();
+		this.failureThreshold = Math.max(1, config.getFailureThreshold());
+		this.ejectionMillis = config.getEjectionSeconds() * 1000;
+	}
+
+	@Override
+	public ChatResponse call(Prompt prompt) {
+		Endpoint endpoint = acquire();
+		long start = System.nanoTime();
+		try {
+			ChatResponse response = endpoint.model.call(prompt);
+			endpoint.recordLatency(System.nanoTime() - start);
+			endpoint.recordSuccess();
+			return response;
+		}
+		catch (RuntimeException e) {
+			recordFailure(endpoint, e);
+			throw e;
+		}
+		finally {
+			endpoint.release();
+		}
+	}
+
+	@Override
+	public Flux<ChatResponse> stream(Prompt prompt) {
+		return Flux.defer(() -> {
+			Endpoint endpoint = acquire();
+			long start = System.nanoTime();
+			AtomicBoolean firstChunk = new AtomicBoolean(true);
+			return endpoint.model.stream(prompt)
+				.doOnNext(response -> {
+					if (firstChunk.compareAndSet(true, false)) {
+						endpoint.recordLatency(System.nanoTime() - start);
+					}
+				})
+				.doOnComplete(endpoint::recordSuccess)
+				.doOnError(e -> recordFailure(endpoint, e))
+				.doFinally(signal -> endpoint.release());
+		});
+	}
+
+	/**
+	 * Take a permit on the preferred endpoint that has one free, waiting for the most
+	 * preferred endpoint when all of them are busy.
+	 */
+	private Endpoint acquire() {
+		List<Endpoint> candidates = route();
+		for (Endpoint endpoint : candidates) {
+			if (endpoint.tryAcquire()) {
+				return endpoint;
+			}
+		}
+		Endpoint preferred = candidates.get(0);
+		try {
+			if (preferred.tryAcquire(acquireTimeoutMillis)) {
+				return preferred;
+			}
+		}
+		catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		throw new IllegalStateException(
+				"All chat model endpoints are busy, no permit within " + acquireTimeoutMillis + " ms");
+	}
+
+	/**
+	 * Endpoints in order of preference: healthy endpoints as chosen by the strategy, then
+	 * ejected endpoints by the end of their cooldown.
+	 */
+	private List<Endpoint> route() {
+		long now = System.currentTimeMillis();
+		List<Endpoint> healthy = new ArrayList<>();
+		List<Endpoint> ejected = new ArrayList<>();
+		for (Endpoint endpoint : endpoints) {
+			(endpoint.ejectedUntil > now ? ejected : healthy).add(endpoint);
+		}
+		if (strategy == ChatRoutingStrategy.LEAST_LATENCY) {
+			// 尚无延迟数据的配置排在最前，先探测一次
+			healthy.sort(Comparator.comparingDouble(endpoint -> endpoint.latencyMillis));
+		}
+		else if (!healthy.isEmpty()) {
+			Endpoint next = nextByWeight(healthy);
+			healthy.remove(next);
+			healthy.add(0, next);
+		}
+		ejected.sort(Comparator.comparingLong(endpoint -> endpoint.ejectedUntil));
+		healthy.addAll(ejected);
+		return healthy;
+	}
+
+	/**
+	 * Smooth weighted round robin: spreads picks evenly while keeping the weight ratio.
+	 */
+	private synchronized Endpoint nextByWeight(List<Endpoint> candidates) {
+		Endpoint best = null;
+		int total = 0;
+		for (Endpoint endpoint : candidates) {
+			endpoint.currentWeight += endpoint.weight;
+			total += endpoint.weight;
+			if (best == null || endpoint.currentWeight > best.currentWeight) {
+				best = endpoint;
+			}
+		}
+		best.currentWeight -= total;
+		return best;
+	}
+
+	private void recordFailure(Endpoint endpoint, Throwable error) {
+		// 其余4xx由请求本身引起，换到其他配置同样会失败，不计入该配置的失败次数
+		if (!ModelErrorUtil.isEndpointFailure(error)) {
+			return;
+		}
+		int failures = endpoint.consecutiveFailures.incrementAndGet();
+		boolean rateLimited = ModelErrorUtil.isRateLimited(error);
+		if (rateLimited || failures >= failureThreshold) {
+			endpoint.ejectedUntil = System.currentTimeMillis() + ejectionMillis;
+			log.warn("Chat model endpoint {} ejected for {} ms after {} consecutive failures{}: {}", endpoint.id,
+					ejectionMillis, failures, rateLimited ? " (rate limited)" : "", error.getMessage());
+		}
+	}
+
+	/**
+	 * One chat model configuration in the pool.
+	 */
+	static class Endpoint {
+
+		private final String id;
+
+		private final ChatModel model;
+
+		private final int weight;
+
+		/**
+		 * Concurrent call permits, null when unlimited.
+		 */
+		private final Semaphore permits;
+
+		private final AtomicInteger consecutiveFailures = new AtomicInteger();
+
+		/**
+		 * Moving average of the latency, 0 until the first sample.
+		 */
+		private volatile double latencyMillis;
+
+		private volatile long ejectedUntil;
+
+		/**
+		 * Smooth weighted round robin state, guarded by the pool.
+		 */
+		private int currentWeight;
+
+		Endpoint(String id, ChatModel model, int weight, int maxConcurrent) {
+			this.id = id;
+			this.model = model;
+			this.weight = Math.max(1, weight);
+			this.permits = maxConcurrent > 0 ? new Semaphore(maxConcurrent) : null;
+		}
+
+		String getId() {
+			return id;
+		}
+
+		private boolean tryAcquire() {
+			return permits == null || permits.tryAcquire();
+		}
+
+		private boolean tryAcquire(long timeoutMillis) throws InterruptedException {
+			return permits == null || permits.tryAcquire(timeoutMillis, TimeUnit.MILLISECONDS);
+		}
+
+		private void release() {
+			if (permits != null) {
+				permits.release();
+			}
+		}
+
+		private void recordLatency(long nanos) {
+			double sample = nanos / 1_000_000.0;
+			latencyMillis = latencyMillis == 0 ? sample
+					: LATENCY_SMOOTHING * sample + (1 - LATENCY_SMOOTHING) * latencyMillis;
+		}
+
+		private void recordSuccess() {
+			consecutiveFailures.set(0);
+			ejectedUntil = 0;
+		}
+
+	}
+
+}
@@ -24,12 +24,14 @@ import com.alibaba.cloud.ai.dataagent.converter.BusinessKnowledgeConverter;
 import com.alibaba.cloud.ai.dataagent.dto.knowledge.businessknowledge.CreateBusinessKnowledgeDTO;
 import com.alibaba.cloud.ai.dataagent.dto.knowledge.businessknowledge.UpdateBusinessKnowledgeDTO;
 import com.alibaba.cloud.ai.dataagent.entity.BusinessKnowledge;
+import com.alibaba.cloud.ai.dataagent.event.KnowledgeRecallChangedEvent;
 import com.alibaba.cloud.ai.dataagent.mapper.BusinessKnowledgeMapper;
 import com.alibaba.cloud.ai.dataagent.service.vectorstore.AgentVectorStoreService;
 import com.alibaba.cloud.ai.dataagent.vo.BusinessKnowledgeVO;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.ai.document.Document;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.CollectionUtils;
@@ -51,6 +53,8 @@ public class BusinessKnowledgeServiceImpl implements BusinessKnowledgeService {
 
 	private final BusinessKnowledgeConverter businessKnowledgeConverter;
 
+	private final ApplicationEventPublisher eventPublisher;
+
 	@Override
 	public List<BusinessKnowledgeVO> getKnowledge(Long agentId) {
 		List<BusinessKnowledge> businessKnowledges = businessKnowledgeMapper.selectByAgentId(agentId);
@@ -96,6 +100,7 @@ public class BusinessKnowledgeServiceImpl implements BusinessKnowledgeService {
 		if (businessKnowledgeMapper.insert(entity) <= 0) {
 			throw new RuntimeException("Failed to add knowledge to database");
 		}
+		publishRecallChanged(entity.getAgentId());
 
 		try {
 			Document document = DocumentConverterUtil.convertBusinessKnowledgeToDocument(entity);
@@ -186,6 +191,12 @@ public class BusinessKnowledgeServiceImpl implements BusinessKnowledgeService {
 					List.of(DocumentConverterUtil.convertBusinessKnowledgeToDocument(knowledge)));
 			throw new RuntimeException("Failed to logically delete knowledge from database");
 		}
+		publishRecallChanged(knowledge.getAgentId());
+	}
+
+	private void publishRecallChanged(Long agentId) {
+		eventPublisher.publishEvent(
+				new KnowledgeRecallChangedEvent(this, String.valueOf(agentId), DocumentMetadataConstant.BUSINESS_TERM));
 	}
 
 	private void doDelVector(BusinessKnowledge knowledge) {
@@ -208,6 +219,7 @@ public class BusinessKnowledgeServiceImpl implements BusinessKnowledgeService {
 		// 更新数据库即可，不需要更新向量库，混合检索的的时候DynamicFilterService会根据 isRecall 字段过滤了
 		knowledge.setIsRecall(isRecall ? 1 : 0);
 		businessKnowledgeMapper.updateById(knowledge);
+		publishRecallChanged(knowledge.getAgentId());
 
 	}
 
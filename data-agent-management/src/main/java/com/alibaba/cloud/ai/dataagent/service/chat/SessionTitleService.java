@@ -30,6 +30,8 @@ import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
 
+import static com.alibaba.cloud.ai.dataagent.constant.Constant.SESSION_TITLE_CALLER;
+
 /**
  * Generate session titles asynchronously via LLM and push results to frontend.
  */
@@ -104,7 +106,8 @@ public class SessionTitleService {
 					使用中文输出，避免使用标点或引号，仅保留核心主题。
 					""";
 			String userPrompt = "用户输入：" + userMessage;
-			Flux<String> responseFlux = llmService.toStringFlux(llmService.call(systemPrompt, userPrompt));
+			Flux<String> responseFlux = llmService
+				.toStringFlux(llmService.forNode(SESSION_TITLE_CALLER).call(systemPrompt, userPrompt));
 			return responseFlux.collect(StringBuilder::new, StringBuilder::append)
 				.map(StringBuilder::toString)
 				.block(Duration.ofSeconds(15));
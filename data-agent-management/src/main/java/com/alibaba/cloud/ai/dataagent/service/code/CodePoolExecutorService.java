@@ -16,6 +16,8 @@
 
 package com.alibaba.cloud.ai.dataagent.service.code;
 
+import java.nio.file.Path;
+
 /**
  * 运行Python任务的容器池接口
  *
@@ -26,7 +28,15 @@ public interface CodePoolExecutorService {
 
 	TaskResponse runTask(TaskRequest request);
 
-	record TaskRequest(String code, String input, String requirement) {
+	/**
+	 * @param input 标准输入内容
+	 * @param inputFile 标准输入文件，不为空时优先于 input，大数据量时避免在内存中构造输入字符串
+	 */
+	record TaskRequest(String code, String input, String requirement, Path inputFile) {
+
+		public TaskRequest(String code, String input, String requirement) {
+			this(code, input, requirement, null);
+		}
 
 	}
 
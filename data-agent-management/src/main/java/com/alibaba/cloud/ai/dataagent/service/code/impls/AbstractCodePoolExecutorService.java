@@ -24,10 +24,12 @@ import org.jetbrains.annotations.Nullable;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.channels.FileChannel;
 import java.nio.file.FileVisitResult;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardOpenOption;
 import java.nio.file.attribute.BasicFileAttributes;
 import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.ConcurrentHashMap;
@@ -376,6 +378,26 @@ public abstract class AbstractCodePoolExecutorService implements CodePoolExecuto
 		}
 	}
 
+	/**
+	 * Write the standard input of the task to the target file. An input file is copied
+	 * channel to channel, so large inputs are never loaded on-heap
+	 */
+	protected void writeInput(TaskRequest request, Path target) throws IOException {
+		if (request.inputFile() == null) {
+			Files.write(target, request.input() != null ? request.input().getBytes() : new byte[0]);
+			return;
+		}
+		try (FileChannel source = FileChannel.open(request.inputFile(), StandardOpenOption.READ);
+				FileChannel sink = FileChannel.open(target, StandardOpenOption.WRITE, StandardOpenOption.CREATE,
+						StandardOpenOption.TRUNCATE_EXISTING)) {
+			long position = 0;
+			long size = source.size();
+			while (position < size) {
+				position += source.transferTo(position, size - position, sink);
+			}
+		}
+	}
+
 	/**
 	 * Delete temporary directory
 	 */
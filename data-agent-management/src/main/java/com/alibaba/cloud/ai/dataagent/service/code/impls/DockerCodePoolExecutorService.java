@@ -284,8 +284,7 @@ public class DockerCodePoolExecutorService extends AbstractCodePoolExecutorServi
 					StringUtils.hasText(request.code()) ? request.code().getBytes() : "".getBytes());
 			Files.write(tempDir.resolve("requirements.txt"),
 					StringUtils.hasText(request.requirement()) ? request.requirement().getBytes() : "".getBytes());
-			Files.write(tempDir.resolve("input_data.txt"),
-					StringUtils.hasText(request.input()) ? request.input().getBytes() : "".getBytes());
+			this.writeInput(request, tempDir.resolve("input_data.txt"));
 			Files.write(tempDir.resolve("stdout.txt"), "".getBytes());
 			Files.write(tempDir.resolve("stderr.txt"), "".getBytes());
 		}
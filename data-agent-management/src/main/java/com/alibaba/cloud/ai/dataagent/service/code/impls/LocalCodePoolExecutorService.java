@@ -79,7 +79,9 @@ public class LocalCodePoolExecutorService extends AbstractCodePoolExecutorServic
 		Path requirementFile = container.resolve("requirements.txt");
 		try {
 			Files.write(scriptFile, Optional.ofNullable(request.code()).orElse("").getBytes());
-			Files.write(stdinFile, Optional.ofNullable(request.input()).orElse("").getBytes());
+			if (request.inputFile() == null) {
+				Files.write(stdinFile, Optional.ofNullable(request.input()).orElse("").getBytes());
+			}
 			Files.write(requirementFile, Optional.ofNullable(request.requirement()).orElse("").getBytes());
 		}
 		catch (Exception e) {
@@ -121,7 +123,8 @@ public class LocalCodePoolExecutorService extends AbstractCodePoolExecutorServic
 			ProcessBuilder pb = new ProcessBuilder(this.checkProgramExists(pythonNames),
 					scriptFile.toAbsolutePath().toString());
 			pb.directory(container.toFile());
-			pb.redirectInput(stdinFile.toFile());
+			// 输入文件直接重定向为标准输入，无需复制
+			pb.redirectInput(request.inputFile() != null ? request.inputFile().toFile() : stdinFile.toFile());
 			process = pb.start();
 
 			// 读取stdout和stderr
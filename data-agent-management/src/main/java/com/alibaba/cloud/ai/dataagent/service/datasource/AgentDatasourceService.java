@@ -17,6 +17,7 @@
 package com.alibaba.cloud.ai.dataagent.service.datasource;
 
 import com.alibaba.cloud.ai.dataagent.entity.AgentDatasource;
+import com.alibaba.cloud.ai.dataagent.service.schema.SchemaInitProgress;
 
 import java.util.List;
 
@@ -25,7 +26,18 @@ public interface AgentDatasourceService {
 	/**
 	 * Initialize agent's database schema using datasource
 	 */
-	Boolean initializeSchemaForAgentWithDatasource(Long agentId, Integer datasourceId, List<String> tables);
+	default Boolean initializeSchemaForAgentWithDatasource(Long agentId, Integer datasourceId, List<String> tables) {
+		return initializeSchemaForAgentWithDatasource(agentId, datasourceId, tables, SchemaInitProgress.NONE);
+	}
+
+	/**
+	 * Initialize agent's database schema using datasource, reporting progress to the
+	 * given callback
+	 * @throws java.util.concurrent.CancellationException if the callback reports
+	 * cancellation
+	 */
+	Boolean initializeSchemaForAgentWithDatasource(Long agentId, Integer datasourceId, List<String> tables,
+			SchemaInitProgress progress);
 
 	List<AgentDatasource> getAgentDatasource(Integer agentId);
 
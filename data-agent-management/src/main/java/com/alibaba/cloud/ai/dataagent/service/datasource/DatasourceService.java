@@ -17,6 +17,7 @@
 package com.alibaba.cloud.ai.dataagent.service.datasource;
 
 import com.alibaba.cloud.ai.dataagent.bo.DbConfigBO;
+import com.alibaba.cloud.ai.dataagent.bo.DbPoolStatsBO;
 import com.alibaba.cloud.ai.dataagent.entity.AgentDatasource;
 import com.alibaba.cloud.ai.dataagent.entity.Datasource;
 import com.alibaba.cloud.ai.dataagent.entity.LogicalRelation;
@@ -86,6 +87,11 @@ public interface DatasourceService {
 
 	DbConfigBO getDbConfig(Datasource datasource);
 
+	/**
+	 * 获取所有已缓存分析数据源连接池的运行状态
+	 */
+	List<DbPoolStatsBO> getPoolStats();
+
 	/**
 	 * 获取数据源的逻辑外键列表
 	 */
@@ -24,6 +24,7 @@ import com.alibaba.cloud.ai.dataagent.mapper.AgentDatasourceMapper;
 import com.alibaba.cloud.ai.dataagent.mapper.AgentDatasourceTablesMapper;
 import com.alibaba.cloud.ai.dataagent.service.datasource.AgentDatasourceService;
 import com.alibaba.cloud.ai.dataagent.service.datasource.DatasourceService;
+import com.alibaba.cloud.ai.dataagent.service.schema.SchemaInitProgress;
 import com.alibaba.cloud.ai.dataagent.service.schema.SchemaService;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -33,6 +34,7 @@ import org.springframework.util.Assert;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CancellationException;
 
 @Slf4j
 @Service
@@ -48,7 +50,8 @@ public class AgentDatasourceServiceImpl implements AgentDatasourceService {
 	private final AgentDatasourceTablesMapper tablesMapper;
 
 	@Override
-	public Boolean initializeSchemaForAgentWithDatasource(Long agentId, Integer datasourceId, List<String> tables) {
+	public Boolean initializeSchemaForAgentWithDatasource(Long agentId, Integer datasourceId, List<String> tables,
+			SchemaInitProgress progress) {
 		Assert.notNull(agentId, "Agent ID cannot be null");
 		Assert.notNull(datasourceId, "Datasource ID cannot be null");
 		Assert.notEmpty(tables, "Tables cannot be empty");
@@ -74,9 +77,12 @@ public class AgentDatasourceServiceImpl implements AgentDatasourceService {
 			log.info("Created SchemaInitRequest for agent: {}, dbConfig: {}, tables: {}", agentIdStr, dbConfig, tables);
 
 			// Call the original initialization method
-			return schemaService.schema(agentIdStr, schemaInitRequest);
+			return schemaService.schema(agentIdStr, schemaInitRequest, progress);
 
 		}
+		catch (CancellationException e) {
+			throw e;
+		}
 		catch (Exception e) {
 			log.error("Failed to initialize schema for agent: {} with datasource: {}", agentId, datasourceId, e);
 			throw new RuntimeException("Failed to initialize schema for agent " + agentId + ": " + e.getMessage(), e);
@@ -20,10 +20,14 @@ import com.alibaba.cloud.ai.dataagent.connector.accessor.Accessor;
 import com.alibaba.cloud.ai.dataagent.connector.accessor.AccessorFactory;
 import com.alibaba.cloud.ai.dataagent.bo.schema.ColumnInfoBO;
 import com.alibaba.cloud.ai.dataagent.connector.DbQueryParameter;
+import com.alibaba.cloud.ai.dataagent.connector.QueryResultCache;
 import com.alibaba.cloud.ai.dataagent.bo.schema.TableInfoBO;
 import com.alibaba.cloud.ai.dataagent.connector.pool.DBConnectionPool;
 import com.alibaba.cloud.ai.dataagent.connector.pool.DBConnectionPoolFactory;
+import com.alibaba.cloud.ai.dataagent.connector.pool.PooledDataSourceCache;
 import com.alibaba.cloud.ai.dataagent.bo.DbConfigBO;
+import com.alibaba.cloud.ai.dataagent.bo.DbPoolConfigBO;
+import com.alibaba.cloud.ai.dataagent.bo.DbPoolStatsBO;
 import com.alibaba.cloud.ai.dataagent.entity.Datasource;
 import com.alibaba.cloud.ai.dataagent.entity.AgentDatasource;
 import com.alibaba.cloud.ai.dataagent.entity.LogicalRelation;
@@ -33,7 +37,9 @@ import com.alibaba.cloud.ai.dataagent.service.datasource.handler.registry.Dataso
 import com.alibaba.cloud.ai.dataagent.mapper.DatasourceMapper;
 import com.alibaba.cloud.ai.dataagent.mapper.AgentDatasourceMapper;
 import com.alibaba.cloud.ai.dataagent.mapper.LogicalRelationMapper;
+import com.alibaba.cloud.ai.dataagent.properties.DataAgentProperties;
 import com.alibaba.cloud.ai.dataagent.service.datasource.DatasourceService;
+import com.alibaba.cloud.ai.dataagent.service.schema.TableSampler;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
@@ -66,6 +72,14 @@ public class DatasourceServiceImpl implements DatasourceService {
 
 	private final DatasourceTypeHandlerRegistry datasourceTypeHandlerRegistry;
 
+	private final DataAgentProperties dataAgentProperties;
+
+	private final QueryResultCache queryResultCache;
+
+	private final TableSampler tableSampler;
+
+	private final PooledDataSourceCache dataSourceCache;
+
 	@Override
 	public List<Datasource> getAllDatasource() {
 		return datasourceMapper.selectAll();
@@ -117,18 +131,44 @@ public class DatasourceServiceImpl implements DatasourceService {
 		}
 		datasource.setId(id);
 
+		Datasource existing = datasourceMapper.selectById(id);
 		datasourceMapper.updateById(datasource);
+		// 连接信息或连接池参数可能已变化，关闭旧的连接池
+		invalidateConnectionPool(existing);
 		return datasource;
 	}
 
 	@Override
 	@Transactional
 	public void deleteDatasource(Integer id) {
+		Datasource existing = datasourceMapper.selectById(id);
+
 		// First, delete the associations
 		agentDatasourceMapper.deleteAllByDatasourceId(id);
 
 		// Then, delete the data source
 		datasourceMapper.deleteById(id);
+
+		invalidateConnectionPool(existing);
+	}
+
+	/**
+	 * Close the cached connection pools and drop the cached query results and column
+	 * samples of the given datasource.
+	 */
+	private void invalidateConnectionPool(Datasource datasource) {
+		if (datasource == null) {
+			return;
+		}
+		try {
+			DbConfigBO dbConfig = getDbConfig(datasource);
+			dataSourceCache.invalidate(dbConfig.getUrl(), dbConfig.getUsername());
+			queryResultCache.invalidate(dbConfig.getUrl(), dbConfig.getUsername());
+			tableSampler.invalidate(dbConfig.getUrl(), dbConfig.getUsername());
+		}
+		catch (Exception e) {
+			log.warn("Failed to invalidate connection pool for datasource {}: {}", datasource.getId(), e.getMessage());
+		}
 	}
 
 	@Override
@@ -236,7 +276,29 @@ public class DatasourceServiceImpl implements DatasourceService {
 	@Override
 	public DbConfigBO getDbConfig(Datasource datasource) {
 		DatasourceTypeHandler handler = datasourceTypeHandlerRegistry.getRequired(datasource.getType());
-		return handler.toDbConfig(datasource);
+		DbConfigBO dbConfig = handler.toDbConfig(datasource);
+		dbConfig.setDatasourceId(datasource.getId());
+		dbConfig.setPoolConfig(resolvePoolConfig(datasource));
+		dbConfig.setResultCacheEnabled(Integer.valueOf(1).equals(datasource.getResultCacheEnabled()));
+		return dbConfig;
+	}
+
+	/**
+	 * 数据源上配置的连接池参数优先，未配置的使用全局默认值
+	 */
+	private DbPoolConfigBO resolvePoolConfig(Datasource datasource) {
+		DataAgentProperties.ConnectionPool defaults = dataAgentProperties.getConnectionPool();
+		return DbPoolConfigBO.builder()
+			.initialSize(Objects.requireNonNullElse(datasource.getPoolInitialSize(), defaults.getInitialSize()))
+			.minIdle(Objects.requireNonNullElse(datasource.getPoolMinIdle(), defaults.getMinIdle()))
+			.maxActive(Objects.requireNonNullElse(datasource.getPoolMaxActive(), defaults.getMaxActive()))
+			.maxWaitMillis(Objects.requireNonNullElse(datasource.getPoolMaxWaitMillis(), defaults.getMaxWaitMillis()))
+			.build();
+	}
+
+	@Override
+	public List<DbPoolStatsBO> getPoolStats() {
+		return dataSourceCache.getPoolStats();
 	}
 
 	@Override
@@ -0,0 +1,262 @@
+/*
+ * Copyright 2024-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.cloud.ai.dataagent.service.graph.Context;
+
+import com.alibaba.cloud.ai.dataagent.prompt.PromptHelper;
+import com.alibaba.cloud.ai.dataagent.properties.DataAgentProperties;
+import com.alibaba.cloud.ai.dataagent.service.llm.LlmService;
+import com.alibaba.cloud.ai.dataagent.service.schema.SchemaService;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.ai.chat.model.ChatResponse;
+import org.springframework.ai.document.Document;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.ConnectableFlux;
+import reactor.core.publisher.Flux;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+
+import static com.alibaba.cloud.ai.dataagent.constant.Constant.EVIDENCE_RECALL_NODE;
+
+/**
+ * Starts the work that does not depend on the intent verdict while intent recognition is
+ * still running: the evidence query rewrite and a provisional schema recall over the raw
+ * user input. The evidence recall node takes the speculative rewrite for its thread when
+ * the prompt still matches, and calls the model itself otherwise.
+ * <p>
+ * Schema recall runs over the enhanced query. The provisional recall is reused when the
+ * enhanced query equals the raw input after normalization, or is close to it (character
+ * bigram similarity of at least {@value #MIN_QUERY_SIMILARITY}); otherwise it is
+ * discarded and the schema recall node recalls with the enhanced query. Work that is
+ * never taken, for example because intent recognition routed the request to the end of
+ * the graph, is discarded when the thread's stream finishes.
+ */
+@Slf4j
+@Component
+public class SpeculativeRecallManager {
+
+	/**
+	 * Minimum similarity between the raw input and the enhanced query for the
+	 * provisional schema recall to be reused.
+	 */
+	static final double MIN_QUERY_SIMILARITY = 0.8;
+
+	private final boolean enabled;
+
+	private final LlmService llmService;
+
+	private final SchemaService schemaService;
+
+	private final ExecutorService executor;
+
+	private final Map<String, Speculation> speculations = new ConcurrentHashMap<>();
+
+	public SpeculativeRecallManager(DataAgentProperties properties, LlmService llmService,
+			SchemaService schemaService, @Qualifier("dbOperationExecutor") ExecutorService executor) {
+		this.enabled = properties.isSpeculativeRecallEnabled();
+		this.llmService = llmService;
+		this.schemaService = schemaService;
+		this.executor = executor;
+	}
+
+	/**
+	 * Start the speculative work for the current turn of the thread, replacing any work
+	 * left over from a previous turn.
+	 * @param threadId conversation thread id
+	 * @param agentId agent id, scopes the response cache and the schema recall
+	 * @param question raw user input
+	 * @param multiTurn multi-turn context used by the evidence query rewrite
+	 */
+	public void start(String threadId, String agentId, String question, String multiTurn) {
+		if (!enabled || StringUtils.isAnyBlank(threadId, question)) {
+			return;
+		}
+		String rewritePrompt = PromptHelper.buildEvidenceQueryRewritePrompt(multiTurn, question);
+		// 立即发起重写并缓存响应，证据召回节点订阅时先回放已收到的部分
+		ConnectableFlux<ChatResponse> rewrite = llmService
+			.callUserCached(EVIDENCE_RECALL_NODE, agentId, question, multiTurn, rewritePrompt)
+			.replay();
+		Disposable rewriteConnection = rewrite.connect();
+		CompletableFuture<SchemaRecall> schemaRecall = StringUtils.isBlank(agentId) ? null
+				: CompletableFuture.supplyAsync(() -> recallSchema(agentId, question), executor);
+		Speculation previous = speculations.put(threadId,
+				new Speculation(agentId, question, rewritePrompt, rewrite, rewriteConnection, schemaRecall));
+		if (previous != null) {
+			previous.cancel();
+		}
+		log.debug("Started speculative recall for threadId: {}", threadId);
+	}
+
+	/**
+	 * Take the speculative evidence query rewrite of the thread.
+	 * @param threadId conversation thread id
+	 * @param rewritePrompt prompt the caller would send
+	 * @return the rewrite response, or null when there is none for this prompt
+	 */
+	public Flux<ChatResponse> takeEvidenceRewrite(String threadId, String rewritePrompt) {
+		if (threadId == null) {
+			return null;
+		}
+		Speculation speculation = speculations.get(threadId);
+		if (speculation == null || !speculation.rewritePrompt().equals(rewritePrompt)) {
+			return null;
+		}
+		log.debug("Using speculative evidence query rewrite for threadId: {}", threadId);
+		return speculation.rewrite();
+	}
+
+	/**
+	 * Take the provisional schema recall of the thread. It is only used when the recall
+	 * query matches or is close to the raw input it was started with; otherwise it is
+	 * discarded.
+	 * @param threadId conversation thread id
+	 * @param agentId agent id
+	 * @param query query the caller would recall schema with
+	 * @return the recalled table and column documents, or null when not usable
+	 */
+	public SchemaRecall takeSchemaRecall(String threadId, String agentId, String query) {
+		if (threadId == null) {
+			return null;
+		}
+		Speculation speculation = speculations.get(threadId);
+		if (speculation == null || speculation.schemaRecall() == null
+				|| !speculations.replace(threadId, speculation, speculation.withoutSchemaRecall())) {
+			return null;
+		}
+		CompletableFuture<SchemaRecall> schemaRecall = speculation.schemaRecall();
+		if (!Objects.equals(speculation.agentId(), agentId) || !isCloseQuery(speculation.question(), query)) {
+			schemaRecall.cancel(false);
+			log.debug("Discarding provisional schema recall for threadId: {}, recall query changed", threadId);
+			return null;
+		}
+		try {
+			// 等待仍在执行的召回完成，而不是取消后重新召回
+			SchemaRecall recall = schemaRecall.join();
+			log.debug("Using provisional schema recall for threadId: {}", threadId);
+			return recall;
+		}
+		catch (Exception e) {
+			log.warn("Provisional schema recall failed for threadId: {}: {}", threadId, e.getMessage());
+			return null;
+		}
+	}
+
+	/**
+	 * Whether a recall over {@code question} can stand in for a recall over
+	 * {@code query}: both are equal after dropping whitespace, punctuation and case, or
+	 * their character bigrams have a Dice similarity of at least
+	 * {@value #MIN_QUERY_SIMILARITY}.
+	 */
+	static boolean isCloseQuery(String question, String query) {
+		String a = normalize(question);
+		String b = normalize(query);
+		if (a.isEmpty() || b.isEmpty()) {
+			return false;
+		}
+		if (a.equals(b)) {
+			return true;
+		}
+		Map<String, Integer> bigrams = bigrams(a);
+		int total = a.length() - 1 + b.length() - 1;
+		int shared = 0;
+		for (int i = 0; i + 1 < b.length(); i++) {
+			String bigram = b.substring(i, i + 2);
+			Integer count = bigrams.get(bigram);
+			if (count != null && count > 0) {
+				bigrams.put(bigram, count - 1);
+				shared++;
+			}
+		}
+		return total > 0 && 2.0 * shared / total >= MIN_QUERY_SIMILARITY;
+	}
+
+	private static String normalize(String text) {
+		return text == null ? "" : text.replaceAll("[\\p{P}\\p{S}\\s]+", "").toLowerCase(Locale.ROOT);
+	}
+
+	private static Map<String, Integer> bigrams(String text) {
+		Map<String, Integer> bigrams = new HashMap<>();
+		for (int i = 0; i + 1 < text.length(); i++) {
+			bigrams.merge(text.substring(i, i + 2), 1, Integer::sum);
+		}
+		return bigrams;
+	}
+
+	/**
+	 * Discard the speculative work of the thread that was not taken.
+	 * @param threadId conversation thread id
+	 */
+	public void discard(String threadId) {
+		if (threadId == null) {
+			return;
+		}
+		Speculation speculation = speculations.remove(threadId);
+		if (speculation != null) {
+			speculation.cancel();
+			log.debug("Discarded speculative recall for threadId: {}", threadId);
+		}
+	}
+
+	private SchemaRecall recallSchema(String agentId, String question) {
+		List<Document> tableDocuments = new ArrayList<>(schemaService.getTableDocumentsForAgent(agentId, question));
+		List<String> tableNames = new ArrayList<>();
+		for (Document document : tableDocuments) {
+			String name = (String) document.getMetadata().get("name");
+			if (name != null && !name.isEmpty()) {
+				tableNames.add(name);
+			}
+		}
+		return new SchemaRecall(tableDocuments, tableNames,
+				schemaService.getColumnDocumentsByTableName(agentId, tableNames));
+	}
+
+	/**
+	 * Table and column documents recalled for a query.
+	 */
+	public record SchemaRecall(List<Document> tableDocuments, List<String> tableNames,
+			List<Document> columnDocuments) {
+	}
+
+	private record Speculation(String agentId, String question, String rewritePrompt, Flux<ChatResponse> rewrite,
+			Disposable rewriteConnection, CompletableFuture<SchemaRecall> schemaRecall) {
+
+		Speculation withoutSchemaRecall() {
+			return new Speculation(agentId, question, rewritePrompt, rewrite, rewriteConnection, null);
+		}
+
+		/**
+		 * Stop work that has not completed yet.
+		 */
+		void cancel() {
+			rewriteConnection.dispose();
+			if (schemaRecall != null) {
+				schemaRecall.cancel(false);
+			}
+		}
+
+	}
+
+}
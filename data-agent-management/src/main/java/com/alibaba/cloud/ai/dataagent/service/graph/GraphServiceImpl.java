@@ -15,10 +15,15 @@
  */
 package com.alibaba.cloud.ai.dataagent.service.graph;
 
+import com.alibaba.cloud.ai.dataagent.connector.ResultSetStore;
+import com.alibaba.cloud.ai.dataagent.connector.SqlExecutionScheduler;
+import com.alibaba.cloud.ai.dataagent.entity.Agent;
 import com.alibaba.cloud.ai.dataagent.enums.TextType;
 import com.alibaba.cloud.ai.dataagent.workflow.node.PlannerNode;
 import com.alibaba.cloud.ai.dataagent.dto.GraphRequest;
+import com.alibaba.cloud.ai.dataagent.service.agent.AgentService;
 import com.alibaba.cloud.ai.dataagent.service.graph.Context.MultiTurnContextManager;
+import com.alibaba.cloud.ai.dataagent.service.graph.Context.SpeculativeRecallManager;
 import com.alibaba.cloud.ai.dataagent.service.graph.Context.StreamContext;
 import com.alibaba.cloud.ai.dataagent.vo.GraphNodeResponse;
 import com.alibaba.cloud.ai.graph.*;
@@ -54,12 +59,26 @@ public class GraphServiceImpl implements GraphService {
 
 	private final MultiTurnContextManager multiTurnContextManager;
 
+	private final SqlExecutionScheduler sqlExecutionScheduler;
+
+	private final SpeculativeRecallManager speculativeRecallManager;
+
+	private final ResultSetStore resultSetStore;
+
+	private final AgentService agentService;
+
 	public GraphServiceImpl(StateGraph stateGraph, ExecutorService executorService,
-			MultiTurnContextManager multiTurnContextManager) throws GraphStateException {
+			MultiTurnContextManager multiTurnContextManager, SqlExecutionScheduler sqlExecutionScheduler,
+			SpeculativeRecallManager speculativeRecallManager, ResultSetStore resultSetStore, AgentService agentService)
+			throws GraphStateException {
 		this.compiledGraph = stateGraph.compile(CompileConfig.builder().interruptBefore(HUMAN_FEEDBACK_NODE).build());
 		this.compiledGraph.setMaxIterations(100);
 		this.executor = executorService;
 		this.multiTurnContextManager = multiTurnContextManager;
+		this.sqlExecutionScheduler = sqlExecutionScheduler;
+		this.speculativeRecallManager = speculativeRecallManager;
+		this.resultSetStore = resultSetStore;
+		this.agentService = agentService;
 	}
 
 	@Override
@@ -104,6 +123,10 @@ public class GraphServiceImpl implements GraphService {
 			context.cleanup();
 			log.info("Cleaned up stream context for threadId: {}", threadId);
 		}
+		// 取消该会话仍在数据库中执行的SQL
+		sqlExecutionScheduler.cancel(threadId);
+		speculativeRecallManager.discard(threadId);
+		resultSetStore.releaseThread(threadId);
 	}
 
 	private void handleNewProcess(GraphRequest graphRequest) {
@@ -127,11 +150,27 @@ public class GraphServiceImpl implements GraphService {
 		String multiTurnContext = multiTurnContextManager.buildContext(threadId);
 		multiTurnContextManager.beginTurn(threadId, query);
 		Flux<NodeOutput> nodeOutputFlux = compiledGraph.fluxStream(Map.of(IS_ONLY_NL2SQL, nl2sqlOnly, INPUT_KEY, query,
-				AGENT_ID, agentId, HUMAN_REVIEW_ENABLED, humanReviewEnabled, PLAIN_REPORT, graphRequest.isPlainReport(),
-				MULTI_TURN_CONTEXT, multiTurnContext), RunnableConfig.builder().threadId(threadId).build());
+				AGENT_ID, agentId, THREAD_ID, threadId, HUMAN_REVIEW_ENABLED, humanReviewEnabled, PLAIN_REPORT,
+				graphRequest.isPlainReport(), MULTI_TURN_CONTEXT, multiTurnContext, QUERY_FAST_PATH_ENABLED,
+				isQueryFastPathEnabled(agentId), QUERY_START_TIME, System.currentTimeMillis()),
+				RunnableConfig.builder().threadId(threadId).build());
 		subscribeToFlux(context, nodeOutputFlux, graphRequest, agentId, threadId);
 	}
 
+	/**
+	 * 智能体是否开启了合并意图识别、查询重写和查询增强的快速路径
+	 */
+	private boolean isQueryFastPathEnabled(String agentId) {
+		try {
+			Agent agent = agentService.findById(Long.valueOf(agentId));
+			return agent != null && Integer.valueOf(1).equals(agent.getQueryFastPathEnabled());
+		}
+		catch (NumberFormatException e) {
+			log.warn("Invalid agentId: {}, query fast path disabled", agentId);
+			return false;
+		}
+	}
+
 	private void handleHumanFeedback(GraphRequest graphRequest) {
 		String agentId = graphRequest.getAgentId();
 		String threadId = graphRequest.getThreadId();
@@ -204,6 +243,8 @@ public class GraphServiceImpl implements GraphService {
 	 */
 	private void handleStreamError(String agentId, String threadId, Throwable error) {
 		log.error("Error in stream processing for threadId: {}: ", threadId, error);
+		speculativeRecallManager.discard(threadId);
+		resultSetStore.releaseThread(threadId);
 		StreamContext context = streamContextMap.remove(threadId);
 		if (context != null && !context.isCleaned() && context.getSink() != null) {
 			// 检查 sink 是否还有订阅者
@@ -227,6 +268,10 @@ public class GraphServiceImpl implements GraphService {
 	private void handleStreamComplete(String agentId, String threadId) {
 		log.info("Stream processing completed successfully for threadId: {}", threadId);
 		multiTurnContextManager.finishTurn(threadId);
+		// 意图识别为闲聊等提前结束的流程，丢弃未被使用的提前召回结果
+		speculativeRecallManager.discard(threadId);
+		// 本轮查询结果只在图执行期间按引用读取
+		resultSetStore.releaseThread(threadId);
 		StreamContext context = streamContextMap.remove(threadId);
 		if (context != null && !context.isCleaned() && context.getSink() != null) {
 			if (context.getSink().currentSubscriberCount() > 0) {
@@ -0,0 +1,110 @@
+/*
+ * Copyright 2024-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.cloud.ai.dataagent.service.knowledge;
+
+import com.alibaba.cloud.ai.dataagent.constant.DocumentMetadataConstant;
+import com.alibaba.cloud.ai.dataagent.entity.AgentKnowledge;
+import com.alibaba.cloud.ai.dataagent.event.KnowledgeRecallChangedEvent;
+import com.alibaba.cloud.ai.dataagent.mapper.AgentKnowledgeMapper;
+import com.alibaba.cloud.ai.dataagent.properties.DataAgentProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 按智能体短期缓存智能体知识记录，供证据召回节点格式化检索结果（标题、答案、来源文件）时使用。
+ * 未命中的ID通过一次批量查询加载；知识修改、删除或修改召回状态后失效对应智能体的缓存
+ */
+@Slf4j
+@Component
+public class AgentKnowledgeMetadataCache {
+
+	private final AgentKnowledgeMapper agentKnowledgeMapper;
+
+	private final long ttlMillis;
+
+	private final Map<String, AgentEntries> entries = new ConcurrentHashMap<>();
+
+	public AgentKnowledgeMetadataCache(AgentKnowledgeMapper agentKnowledgeMapper, DataAgentProperties properties) {
+		this.agentKnowledgeMapper = agentKnowledgeMapper;
+		this.ttlMillis = properties.getKnowledgeMetadataCacheTtlSeconds() * 1000;
+	}
+
+	/**
+	 * 获取智能体下的知识记录，已删除或不属于该智能体的知识不会返回
+	 * @param agentId 智能体ID
+	 * @param ids 知识ID
+	 * @return 知识ID到知识记录的映射
+	 */
+	public Map<Integer, AgentKnowledge> getKnowledge(String agentId, Collection<Integer> ids) {
+		Map<Integer, AgentKnowledge> result = new HashMap<>();
+		if (ids.isEmpty()) {
+			return result;
+		}
+		long now = System.currentTimeMillis();
+		AgentEntries cached = entries.compute(agentId,
+				(key, existing) -> existing == null || now - existing.createdAt() > ttlMillis
+						? new AgentEntries(new ConcurrentHashMap<>(), now) : existing);
+		Set<Integer> missing = new LinkedHashSet<>();
+		for (Integer id : ids) {
+			AgentKnowledge knowledge = cached.knowledge().get(id);
+			if (knowledge != null) {
+				result.put(id, knowledge);
+			}
+			else {
+				missing.add(id);
+			}
+		}
+		if (missing.isEmpty()) {
+			return result;
+		}
+		List<AgentKnowledge> loaded = agentKnowledgeMapper.selectByIds(List.copyOf(missing));
+		for (AgentKnowledge knowledge : loaded) {
+			if (agentId.equals(String.valueOf(knowledge.getAgentId()))) {
+				result.put(knowledge.getId(), knowledge);
+				if (ttlMillis > 0) {
+					cached.knowledge().put(knowledge.getId(), knowledge);
+				}
+			}
+		}
+		log.debug("Loaded {} of {} agent knowledge records for agent {}", loaded.size(), missing.size(), agentId);
+		return result;
+	}
+
+	@TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+	public void onRecallChanged(KnowledgeRecallChangedEvent event) {
+		if (DocumentMetadataConstant.AGENT_KNOWLEDGE.equals(event.getVectorType())) {
+			invalidate(event.getAgentId());
+		}
+	}
+
+	public void invalidate(String agentId) {
+		entries.remove(agentId);
+	}
+
+	private record AgentEntries(Map<Integer, AgentKnowledge> knowledge, long createdAt) {
+	}
+
+}
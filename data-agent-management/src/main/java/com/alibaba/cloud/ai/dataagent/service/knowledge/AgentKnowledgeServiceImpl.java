@@ -16,6 +16,7 @@
 
 package com.alibaba.cloud.ai.dataagent.service.knowledge;
 
+import com.alibaba.cloud.ai.dataagent.constant.DocumentMetadataConstant;
 import com.alibaba.cloud.ai.dataagent.enums.EmbeddingStatus;
 import com.alibaba.cloud.ai.dataagent.enums.KnowledgeType;
 import com.alibaba.cloud.ai.dataagent.converter.AgentKnowledgeConverter;
@@ -26,6 +27,7 @@ import com.alibaba.cloud.ai.dataagent.dto.knowledge.agentknowledge.UpdateKnowled
 import com.alibaba.cloud.ai.dataagent.entity.AgentKnowledge;
 import com.alibaba.cloud.ai.dataagent.event.AgentKnowledgeDeletionEvent;
 import com.alibaba.cloud.ai.dataagent.event.AgentKnowledgeEmbeddingEvent;
+import com.alibaba.cloud.ai.dataagent.event.KnowledgeRecallChangedEvent;
 import com.alibaba.cloud.ai.dataagent.mapper.AgentKnowledgeMapper;
 import com.alibaba.cloud.ai.dataagent.service.file.FileStorageService;
 import com.alibaba.cloud.ai.dataagent.vo.AgentKnowledgeVO;
@@ -54,6 +56,8 @@ public class AgentKnowledgeServiceImpl implements AgentKnowledgeService {
 
 	private final ApplicationEventPublisher eventPublisher;
 
+	private final AgentKnowledgeMetadataCache agentKnowledgeMetadataCache;
+
 	@Override
 	public AgentKnowledgeVO getKnowledgeById(Integer id) {
 		AgentKnowledge agentKnowledge = agentKnowledgeMapper.selectById(id);
@@ -87,6 +91,7 @@ public class AgentKnowledgeServiceImpl implements AgentKnowledgeService {
 		}
 
 		eventPublisher.publishEvent(new AgentKnowledgeEmbeddingEvent(this, knowledge.getId()));
+		publishRecallChanged(knowledge.getAgentId());
 		log.info("Knowledge created and event published. Id: {}", knowledge.getId());
 
 		return agentKnowledgeConverter.toVo(knowledge);
@@ -133,6 +138,7 @@ public class AgentKnowledgeServiceImpl implements AgentKnowledgeService {
 			log.error("Failed to update knowledge with id: {}", existingKnowledge.getId());
 			throw new RuntimeException("Failed to update knowledge in database.");
 		}
+		agentKnowledgeMetadataCache.invalidate(String.valueOf(existingKnowledge.getAgentId()));
 		return agentKnowledgeConverter.toVo(existingKnowledge);
 	}
 
@@ -153,6 +159,7 @@ public class AgentKnowledgeServiceImpl implements AgentKnowledgeService {
 
 		if (agentKnowledgeMapper.update(knowledge) > 0) {
 			eventPublisher.publishEvent(new AgentKnowledgeDeletionEvent(this, id));
+			publishRecallChanged(knowledge.getAgentId());
 			return true;
 		}
 		return false;
@@ -194,9 +201,15 @@ public class AgentKnowledgeServiceImpl implements AgentKnowledgeService {
 			log.error("Failed to update knowledge with id: {}", knowledge.getId());
 			throw new RuntimeException("Failed to update knowledge in database.");
 		}
+		publishRecallChanged(knowledge.getAgentId());
 		return agentKnowledgeConverter.toVo(knowledge);
 	}
 
+	private void publishRecallChanged(Integer agentId) {
+		eventPublisher.publishEvent(new KnowledgeRecallChangedEvent(this, String.valueOf(agentId),
+				DocumentMetadataConstant.AGENT_KNOWLEDGE));
+	}
+
 	@Override
 	@Transactional
 	public void retryEmbedding(Integer id) {
@@ -0,0 +1,230 @@
+/*
+ * Copyright 2024-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.cloud.ai.dataagent.service.llm;
+
+import com.alibaba.cloud.ai.dataagent.properties.DataAgentProperties;
+import com.alibaba.cloud.ai.dataagent.util.VectorUtil;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.ai.embedding.EmbeddingModel;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Cache of complete LLM responses for callers whose prompt is fully determined by their
+ * input, keyed by the chat model configuration, the agent, the caller and the SHA-256 of
+ * the prompt. Callers opt in through {@code llm-response-cache.nodes}. Entries live for
+ * {@code ttl-seconds} and at most {@code max-entries} are kept, evicting least recently
+ * used entries first. With {@code similarity-threshold} above zero a prompt of one of the
+ * {@code similarity-nodes} without an exact entry may reuse the response of the most
+ * similar cached question of the same model, agent, caller and multi-turn context. Only
+ * the user question is embedded, so similarity matching is limited to short prompts that
+ * add little besides the question and the context; a follow-up question is never matched
+ * with the response to the same words in another conversation.
+ */
+@Slf4j
+@Component
+public class LlmResponseCache {
+
+	private static final String METRIC_PREFIX = "data-agent.llm-response-cache.";
+
+	/**
+	 * Placeholder the nodes put into their prompts when there is no multi-turn context.
+	 */
+	private static final String NO_CONTEXT = "(无)";
+
+	private final boolean enabled;
+
+	private final Set<String> nodes;
+
+	private final long ttlMillis;
+
+	private final int maxEntries;
+
+	private final double similarityThreshold;
+
+	private final Set<String> similarityNodes;
+
+	private final EmbeddingModel embeddingModel;
+
+	private final LinkedHashMap<String, CachedResponse> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+	private final Counter hitCounter;
+
+	private final Counter similarHitCounter;
+
+	private final Counter missCounter;
+
+	public LlmResponseCache(DataAgentProperties properties, EmbeddingModel embeddingModel,
+			MeterRegistry meterRegistry) {
+		DataAgentProperties.LlmResponseCache config = properties.getLlmResponseCache();
+		this.enabled = config.isEnabled() && config.getMaxEntries() > 0;
+		this.nodes = Set.copyOf(config.getNodes());
+		this.ttlMillis = config.getTtlSeconds() * 1000;
+		this.maxEntries = config.getMaxEntries();
+		this.similarityThreshold = config.getSimilarityThreshold();
+		this.similarityNodes = Set.copyOf(config.getSimilarityNodes());
+		this.embeddingModel = embeddingModel;
+		this.hitCounter = Counter.builder(METRIC_PREFIX + "requests").tag("result", "hit").register(meterRegistry);
+		this.similarHitCounter = Counter.builder(METRIC_PREFIX + "requests")
+			.tag("result", "similar")
+			.register(meterRegistry);
+		this.missCounter = Counter.builder(METRIC_PREFIX + "requests").tag("result", "miss").register(meterRegistry);
+	}
+
+	/**
+	 * Whether responses of the given caller are cached.
+	 */
+	public boolean isEnabled(String node) {
+		return enabled && nodes.contains(node);
+	}
+
+	/**
+	 * Cached response for the prompt.
+	 * @param modelKey chat model configuration
+	 * @param agentId agent the prompt belongs to
+	 * @param node caller of the model
+	 * @param prompt complete prompt
+	 * @param question user question of the prompt, used for similarity matching, may be
+	 * null
+	 * @param context multi-turn context of the prompt, scopes similarity matching, may be
+	 * null
+	 * @return cached response text, or null on a miss
+	 */
+	public String get(String modelKey, String agentId, String node, String prompt, String question,
+			String context) {
+		String scope = scope(modelKey, agentId, node, context);
+		CachedResponse cached = lookup(scope + sha256(prompt));
+		if (cached != null) {
+			hitCounter.increment();
+			return cached.response();
+		}
+		if (isSimilarityEnabled(node, question)) {
+			String similar = findSimilar(scope, question);
+			if (similar != null) {
+				similarHitCounter.increment();
+				return similar;
+			}
+		}
+		missCounter.increment();
+		return null;
+	}
+
+	/**
+	 * Cache the complete response of the prompt.
+	 */
+	public void put(String modelKey, String agentId, String node, String prompt, String question, String context,
+			String response) {
+		float[] embedding = isSimilarityEnabled(node, question) ? embed(question) : null;
+		synchronized (this) {
+			entries.put(scope(modelKey, agentId, node, context) + sha256(prompt),
+					new CachedResponse(response, embedding, System.currentTimeMillis()));
+			Iterator<CachedResponse> it = entries.values().iterator();
+			while (entries.size() > maxEntries && it.hasNext()) {
+				it.next();
+				it.remove();
+			}
+		}
+	}
+
+	public synchronized void invalidateAll() {
+		entries.clear();
+	}
+
+	private synchronized CachedResponse lookup(String key) {
+		CachedResponse cached = entries.get(key);
+		if (cached != null && isExpired(cached)) {
+			entries.remove(key);
+			return null;
+		}
+		return cached;
+	}
+
+	private boolean isSimilarityEnabled(String node, String question) {
+		return similarityThreshold > 0 && similarityNodes.contains(node) && question != null && !question.isBlank();
+	}
+
+	private String findSimilar(String scope, String question) {
+		float[] embedding = embed(question);
+		if (embedding == null) {
+			return null;
+		}
+		String best = null;
+		double bestScore = similarityThreshold;
+		synchronized (this) {
+			for (Map.Entry<String, CachedResponse> entry : entries.entrySet()) {
+				CachedResponse cached = entry.getValue();
+				if (!entry.getKey().startsWith(scope) || cached.embedding() == null || isExpired(cached)
+						|| cached.embedding().length != embedding.length) {
+					continue;
+				}
+				double score = VectorUtil.cosine(embedding, cached.embedding());
+				if (score >= bestScore) {
+					best = cached.response();
+					bestScore = score;
+				}
+			}
+		}
+		return best;
+	}
+
+	private float[] embed(String question) {
+		try {
+			return embeddingModel.embed(question);
+		}
+		catch (Exception e) {
+			log.warn("Failed to embed question for LLM response cache: {}", e.getMessage());
+			return null;
+		}
+	}
+
+	private boolean isExpired(CachedResponse cached) {
+		return System.currentTimeMillis() - cached.createdAt() > ttlMillis;
+	}
+
+	/**
+	 * Key prefix shared by the entries that may be matched by similarity. An empty or
+	 * placeholder context counts as no context.
+	 */
+	private static String scope(String modelKey, String agentId, String node, String context) {
+		String contextKey = context == null || context.isBlank() || NO_CONTEXT.equals(context.trim()) ? ""
+				: sha256(context);
+		return modelKey + "|" + agentId + "|" + node + "|" + contextKey + "|";
+	}
+
+	private static String sha256(String text) {
+		try {
+			MessageDigest digest = MessageDigest.getInstance("SHA-256");
+			return HexFormat.of().formatHex(digest.digest(text.getBytes(StandardCharsets.UTF_8)));
+		}
+		catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException("SHA-256 is not available", e);
+		}
+	}
+
+	private record CachedResponse(String response, float[] embedding, long createdAt) {
+	}
+
+}
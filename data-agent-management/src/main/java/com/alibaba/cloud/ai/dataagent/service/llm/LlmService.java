@@ -28,6 +28,28 @@ public interface LlmService {
 
 	Flux<ChatResponse> callUser(String user);
 
+	/**
+	 * 与 {@link #callUser(String)} 相同，提示词完全由输入决定的调用方可通过
+	 * llm-response-cache.nodes 开启响应缓存，命中时以流的形式回放缓存的响应
+	 * @param node 调用方（节点名）
+	 * @param agentId 智能体ID，缓存按智能体隔离
+	 * @param question 用户问题，相似匹配只比较问题的向量，可为null
+	 * @param context 提示词中的多轮对话上下文，相似匹配只在上下文相同的响应间进行，可为null
+	 * @param user 用户提示词
+	 */
+	default Flux<ChatResponse> callUserCached(String node, String agentId, String question, String context,
+			String user) {
+		return callUser(user);
+	}
+
+	/**
+	 * 返回使用指定调用方所分配对话模型的服务，分配见 data-agent.node-model-types
+	 * @param node 调用方（节点名）
+	 */
+	default LlmService forNode(String node) {
+		return this;
+	}
+
 	@Deprecated
 	default String blockToString(Flux<ChatResponse> responseFlux) {
 		return toStringFlux(responseFlux).collect(StringBuilder::new, StringBuilder::append)
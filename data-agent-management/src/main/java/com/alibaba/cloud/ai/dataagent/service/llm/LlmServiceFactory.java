@@ -19,6 +19,7 @@ package com.alibaba.cloud.ai.dataagent.service.llm;
 import com.alibaba.cloud.ai.dataagent.properties.DataAgentProperties;
 import com.alibaba.cloud.ai.dataagent.service.aimodelconfig.AiModelRegistry;
 import com.alibaba.cloud.ai.dataagent.service.llm.impls.BlockLlmService;
+import com.alibaba.cloud.ai.dataagent.service.llm.impls.CachingLlmService;
 import com.alibaba.cloud.ai.dataagent.service.llm.impls.StreamLlmService;
 import lombok.AllArgsConstructor;
 import org.springframework.beans.factory.FactoryBean;
@@ -32,14 +33,18 @@ public class LlmServiceFactory implements FactoryBean<LlmService> {
 
 	private final AiModelRegistry aiModelRegistry;
 
+	private final LlmResponseCache llmResponseCache;
+
 	@Override
 	public LlmService getObject() {
+		LlmService llmService;
 		if (LlmServiceEnum.BLOCK.equals(properties.getLlmServiceType())) {
-			return new BlockLlmService(aiModelRegistry);
+			llmService = new BlockLlmService(aiModelRegistry);
 		}
 		else {
-			return new StreamLlmService(aiModelRegistry);
+			llmService = new StreamLlmService(aiModelRegistry);
 		}
+		return new CachingLlmService(llmService, aiModelRegistry, llmResponseCache);
 	}
 
 	@Override
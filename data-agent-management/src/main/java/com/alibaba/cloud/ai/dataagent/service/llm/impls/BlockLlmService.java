@@ -16,9 +16,11 @@
 
 package com.alibaba.cloud.ai.dataagent.service.llm.impls;
 
+import com.alibaba.cloud.ai.dataagent.enums.ModelType;
 import com.alibaba.cloud.ai.dataagent.service.aimodelconfig.AiModelRegistry;
 import com.alibaba.cloud.ai.dataagent.service.llm.LlmService;
 import lombok.AllArgsConstructor;
+import org.springframework.ai.chat.client.ChatClient;
 import org.springframework.ai.chat.model.ChatResponse;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
@@ -28,21 +30,39 @@ public class BlockLlmService implements LlmService {
 
 	private final AiModelRegistry registry;
 
+	/**
+	 * 使用的对话模型类型
+	 */
+	private final ModelType modelType;
+
+	public BlockLlmService(AiModelRegistry registry) {
+		this(registry, ModelType.CHAT);
+	}
+
+	@Override
+	public LlmService forNode(String node) {
+		return new BlockLlmService(registry, registry.getModelType(node));
+	}
+
 	@Override
 	public Flux<ChatResponse> call(String system, String user) {
 		return Mono
-			.fromCallable(() -> registry.getChatClient().prompt().system(system).user(user).call().chatResponse())
+			.fromCallable(() -> chatClient().prompt().system(system).user(user).call().chatResponse())
 			.flux();
 	}
 
 	@Override
 	public Flux<ChatResponse> callSystem(String system) {
-		return Mono.fromCallable(() -> registry.getChatClient().prompt().system(system).call().chatResponse()).flux();
+		return Mono.fromCallable(() -> chatClient().prompt().system(system).call().chatResponse()).flux();
 	}
 
 	@Override
 	public Flux<ChatResponse> callUser(String user) {
-		return Mono.fromCallable(() -> registry.getChatClient().prompt().user(user).call().chatResponse()).flux();
+		return Mono.fromCallable(() -> chatClient().prompt().user(user).call().chatResponse()).flux();
+	}
+
+	private ChatClient chatClient() {
+		return registry.getChatClient(modelType);
 	}
 
 }
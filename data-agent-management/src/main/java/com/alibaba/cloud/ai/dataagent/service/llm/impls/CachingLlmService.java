@@ -0,0 +1,99 @@
+/*
+ * Copyright 2024-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.cloud.ai.dataagent.service.llm.impls;
+
+import com.alibaba.cloud.ai.dataagent.service.aimodelconfig.AiModelRegistry;
+import com.alibaba.cloud.ai.dataagent.service.llm.LlmResponseCache;
+import com.alibaba.cloud.ai.dataagent.service.llm.LlmService;
+import com.alibaba.cloud.ai.dataagent.util.ChatResponseUtil;
+import lombok.AllArgsConstructor;
+import org.springframework.ai.chat.model.ChatResponse;
+import reactor.core.publisher.Flux;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 为 {@link LlmService#callUserCached(String, String, String, String, String)} 提供响应缓存，其余调用直接委托
+ */
+@AllArgsConstructor
+public class CachingLlmService implements LlmService {
+
+	/**
+	 * 回放缓存响应时每个分片的字符数，保持与流式输出相近的展示效果
+	 */
+	private static final int REPLAY_CHUNK_CHARS = 32;
+
+	private final LlmService delegate;
+
+	private final AiModelRegistry registry;
+
+	private final LlmResponseCache cache;
+
+	@Override
+	public Flux<ChatResponse> call(String system, String user) {
+		return delegate.call(system, user);
+	}
+
+	@Override
+	public Flux<ChatResponse> callSystem(String system) {
+		return delegate.callSystem(system);
+	}
+
+	@Override
+	public Flux<ChatResponse> callUser(String user) {
+		return delegate.callUser(user);
+	}
+
+	@Override
+	public LlmService forNode(String node) {
+		return new CachingLlmService(delegate.forNode(node), registry, cache);
+	}
+
+	@Override
+	public Flux<ChatResponse> callUserCached(String node, String agentId, String question, String context,
+			String user) {
+		LlmService nodeService = delegate.forNode(node);
+		if (!cache.isEnabled(node)) {
+			return nodeService.callUser(user);
+		}
+		return Flux.defer(() -> {
+			String modelKey = registry.getChatModelKey(registry.getModelType(node));
+			String cached = cache.get(modelKey, agentId, node, user, question, context);
+			if (cached != null) {
+				return replay(cached);
+			}
+			// 只缓存完整结束的响应，出错或被取消的不缓存
+			StringBuilder response = new StringBuilder();
+			return nodeService.callUser(user)
+				.doOnNext(chatResponse -> response.append(ChatResponseUtil.getText(chatResponse)))
+				.doOnComplete(() -> {
+					if (!response.isEmpty()) {
+						cache.put(modelKey, agentId, node, user, question, context, response.toString());
+					}
+				});
+		});
+	}
+
+	private static Flux<ChatResponse> replay(String response) {
+		List<String> chunks = new ArrayList<>();
+		for (int i = 0; i < response.length(); i += REPLAY_CHUNK_CHARS) {
+			chunks.add(response.substring(i, Math.min(response.length(), i + REPLAY_CHUNK_CHARS)));
+		}
+		return Flux.fromIterable(chunks).map(ChatResponseUtil::createPureResponse);
+	}
+
+}
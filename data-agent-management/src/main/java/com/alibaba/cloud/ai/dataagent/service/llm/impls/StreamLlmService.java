@@ -16,9 +16,11 @@
 
 package com.alibaba.cloud.ai.dataagent.service.llm.impls;
 
+import com.alibaba.cloud.ai.dataagent.enums.ModelType;
 import com.alibaba.cloud.ai.dataagent.service.aimodelconfig.AiModelRegistry;
 import com.alibaba.cloud.ai.dataagent.service.llm.LlmService;
 import lombok.AllArgsConstructor;
+import org.springframework.ai.chat.client.ChatClient;
 import org.springframework.ai.chat.model.ChatResponse;
 import reactor.core.publisher.Flux;
 
@@ -27,19 +29,37 @@ public class StreamLlmService implements LlmService {
 
 	private final AiModelRegistry registry;
 
+	/**
+	 * 使用的对话模型类型
+	 */
+	private final ModelType modelType;
+
+	public StreamLlmService(AiModelRegistry registry) {
+		this(registry, ModelType.CHAT);
+	}
+
+	@Override
+	public LlmService forNode(String node) {
+		return new StreamLlmService(registry, registry.getModelType(node));
+	}
+
 	@Override
 	public Flux<ChatResponse> call(String system, String user) {
-		return registry.getChatClient().prompt().system(system).user(user).stream().chatResponse();
+		return chatClient().prompt().system(system).user(user).stream().chatResponse();
 	}
 
 	@Override
 	public Flux<ChatResponse> callSystem(String system) {
-		return registry.getChatClient().prompt().system(system).stream().chatResponse();
+		return chatClient().prompt().system(system).stream().chatResponse();
 	}
 
 	@Override
 	public Flux<ChatResponse> callUser(String user) {
-		return registry.getChatClient().prompt().user(user).stream().chatResponse();
+		return chatClient().prompt().user(user).stream().chatResponse();
+	}
+
+	private ChatClient chatClient() {
+		return registry.getChatClient(modelType);
 	}
 
 }
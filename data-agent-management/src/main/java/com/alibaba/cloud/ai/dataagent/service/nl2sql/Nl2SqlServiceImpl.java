@@ -36,6 +36,9 @@ import java.util.Set;
 import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
+import static com.alibaba.cloud.ai.dataagent.constant.Constant.SEMANTIC_CONSISTENCY_NODE;
+import static com.alibaba.cloud.ai.dataagent.constant.Constant.SQL_GENERATE_NODE;
+import static com.alibaba.cloud.ai.dataagent.constant.Constant.TABLE_RELATION_NODE;
 import static com.alibaba.cloud.ai.dataagent.prompt.PromptHelper.buildMixMacSqlDbPrompt;
 import static com.alibaba.cloud.ai.dataagent.prompt.PromptHelper.buildMixSelectorPrompt;
 
@@ -52,7 +55,7 @@ public class Nl2SqlServiceImpl implements Nl2SqlService {
 	public Flux<ChatResponse> performSemanticConsistency(SemanticConsistencyDTO semanticConsistencyDTO) {
 		String semanticConsistencyPrompt = PromptHelper.buildSemanticConsistenPrompt(semanticConsistencyDTO);
 		log.debug("semanticConsistencyPrompt as follows \n {} \n", semanticConsistencyPrompt);
-		return llmService.callUser(semanticConsistencyPrompt);
+		return llmService.forNode(SEMANTIC_CONSISTENCY_NODE).callUser(semanticConsistencyPrompt);
 	}
 
 	@Override
@@ -67,7 +70,7 @@ public class Nl2SqlServiceImpl implements Nl2SqlService {
 			log.debug("Using SQL error fixer for existing SQL: {}", sql);
 			String errorFixerPrompt = PromptHelper.buildSqlErrorFixerPrompt(sqlGenerationDTO);
 			log.debug("SQL error fixer prompt as follows \n {} \n", errorFixerPrompt);
-			newSqlFlux = llmService.toStringFlux(llmService.callUser(errorFixerPrompt));
+			newSqlFlux = llmService.toStringFlux(llmService.forNode(SQL_GENERATE_NODE).callUser(errorFixerPrompt));
 			log.info("SQL error fixing completed");
 		}
 		else {
@@ -75,14 +78,14 @@ public class Nl2SqlServiceImpl implements Nl2SqlService {
 			log.debug("Generating new SQL from scratch");
 			String prompt = PromptHelper.buildNewSqlGeneratorPrompt(sqlGenerationDTO);
 			log.debug("New SQL generator prompt as follows \n {} \n", prompt);
-			newSqlFlux = llmService.toStringFlux(llmService.callSystem(prompt));
+			newSqlFlux = llmService.toStringFlux(llmService.forNode(SQL_GENERATE_NODE).callSystem(prompt));
 			log.info("New SQL generation completed");
 		}
 
 		return newSqlFlux;
 	}
 
-	private Flux<ChatResponse> fineSelect(SchemaDTO schemaDTO, String sqlGenerateSchemaMissingAdvice,
+	private Flux<ChatResponse> fineSelect(String agentId, SchemaDTO schemaDTO, String sqlGenerateSchemaMissingAdvice,
 			Consumer<Set<String>> resultConsumer) {
 		log.debug("Fine selecting tables based on advice: {}", sqlGenerateSchemaMissingAdvice);
 		String schemaInfo = buildMixMacSqlDbPrompt(schemaDTO, true);
@@ -90,7 +93,7 @@ public class Nl2SqlServiceImpl implements Nl2SqlService {
 				+ " \n 请按照建议进行返回相关表的名称，只返回建议中提到的表名，返回格式为：[\"a\",\"b\",\"c\"] \n " + schemaInfo;
 		log.debug("Built table selection with advice prompt as follows \n {} \n", prompt);
 		StringBuilder sb = new StringBuilder();
-		return llmService.callUser(prompt).doOnNext(r -> {
+		return llmService.callUserCached(TABLE_RELATION_NODE, agentId, null, null, prompt).doOnNext(r -> {
 			String text = r.getResult().getOutput().getText();
 			sb.append(text);
 		}).doOnComplete(() -> {
@@ -120,7 +123,7 @@ public class Nl2SqlServiceImpl implements Nl2SqlService {
 	}
 
 	@Override
-	public Flux<ChatResponse> fineSelect(SchemaDTO schemaDTO, String query, String evidence,
+	public Flux<ChatResponse> fineSelect(String agentId, SchemaDTO schemaDTO, String query, String evidence,
 			String sqlGenerateSchemaMissingAdvice, DbConfigBO specificDbConfig, Consumer<SchemaDTO> dtoConsumer) {
 		log.debug("Fine selecting schema for query: {} with evidences and specificDbConfig: {}", query,
 				specificDbConfig != null ? specificDbConfig.getUrl() : "default");
@@ -130,11 +133,12 @@ public class Nl2SqlServiceImpl implements Nl2SqlService {
 
 		Set<String> selectedTables = new HashSet<>();
 
-		return FluxUtil.<ChatResponse, String>cascadeFlux(llmService.callUser(prompt), content -> {
+		Flux<ChatResponse> selectFlux = llmService.callUserCached(TABLE_RELATION_NODE, agentId, query, null, prompt);
+		return FluxUtil.<ChatResponse, String>cascadeFlux(selectFlux, content -> {
 			Flux<ChatResponse> nextFlux;
 			if (sqlGenerateSchemaMissingAdvice != null) {
 				log.debug("Adding tables from schema missing advice");
-				nextFlux = this.fineSelect(schemaDTO, sqlGenerateSchemaMissingAdvice, selectedTables::addAll);
+				nextFlux = this.fineSelect(agentId, schemaDTO, sqlGenerateSchemaMissingAdvice, selectedTables::addAll);
 			}
 			else {
 				nextFlux = Flux.empty();
@@ -0,0 +1,120 @@
+/*
+ * Copyright 2024-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.cloud.ai.dataagent.service.schema;
+
+import com.alibaba.cloud.ai.dataagent.bo.DbConfigBO;
+import com.alibaba.cloud.ai.dataagent.bo.schema.ColumnInfoBO;
+import com.alibaba.cloud.ai.dataagent.bo.schema.TableInfoBO;
+import com.alibaba.cloud.ai.dataagent.entity.AgentSchemaFingerprint;
+import com.alibaba.cloud.ai.dataagent.mapper.AgentSchemaFingerprintMapper;
+import lombok.AllArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 表结构指纹服务。指纹由数据源、表名、表注释、列（名称、类型、注释、主键、非空）及外键集合计算得出，
+ * 与已向量化的表一一对应保存，重新初始化时据此判断哪些表需要重新向量化。
+ */
+@Service
+@AllArgsConstructor
+public class SchemaFingerprintService {
+
+	private static final int BATCH_SIZE = 500;
+
+	private final AgentSchemaFingerprintMapper fingerprintMapper;
+
+	/**
+	 * 计算单个表的结构指纹
+	 * @param dbConfig 数据源配置，切换数据源后所有表都视为变化
+	 * @param table 表信息
+	 * @param columns 列信息列表
+	 * @param foreignKeys 与该表相关的外键
+	 * @return 指纹
+	 */
+	public String compute(DbConfigBO dbConfig, TableInfoBO table, List<ColumnInfoBO> columns,
+			List<String> foreignKeys) {
+		StringBuilder sb = new StringBuilder();
+		sb.append(dbConfig.getUrl()).append('\n').append(dbConfig.getSchema()).append('\n');
+		sb.append(table.getName()).append('\n').append(table.getDescription()).append('\n');
+		columns.stream()
+			.sorted(Comparator.comparing(ColumnInfoBO::getName))
+			.forEach(column -> sb.append(column.getName())
+				.append('|')
+				.append(column.getType())
+				.append('|')
+				.append(column.getDescription())
+				.append('|')
+				.append(column.isPrimary())
+				.append('|')
+				.append(column.isNotnull())
+				.append('\n'));
+		foreignKeys.stream().sorted().distinct().forEach(fk -> sb.append(fk).append('\n'));
+		return DigestUtils.md5DigestAsHex(sb.toString().getBytes(StandardCharsets.UTF_8));
+	}
+
+	/**
+	 * 查询智能体已保存的表结构指纹
+	 * @param agentId 智能体ID
+	 * @return 表名到指纹的映射
+	 */
+	public Map<String, String> load(Integer agentId) {
+		Map<String, String> fingerprints = new HashMap<>();
+		for (AgentSchemaFingerprint fingerprint : fingerprintMapper.selectByAgentId(agentId)) {
+			fingerprints.put(fingerprint.getTableName(), fingerprint.getFingerprint());
+		}
+		return fingerprints;
+	}
+
+	/**
+	 * 删除过期的指纹并写入新的指纹
+	 * @param agentId 智能体ID
+	 * @param staleTables 需要删除指纹的表（已变化或已删除）
+	 * @param fingerprints 新处理的表的指纹
+	 */
+	@Transactional(rollbackFor = Exception.class)
+	public void save(Integer agentId, Collection<String> staleTables, Map<String, String> fingerprints) {
+		List<String> stale = new ArrayList<>(staleTables);
+		for (int i = 0; i < stale.size(); i += BATCH_SIZE) {
+			fingerprintMapper.deleteByAgentIdAndTables(agentId,
+					stale.subList(i, Math.min(i + BATCH_SIZE, stale.size())));
+		}
+		List<AgentSchemaFingerprint> rows = fingerprints.entrySet()
+			.stream()
+			.map(entry -> new AgentSchemaFingerprint(agentId, entry.getKey(), entry.getValue()))
+			.toList();
+		for (int i = 0; i < rows.size(); i += BATCH_SIZE) {
+			fingerprintMapper.batchInsert(rows.subList(i, Math.min(i + BATCH_SIZE, rows.size())));
+		}
+	}
+
+	/**
+	 * 删除智能体的所有指纹，下次初始化将全量处理
+	 * @param agentId 智能体ID
+	 */
+	public void clear(Integer agentId) {
+		fingerprintMapper.deleteByAgentId(agentId);
+	}
+
+}
@@ -0,0 +1,352 @@
+/*
+ * Copyright 2024-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.cloud.ai.dataagent.service.schema;
+
+import com.alibaba.cloud.ai.dataagent.enums.SchemaInitJobStatus;
+import com.alibaba.cloud.ai.dataagent.enums.SchemaInitPhase;
+import com.alibaba.cloud.ai.dataagent.properties.DataAgentProperties;
+import com.alibaba.cloud.ai.dataagent.service.datasource.AgentDatasourceService;
+import com.alibaba.cloud.ai.dataagent.vo.SchemaInitJobVO;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.util.Assert;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs schema initializations as background jobs. At most
+ * {@code spring.ai.alibaba.data-agent.schema-init.max-concurrent-jobs} jobs run at once
+ * across all agents, the rest wait in a queue. Each agent has at most one active job;
+ * submitting again while one is pending or running returns the active job. Finished jobs
+ * stay queryable for {@code job-retention-minutes}.
+ */
+@Slf4j
+@Service
+public class SchemaInitJobService implements DisposableBean {
+
+	private final AgentDatasourceService agentDatasourceService;
+
+	private final ThreadPoolExecutor executor;
+
+	private final Duration retention;
+
+	private final Map<String, SchemaInitJob> jobs = new ConcurrentHashMap<>();
+
+	private final Map<Long, SchemaInitJob> activeJobs = new ConcurrentHashMap<>();
+
+	public SchemaInitJobService(AgentDatasourceService agentDatasourceService, DataAgentProperties properties) {
+		this.agentDatasourceService = agentDatasourceService;
+		DataAgentProperties.SchemaInit config = properties.getSchemaInit();
+		int poolSize = Math.max(1, config.getMaxConcurrentJobs());
+		this.retention = Duration.ofMinutes(config.getJobRetentionMinutes());
+		ThreadFactory threadFactory = new ThreadFactory() {
+			private final AtomicInteger threadNumber = new AtomicInteger(1);
+
+			@Override
+			public Thread newThread(Runnable r) {
+				Thread t = new Thread(r, "schema-init-" + threadNumber.getAndIncrement());
+				t.setDaemon(true);
+				return t;
+			}
+		};
+		this.executor = new ThreadPoolExecutor(poolSize, poolSize, 60L, TimeUnit.SECONDS, new LinkedBlockingQueue<>(),
+				threadFactory);
+		this.executor.allowCoreThreadTimeOut(true);
+		log.info("Schema init job service initialized with {} concurrent jobs", poolSize);
+	}
+
+	/**
+	 * Submit a schema initialization of the agent.
+	 * @param agentId agent to initialize
+	 * @param datasourceId datasource to read the schema from
+	 * @param tables tables to initialize
+	 * @return snapshot of the new job, or of the agent's job that is already active
+	 */
+	public SchemaInitJobVO submit(Long agentId, Integer datasourceId, List<String> tables) {
+		Assert.notNull(agentId, "Agent ID cannot be null");
+		Assert.notNull(datasourceId, "Datasource ID cannot be null");
+		Assert.notEmpty(tables, "Tables cannot be empty");
+
+		SchemaInitJob created = new SchemaInitJob(agentId, datasourceId, List.copyOf(tables));
+		SchemaInitJob job = activeJobs.merge(agentId, created,
+				(existing, candidate) -> existing.isTerminal() ? candidate : existing);
+		if (job != created) {
+			log.info("Schema init job {} is already active for agent: {}", job.jobId, agentId);
+			return job.snapshot();
+		}
+
+		jobs.put(job.jobId, job);
+		try {
+			executor.execute(() -> run(job));
+			log.info("Submitted schema init job {} for agent: {}, datasource: {}, {} tables", job.jobId, agentId,
+					datasourceId, tables.size());
+		}
+		catch (RejectedExecutionException e) {
+			finish(job, SchemaInitJobStatus.FAILED, "Schema初始化任务提交失败：" + e.getMessage());
+		}
+		return job.snapshot();
+	}
+
+	public Optional<SchemaInitJobVO> getJob(String jobId) {
+		return Optional.ofNullable(jobs.get(jobId)).map(SchemaInitJob::snapshot);
+	}
+
+	/**
+	 * Jobs of the agent, newest first.
+	 */
+	public List<SchemaInitJobVO> listJobs(Long agentId) {
+		return jobs.values()
+			.stream()
+			.filter(job -> job.agentId.equals(agentId))
+			.sorted(Comparator.comparing((SchemaInitJob job) -> job.createTime).reversed())
+			.map(SchemaInitJob::snapshot)
+			.toList();
+	}
+
+	/**
+	 * Request cancellation of a job. A pending job is cancelled immediately, a running job
+	 * stops at its next checkpoint.
+	 * @return snapshot after the request, empty if the job is unknown
+	 */
+	public Optional<SchemaInitJobVO> cancel(String jobId) {
+		SchemaInitJob job = jobs.get(jobId);
+		if (job == null) {
+			return Optional.empty();
+		}
+		if (job.requestCancel()) {
+			// 尚未开始执行的任务直接结束，执行线程取到任务时会跳过
+			finish(job, SchemaInitJobStatus.CANCELLED, "Schema初始化已取消");
+		}
+		log.info("Cancellation requested for schema init job {} of agent: {}", jobId, job.agentId);
+		return Optional.of(job.snapshot());
+	}
+
+	/**
+	 * Progress updates of a job. The latest snapshot is replayed to new subscribers and
+	 * the stream completes after the terminal snapshot.
+	 */
+	public Optional<Flux<SchemaInitJobVO>> subscribe(String jobId) {
+		return Optional.ofNullable(jobs.get(jobId)).map(job -> job.sink.asFlux());
+	}
+
+	/**
+	 * Future completed with the terminal snapshot of the job.
+	 */
+	public CompletableFuture<SchemaInitJobVO> completion(String jobId) {
+		SchemaInitJob job = jobs.get(jobId);
+		if (job == null) {
+			return CompletableFuture.failedFuture(new IllegalArgumentException("Unknown schema init job: " + jobId));
+		}
+		return job.done;
+	}
+
+	private void run(SchemaInitJob job) {
+		if (!job.start()) {
+			return;
+		}
+		try {
+			Boolean result = agentDatasourceService.initializeSchemaForAgentWithDatasource(job.agentId,
+					job.datasourceId, job.tables, job);
+			if (Boolean.TRUE.equals(result)) {
+				finish(job, SchemaInitJobStatus.SUCCEEDED, "Schema初始化成功");
+			}
+			else {
+				finish(job, SchemaInitJobStatus.FAILED, "Schema初始化失败");
+			}
+		}
+		catch (CancellationException e) {
+			finish(job, SchemaInitJobStatus.CANCELLED, "Schema初始化已取消");
+		}
+		catch (Exception e) {
+			log.error("Schema init job {} failed for agent: {}", job.jobId, job.agentId, e);
+			finish(job, SchemaInitJobStatus.FAILED, "Schema初始化失败：" + e.getMessage());
+		}
+	}
+
+	private void finish(SchemaInitJob job, SchemaInitJobStatus status, String message) {
+		if (job.finish(status, message)) {
+			activeJobs.remove(job.agentId, job);
+			log.info("Schema init job {} of agent: {} finished with status: {}", job.jobId, job.agentId, status);
+		}
+	}
+
+	@Scheduled(fixedDelay = 5, timeUnit = TimeUnit.MINUTES)
+	public void evictExpired() {
+		LocalDateTime expireBefore = LocalDateTime.now().minus(retention);
+		jobs.values().removeIf(job -> job.isFinishedBefore(expireBefore));
+	}
+
+	@Override
+	public void destroy() {
+		log.info("Shutting down schema init job service, active jobs: {}", activeJobs.size());
+		activeJobs.values().forEach(SchemaInitJob::requestCancel);
+		executor.shutdownNow();
+	}
+
+	/**
+	 * State of one job. Transitions are synchronized so that snapshots are consistent and
+	 * emissions to the sink are serialized.
+	 */
+	private static final class SchemaInitJob implements SchemaInitProgress {
+
+		private final String jobId = UUID.randomUUID().toString();
+
+		private final Long agentId;
+
+		private final Integer datasourceId;
+
+		private final List<String> tables;
+
+		private final LocalDateTime createTime = LocalDateTime.now();
+
+		private final Sinks.Many<SchemaInitJobVO> sink = Sinks.many().replay().latest();
+
+		private final CompletableFuture<SchemaInitJobVO> done = new CompletableFuture<>();
+
+		private volatile boolean cancelRequested;
+
+		private SchemaInitJobStatus status = SchemaInitJobStatus.PENDING;
+
+		private SchemaInitPhase phase = SchemaInitPhase.QUEUED;
+
+		private int percent;
+
+		private int completed;
+
+		private int total;
+
+		private String message;
+
+		private LocalDateTime startTime;
+
+		private LocalDateTime endTime;
+
+		private SchemaInitJob(Long agentId, Integer datasourceId, List<String> tables) {
+			this.agentId = agentId;
+			this.datasourceId = datasourceId;
+			this.tables = tables;
+			sink.tryEmitNext(snapshot());
+		}
+
+		private synchronized boolean start() {
+			if (status != SchemaInitJobStatus.PENDING) {
+				return false;
+			}
+			status = SchemaInitJobStatus.RUNNING;
+			startTime = LocalDateTime.now();
+			sink.tryEmitNext(snapshot());
+			return true;
+		}
+
+		@Override
+		public synchronized void onProgress(SchemaInitPhase phase, int completed, int total) {
+			if (status != SchemaInitJobStatus.RUNNING) {
+				return;
+			}
+			// 并行批次的回调可能乱序到达，同一阶段内进度只增不减
+			if (phase == this.phase && completed < this.completed) {
+				return;
+			}
+			int newPercent = Math.max(percent, phase.percent(completed, total));
+			boolean changed = phase != this.phase || newPercent != percent;
+			this.phase = phase;
+			this.completed = completed;
+			this.total = total;
+			this.percent = newPercent;
+			if (changed) {
+				sink.tryEmitNext(snapshot());
+			}
+		}
+
+		@Override
+		public boolean isCancelled() {
+			return cancelRequested;
+		}
+
+		/**
+		 * @return whether the job was still pending and can be finished right away
+		 */
+		private synchronized boolean requestCancel() {
+			cancelRequested = true;
+			return status == SchemaInitJobStatus.PENDING;
+		}
+
+		private synchronized boolean finish(SchemaInitJobStatus status, String message) {
+			if (this.status.isTerminal()) {
+				return false;
+			}
+			this.status = status;
+			this.message = message;
+			this.endTime = LocalDateTime.now();
+			if (status == SchemaInitJobStatus.SUCCEEDED) {
+				phase = SchemaInitPhase.DONE;
+				percent = 100;
+			}
+			SchemaInitJobVO snapshot = snapshot();
+			sink.tryEmitNext(snapshot);
+			sink.tryEmitComplete();
+			done.complete(snapshot);
+			return true;
+		}
+
+		private synchronized boolean isTerminal() {
+			return status.isTerminal();
+		}
+
+		private synchronized boolean isFinishedBefore(LocalDateTime time) {
+			return status.isTerminal() && endTime.isBefore(time);
+		}
+
+		private synchronized SchemaInitJobVO snapshot() {
+			return SchemaInitJobVO.builder()
+				.jobId(jobId)
+				.agentId(agentId)
+				.datasourceId(datasourceId)
+				.tableCount(tables.size())
+				.status(status)
+				.phase(phase)
+				.percent(percent)
+				.completed(completed)
+				.total(total)
+				.message(message)
+				.createTime(createTime)
+				.startTime(startTime)
+				.endTime(endTime)
+				.build();
+		}
+
+	}
+
+}
@@ -0,0 +1,59 @@
+/*
+ * Copyright 2024-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.cloud.ai.dataagent.service.schema;
+
+import com.alibaba.cloud.ai.dataagent.enums.SchemaInitPhase;
+
+import java.util.concurrent.CancellationException;
+
+/**
+ * Receives progress of a schema initialization and tells it whether to stop. Cancellation
+ * is cooperative: the initialization checks it between phases and batches, so statements
+ * already running on the analysis database are allowed to finish.
+ */
+public interface SchemaInitProgress {
+
+	SchemaInitProgress NONE = new SchemaInitProgress() {
+		@Override
+		public void onProgress(SchemaInitPhase phase, int completed, int total) {
+		}
+
+		@Override
+		public boolean isCancelled() {
+			return false;
+		}
+	};
+
+	/**
+	 * Report progress within a phase.
+	 * @param phase current phase
+	 * @param completed finished units of the phase, e.g. tables or embedding batches
+	 * @param total total units of the phase
+	 */
+	void onProgress(SchemaInitPhase phase, int completed, int total);
+
+	boolean isCancelled();
+
+	/**
+	 * @throws CancellationException if the initialization has been cancelled
+	 */
+	default void checkCancelled() {
+		if (isCancelled()) {
+			throw new CancellationException("Schema initialization cancelled");
+		}
+	}
+
+}
@@ -25,7 +25,19 @@ import java.util.List;
 
 public interface SchemaService {
 
-	Boolean schema(String agentId, SchemaInitRequest schemaInitRequest) throws Exception;
+	default Boolean schema(String agentId, SchemaInitRequest schemaInitRequest) throws Exception {
+		return schema(agentId, schemaInitRequest, SchemaInitProgress.NONE);
+	}
+
+	/**
+	 * 初始化 schema 并上报各阶段进度
+	 * @param agentId 智能体ID
+	 * @param schemaInitRequest 数据源配置及表列表
+	 * @param progress 进度回调，同时用于检查是否已取消
+	 * @return 是否成功
+	 * @throws java.util.concurrent.CancellationException 初始化被取消
+	 */
+	Boolean schema(String agentId, SchemaInitRequest schemaInitRequest, SchemaInitProgress progress) throws Exception;
 
 	List<Document> getTableDocumentsForAgent(String agentId, String query);
 
@@ -16,21 +16,26 @@
 package com.alibaba.cloud.ai.dataagent.service.schema;
 
 import com.alibaba.cloud.ai.dataagent.connector.DbQueryParameter;
+import com.alibaba.cloud.ai.dataagent.bo.schema.ColumnInfoBO;
 import com.alibaba.cloud.ai.dataagent.bo.schema.ForeignKeyInfoBO;
 import com.alibaba.cloud.ai.dataagent.bo.schema.TableInfoBO;
 import com.alibaba.cloud.ai.dataagent.constant.DocumentMetadataConstant;
 import com.alibaba.cloud.ai.dataagent.enums.BizDataSourceTypeEnum;
+import com.alibaba.cloud.ai.dataagent.enums.SchemaInitPhase;
 import com.alibaba.cloud.ai.dataagent.util.JsonUtil;
 import com.alibaba.cloud.ai.dataagent.properties.DataAgentProperties;
 import com.alibaba.cloud.ai.dataagent.connector.accessor.Accessor;
 import com.alibaba.cloud.ai.dataagent.connector.accessor.AccessorFactory;
+import com.alibaba.cloud.ai.dataagent.connector.accessor.AccessorSession;
 import com.alibaba.cloud.ai.dataagent.bo.DbConfigBO;
+import com.alibaba.cloud.ai.dataagent.bo.DbPoolConfigBO;
 import com.alibaba.cloud.ai.dataagent.dto.datasource.SchemaInitRequest;
 import com.alibaba.cloud.ai.dataagent.dto.schema.ColumnDTO;
 import com.alibaba.cloud.ai.dataagent.dto.schema.SchemaDTO;
 import com.alibaba.cloud.ai.dataagent.dto.schema.TableDTO;
 import com.alibaba.cloud.ai.dataagent.service.vectorstore.AgentVectorStoreService;
 import com.alibaba.cloud.ai.dataagent.service.vectorstore.DynamicFilterService;
+import com.alibaba.cloud.ai.dataagent.service.vectorstore.EmbeddingBatchWriter;
 import com.fasterxml.jackson.core.type.TypeReference;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -43,9 +48,11 @@ import org.springframework.stereotype.Service;
 import org.springframework.util.Assert;
 
 import java.util.*;
+import java.util.concurrent.CancellationException;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionException;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
@@ -67,6 +74,8 @@ public class SchemaServiceImpl implements SchemaService {
 
 	private final TableMetadataService tableMetadataService;
 
+	private final SchemaFingerprintService schemaFingerprintService;
+
 	private final BatchingStrategy batchingStrategy;
 
 	private final DynamicFilterService dynamicFilterService;
@@ -78,6 +87,8 @@ public class SchemaServiceImpl implements SchemaService {
 	 */
 	private final AgentVectorStoreService agentVectorStoreService;
 
+	private final EmbeddingBatchWriter embeddingBatchWriter;
+
 	@Override
 	public void buildSchemaFromDocuments(String agentId, List<Document> currentColumnDocuments,
 			List<Document> tableDocuments, SchemaDTO schemaDTO) {
@@ -110,58 +121,114 @@ public class SchemaServiceImpl implements SchemaService {
 	}
 
 	@Override
-	public Boolean schema(String agentId, SchemaInitRequest schemaInitRequest) throws Exception {
+	public Boolean schema(String agentId, SchemaInitRequest schemaInitRequest, SchemaInitProgress progress)
+			throws Exception {
 		log.info("Starting schema initialization for agent: {}", agentId);
 		DbConfigBO config = schemaInitRequest.getDbConfig();
 		DbQueryParameter dqp = DbQueryParameter.from(config)
 			.setSchema(config.getSchema())
 			.setTables(schemaInitRequest.getTables());
 
+		// 根据当前DbConfig获取Accessor，元数据读取过程复用同一连接
+		Accessor dbAccessor = accessorFactory.getAccessorByDbConfig(config);
 		try {
-			// 根据当前DbConfig获取Accessor
-			Accessor dbAccessor = accessorFactory.getAccessorByDbConfig(config);
-
-			// 清理旧数据
-			log.info("Clearing existing schema data for agent: {}", agentId);
-			clearSchemaDataForAgent(agentId);
-			log.debug("Successfully cleared existing schema data for agent: {}", agentId);
-
-			// 处理外键
-			log.debug("Fetching foreign keys for agent: {}", agentId);
-			List<ForeignKeyInfoBO> foreignKeys = dbAccessor.showForeignKeys(config, dqp);
-			log.info("Found {} foreign keys for agent: {}", foreignKeys.size(), agentId);
-
-			Map<String, List<String>> foreignKeyMap = buildForeignKeyMap(foreignKeys);
-			log.debug("Built foreign key map with {} entries for agent: {}", foreignKeyMap.size(), agentId);
-
-			// 处理表和列
-			log.debug("Fetching tables for agent: {}", agentId);
-			List<TableInfoBO> tables = dbAccessor.fetchTables(config, dqp);
-			log.info("Found {} tables for agent: {}", tables.size(), agentId);
-
-			if (tables.size() > 5) {
-				// 对于大量表，使用并行处理
-				log.info("Processing {} tables in parallel mode for agent: {}", tables.size(), agentId);
-				processTablesInParallel(tables, config, foreignKeyMap);
-			}
-			else {
-				// 对于少量表，使用批量处理
-				log.info("Processing {} tables in batch mode for agent: {}", tables.size(), agentId);
-				tableMetadataService.batchEnrichTableMetadata(tables, config, foreignKeyMap);
-			}
+			Integer agentKey = Integer.valueOf(agentId);
+			List<TableInfoBO> tables;
+			Map<String, String> liveFingerprints;
+			Set<String> staleTables;
+			try (AccessorSession session = dbAccessor.openSession(config)) {
+				// 处理外键
+				log.debug("Fetching foreign keys for agent: {}", agentId);
+				progress.onProgress(SchemaInitPhase.FOREIGN_KEYS, 0, 1);
+				List<ForeignKeyInfoBO> foreignKeys = session.showForeignKeys(dqp);
+				progress.onProgress(SchemaInitPhase.FOREIGN_KEYS, 1, 1);
+				log.info("Found {} foreign keys for agent: {}", foreignKeys.size(), agentId);
+
+				Map<String, List<String>> foreignKeyMap = buildForeignKeyMap(foreignKeys);
+				log.debug("Built foreign key map with {} entries for agent: {}", foreignKeyMap.size(), agentId);
+
+				// 处理表和列
+				progress.checkCancelled();
+				log.debug("Fetching tables for agent: {}", agentId);
+				progress.onProgress(SchemaInitPhase.COLUMNS, 0, 1);
+				List<TableInfoBO> allTables = session.fetchTables(dqp);
+				log.info("Found {} tables for agent: {}", allTables.size(), agentId);
+				Map<String, List<ColumnInfoBO>> tableColumnsMap = tableMetadataService.fetchTableColumns(allTables,
+						session);
+
+				// 对比表结构指纹，只重新处理新增或结构变化的表
+				liveFingerprints = new HashMap<>();
+				for (TableInfoBO table : allTables) {
+					liveFingerprints.put(table.getName(),
+							schemaFingerprintService.compute(config, table,
+									tableColumnsMap.getOrDefault(table.getName(), Collections.emptyList()),
+									foreignKeyMap.getOrDefault(table.getName(), Collections.emptyList())));
+				}
+				Map<String, String> storedFingerprints = loadReusableFingerprints(agentId, agentKey);
+				tables = allTables.stream()
+					.filter(t -> !liveFingerprints.get(t.getName()).equals(storedFingerprints.get(t.getName())))
+					.toList();
+				staleTables = new HashSet<>(storedFingerprints.keySet());
+				staleTables.removeAll(liveFingerprints.keySet());
+				tables.forEach(t -> staleTables.add(t.getName()));
+				progress.onProgress(SchemaInitPhase.COLUMNS, 1, 1);
+
+				// 清理旧数据后再取消时指纹尚未更新，下次初始化会重新处理这些表
+				progress.checkCancelled();
+				// 清理旧数据
+				if (storedFingerprints.isEmpty()) {
+					log.info("Clearing existing schema data for agent: {}", agentId);
+					clearSchemaDataForAgent(agentId);
+					schemaFingerprintService.clear(agentKey);
+				}
+				else {
+					log.info(
+							"Incremental schema init for agent: {}, {} of {} tables changed, {} stale tables to clear",
+							agentId, tables.size(), allTables.size(), staleTables.size());
+					clearSchemaDataForTables(agentId, staleTables);
+				}
+				log.debug("Successfully cleared existing schema data for agent: {}", agentId);
+
+				if (tables.size() > 5) {
+					// 对于大量表，使用并行处理
+					log.info("Processing {} tables in parallel mode for agent: {}", tables.size(), agentId);
+					processTablesInParallel(tables, dbAccessor, session, foreignKeyMap, tableColumnsMap, progress);
+				}
+				else if (!tables.isEmpty()) {
+					// 对于少量表，使用批量处理
+					log.info("Processing {} tables in batch mode for agent: {}", tables.size(), agentId);
+					progress.onProgress(SchemaInitPhase.SAMPLES, 0, tables.size());
+					tableMetadataService.batchEnrichTableMetadata(tables, session, foreignKeyMap, tableColumnsMap);
+					progress.onProgress(SchemaInitPhase.SAMPLES, tables.size(), tables.size());
+				}
 
-			log.info("Successfully processed all tables for agent: {}", agentId);
+				log.info("Successfully processed all tables for agent: {}", agentId);
+			}
 
-			// 转换为文档
-			List<Document> columnDocs = convertColumnsToDocuments(agentId, tables);
-			List<Document> tableDocs = convertTablesToDocuments(agentId, tables);
+			// 元数据读取完成后即释放连接，文档转换和向量化期间不占用数据源连接
+			if (!tables.isEmpty()) {
+				// 转换为文档
+				List<Document> columnDocs = convertColumnsToDocuments(agentId, tables);
+				List<Document> tableDocs = convertTablesToDocuments(agentId, tables);
+
+				// 存储文档
+				log.info("Storing {} columns and {} tables for agent: {}", columnDocs.size(), tableDocs.size(),
+						agentId);
+				progress.checkCancelled();
+				storeSchemaDocuments(agentId, columnDocs, tableDocs, progress);
+				log.info("Successfully stored all documents for agent: {}", agentId);
+			}
 
-			// 存储文档
-			log.info("Storing {} columns and {} tables for agent: {}", columnDocs.size(), tableDocs.size(), agentId);
-			storeSchemaDocuments(agentId, columnDocs, tableDocs);
-			log.info("Successfully stored all documents for agent: {}", agentId);
+			// 文档写入成功后再保存指纹，失败时下次初始化会重新处理这些表
+			Map<String, String> processedFingerprints = new HashMap<>();
+			tables.forEach(t -> processedFingerprints.put(t.getName(), liveFingerprints.get(t.getName())));
+			schemaFingerprintService.save(agentKey, staleTables, processedFingerprints);
 			return true;
 		}
+		catch (CancellationException e) {
+			log.info("Schema initialization cancelled for agent: {}", agentId);
+			throw e;
+		}
 		catch (Exception e) {
 			log.error("Failed to process schema for agent: {}", agentId, e);
 			return false;
@@ -169,38 +236,65 @@ public class SchemaServiceImpl implements SchemaService {
 	}
 
 	/**
-	 * 并行处理表元数据，提高大量表时的处理性能
+	 * 并行处理表元数据，提高大量表时的处理性能。第一个批次复用调用方的会话，其余批次各自打开一个会话
 	 * @param tables 表列表
-	 * @param config 数据库配置
+	 * @param dbAccessor 数据库访问器
+	 * @param session 调用方持有的数据库会话
 	 * @param foreignKeyMap 外键映射
+	 * @param tableColumnsMap 表名到列信息的映射
+	 * @param progress 进度回调，按已完成的表数上报
 	 * @throws Exception 处理失败时抛出异常
 	 */
-	private void processTablesInParallel(List<TableInfoBO> tables, DbConfigBO config,
-			Map<String, List<String>> foreignKeyMap) throws Exception {
+	private void processTablesInParallel(List<TableInfoBO> tables, Accessor dbAccessor, AccessorSession session,
+			Map<String, List<String>> foreignKeyMap, Map<String, List<ColumnInfoBO>> tableColumnsMap,
+			SchemaInitProgress progress) throws Exception {
 
-		// 根据CPU核心数确定并行度，但不超过表的数量
-		int parallelism = Math.min(Runtime.getRuntime().availableProcessors() * 2, tables.size());
+		// 根据CPU核心数确定并行度，不超过表的数量，且会话数不超过连接池上限的一半，为查询执行保留连接
+		int parallelism = Math.min(Math.min(Runtime.getRuntime().availableProcessors() * 2, tables.size()),
+				maxSchemaSessions(session.getDbConfig()));
 		int batchSize = (int) Math.ceil((double) tables.size() / parallelism);
 
 		log.info("Processing {} tables in parallel with parallelism: {}, batch size: {}", tables.size(), parallelism,
 				batchSize);
 		// 将表分成多个批次
 		List<List<TableInfoBO>> tableBatches = partitionList(tables, batchSize);
+		AtomicInteger processedTables = new AtomicInteger();
+		progress.onProgress(SchemaInitPhase.SAMPLES, 0, tables.size());
 
 		// 使用CompletableFuture进行更精细的并行控制，使用专用线程池
-		List<CompletableFuture<Void>> futures = tableBatches.stream().map(batch -> CompletableFuture.runAsync(() -> {
+		List<CompletableFuture<Void>> futures = new ArrayList<>();
+		for (int i = 1; i < tableBatches.size(); i++) {
+			List<TableInfoBO> batch = tableBatches.get(i);
+			futures.add(CompletableFuture.runAsync(() -> {
+				progress.checkCancelled();
+				try (AccessorSession batchSession = dbAccessor.openSession(session.getDbConfig())) {
+					log.debug("Processing batch of {} tables", batch.size());
+
+					// 批量处理当前批次的表
+					tableMetadataService.batchEnrichTableMetadata(batch, batchSession, foreignKeyMap, tableColumnsMap);
+					log.debug("Successfully processed batch of {} tables", batch.size());
+					progress.onProgress(SchemaInitPhase.SAMPLES, processedTables.addAndGet(batch.size()),
+							tables.size());
+				}
+				catch (Exception e) {
+					log.error("Failed to process batch of tables", e);
+					throw new CompletionException(e);
+				}
+			}, dbOperationExecutor));
+		}
+		// 第一个批次在当前线程使用已有会话处理
+		futures.add(CompletableFuture.runAsync(() -> {
 			try {
-				log.debug("Processing batch of {} tables", batch.size());
-
-				// 批量处理当前批次的表
-				tableMetadataService.batchEnrichTableMetadata(batch, config, foreignKeyMap);
-				log.debug("Successfully processed batch of {} tables", batch.size());
+				tableMetadataService.batchEnrichTableMetadata(tableBatches.get(0), session, foreignKeyMap,
+						tableColumnsMap);
+				progress.onProgress(SchemaInitPhase.SAMPLES, processedTables.addAndGet(tableBatches.get(0).size()),
+						tables.size());
 			}
 			catch (Exception e) {
 				log.error("Failed to process batch of tables", e);
 				throw new CompletionException(e);
 			}
-		}, dbOperationExecutor)).toList();
+		}, Runnable::run));
 
 		// 等待所有任务完成，并处理异常
 		try {
@@ -208,11 +302,26 @@ public class SchemaServiceImpl implements SchemaService {
 			log.info("All parallel batches completed successfully");
 		}
 		catch (CompletionException e) {
+			if (e.getCause() instanceof CancellationException cancellation) {
+				throw cancellation;
+			}
 			log.error("Parallel processing failed", e);
 			throw new Exception(e.getCause());
 		}
 	}
 
+	/**
+	 * 并行处理元数据时可同时打开的会话数，取连接池最大连接数的一半
+	 * @param dbConfig 数据源配置
+	 * @return 会话数上限，至少为1
+	 */
+	private int maxSchemaSessions(DbConfigBO dbConfig) {
+		DbPoolConfigBO poolConfig = dbConfig.getPoolConfig();
+		int maxActive = poolConfig != null ? poolConfig.getMaxActive()
+				: dataAgentProperties.getConnectionPool().getMaxActive();
+		return Math.max(1, maxActive / 2);
+	}
+
 	/**
 	 * 将列表分成指定大小的子列表
 	 * @param list 原始列表
@@ -228,17 +337,27 @@ public class SchemaServiceImpl implements SchemaService {
 		return partitions;
 	}
 
-	protected void storeSchemaDocuments(String agentId, List<Document> columns, List<Document> tables) {
-		// 串行去批写入，并行流的时候有API限速了
-		List<List<Document>> columnBatches = batchingStrategy.batch(columns);
-		for (List<Document> batch : columnBatches) {
-			agentVectorStoreService.addDocuments(agentId, batch);
-		}
-		List<List<Document>> tableBatches = batchingStrategy.batch(tables);
-		for (List<Document> batch : tableBatches) {
-			agentVectorStoreService.addDocuments(agentId, batch);
-		}
+	protected void storeSchemaDocuments(String agentId, List<Document> columns, List<Document> tables,
+			SchemaInitProgress progress) {
+		// 分批并发写入，按嵌入模型供应商限流，遇到429退避重试
+		List<List<Document>> batches = new ArrayList<>(batchingStrategy.batch(columns));
+		batches.addAll(batchingStrategy.batch(tables));
+		int logInterval = Math.max(1, batches.size() / 10);
+		progress.onProgress(SchemaInitPhase.EMBEDDING, 0, batches.size());
+		embeddingBatchWriter.write(agentId, batches, new EmbeddingBatchWriter.ProgressListener() {
+			@Override
+			public void onProgress(int done, int total) {
+				progress.onProgress(SchemaInitPhase.EMBEDDING, done, total);
+				if (done % logInterval == 0 || done == total) {
+					log.info("Stored embedding batches for agent: {}, progress: {}/{}", agentId, done, total);
+				}
+			}
 
+			@Override
+			public boolean isCancelled() {
+				return progress.isCancelled();
+			}
+		});
 	}
 
 	protected Map<String, List<String>> buildForeignKeyMap(List<ForeignKeyInfoBO> foreignKeys) {
@@ -262,6 +381,45 @@ public class SchemaServiceImpl implements SchemaService {
 		agentVectorStoreService.deleteDocumentsByVectorType(agentId, DocumentMetadataConstant.TABLE);
 	}
 
+	/**
+	 * 删除指定表的表文档和列文档
+	 * @param agentId 智能体ID
+	 * @param tableNames 表名集合
+	 */
+	protected void clearSchemaDataForTables(String agentId, Collection<String> tableNames) {
+		for (String tableName : tableNames) {
+			Map<String, Object> tableMetadata = new HashMap<>();
+			tableMetadata.put(DocumentMetadataConstant.VECTOR_TYPE, DocumentMetadataConstant.TABLE);
+			tableMetadata.put("name", tableName);
+			agentVectorStoreService.deleteDocumentsByMetedata(agentId, tableMetadata);
+
+			Map<String, Object> columnMetadata = new HashMap<>();
+			columnMetadata.put(DocumentMetadataConstant.VECTOR_TYPE, DocumentMetadataConstant.COLUMN);
+			columnMetadata.put("tableName", tableName);
+			agentVectorStoreService.deleteDocumentsByMetedata(agentId, columnMetadata);
+		}
+	}
+
+	/**
+	 * 查询可用于增量初始化的指纹。向量库中缺少已记录的表文档时（例如内存向量库重启后），指纹不可信，返回空映射以全量重建
+	 * @param agentId 智能体ID
+	 * @param agentKey 智能体ID（数值）
+	 * @return 表名到指纹的映射
+	 */
+	private Map<String, String> loadReusableFingerprints(String agentId, Integer agentKey) {
+		Map<String, String> storedFingerprints = schemaFingerprintService.load(agentKey);
+		if (storedFingerprints.isEmpty()) {
+			return storedFingerprints;
+		}
+		List<Document> storedTableDocs = getTableDocuments(agentId, new ArrayList<>(storedFingerprints.keySet()));
+		if (storedTableDocs.size() < storedFingerprints.size()) {
+			log.warn("Vector store holds {} of {} fingerprinted tables for agent: {}, falling back to full init",
+					storedTableDocs.size(), storedFingerprints.size(), agentId);
+			return Collections.emptyMap();
+		}
+		return storedFingerprints;
+	}
+
 	@Override
 	public List<Document> getTableDocumentsForAgent(String agentId, String query) {
 		Assert.notNull(agentId, "agentId cannot be null");
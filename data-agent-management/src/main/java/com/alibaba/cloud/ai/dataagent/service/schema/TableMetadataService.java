@@ -17,12 +17,8 @@ package com.alibaba.cloud.ai.dataagent.service.schema;
 
 import com.alibaba.cloud.ai.dataagent.bo.schema.ColumnInfoBO;
 import com.alibaba.cloud.ai.dataagent.connector.DbQueryParameter;
-import com.alibaba.cloud.ai.dataagent.bo.schema.ResultSetBO;
 import com.alibaba.cloud.ai.dataagent.bo.schema.TableInfoBO;
-import com.alibaba.cloud.ai.dataagent.util.SqlUtil;
-import com.alibaba.cloud.ai.dataagent.connector.accessor.Accessor;
-import com.alibaba.cloud.ai.dataagent.connector.accessor.AccessorFactory;
-import com.alibaba.cloud.ai.dataagent.bo.DbConfigBO;
+import com.alibaba.cloud.ai.dataagent.connector.accessor.AccessorSession;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.AllArgsConstructor;
@@ -41,50 +37,62 @@ import java.util.stream.Collectors;
 @AllArgsConstructor
 public class TableMetadataService {
 
-	private final AccessorFactory accessorFactory;
-
 	private final ObjectMapper objectMapper;
 
+	private final TableSampler tableSampler;
+
 	/**
 	 * 批量处理多个表的元数据，提高性能
 	 * @param tables 表列表
-	 * @param dbConfig 数据库配置
+	 * @param session 数据库会话，所有查询复用同一连接
 	 * @param foreignKeyMap 外键映射
 	 * @throws Exception 处理失败时抛出异常
 	 */
-	public void batchEnrichTableMetadata(List<TableInfoBO> tables, DbConfigBO dbConfig,
+	public void batchEnrichTableMetadata(List<TableInfoBO> tables, AccessorSession session,
 			Map<String, List<String>> foreignKeyMap) throws Exception {
 
 		// 1. 批量获取所有表的列信息
-		Map<String, List<ColumnInfoBO>> tableColumnsMap = fetchTableColumns(tables, dbConfig);
-
-		// 2. 批量获取所有表的列样本数据
-		Map<String, Map<String, List<String>>> allTablesSampleData = batchGetSampleDataForTables(dbConfig,
-				tableColumnsMap);
+		Map<String, List<ColumnInfoBO>> tableColumnsMap = fetchTableColumns(tables, session);
 
-		// 3. 处理每个表的元数据
-		enrichTablesWithMetadata(tables, tableColumnsMap, allTablesSampleData, foreignKeyMap);
+		// 2. 补充样本数据等元数据
+		batchEnrichTableMetadata(tables, session, foreignKeyMap, tableColumnsMap);
 	}
 
 	/**
-	 * 批量获取所有表的列信息
+	 * 使用已查询的列信息批量处理多个表的元数据
 	 * @param tables 表列表
-	 * @param dbConfig 数据库配置
-	 * @return 表名到列信息的映射
-	 * @throws Exception 获取列信息失败时抛出异常
+	 * @param session 数据库会话，所有查询复用同一连接
+	 * @param foreignKeyMap 外键映射
+	 * @param tableColumnsMap 表名到列信息的映射，需包含 tables 中的所有表
+	 * @throws Exception 处理失败时抛出异常
 	 */
-	private Map<String, List<ColumnInfoBO>> fetchTableColumns(List<TableInfoBO> tables, DbConfigBO dbConfig)
+	public void batchEnrichTableMetadata(List<TableInfoBO> tables, AccessorSession session,
+			Map<String, List<String>> foreignKeyMap, Map<String, List<ColumnInfoBO>> tableColumnsMap)
 			throws Exception {
-		Map<String, List<ColumnInfoBO>> tableColumnsMap = new HashMap<>();
-		Accessor accessor = accessorFactory.getAccessorByDbConfig(dbConfig);
-
+		Map<String, List<ColumnInfoBO>> batchColumnsMap = new HashMap<>();
 		for (TableInfoBO table : tables) {
-			DbQueryParameter tableDqp = DbQueryParameter.from(dbConfig).setTable(table.getName());
-			List<ColumnInfoBO> columnInfoBOS = accessor.showColumns(dbConfig, tableDqp);
-			tableColumnsMap.put(table.getName(), columnInfoBOS);
+			batchColumnsMap.put(table.getName(), tableColumnsMap.getOrDefault(table.getName(), new ArrayList<>()));
 		}
 
-		return tableColumnsMap;
+		// 批量获取所有表的列样本数据
+		Map<String, Map<String, List<String>>> allTablesSampleData = batchGetSampleDataForTables(session,
+				batchColumnsMap);
+
+		// 处理每个表的元数据
+		enrichTablesWithMetadata(tables, batchColumnsMap, allTablesSampleData, foreignKeyMap);
+	}
+
+	/**
+	 * 批量获取所有表的列信息
+	 * @param tables 表列表
+	 * @param session 数据库会话
+	 * @return 表名到列信息的映射
+	 */
+	public Map<String, List<ColumnInfoBO>> fetchTableColumns(List<TableInfoBO> tables, AccessorSession session) {
+		// 一次元数据查询获取一批表的列信息，避免逐表往返
+		List<String> tableNames = tables.stream().map(TableInfoBO::getName).toList();
+		DbQueryParameter dqp = DbQueryParameter.from(session.getDbConfig()).setTables(tableNames);
+		return session.showColumnsForTables(dqp);
 	}
 
 	/**
@@ -182,11 +190,11 @@ public class TableMetadataService {
 
 	/**
 	 * 批量获取多个表的样本数据，减少数据库查询次数
-	 * @param dbConfig 数据库配置
+	 * @param session 数据库会话
 	 * @param tableColumnsMap 表名到列信息的映射
 	 * @return 表名到列样本数据的映射
 	 */
-	private Map<String, Map<String, List<String>>> batchGetSampleDataForTables(DbConfigBO dbConfig,
+	private Map<String, Map<String, List<String>>> batchGetSampleDataForTables(AccessorSession session,
 			Map<String, List<ColumnInfoBO>> tableColumnsMap) {
 
 		// 外层Map 键:表名，值:该表的列样本数据Map
@@ -199,7 +207,6 @@ public class TableMetadataService {
 		// }
 		// }
 		Map<String, Map<String, List<String>>> result = new HashMap<>();
-		Accessor accessor = accessorFactory.getAccessorByDbConfig(dbConfig);
 
 		// 为每个表的数据列生成样本数据
 		for (Map.Entry<String, List<ColumnInfoBO>> entry : tableColumnsMap.entrySet()) {
@@ -211,7 +218,7 @@ public class TableMetadataService {
 				continue;
 			}
 
-			Map<String, List<String>> tableSampleData = fetchTableSampleData(dbConfig, accessor, tableName, columns);
+			Map<String, List<String>> tableSampleData = fetchTableSampleData(session, tableName, columns);
 			result.put(tableName, tableSampleData);
 		}
 
@@ -220,28 +227,16 @@ public class TableMetadataService {
 
 	/**
 	 * 获取单个表的样本数据
-	 * @param dbConfig 数据库配置
-	 * @param accessor 数据库访问器
+	 * @param session 数据库会话
 	 * @param tableName 表名
 	 * @param columns 列信息列表
 	 * @return 表的样本数据映射
 	 */
-	private Map<String, List<String>> fetchTableSampleData(DbConfigBO dbConfig, Accessor accessor, String tableName,
+	private Map<String, List<String>> fetchTableSampleData(AccessorSession session, String tableName,
 			List<ColumnInfoBO> columns) {
-
 		try {
-			// 构建批量查询SQL，一次查询多个列的样本数据
-			String columnNames = columns.stream().map(ColumnInfoBO::getName).collect(Collectors.joining(", "));
-			String sql = SqlUtil.buildSelectSql(dbConfig.getDialectType(), tableName, columnNames, 5);
-
-			DbQueryParameter batchParam = new DbQueryParameter();
-			batchParam.setSchema(dbConfig.getSchema());
-			batchParam.setSql(sql);
-
-			ResultSetBO resultSet = accessor.executeSqlAndReturnObject(dbConfig, batchParam);
-			log.info("Embedding for table: {}, result size: {}", tableName, resultSet.getData().size());
-
-			return processResultSet(resultSet, columns);
+			// 随机抽样 + 低基数列去重探测，结果按表结构缓存
+			return filterAndLimitSampleData(tableSampler.sample(session, tableName, columns));
 		}
 		catch (Exception e) {
 			log.error("Failed to fetch sample data for table: {},use empty map as default value", tableName, e);
@@ -249,45 +244,6 @@ public class TableMetadataService {
 		}
 	}
 
-	/**
-	 * 处理查询结果集，提取并格式化样本数据
-	 * @param resultSet 查询结果集
-	 * @param columns 列信息列表
-	 * @return 处理后的样本数据
-	 */
-	private Map<String, List<String>> processResultSet(ResultSetBO resultSet, List<ColumnInfoBO> columns) {
-		Map<String, List<String>> tableSampleData = new HashMap<>();
-
-		if (resultSet == null || resultSet.getData() == null) {
-			return tableSampleData;
-		}
-
-		// 提取原始样本数据
-		for (Map<String, String> row : resultSet.getData()) {
-			extractSampleDataFromRow(row, columns, tableSampleData);
-		}
-
-		// 过滤和限制样本数据
-		return filterAndLimitSampleData(tableSampleData);
-	}
-
-	/**
-	 * 从单行数据中提取样本数据
-	 * @param row 数据行
-	 * @param columns 列信息列表
-	 * @param tableSampleData 存储样本数据的映射
-	 */
-	private void extractSampleDataFromRow(Map<String, String> row, List<ColumnInfoBO> columns,
-			Map<String, List<String>> tableSampleData) {
-		for (ColumnInfoBO column : columns) {
-			String columnName = column.getName();
-			Object value = row.get(columnName);
-			if (value != null) {
-				tableSampleData.computeIfAbsent(columnName, k -> new ArrayList<>()).add(String.valueOf(value));
-			}
-		}
-	}
-
 	/**
 	 * 过滤和限制样本数据，确保每列最多3个样本，并去重
 	 * @param tableSampleData 原始样本数据
@@ -0,0 +1,221 @@
+/*
+ * Copyright 2024-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.cloud.ai.dataagent.service.schema;
+
+import com.alibaba.cloud.ai.dataagent.bo.DbConfigBO;
+import com.alibaba.cloud.ai.dataagent.bo.schema.ColumnInfoBO;
+import com.alibaba.cloud.ai.dataagent.bo.schema.ColumnarResultSetBO;
+import com.alibaba.cloud.ai.dataagent.connector.DbQueryParameter;
+import com.alibaba.cloud.ai.dataagent.connector.SqlExecutor;
+import com.alibaba.cloud.ai.dataagent.connector.accessor.AccessorSession;
+import com.alibaba.cloud.ai.dataagent.properties.DataAgentProperties;
+import com.alibaba.cloud.ai.dataagent.util.SqlUtil;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * 列样本数据抽样器。
+ * <p>
+ * 按方言优先使用 TABLESAMPLE / RAND() 随机抽样，抽到的行数不足时退化为读取前几行；对样本中非空取值过少的低基数列额外执行去重查询；
+ * 每张表有独立的时间预算，每条抽样和探测语句的超时取剩余预算，超出后跳过剩余探测。抽样结果按数据源、schema、表名和列签名缓存，缓存有效期内重新初始化智能体不会再次扫描列未变化的表。
+ */
+@Slf4j
+@Component
+public class TableSampler {
+
+	private final DataAgentProperties.Sampling config;
+
+	private final Map<String, CachedSample> cache = new ConcurrentHashMap<>();
+
+	public TableSampler(DataAgentProperties properties) {
+		this.config = properties.getSampling();
+	}
+
+	/**
+	 * 抽取单个表的列样本数据
+	 * @param session 数据库会话
+	 * @param tableName 表名
+	 * @param columns 列信息列表
+	 * @return 列名到样本数据的映射，调用方可自由修改
+	 * @throws Exception 回退查询也失败时抛出异常
+	 */
+	public Map<String, List<String>> sample(AccessorSession session, String tableName, List<ColumnInfoBO> columns)
+			throws Exception {
+		DbConfigBO dbConfig = session.getDbConfig();
+		String key = cacheKey(dbConfig, tableName, columns);
+		long now = System.currentTimeMillis();
+		CachedSample cached = cache.get(key);
+		if (cached != null && !cached.isExpired(now, ttlMillis())) {
+			log.debug("Use cached samples for table: {}", tableName);
+			return copyOf(cached.samples);
+		}
+
+		long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(config.getTableTimeBudgetMillis());
+		String dialect = dbConfig.getDialectType();
+		String columnNames = columns.stream().map(ColumnInfoBO::getName).collect(Collectors.joining(", "));
+		int sampleRows = config.getSampleRows();
+
+		ColumnarResultSetBO resultSet = null;
+		String sampleSql = SqlUtil.buildSampleSql(dialect, tableName, columnNames, sampleRows,
+				config.getSamplePercent());
+		if (sampleSql != null) {
+			try {
+				resultSet = query(session, sampleSql, deadline);
+			}
+			catch (Exception e) {
+				// 视图等对象不支持 TABLESAMPLE，退化为读取前几行
+				log.debug("Random sampling failed for table: {}, fall back to first rows: {}", tableName,
+						e.getMessage());
+			}
+		}
+		// 小表按比例抽样可能取不到足够的行
+		if (resultSet == null || resultSet.rowCount() < sampleRows) {
+			resultSet = query(session, SqlUtil.buildSelectSql(dialect, tableName, columnNames, sampleRows), deadline);
+		}
+		log.info("Sampled table: {}, result size: {}", tableName, resultSet.rowCount());
+
+		Map<String, List<String>> samples = new HashMap<>();
+		for (ColumnInfoBO column : columns) {
+			samples.put(column.getName(), nonEmptyDistinct(resultSet.columnValues(column.getName())));
+		}
+		if (resultSet.rowCount() > 0) {
+			probeDistinctValues(session, tableName, columns, samples, deadline);
+		}
+
+		putCache(key, samples, now);
+		return copyOf(samples);
+	}
+
+	/**
+	 * 对非空取值过少的列执行去重查询，补充样本
+	 */
+	private void probeDistinctValues(AccessorSession session, String tableName, List<ColumnInfoBO> columns,
+			Map<String, List<String>> samples, long deadline) {
+		int probeLimit = config.getDistinctProbeLimit();
+		String dialect = session.getDbConfig().getDialectType();
+		for (ColumnInfoBO column : columns) {
+			List<String> values = samples.get(column.getName());
+			if (values.size() >= probeLimit) {
+				continue;
+			}
+			if (System.nanoTime() > deadline) {
+				log.debug("Sampling time budget exhausted for table: {}, skip remaining distinct probes", tableName);
+				return;
+			}
+			try {
+				ColumnarResultSetBO distinct = query(session,
+						SqlUtil.buildDistinctSql(dialect, tableName, column.getName(), probeLimit), deadline);
+				if (distinct.columnCount() > 0) {
+					Set<String> merged = new LinkedHashSet<>(values);
+					merged.addAll(nonEmptyDistinct(List.of(distinct.getValues()[0])));
+					samples.put(column.getName(), new ArrayList<>(merged));
+				}
+			}
+			catch (Exception e) {
+				log.debug("Distinct probe failed for column: {}.{}: {}", tableName, column.getName(), e.getMessage());
+			}
+		}
+	}
+
+	private ColumnarResultSetBO query(AccessorSession session, String sql, long deadline) throws Exception {
+		DbQueryParameter param = new DbQueryParameter();
+		param.setSchema(session.getDbConfig().getSchema());
+		param.setSql(sql);
+		return session.executeSqlAndReturnColumnar(param, queryTimeoutSeconds(deadline, System.nanoTime()));
+	}
+
+	/**
+	 * 由剩余时间预算得出语句超时（秒）。JDBC 超时以秒为单位且 0 表示不限制，因此向上取整且至少为 1 秒，并且不超过默认的语句超时
+	 */
+	static int queryTimeoutSeconds(long deadline, long now) {
+		long remainingMillis = TimeUnit.NANOSECONDS.toMillis(deadline - now);
+		long seconds = (remainingMillis + 999) / 1000;
+		return (int) Math.max(1, Math.min(SqlExecutor.STATEMENT_TIMEOUT, seconds));
+	}
+
+	private static List<String> nonEmptyDistinct(List<String> values) {
+		return values.stream().filter(v -> v != null && !v.isEmpty()).distinct().collect(Collectors.toList());
+	}
+
+	private void putCache(String key, Map<String, List<String>> samples, long now) {
+		if (cache.size() >= config.getCacheMaxTables()) {
+			evictExpired();
+			if (cache.size() >= config.getCacheMaxTables()) {
+				return;
+			}
+		}
+		cache.put(key, new CachedSample(copyOf(samples), now));
+	}
+
+	/**
+	 * 定期清理过期的样本缓存
+	 */
+	@Scheduled(fixedDelay = 10, timeUnit = TimeUnit.MINUTES)
+	public void evictExpired() {
+		long now = System.currentTimeMillis();
+		long ttl = ttlMillis();
+		cache.values().removeIf(cached -> cached.isExpired(now, ttl));
+	}
+
+	/**
+	 * 使某个数据源的样本缓存全部失效，数据源变更或删除时调用
+	 * @param url 数据源连接地址
+	 * @param username 用户名
+	 */
+	public void invalidate(String url, String username) {
+		String prefix = url + "|" + username + "|";
+		cache.keySet().removeIf(key -> key.startsWith(prefix));
+	}
+
+	private long ttlMillis() {
+		return TimeUnit.MINUTES.toMillis(config.getCacheTtlMinutes());
+	}
+
+	private static String cacheKey(DbConfigBO dbConfig, String tableName, List<ColumnInfoBO> columns) {
+		// 列签名变化（增删列、改类型）视为表结构变化，需要重新抽样
+		String signature = columns.stream()
+			.map(c -> c.getName() + ":" + c.getType())
+			.collect(Collectors.joining(","));
+		return dbConfig.getUrl() + "|" + dbConfig.getUsername() + "|" + dbConfig.getSchema() + "|" + tableName + "|"
+				+ signature.hashCode();
+	}
+
+	private static Map<String, List<String>> copyOf(Map<String, List<String>> samples) {
+		Map<String, List<String>> copy = new HashMap<>();
+		samples.forEach((k, v) -> copy.put(k, new ArrayList<>(v)));
+		return copy;
+	}
+
+	private record CachedSample(Map<String, List<String>> samples, long createdAt) {
+
+		boolean isExpired(long now, long ttlMillis) {
+			return now - createdAt > ttlMillis;
+		}
+
+	}
+
+}
@@ -41,6 +41,16 @@ public interface AgentVectorStoreService {
 
 	List<Document> getDocumentsForAgent(String agentId, String query, String vectorType, int topK, double threshold);
 
+	/**
+	 * 并发检索同一查询在多个向量类型下的文档。向量库按查询文本检索，查询向量无法跨类型传递，
+	 * 只计算一次依赖嵌入缓存（embedding-cache.enabled，默认开启）合并并发的相同文本；关闭嵌入缓存时每个类型各自计算一次
+	 * @param agentId 智能体ID
+	 * @param query 查询文本
+	 * @param vectorTypes 向量类型列表
+	 * @return 按向量类型分组的检索结果，顺序与 vectorTypes 一致
+	 */
+	Map<String, List<Document>> getDocumentsForAgent(String agentId, String query, List<String> vectorTypes);
+
 	// 通过元数据过滤精确查找
 	List<Document> getDocumentsOnlyByFilter(Filter.Expression filterExpression, Integer topK);
 
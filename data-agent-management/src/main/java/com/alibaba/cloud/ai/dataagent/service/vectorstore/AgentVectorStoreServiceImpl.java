@@ -27,12 +27,17 @@ import org.springframework.ai.vectorstore.SearchRequest;
 import org.springframework.ai.vectorstore.SimpleVectorStore;
 import org.springframework.ai.vectorstore.VectorStore;
 import org.springframework.ai.vectorstore.filter.Filter;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Service;
 import org.springframework.util.Assert;
 
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
 
 import static com.alibaba.cloud.ai.dataagent.service.vectorstore.DynamicFilterService.buildFilterExpressionString;
+import static com.alibaba.cloud.ai.dataagent.service.vectorstore.DynamicFilterService.combineWithAnd;
 
 @Slf4j
 @Service
@@ -48,13 +53,17 @@ public class AgentVectorStoreServiceImpl implements AgentVectorStoreService {
 
 	private final DynamicFilterService dynamicFilterService;
 
+	private final ExecutorService dbOperationExecutor;
+
 	public AgentVectorStoreServiceImpl(VectorStore vectorStore,
 			Optional<HybridRetrievalStrategy> hybridRetrievalStrategy, DataAgentProperties dataAgentProperties,
-			DynamicFilterService dynamicFilterService) {
+			DynamicFilterService dynamicFilterService,
+			@Qualifier("dbOperationExecutor") ExecutorService dbOperationExecutor) {
 		this.vectorStore = vectorStore;
 		this.hybridRetrievalStrategy = hybridRetrievalStrategy;
 		this.dataAgentProperties = dataAgentProperties;
 		this.dynamicFilterService = dynamicFilterService;
+		this.dbOperationExecutor = dbOperationExecutor;
 		log.info("VectorStore type: {}", vectorStore.getClass().getSimpleName());
 	}
 
@@ -123,8 +132,18 @@ public class AgentVectorStoreServiceImpl implements AgentVectorStoreService {
 		Assert.notNull(metadata, "Metadata cannot be null.");
 		// 添加agentId元数据过滤条件, 用于删除指定agentId下的所有数据，因为metadata中用户调用可能忘记添加agentId
 		metadata.put(Constant.AGENT_ID, agentId);
-		String filterExpression = buildFilterExpressionString(metadata);
 
+		if (vectorStore instanceof IndexedSimpleVectorStore indexedStore) {
+			// 通过元数据索引直接定位文档id，无需调用嵌入模型
+			List<String> ids = indexedStore.findIdsByFilter(buildFilterExpression(metadata));
+			if (!ids.isEmpty()) {
+				indexedStore.delete(ids);
+			}
+			log.info("Deleted {} documents with metadata: {}", ids.size(), metadata);
+			return true;
+		}
+
+		String filterExpression = buildFilterExpressionString(metadata);
 		// es的可以直接元数据删除
 		if (vectorStore instanceof SimpleVectorStore) {
 			// 目前SimpleVectorStore不支持通过元数据删除，使用会抛出UnsupportedOperationException,现在是通过id删除
@@ -176,6 +195,18 @@ public class AgentVectorStoreServiceImpl implements AgentVectorStoreService {
 		log.info("Deleted {} documents with filter expression: {}", totalDeleted, filterExpression);
 	}
 
+	/**
+	 * 将元数据键值对转换为等值条件的 AND 组合
+	 */
+	private static Filter.Expression buildFilterExpression(Map<String, Object> metadata) {
+		List<Filter.Expression> conditions = metadata.entrySet()
+			.stream()
+			.map(entry -> new Filter.Expression(Filter.ExpressionType.EQ, new Filter.Key(entry.getKey()),
+					new Filter.Value(entry.getValue())))
+			.toList();
+		return combineWithAnd(conditions);
+	}
+
 	@Override
 	public List<Document> getDocumentsForAgent(String agentId, String query, String vectorType) {
 		// 使用全局默认配置
@@ -198,11 +229,42 @@ public class AgentVectorStoreServiceImpl implements AgentVectorStoreService {
 		return search(searchRequest);
 	}
 
+	@Override
+	public Map<String, List<Document>> getDocumentsForAgent(String agentId, String query, List<String> vectorTypes) {
+		Assert.notEmpty(vectorTypes, "VectorTypes cannot be empty.");
+		Map<String, List<Document>> results = new LinkedHashMap<>();
+		if (vectorTypes.size() == 1) {
+			results.put(vectorTypes.get(0), getDocumentsForAgent(agentId, query, vectorTypes.get(0)));
+			return results;
+		}
+		// 各类型的过滤条件查询与向量检索并发执行。向量库和混合检索只接受查询文本，查询向量无法传入，
+		// 因此相同文本的向量化只有在开启嵌入缓存时才会合并为一次调用，否则每个类型各调用一次嵌入模型
+		Map<String, CompletableFuture<List<Document>>> futures = new LinkedHashMap<>();
+		for (String vectorType : vectorTypes) {
+			futures.put(vectorType, CompletableFuture
+				.supplyAsync(() -> getDocumentsForAgent(agentId, query, vectorType), dbOperationExecutor));
+		}
+		try {
+			futures.forEach((vectorType, future) -> results.put(vectorType, future.join()));
+		}
+		catch (CompletionException e) {
+			futures.values().forEach(future -> future.cancel(false));
+			if (e.getCause() instanceof RuntimeException cause) {
+				throw cause;
+			}
+			throw e;
+		}
+		return results;
+	}
+
 	@Override
 	public List<Document> getDocumentsOnlyByFilter(Filter.Expression filterExpression, Integer topK) {
 		Assert.notNull(filterExpression, "filterExpression cannot be null.");
 		if (topK == null)
 			topK = dataAgentProperties.getVectorStore().getDefaultTopkLimit();
+		if (vectorStore instanceof IndexedSimpleVectorStore indexedStore) {
+			return indexedStore.findByFilter(filterExpression, topK);
+		}
 		SearchRequest searchRequest = SearchRequest.builder()
 			.query(DEFAULT)
 			.topK(topK)
@@ -215,6 +277,9 @@ public class AgentVectorStoreServiceImpl implements AgentVectorStoreService {
 	@Override
 	public boolean hasDocuments(String agentId) {
 		// 类似 MySQL 的 LIMIT 1,只检查是否存在文档
+		if (vectorStore instanceof IndexedSimpleVectorStore indexedStore) {
+			return !indexedStore.findByFilter(buildFilterExpression(Map.of(Constant.AGENT_ID, agentId)), 1).isEmpty();
+		}
 		List<Document> docs = vectorStore.similaritySearch(org.springframework.ai.vectorstore.SearchRequest.builder()
 			.query(DEFAULT)// 使用默认的查询字符串，因为有的嵌入模型不支持空字符串
 			.filterExpression(buildFilterExpressionString(Map.of(Constant.AGENT_ID, agentId)))
@@ -17,8 +17,6 @@ package com.alibaba.cloud.ai.dataagent.service.vectorstore;
 
 import com.alibaba.cloud.ai.dataagent.constant.Constant;
 import com.alibaba.cloud.ai.dataagent.constant.DocumentMetadataConstant;
-import com.alibaba.cloud.ai.dataagent.mapper.AgentKnowledgeMapper;
-import com.alibaba.cloud.ai.dataagent.mapper.BusinessKnowledgeMapper;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.ai.vectorstore.filter.Filter;
@@ -35,9 +33,7 @@ import java.util.stream.Collectors;
 @AllArgsConstructor
 public class DynamicFilterService {
 
-	private final AgentKnowledgeMapper agentKnowledgeMapper;
-
-	private final BusinessKnowledgeMapper businessKnowledgeMapper;
+	private final RecalledKnowledgeIdCache recalledKnowledgeIdCache;
 
 	public Filter.Expression buildDynamicFilter(String agentId, String vectorType) {
 		FilterExpressionBuilder b = new FilterExpressionBuilder();
@@ -50,8 +46,8 @@ public class DynamicFilterService {
 		switch (vectorType) {
 
 			case DocumentMetadataConstant.AGENT_KNOWLEDGE:
-				// 场景 A: 知识库文档 -> 需要查 MySQL 获取启用状态
-				List<Integer> validIds = agentKnowledgeMapper.selectRecalledKnowledgeIds(Integer.valueOf(agentId));
+				// 场景 A: 知识库文档 -> 需要查 MySQL 获取启用状态，结果按智能体缓存
+				List<Integer> validIds = recalledKnowledgeIdCache.getRecalledAgentKnowledgeIds(agentId);
 
 				if (validIds.isEmpty()) {
 					log.warn("Agent {} has no recalled knowledge documents. Returning empty filter signal.", agentId);
@@ -65,8 +61,7 @@ public class DynamicFilterService {
 
 			case DocumentMetadataConstant.BUSINESS_TERM:
 				// 场景 B: 业务知识 -> 查 business_knowledge 表的需要召回的
-				List<Long> recalledBusinessKnowledgeIds = businessKnowledgeMapper
-					.selectRecalledKnowledgeIds(Long.valueOf(agentId));
+				List<Long> recalledBusinessKnowledgeIds = recalledKnowledgeIdCache.getRecalledBusinessTermIds(agentId);
 
 				if (recalledBusinessKnowledgeIds.isEmpty()) {
 					log.warn("Agent {} has no recalled business terms. Returning empty filter signal.", agentId);
@@ -0,0 +1,239 @@
+/*
+ * Copyright 2024-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.cloud.ai.dataagent.service.vectorstore;
+
+import com.alibaba.cloud.ai.dataagent.dto.ModelConfigDTO;
+import com.alibaba.cloud.ai.dataagent.enums.ModelType;
+import com.alibaba.cloud.ai.dataagent.properties.DataAgentProperties;
+import com.alibaba.cloud.ai.dataagent.service.aimodelconfig.ModelConfigDataService;
+import com.alibaba.cloud.ai.dataagent.util.ModelErrorUtil;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.ai.document.Document;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Writes document batches to the vector store with a bounded number of batches in
+ * flight. Embedding requests of the same provider share one token bucket, so concurrent
+ * writes of different agents together stay within the provider quota. Batches rejected
+ * with HTTP 429 are retried with exponential backoff.
+ */
+@Slf4j
+@Component
+public class EmbeddingBatchWriter implements DisposableBean {
+
+	private final AgentVectorStoreService agentVectorStoreService;
+
+	private final ModelConfigDataService modelConfigDataService;
+
+	private final DataAgentProperties.EmbeddingWriter config;
+
+	private final ThreadPoolExecutor executor;
+
+	private final Map<String, TokenBucketRateLimiter> limiters = new ConcurrentHashMap<>();
+
+	/**
+	 * Receives the number of finished batches after each batch is written.
+	 */
+	@FunctionalInterface
+	public interface ProgressListener {
+
+		void onProgress(int completedBatches, int totalBatches);
+
+		/**
+		 * Checked before each batch is submitted; once true no further batches are
+		 * started.
+		 */
+		default boolean isCancelled() {
+			return false;
+		}
+
+	}
+
+	public EmbeddingBatchWriter(AgentVectorStoreService agentVectorStoreService,
+			ModelConfigDataService modelConfigDataService, DataAgentProperties properties) {
+		this.agentVectorStoreService = agentVectorStoreService;
+		this.modelConfigDataService = modelConfigDataService;
+		this.config = properties.getEmbeddingWriter();
+		int poolSize = Math.max(1, config.getThreadPoolSize());
+		ThreadFactory threadFactory = new ThreadFactory() {
+			private final AtomicInteger threadNumber = new AtomicInteger(1);
+
+			@Override
+			public Thread newThread(Runnable r) {
+				Thread t = new Thread(r, "embedding-writer-" + threadNumber.getAndIncrement());
+				t.setDaemon(true);
+				return t;
+			}
+		};
+		// 队列长度由每次写入的在途批次数限制，这里不再设上限
+		this.executor = new ThreadPoolExecutor(poolSize, poolSize, 60L, TimeUnit.SECONDS, new LinkedBlockingQueue<>(),
+				threadFactory);
+		this.executor.allowCoreThreadTimeOut(true);
+	}
+
+	/**
+	 * Write the batches of one agent and block until all of them are stored.
+	 * @param agentId agent the documents belong to
+	 * @param batches document batches, each one embedding request
+	 * @param listener progress callback, may be null
+	 * @throws IllegalStateException if a batch fails after retries or the caller is
+	 * interrupted; batches already written stay in the vector store
+	 * @throws CancellationException if the listener reports cancellation
+	 */
+	public void write(String agentId, List<List<Document>> batches, ProgressListener listener) {
+		int total = batches.size();
+		if (total == 0) {
+			return;
+		}
+		String provider = activeProvider();
+		TokenBucketRateLimiter limiter = limiterFor(provider);
+		int concurrency = Math.max(1, config.getConcurrency());
+		log.info("Writing {} embedding batches for agent: {}, provider: {}, concurrency: {}, rate limit: {}/s", total,
+				agentId, provider, concurrency, limiter != null ? limiter.getPermitsPerSecond() : "unlimited");
+
+		Semaphore inFlight = new Semaphore(concurrency);
+		AtomicInteger completed = new AtomicInteger();
+		AtomicReference<Throwable> failure = new AtomicReference<>();
+		List<CompletableFuture<Void>> futures = new ArrayList<>(total);
+		boolean cancelled = false;
+		try {
+			for (List<Document> batch : batches) {
+				if (listener != null && listener.isCancelled()) {
+					cancelled = true;
+					break;
+				}
+				inFlight.acquire();
+				if (failure.get() != null) {
+					// 已有批次失败，不再提交剩余批次
+					inFlight.release();
+					break;
+				}
+				futures.add(CompletableFuture.runAsync(() -> writeBatch(agentId, batch, limiter), executor)
+					.whenComplete((v, e) -> {
+						inFlight.release();
+						if (e != null) {
+							failure.compareAndSet(null, e instanceof CompletionException ? e.getCause() : e);
+							return;
+						}
+						int done = completed.incrementAndGet();
+						if (listener != null) {
+							listener.onProgress(done, total);
+						}
+					}));
+			}
+			CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).exceptionally(e -> null).join();
+		}
+		catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			futures.forEach(f -> f.cancel(true));
+			throw new IllegalStateException("Interrupted while writing embedding batches for agent: " + agentId, e);
+		}
+
+		if (cancelled) {
+			throw new CancellationException(String.format(
+					"Embedding write cancelled for agent: %s, %d/%d done", agentId, completed.get(), total));
+		}
+		if (failure.get() != null) {
+			throw new IllegalStateException(String.format("Failed to write embedding batches for agent: %s, %d/%d done",
+					agentId, completed.get(), total), failure.get());
+		}
+	}
+
+	private void writeBatch(String agentId, List<Document> batch, TokenBucketRateLimiter limiter) {
+		long backoff = Math.max(1, config.getInitialBackoffMillis());
+		try {
+			for (int attempt = 0;; attempt++) {
+				if (limiter != null) {
+					limiter.acquire();
+				}
+				try {
+					agentVectorStoreService.addDocuments(agentId, batch);
+					return;
+				}
+				catch (RuntimeException e) {
+					if (attempt >= config.getMaxRetries() || !ModelErrorUtil.isRateLimited(e)) {
+						throw e;
+					}
+					// 加入随机抖动，避免并发批次同时重试
+					long wait = Math.min(backoff, config.getMaxBackoffMillis());
+					wait += ThreadLocalRandom.current().nextLong(wait / 2 + 1);
+					log.warn("Embedding request rate limited for agent: {}, retry {}/{} in {} ms", agentId,
+							attempt + 1, config.getMaxRetries(), wait);
+					TimeUnit.MILLISECONDS.sleep(wait);
+					backoff = Math.min(backoff * 2, config.getMaxBackoffMillis());
+				}
+			}
+		}
+		catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new CompletionException(e);
+		}
+	}
+
+	private String activeProvider() {
+		try {
+			ModelConfigDTO modelConfig = modelConfigDataService.getActiveConfigByType(ModelType.EMBEDDING);
+			if (modelConfig != null && StringUtils.isNotBlank(modelConfig.getProvider())) {
+				return modelConfig.getProvider().toLowerCase(Locale.ROOT);
+			}
+		}
+		catch (Exception e) {
+			log.warn("Failed to resolve active embedding provider: {}", e.getMessage());
+		}
+		return "default";
+	}
+
+	private TokenBucketRateLimiter limiterFor(String provider) {
+		double rate = config.getProviderPermitsPerSecond()
+			.entrySet()
+			.stream()
+			.filter(e -> e.getKey().equalsIgnoreCase(provider))
+			.map(Map.Entry::getValue)
+			.findFirst()
+			.orElse(config.getPermitsPerSecond());
+		if (rate <= 0) {
+			return null;
+		}
+		return limiters.compute(provider,
+				(k, existing) -> existing != null && existing.getPermitsPerSecond() == rate ? existing
+						: new TokenBucketRateLimiter(rate));
+	}
+
+	@Override
+	public void destroy() {
+		executor.shutdownNow();
+	}
+
+}
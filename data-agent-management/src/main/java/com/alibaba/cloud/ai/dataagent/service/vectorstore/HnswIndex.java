@@ -0,0 +1,361 @@
+/*
+ * Copyright 2024-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.cloud.ai.dataagent.service.vectorstore;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Random;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Predicate;
+
+/**
+ * Hierarchical navigable small world graph over int8-quantized embeddings, used by
+ * {@link IndexedSimpleVectorStore} to find a shortlist of approximate nearest neighbours
+ * without scoring every document. Similarities are approximated from the
+ * {@link QuantizedVector} codes; the caller re-ranks the shortlist with the
+ * full-precision vectors.
+ * <p>
+ * Searches take an acceptance predicate for metadata filters: rejected nodes still route
+ * the search but are never returned. Removed documents are kept as tombstones in the same
+ * way, and the graph is rebuilt from the live vectors once tombstones outnumber them.
+ * Searches share a read lock, changes take the write lock.
+ */
+public class HnswIndex {
+
+	private static final int MIN_TOMBSTONES_BEFORE_REBUILD = 64;
+
+	private final int maxNeighbors;
+
+	private final int efConstruction;
+
+	private final double levelMultiplier;
+
+	private final Random random = new Random(42);
+
+	private final List<Node> nodes = new ArrayList<>();
+
+	private final Map<String, Integer> nodeIndexes = new HashMap<>();
+
+	private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+	private int entryPoint = -1;
+
+	private int maxLevel = -1;
+
+	private int tombstones;
+
+	/**
+	 * @param maxNeighbors links per node on the upper layers, twice as many on the bottom
+	 * layer
+	 * @param efConstruction size of the candidate list when linking a new node
+	 */
+	public HnswIndex(int maxNeighbors, int efConstruction) {
+		this.maxNeighbors = Math.max(2, maxNeighbors);
+		this.efConstruction = Math.max(this.maxNeighbors, efConstruction);
+		this.levelMultiplier = 1 / Math.log(this.maxNeighbors);
+	}
+
+	/**
+	 * Add a vector, replacing the previous vector of the same id.
+	 */
+	public void add(String id, float[] embedding) {
+		QuantizedVector vector = QuantizedVector.of(embedding);
+		lock.writeLock().lock();
+		try {
+			removeNode(id);
+			insert(id, vector);
+		}
+		finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	public void remove(String id) {
+		lock.writeLock().lock();
+		try {
+			removeNode(id);
+			if (tombstones >= MIN_TOMBSTONES_BEFORE_REBUILD && tombstones > nodeIndexes.size()) {
+				rebuild();
+			}
+		}
+		finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * Ids of the approximate nearest accepted neighbours of the query, most similar first.
+	 * @param query query embedding
+	 * @param k maximum number of ids returned
+	 * @param ef size of the candidate list, at least {@code k}; larger is slower and more
+	 * accurate
+	 * @param accept documents that may be returned
+	 * @param visitLimit maximum number of nodes visited on the bottom layer
+	 * @return nearest ids, or null if the search visited more than {@code visitLimit}
+	 * nodes, e.g. because the predicate rejects most of the graph; an exact scan of the
+	 * accepted documents is cheaper then
+	 */
+	public List<String> search(float[] query, int k, int ef, Predicate<String> accept, int visitLimit) {
+		QuantizedVector vector = QuantizedVector.of(query);
+		lock.readLock().lock();
+		try {
+			if (entryPoint < 0 || k <= 0) {
+				return List.of();
+			}
+			int current = entryPoint;
+			for (int level = maxLevel; level > 0; level--) {
+				current = greedyClosest(vector, current, level);
+			}
+			List<Scored> found = searchLayer(vector, current, Math.max(ef, k), 0,
+					node -> !node.deleted && accept.test(node.id), visitLimit);
+			if (found == null) {
+				return null;
+			}
+			return found.stream().limit(k).map(scored -> nodes.get(scored.node()).id).toList();
+		}
+		finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	/**
+	 * Number of live vectors.
+	 */
+	public int size() {
+		lock.readLock().lock();
+		try {
+			return nodeIndexes.size();
+		}
+		finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	/**
+	 * Estimated heap used by the codes and links of the graph, tombstones included.
+	 */
+	public long estimatedBytes() {
+		lock.readLock().lock();
+		try {
+			long bytes = 0;
+			for (Node node : nodes) {
+				// 对象头、字段与数组头的开销按 64 字节估算
+				bytes += 64 + node.vector.codes().length;
+				for (int[] links : node.links) {
+					bytes += 16 + 4L * links.length;
+				}
+			}
+			return bytes;
+		}
+		finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	private void removeNode(String id) {
+		Integer index = nodeIndexes.remove(id);
+		if (index != null) {
+			nodes.get(index).deleted = true;
+			tombstones++;
+		}
+	}
+
+	private void insert(String id, QuantizedVector vector) {
+		int level = (int) (-Math.log(1 - random.nextDouble()) * levelMultiplier);
+		int index = nodes.size();
+		Node node = new Node(id, vector, level, maxNeighbors);
+		nodes.add(node);
+		nodeIndexes.put(id, index);
+		if (entryPoint < 0) {
+			entryPoint = index;
+			maxLevel = level;
+			return;
+		}
+		int current = entryPoint;
+		for (int l = maxLevel; l > level; l--) {
+			current = greedyClosest(vector, current, l);
+		}
+		for (int l = Math.min(level, maxLevel); l >= 0; l--) {
+			List<Scored> found = searchLayer(vector, current, efConstruction, l, other -> !other.deleted,
+					Integer.MAX_VALUE);
+			for (Scored neighbor : found.subList(0, Math.min(maxNeighbors, found.size()))) {
+				link(index, neighbor.node(), l);
+				link(neighbor.node(), index, l);
+			}
+			if (!found.isEmpty()) {
+				current = found.get(0).node();
+			}
+		}
+		if (level > maxLevel) {
+			maxLevel = level;
+			entryPoint = index;
+		}
+	}
+
+	/**
+	 * Re-insert the live vectors into an empty graph, dropping the tombstones.
+	 */
+	private void rebuild() {
+		List<Node> live = nodes.stream().filter(node -> !node.deleted).toList();
+		nodes.clear();
+		nodeIndexes.clear();
+		entryPoint = -1;
+		maxLevel = -1;
+		tombstones = 0;
+		live.forEach(node -> insert(node.id, node.vector));
+	}
+
+	/**
+	 * Link {@code from} to {@code to} on the given layer. A full neighbour list keeps its
+	 * most similar nodes.
+	 */
+	private void link(int from, int to, int level) {
+		Node node = nodes.get(from);
+		int[] links = node.links[level];
+		int count = node.linkCounts[level];
+		for (int i = 0; i < count; i++) {
+			if (links[i] == to) {
+				return;
+			}
+		}
+		if (count < links.length) {
+			links[count] = to;
+			node.linkCounts[level]++;
+			return;
+		}
+		// 邻居已满时替换掉最不相似的邻居
+		int weakest = -1;
+		double weakestScore = similarity(node, to);
+		for (int i = 0; i < count; i++) {
+			double score = similarity(node, links[i]);
+			if (score < weakestScore) {
+				weakest = i;
+				weakestScore = score;
+			}
+		}
+		if (weakest >= 0) {
+			links[weakest] = to;
+		}
+	}
+
+	private int greedyClosest(QuantizedVector query, int start, int level) {
+		int current = start;
+		double best = query.approximateCosine(nodes.get(current).vector);
+		boolean improved = true;
+		while (improved) {
+			improved = false;
+			Node node = nodes.get(current);
+			for (int i = 0; i < node.linkCounts[level]; i++) {
+				int neighbor = node.links[level][i];
+				double score = query.approximateCosine(nodes.get(neighbor).vector);
+				if (score > best) {
+					best = score;
+					current = neighbor;
+					improved = true;
+				}
+			}
+		}
+		return current;
+	}
+
+	/**
+	 * Best-first search of one layer. Every reachable node routes the search, but only
+	 * accepted nodes enter the result list of size {@code ef}.
+	 * @return accepted nodes, most similar first, or null once more than
+	 * {@code visitLimit} nodes have been visited
+	 */
+	private List<Scored> searchLayer(QuantizedVector query, int start, int ef, int level, Predicate<Node> accept,
+			int visitLimit) {
+		BitSet visited = new BitSet(nodes.size());
+		PriorityQueue<Scored> candidates = new PriorityQueue<>(Comparator.comparingDouble(Scored::score).reversed());
+		PriorityQueue<Scored> results = new PriorityQueue<>(Comparator.comparingDouble(Scored::score));
+		Scored first = new Scored(start, query.approximateCosine(nodes.get(start).vector));
+		visited.set(start);
+		int visitedCount = 1;
+		candidates.add(first);
+		if (accept.test(nodes.get(start))) {
+			results.add(first);
+		}
+		while (!candidates.isEmpty()) {
+			Scored candidate = candidates.poll();
+			if (results.size() >= ef && candidate.score() < results.peek().score()) {
+				break;
+			}
+			Node node = nodes.get(candidate.node());
+			for (int i = 0; i < node.linkCounts[level]; i++) {
+				int neighbor = node.links[level][i];
+				if (visited.get(neighbor)) {
+					continue;
+				}
+				visited.set(neighbor);
+				if (++visitedCount > visitLimit) {
+					return null;
+				}
+				Scored scored = new Scored(neighbor, query.approximateCosine(nodes.get(neighbor).vector));
+				if (results.size() < ef || scored.score() > results.peek().score()) {
+					candidates.add(scored);
+					if (accept.test(nodes.get(neighbor))) {
+						results.add(scored);
+						if (results.size() > ef) {
+							results.poll();
+						}
+					}
+				}
+			}
+		}
+		List<Scored> sorted = new ArrayList<>(results);
+		sorted.sort(Comparator.comparingDouble(Scored::score).reversed());
+		return sorted;
+	}
+
+	private double similarity(Node node, int other) {
+		return node.vector.approximateCosine(nodes.get(other).vector);
+	}
+
+	private record Scored(int node, double score) {
+	}
+
+	private static final class Node {
+
+		private final String id;
+
+		private final QuantizedVector vector;
+
+		private final int[][] links;
+
+		private final int[] linkCounts;
+
+		private boolean deleted;
+
+		private Node(String id, QuantizedVector vector, int level, int maxNeighbors) {
+			this.id = id;
+			this.vector = vector;
+			this.links = new int[level + 1][];
+			this.linkCounts = new int[level + 1];
+			for (int l = 0; l <= level; l++) {
+				this.links[l] = new int[l == 0 ? 2 * maxNeighbors : maxNeighbors];
+			}
+		}
+
+	}
+
+}
@@ -0,0 +1,240 @@
+/*
+ * Copyright 2024-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.cloud.ai.dataagent.service.vectorstore;
+
+import com.alibaba.cloud.ai.dataagent.constant.Constant;
+import com.alibaba.cloud.ai.dataagent.constant.DocumentMetadataConstant;
+import com.alibaba.cloud.ai.dataagent.util.VectorUtil;
+import org.springframework.ai.document.Document;
+import org.springframework.ai.embedding.EmbeddingModel;
+import org.springframework.ai.vectorstore.SearchRequest;
+import org.springframework.ai.vectorstore.SimpleVectorStore;
+import org.springframework.ai.vectorstore.SimpleVectorStoreContent;
+import org.springframework.ai.vectorstore.filter.Filter;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Predicate;
+
+/**
+ * {@link SimpleVectorStore} with a {@link MetadataFilterIndex} over the metadata keys used
+ * by the agent services, so that deletes and lookups by metadata alone are answered from
+ * memory instead of a similarity search, which would embed a placeholder query and score
+ * every document. Similarity searches also take their candidates from the index and only
+ * score documents that match the filter.
+ * <p>
+ * With {@link AnnOptions} the store also keeps an {@link HnswIndex} over int8-quantized
+ * copies of the embeddings. Searches over more candidates than
+ * {@link AnnOptions#exactSearchThreshold()} take a shortlist of
+ * {@code topK * rerankMultiplier} documents from the index and re-rank it with the
+ * full-precision embeddings, which stay in the store for snapshots and re-ranking.
+ */
+public class IndexedSimpleVectorStore extends SimpleVectorStore {
+
+	private static final List<String> INDEXED_KEYS = List.of(Constant.AGENT_ID, DocumentMetadataConstant.VECTOR_TYPE,
+			DocumentMetadataConstant.TABLE_NAME, DocumentMetadataConstant.DB_AGENT_KNOWLEDGE_ID,
+			DocumentMetadataConstant.DB_BUSINESS_TERM_ID);
+
+	private final MetadataFilterIndex index = new MetadataFilterIndex(INDEXED_KEYS);
+
+	private final AnnOptions annOptions;
+
+	private final HnswIndex annIndex;
+
+	public IndexedSimpleVectorStore(EmbeddingModel embeddingModel) {
+		this(embeddingModel, null);
+	}
+
+	/**
+	 * @param embeddingModel embedding model
+	 * @param annOptions approximate nearest neighbour index settings, null to score every
+	 * candidate
+	 */
+	public IndexedSimpleVectorStore(EmbeddingModel embeddingModel, AnnOptions annOptions) {
+		super(SimpleVectorStore.builder(embeddingModel));
+		this.annOptions = annOptions;
+		this.annIndex = annOptions == null ? null : new HnswIndex(annOptions.m(), annOptions.efConstruction());
+	}
+
+	/**
+	 * Put already embedded documents into the store, e.g. when restoring a snapshot.
+	 */
+	protected void putAll(Map<String, SimpleVectorStoreContent> documents) {
+		this.store.putAll(documents);
+		documents.values().forEach(content -> {
+			index.add(content.getId(), content.getMetadata());
+			if (annIndex != null) {
+				annIndex.add(content.getId(), content.getEmbedding());
+			}
+		});
+	}
+
+	@Override
+	public void doAdd(List<Document> documents) {
+		Map<String, SimpleVectorStoreContent> previous = new HashMap<>();
+		for (Document document : documents) {
+			SimpleVectorStoreContent existing = this.store.get(document.getId());
+			if (existing != null) {
+				previous.put(document.getId(), existing);
+			}
+		}
+		super.doAdd(documents);
+		previous.forEach((id, content) -> index.remove(id, content.getMetadata()));
+		for (Document document : documents) {
+			SimpleVectorStoreContent content = this.store.get(document.getId());
+			if (content != null) {
+				index.add(content.getId(), content.getMetadata());
+				if (annIndex != null) {
+					annIndex.add(content.getId(), content.getEmbedding());
+				}
+			}
+		}
+	}
+
+	@Override
+	public void doDelete(List<String> idList) {
+		List<SimpleVectorStoreContent> removed = idList.stream().map(this.store::get).filter(Objects::nonNull).toList();
+		super.doDelete(idList);
+		removed.forEach(content -> {
+			index.remove(content.getId(), content.getMetadata());
+			if (annIndex != null) {
+				annIndex.remove(content.getId());
+			}
+		});
+	}
+
+	@Override
+	public List<Document> doSimilaritySearch(SearchRequest request) {
+		Filter.Expression filter = request.getFilterExpression();
+		float[] queryEmbedding = this.embeddingModel.embed(request.getQuery());
+		List<SimpleVectorStoreContent> matched = approximateCandidates(filter, queryEmbedding, request.getTopK());
+		if (matched == null) {
+			matched = new ArrayList<>();
+			for (SimpleVectorStoreContent content : candidates(filter)) {
+				if (content != null && (filter == null || MetadataFilterIndex.matches(filter, content.getMetadata()))) {
+					matched.add(content);
+				}
+			}
+		}
+		return matched.stream()
+			.map(content -> content.toDocument(VectorUtil.cosine(queryEmbedding, content.getEmbedding())))
+			.filter(document -> document.getScore() >= request.getSimilarityThreshold())
+			.sorted(Comparator.comparing(Document::getScore).reversed())
+			.limit(request.getTopK())
+			.toList();
+	}
+
+	/**
+	 * Shortlist of documents matching the filter from the approximate index, to be
+	 * re-ranked at full precision.
+	 * @return shortlisted documents, or null when the candidates should all be scored:
+	 * the index is disabled, there are few candidates, or the filter is too selective for
+	 * the graph search
+	 */
+	private List<SimpleVectorStoreContent> approximateCandidates(Filter.Expression filter, float[] queryEmbedding,
+			int topK) {
+		if (annIndex == null) {
+			return null;
+		}
+		Set<String> ids = index.candidates(filter);
+		int candidateCount = ids == null ? this.store.size() : ids.size();
+		if (candidateCount <= annOptions.exactSearchThreshold()) {
+			return null;
+		}
+		Predicate<String> accept = id -> {
+			if (ids != null && !ids.contains(id)) {
+				return false;
+			}
+			SimpleVectorStoreContent content = this.store.get(id);
+			return content != null && (filter == null || MetadataFilterIndex.matches(filter, content.getMetadata()));
+		};
+		int shortlist = topK * annOptions.rerankMultiplier();
+		// 访问节点数超过候选数时，说明过滤条件筛掉了大部分文档，直接精确计算更快
+		List<String> found = annIndex.search(queryEmbedding, shortlist, Math.max(annOptions.efSearch(), shortlist),
+				accept, candidateCount);
+		if (found == null) {
+			return null;
+		}
+		return found.stream().map(this.store::get).filter(Objects::nonNull).toList();
+	}
+
+	/**
+	 * Documents whose metadata matches the filter, without calling the embedding model.
+	 * @param filter filter expression, null matches every document
+	 * @param limit maximum number of documents returned
+	 * @return matching documents in no particular order
+	 */
+	public List<Document> findByFilter(Filter.Expression filter, int limit) {
+		List<Document> documents = new ArrayList<>();
+		for (SimpleVectorStoreContent content : candidates(filter)) {
+			if (documents.size() >= limit) {
+				break;
+			}
+			if (content != null && (filter == null || MetadataFilterIndex.matches(filter, content.getMetadata()))) {
+				documents.add(Document.builder()
+					.id(content.getId())
+					.text(content.getText())
+					.metadata(new HashMap<>(content.getMetadata()))
+					.build());
+			}
+		}
+		return documents;
+	}
+
+	/**
+	 * Ids of all documents whose metadata matches the filter.
+	 * @param filter filter expression
+	 * @return matching ids
+	 */
+	public List<String> findIdsByFilter(Filter.Expression filter) {
+		List<String> ids = new ArrayList<>();
+		for (SimpleVectorStoreContent content : candidates(filter)) {
+			if (content != null && MetadataFilterIndex.matches(filter, content.getMetadata())) {
+				ids.add(content.getId());
+			}
+		}
+		return ids;
+	}
+
+	private Collection<SimpleVectorStoreContent> candidates(Filter.Expression filter) {
+		Set<String> ids = index.candidates(filter);
+		if (ids == null) {
+			// 过滤条件不含索引字段，退化为全量扫描，但仍无需向量化
+			return this.store.values();
+		}
+		return ids.stream().map(this.store::get).toList();
+	}
+
+	/**
+	 * Settings of the approximate nearest neighbour index.
+	 * @param m links per node of the HNSW graph
+	 * @param efConstruction candidate list size when inserting a document
+	 * @param efSearch candidate list size when searching
+	 * @param rerankMultiplier shortlist size as a multiple of topK, re-ranked at full
+	 * precision
+	 * @param exactSearchThreshold searches over at most this many candidates score every
+	 * candidate
+	 */
+	public record AnnOptions(int m, int efConstruction, int efSearch, int rerankMultiplier, int exactSearchThreshold) {
+	}
+
+}
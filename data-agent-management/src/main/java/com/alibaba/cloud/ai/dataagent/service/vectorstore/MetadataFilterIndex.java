@@ -0,0 +1,198 @@
+/*
+ * Copyright 2024-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.cloud.ai.dataagent.service.vectorstore;
+
+import org.springframework.ai.vectorstore.filter.Filter;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * In-process secondary index from metadata values to document ids, used by
+ * {@link IndexedSimpleVectorStore} to answer filter-only lookups without embedding a
+ * query. Only the configured keys are indexed; {@link #candidates(Filter.Expression)}
+ * narrows a filter to the ids matching its indexed equality and IN conditions, and
+ * {@link #matches(Filter.Operand, Map)} checks the complete filter on each candidate.
+ */
+public class MetadataFilterIndex {
+
+	private final Set<String> indexedKeys;
+
+	private final Map<String, Map<String, Set<String>>> postings = new HashMap<>();
+
+	public MetadataFilterIndex(Collection<String> indexedKeys) {
+		this.indexedKeys = Set.copyOf(indexedKeys);
+	}
+
+	public synchronized void add(String id, Map<String, Object> metadata) {
+		for (String key : indexedKeys) {
+			Object value = metadata.get(key);
+			if (value != null) {
+				postings.computeIfAbsent(key, k -> new HashMap<>())
+					.computeIfAbsent(normalize(value), v -> new HashSet<>())
+					.add(id);
+			}
+		}
+	}
+
+	public synchronized void remove(String id, Map<String, Object> metadata) {
+		for (String key : indexedKeys) {
+			Object value = metadata.get(key);
+			Map<String, Set<String>> values = value == null ? null : postings.get(key);
+			if (values == null) {
+				continue;
+			}
+			String normalized = normalize(value);
+			Set<String> ids = values.get(normalized);
+			if (ids != null && ids.remove(id) && ids.isEmpty()) {
+				values.remove(normalized);
+			}
+		}
+	}
+
+	/**
+	 * Ids that may match the filter, derived from its indexed conditions.
+	 * @param filter filter expression
+	 * @return a superset of the matching ids, or null if the filter has no indexed
+	 * condition that narrows the search and every document has to be checked
+	 */
+	public synchronized Set<String> candidates(Filter.Expression filter) {
+		return filter == null ? null : lookup(filter);
+	}
+
+	private Set<String> lookup(Filter.Operand operand) {
+		if (operand instanceof Filter.Group group) {
+			return lookup(group.content());
+		}
+		if (!(operand instanceof Filter.Expression expression)) {
+			return null;
+		}
+		switch (expression.type()) {
+			case AND -> {
+				Set<String> left = lookup(expression.left());
+				Set<String> right = lookup(expression.right());
+				if (left == null || right == null) {
+					return left == null ? right : left;
+				}
+				Set<String> smaller = left.size() <= right.size() ? left : right;
+				Set<String> larger = smaller == left ? right : left;
+				smaller.retainAll(larger);
+				return smaller;
+			}
+			case OR -> {
+				Set<String> left = lookup(expression.left());
+				Set<String> right = lookup(expression.right());
+				if (left == null || right == null) {
+					return null;
+				}
+				left.addAll(right);
+				return left;
+			}
+			case EQ, IN -> {
+				if (!(expression.left() instanceof Filter.Key key) || !indexedKeys.contains(key.key())
+						|| !(expression.right() instanceof Filter.Value value)) {
+					return null;
+				}
+				Map<String, Set<String>> values = postings.getOrDefault(key.key(), Map.of());
+				Set<String> ids = new HashSet<>();
+				for (Object v : values(value)) {
+					ids.addAll(values.getOrDefault(normalize(v), Set.of()));
+				}
+				return ids;
+			}
+			default -> {
+				return null;
+			}
+		}
+	}
+
+	/**
+	 * Evaluate a filter against document metadata.
+	 */
+	public static boolean matches(Filter.Operand operand, Map<String, Object> metadata) {
+		if (operand instanceof Filter.Group group) {
+			return matches(group.content(), metadata);
+		}
+		if (!(operand instanceof Filter.Expression expression)) {
+			throw new IllegalArgumentException("Unsupported filter operand: " + operand);
+		}
+		return switch (expression.type()) {
+			case AND -> matches(expression.left(), metadata) && matches(expression.right(), metadata);
+			case OR -> matches(expression.left(), metadata) || matches(expression.right(), metadata);
+			case NOT -> !matches(expression.left(), metadata);
+			default -> compare(expression, metadata);
+		};
+	}
+
+	private static boolean compare(Filter.Expression expression, Map<String, Object> metadata) {
+		if (!(expression.left() instanceof Filter.Key key) || !(expression.right() instanceof Filter.Value value)) {
+			throw new IllegalArgumentException("Unsupported filter expression: " + expression);
+		}
+		Object actual = metadata.get(key.key());
+		return switch (expression.type()) {
+			case EQ -> valueEquals(actual, value.value());
+			case NE -> !valueEquals(actual, value.value());
+			case IN -> values(value).stream().anyMatch(v -> valueEquals(actual, v));
+			case NIN -> values(value).stream().noneMatch(v -> valueEquals(actual, v));
+			case GT -> actual != null && compareValues(actual, value.value()) > 0;
+			case GTE -> actual != null && compareValues(actual, value.value()) >= 0;
+			case LT -> actual != null && compareValues(actual, value.value()) < 0;
+			case LTE -> actual != null && compareValues(actual, value.value()) <= 0;
+			default -> throw new IllegalArgumentException("Unsupported filter expression type: " + expression.type());
+		};
+	}
+
+	private static List<?> values(Filter.Value value) {
+		return value.value() instanceof List<?> list ? list : List.of(value.value());
+	}
+
+	private static boolean valueEquals(Object actual, Object expected) {
+		if (actual == null || expected == null) {
+			return actual == expected;
+		}
+		return normalize(actual).equals(normalize(expected));
+	}
+
+	private static int compareValues(Object actual, Object expected) {
+		if (actual instanceof Number && expected instanceof Number) {
+			return new BigDecimal(actual.toString()).compareTo(new BigDecimal(expected.toString()));
+		}
+		return String.valueOf(actual).compareTo(String.valueOf(expected));
+	}
+
+	/**
+	 * Numbers are compared by value, so that an Integer id in the metadata matches a Long
+	 * id in the filter.
+	 */
+	private static String normalize(Object value) {
+		if (value instanceof Number number) {
+			try {
+				return new BigDecimal(number.toString()).stripTrailingZeros().toPlainString();
+			}
+			catch (NumberFormatException e) {
+				return number.toString();
+			}
+		}
+		return Objects.toString(value);
+	}
+
+}
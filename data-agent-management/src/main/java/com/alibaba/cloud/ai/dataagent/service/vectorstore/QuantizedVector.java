@@ -0,0 +1,61 @@
+/*
+ * Copyright 2024-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.cloud.ai.dataagent.service.vectorstore;
+
+/**
+ * Int8 scalar quantization of an embedding: each component is stored as
+ * {@code round(value / scale)} in a byte, with {@code scale = max|value| / 127}. The norm
+ * of the original vector is kept so that cosine similarity can be approximated from the
+ * codes alone, at a quarter of the memory of the float vector.
+ * @param codes quantized components
+ * @param scale factor restoring a component from its code
+ * @param norm euclidean norm of the original vector
+ */
+public record QuantizedVector(byte[] codes, float scale, double norm) {
+
+	public static QuantizedVector of(float[] vector) {
+		float max = 0;
+		double squares = 0;
+		for (float value : vector) {
+			max = Math.max(max, Math.abs(value));
+			squares += (double) value * value;
+		}
+		float scale = max == 0 ? 1 : max / 127f;
+		byte[] codes = new byte[vector.length];
+		for (int i = 0; i < vector.length; i++) {
+			codes[i] = (byte) Math.round(vector[i] / scale);
+		}
+		return new QuantizedVector(codes, scale, Math.sqrt(squares));
+	}
+
+	/**
+	 * Approximate cosine similarity with another quantized vector of the same dimension.
+	 */
+	public double approximateCosine(QuantizedVector other) {
+		if (codes.length != other.codes.length) {
+			throw new IllegalArgumentException("Vectors lengths must be equal");
+		}
+		if (norm == 0 || other.norm == 0) {
+			return 0;
+		}
+		int dot = 0;
+		for (int i = 0; i < codes.length; i++) {
+			dot += codes[i] * other.codes[i];
+		}
+		return (double) scale * other.scale * dot / (norm * other.norm);
+	}
+
+}
@@ -0,0 +1,111 @@
+/*
+ * Copyright 2024-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.cloud.ai.dataagent.service.vectorstore;
+
+import com.alibaba.cloud.ai.dataagent.constant.DocumentMetadataConstant;
+import com.alibaba.cloud.ai.dataagent.event.KnowledgeRecallChangedEvent;
+import com.alibaba.cloud.ai.dataagent.mapper.AgentKnowledgeMapper;
+import com.alibaba.cloud.ai.dataagent.mapper.BusinessKnowledgeMapper;
+import com.alibaba.cloud.ai.dataagent.properties.DataAgentProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * 按智能体缓存需要召回的知识ID集合，避免每次检索都查询管理库。知识新增、删除或修改召回状态的事务提交后，
+ * 通过 {@link KnowledgeRecallChangedEvent} 失效对应智能体的缓存；有效期用于兜底其他实例的修改
+ */
+@Slf4j
+@Component
+public class RecalledKnowledgeIdCache {
+
+	private final AgentKnowledgeMapper agentKnowledgeMapper;
+
+	private final BusinessKnowledgeMapper businessKnowledgeMapper;
+
+	private final long ttlMillis;
+
+	private final Map<String, CachedIds> entries = new ConcurrentHashMap<>();
+
+	/**
+	 * 失效计数，加载期间发生过失效的结果不写入缓存，避免覆盖为旧数据
+	 */
+	private final AtomicLong invalidations = new AtomicLong();
+
+	public RecalledKnowledgeIdCache(AgentKnowledgeMapper agentKnowledgeMapper,
+			BusinessKnowledgeMapper businessKnowledgeMapper, DataAgentProperties properties) {
+		this.agentKnowledgeMapper = agentKnowledgeMapper;
+		this.businessKnowledgeMapper = businessKnowledgeMapper;
+		this.ttlMillis = properties.getVectorStore().getRecalledIdCacheTtlSeconds() * 1000;
+	}
+
+	/**
+	 * 获取智能体需要召回的智能体知识ID
+	 */
+	public List<Integer> getRecalledAgentKnowledgeIds(String agentId) {
+		return get(agentId, DocumentMetadataConstant.AGENT_KNOWLEDGE,
+				() -> agentKnowledgeMapper.selectRecalledKnowledgeIds(Integer.valueOf(agentId)));
+	}
+
+	/**
+	 * 获取智能体需要召回的业务知识ID
+	 */
+	public List<Long> getRecalledBusinessTermIds(String agentId) {
+		return get(agentId, DocumentMetadataConstant.BUSINESS_TERM,
+				() -> businessKnowledgeMapper.selectRecalledKnowledgeIds(Long.valueOf(agentId)));
+	}
+
+	@TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+	public void onRecallChanged(KnowledgeRecallChangedEvent event) {
+		invalidate(event.getAgentId(), event.getVectorType());
+	}
+
+	public void invalidate(String agentId, String vectorType) {
+		invalidations.incrementAndGet();
+		entries.remove(key(agentId, vectorType));
+		log.debug("Recalled knowledge ids invalidated, agentId: {}, vectorType: {}", agentId, vectorType);
+	}
+
+	@SuppressWarnings("unchecked")
+	private <T> List<T> get(String agentId, String vectorType, Supplier<List<T>> loader) {
+		String key = key(agentId, vectorType);
+		CachedIds cached = entries.get(key);
+		if (cached != null && System.currentTimeMillis() - cached.createdAt() <= ttlMillis) {
+			return (List<T>) cached.ids();
+		}
+		long version = invalidations.get();
+		List<T> ids = List.copyOf(loader.get());
+		if (ttlMillis > 0 && version == invalidations.get()) {
+			entries.put(key, new CachedIds(ids, System.currentTimeMillis()));
+		}
+		return ids;
+	}
+
+	private static String key(String agentId, String vectorType) {
+		return agentId + "|" + vectorType;
+	}
+
+	private record CachedIds(List<?> ids, long createdAt) {
+	}
+
+}
@@ -0,0 +1,175 @@
+/*
+ * Copyright 2024-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.cloud.ai.dataagent.service.vectorstore;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.ai.document.Document;
+import org.springframework.ai.embedding.EmbeddingModel;
+import org.springframework.ai.vectorstore.SimpleVectorStoreContent;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * {@link IndexedSimpleVectorStore} that keeps its documents in a
+ * {@link VectorStoreSnapshotLog}, so embeddings survive restarts without calling the
+ * embedding model again. Adds and
+ * deletes are appended to the log after the in-memory store is updated; the log is
+ * compacted once it holds more than twice as many records as live documents.
+ * <p>
+ * The snapshot is restored once all singletons are created, since the identity of the
+ * current embedding model is read from the model configuration. A snapshot written by
+ * another embedding model is dropped.
+ */
+@Slf4j
+public class SnapshotSimpleVectorStore extends IndexedSimpleVectorStore
+		implements SmartInitializingSingleton, AutoCloseable {
+
+	private final Path file;
+
+	private final Supplier<String> modelKey;
+
+	private final int compactMinRecords;
+
+	private final Object logLock = new Object();
+
+	private VectorStoreSnapshotLog snapshotLog;
+
+	private volatile boolean persistent;
+
+	public SnapshotSimpleVectorStore(EmbeddingModel embeddingModel, Path file, Supplier<String> modelKey,
+			int compactMinRecords) {
+		this(embeddingModel, file, modelKey, compactMinRecords, null);
+	}
+
+	public SnapshotSimpleVectorStore(EmbeddingModel embeddingModel, Path file, Supplier<String> modelKey,
+			int compactMinRecords, AnnOptions annOptions) {
+		super(embeddingModel, annOptions);
+		this.file = file;
+		this.modelKey = modelKey;
+		this.compactMinRecords = compactMinRecords;
+	}
+
+	@Override
+	public void afterSingletonsInstantiated() {
+		restore();
+	}
+
+	/**
+	 * Load the snapshot into memory and start appending to it.
+	 */
+	public void restore() {
+		long start = System.nanoTime();
+		synchronized (logLock) {
+			try {
+				snapshotLog = new VectorStoreSnapshotLog(file, modelKey.get());
+				Map<String, SimpleVectorStoreContent> documents = loadOrReset();
+				putAll(documents);
+				persistent = true;
+				log.info("Restored {} documents from vector store snapshot {} in {} ms", documents.size(), file,
+						TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+				compactIfNeeded();
+			}
+			catch (Exception e) {
+				log.error("Failed to open vector store snapshot {}, documents will only be kept in memory", file, e);
+			}
+		}
+	}
+
+	private Map<String, SimpleVectorStoreContent> loadOrReset() throws IOException {
+		try {
+			return snapshotLog.load();
+		}
+		catch (VectorStoreSnapshotLog.SnapshotFormatException e) {
+			// 无法识别的文件保留备份后重新开始，向量数据可通过重新初始化恢复；其他读取错误不移动文件
+			Path backup = file.resolveSibling(file.getFileName() + ".corrupt-" + System.currentTimeMillis());
+			log.error("Unreadable vector store snapshot {}, moving it to {}", file, backup, e);
+			snapshotLog.close();
+			Files.move(file, backup);
+			return snapshotLog.load();
+		}
+	}
+
+	@Override
+	public void doAdd(List<Document> documents) {
+		// 向量化在锁外进行，写日志时以内存中的最新内容为准
+		super.doAdd(documents);
+		if (!persistent) {
+			return;
+		}
+		synchronized (logLock) {
+			List<SimpleVectorStoreContent> added = documents.stream()
+				.map(document -> this.store.get(document.getId()))
+				.filter(Objects::nonNull)
+				.toList();
+			try {
+				snapshotLog.appendPut(added);
+				compactIfNeeded();
+			}
+			catch (IOException e) {
+				log.error("Failed to append {} documents to vector store snapshot", added.size(), e);
+			}
+		}
+	}
+
+	@Override
+	public void doDelete(List<String> idList) {
+		if (!persistent) {
+			super.doDelete(idList);
+			return;
+		}
+		synchronized (logLock) {
+			super.doDelete(idList);
+			try {
+				snapshotLog.appendDelete(idList);
+				compactIfNeeded();
+			}
+			catch (IOException e) {
+				log.error("Failed to append {} deletions to vector store snapshot", idList.size(), e);
+			}
+		}
+	}
+
+	private void compactIfNeeded() throws IOException {
+		long records = snapshotLog.getRecordCount();
+		if (records < compactMinRecords || records <= 2L * this.store.size()) {
+			return;
+		}
+		synchronized (logLock) {
+			long start = System.nanoTime();
+			snapshotLog.compact(List.copyOf(this.store.values()));
+			log.info("Compacted vector store snapshot from {} to {} records in {} ms", records, this.store.size(),
+					TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+		}
+	}
+
+	@Override
+	public void close() throws IOException {
+		synchronized (logLock) {
+			if (snapshotLog != null) {
+				snapshotLog.close();
+			}
+		}
+	}
+
+}
@@ -0,0 +1,84 @@
+/*
+ * Copyright 2024-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.cloud.ai.dataagent.service.vectorstore;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Token bucket rate limiter for embedding requests. The bucket refills at
+ * {@code permitsPerSecond} and holds at most one second worth of permits, so short bursts
+ * are allowed while the long-term rate stays within the provider quota.
+ */
+public class TokenBucketRateLimiter {
+
+	private final double permitsPerSecond;
+
+	private final double capacity;
+
+	private final LongSupplier nanoClock;
+
+	private double tokens;
+
+	private long lastRefillNanos;
+
+	public TokenBucketRateLimiter(double permitsPerSecond) {
+		this(permitsPerSecond, System::nanoTime);
+	}
+
+	TokenBucketRateLimiter(double permitsPerSecond, LongSupplier nanoClock) {
+		if (permitsPerSecond <= 0) {
+			throw new IllegalArgumentException("permitsPerSecond must be positive");
+		}
+		this.permitsPerSecond = permitsPerSecond;
+		this.capacity = Math.max(1, permitsPerSecond);
+		this.nanoClock = nanoClock;
+		this.tokens = capacity;
+		this.lastRefillNanos = nanoClock.getAsLong();
+	}
+
+	public double getPermitsPerSecond() {
+		return permitsPerSecond;
+	}
+
+	/**
+	 * Block until a permit is available.
+	 * @throws InterruptedException if interrupted while waiting
+	 */
+	public void acquire() throws InterruptedException {
+		long waitNanos;
+		while ((waitNanos = tryReserve()) > 0) {
+			TimeUnit.NANOSECONDS.sleep(waitNanos);
+		}
+	}
+
+	/**
+	 * Take a permit if one is available.
+	 * @return 0 if a permit was taken, otherwise the nanoseconds until one becomes
+	 * available
+	 */
+	synchronized long tryReserve() {
+		long now = nanoClock.getAsLong();
+		tokens = Math.min(capacity, tokens + (now - lastRefillNanos) * permitsPerSecond / TimeUnit.SECONDS.toNanos(1));
+		lastRefillNanos = now;
+		if (tokens >= 1) {
+			tokens -= 1;
+			return 0;
+		}
+		return Math.max(1, (long) Math.ceil((1 - tokens) / permitsPerSecond * TimeUnit.SECONDS.toNanos(1)));
+	}
+
+}
@@ -0,0 +1,422 @@
+/*
+ * Copyright 2024-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.cloud.ai.dataagent.service.vectorstore;
+
+import com.alibaba.cloud.ai.dataagent.util.JsonUtil;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.ai.vectorstore.SimpleVectorStoreContent;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Append-only binary log of a {@link org.springframework.ai.vectorstore.SimpleVectorStore}.
+ * Every add appends the stored vectors and every delete appends tombstones, so writes
+ * cost only the changed documents. On startup the file is read sequentially and
+ * replayed; a torn record left by a crash is cut off. {@link #compact(Collection)}
+ * rewrites the file with only the live documents.
+ *
+ * <p>
+ * The header records the embedding model that wrote the vectors and their dimensions. A
+ * snapshot written by another model, or holding vectors of another dimension, is dropped
+ * on load so that the documents are embedded again.
+ *
+ * <p>
+ * File layout: {@code int magic, int version, int dimensions, string modelKey}, then
+ * records of {@code byte type, string id} followed for puts by {@code string text, string
+ * metadataJson, int dimensions, float[dimensions]}. Header dimensions are 0 until the
+ * first vector is written. Strings are an {@code int} byte length ({@code -1} for null)
+ * and UTF-8 bytes; numbers are big-endian.
+ */
+@Slf4j
+public class VectorStoreSnapshotLog implements Closeable {
+
+	private static final int MAGIC = 0x44415653;
+
+	private static final int VERSION = 2;
+
+	/**
+	 * Offset of the header dimensions, written in place once the first vector is known.
+	 */
+	private static final long DIMENSIONS_OFFSET = 8;
+
+	private static final int READ_BUFFER_BYTES = 1 << 16;
+
+	private static final byte PUT = 1;
+
+	private static final byte DELETE = 2;
+
+	private static final TypeReference<Map<String, Object>> METADATA_TYPE = new TypeReference<>() {
+	};
+
+	private final Path file;
+
+	private final String modelKey;
+
+	private FileChannel channel;
+
+	private DataOutputStream out;
+
+	private long recordCount;
+
+	private int dimensions;
+
+	/**
+	 * @param file snapshot file
+	 * @param modelKey identity of the embedding model writing the vectors
+	 */
+	public VectorStoreSnapshotLog(Path file, String modelKey) {
+		this.file = file;
+		this.modelKey = modelKey == null ? "" : modelKey;
+	}
+
+	public Path getFile() {
+		return file;
+	}
+
+	/**
+	 * Number of records in the file, including overwritten puts and tombstones.
+	 */
+	public synchronized long getRecordCount() {
+		return recordCount;
+	}
+
+	/**
+	 * Replay the file and open it for appending. Must be called once before writing. A
+	 * snapshot of another embedding model or dimension is deleted and an empty one is
+	 * started.
+	 * @return live documents by id, in insertion order
+	 * @throws SnapshotFormatException if the file is not a vector store snapshot
+	 * @throws IOException if the file cannot be read
+	 */
+	public synchronized Map<String, SimpleVectorStoreContent> load() throws IOException {
+		Files.createDirectories(file.toAbsolutePath().getParent());
+		Map<String, SimpleVectorStoreContent> documents = new LinkedHashMap<>();
+		recordCount = 0;
+		dimensions = 0;
+		long validLength = 0;
+		if (Files.exists(file) && Files.size(file) > 0) {
+			long size = Files.size(file);
+			try (DataInputStream in = new DataInputStream(
+					new BufferedInputStream(Files.newInputStream(file), READ_BUFFER_BYTES))) {
+				SnapshotReader reader = new SnapshotReader(in, size);
+				String staleReason = readHeader(reader);
+				if (staleReason == null) {
+					staleReason = replay(reader, documents);
+				}
+				if (staleReason != null) {
+					log.warn("Dropping vector store snapshot {}: {}, documents will be embedded again", file,
+							staleReason);
+					documents.clear();
+					recordCount = 0;
+					dimensions = 0;
+				}
+				else {
+					validLength = reader.validLength;
+					if (validLength < size) {
+						log.warn("Vector store snapshot {} has a torn record at offset {}, truncating {} bytes",
+								file, validLength, size - validLength);
+					}
+				}
+			}
+		}
+		openForAppend(validLength);
+		return documents;
+	}
+
+	/**
+	 * @return why the snapshot cannot be used with the current model, or null
+	 */
+	private String readHeader(SnapshotReader reader) throws IOException {
+		try {
+			if (reader.readInt() != MAGIC) {
+				throw new SnapshotFormatException("Not a vector store snapshot: " + file);
+			}
+			int version = reader.readInt();
+			if (version != VERSION) {
+				return "unsupported version " + version;
+			}
+			dimensions = reader.readInt();
+			String writtenBy = reader.readString();
+			if (!modelKey.equals(writtenBy)) {
+				return "written by embedding model [" + writtenBy + "], current model is [" + modelKey + "]";
+			}
+			reader.mark();
+			return null;
+		}
+		catch (EOFException e) {
+			throw new SnapshotFormatException("Truncated vector store snapshot header: " + file);
+		}
+	}
+
+	/**
+	 * @return why the snapshot cannot be used with the current model, or null
+	 */
+	private String replay(SnapshotReader reader, Map<String, SimpleVectorStoreContent> documents)
+			throws IOException {
+		while (reader.hasRemaining()) {
+			try {
+				byte type = reader.readByte();
+				String id = reader.readString();
+				if (type == PUT) {
+					String text = reader.readString();
+					String metadataJson = reader.readString();
+					float[] embedding = reader.readFloats();
+					if (dimensions == 0) {
+						dimensions = embedding.length;
+					}
+					else if (embedding.length != dimensions) {
+						return "vector of " + embedding.length + " dimensions, expected " + dimensions;
+					}
+					Map<String, Object> metadata = metadataJson == null ? new HashMap<>()
+							: JsonUtil.getObjectMapper().readValue(metadataJson, METADATA_TYPE);
+					documents.put(id, new SimpleVectorStoreContent(id, text, metadata, embedding));
+				}
+				else if (type == DELETE) {
+					documents.remove(id);
+				}
+				else {
+					break;
+				}
+			}
+			catch (EOFException | JsonProcessingException e) {
+				// 记录不完整（写入过程中进程退出），丢弃之后的内容
+				break;
+			}
+			reader.mark();
+			recordCount++;
+		}
+		return null;
+	}
+
+	public synchronized void appendPut(Collection<SimpleVectorStoreContent> documents) throws IOException {
+		for (SimpleVectorStoreContent document : documents) {
+			writePut(out, document);
+			recordCount++;
+		}
+		if (dimensions == 0 && !documents.isEmpty()) {
+			out.flush();
+			dimensions = documents.iterator().next().getEmbedding().length;
+			channel.write(ByteBuffer.allocate(Integer.BYTES).putInt(dimensions).flip(), DIMENSIONS_OFFSET);
+		}
+		sync();
+	}
+
+	public synchronized void appendDelete(Collection<String> ids) throws IOException {
+		for (String id : ids) {
+			out.writeByte(DELETE);
+			writeString(out, id);
+			recordCount++;
+		}
+		sync();
+	}
+
+	/**
+	 * Rewrite the file with only the given documents and atomically replace it.
+	 * @param documents all live documents
+	 * @throws IOException if writing fails; the previous file is then left untouched
+	 */
+	public synchronized void compact(Collection<SimpleVectorStoreContent> documents) throws IOException {
+		Path tmp = file.resolveSibling(file.getFileName() + ".compact");
+		try (DataOutputStream compactOut = new DataOutputStream(
+				new BufferedOutputStream(Files.newOutputStream(tmp, StandardOpenOption.CREATE,
+						StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)))) {
+			writeHeader(compactOut);
+			for (SimpleVectorStoreContent document : documents) {
+				writePut(compactOut, document);
+			}
+		}
+		close();
+		try {
+			Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+			recordCount = documents.size();
+		}
+		finally {
+			openForAppend(Files.size(file));
+		}
+	}
+
+	/**
+	 * @param validLength length of the readable prefix, 0 to start a new file
+	 */
+	private void openForAppend(long validLength) throws IOException {
+		channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+		if (validLength == 0) {
+			channel.truncate(0);
+			out = new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(channel)));
+			writeHeader(out);
+			sync();
+			return;
+		}
+		if (channel.size() > validLength) {
+			channel.truncate(validLength);
+		}
+		channel.position(validLength);
+		out = new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(channel)));
+	}
+
+	private void writeHeader(DataOutputStream output) throws IOException {
+		output.writeInt(MAGIC);
+		output.writeInt(VERSION);
+		output.writeInt(dimensions);
+		writeString(output, modelKey);
+	}
+
+	private void sync() throws IOException {
+		out.flush();
+		channel.force(false);
+	}
+
+	private static void writePut(DataOutputStream output, SimpleVectorStoreContent document) throws IOException {
+		output.writeByte(PUT);
+		writeString(output, document.getId());
+		writeString(output, document.getText());
+		writeString(output, document.getMetadata() == null ? null
+				: JsonUtil.getObjectMapper().writeValueAsString(document.getMetadata()));
+		float[] embedding = document.getEmbedding();
+		output.writeInt(embedding.length);
+		for (float value : embedding) {
+			output.writeFloat(value);
+		}
+	}
+
+	private static void writeString(DataOutputStream output, String value) throws IOException {
+		if (value == null) {
+			output.writeInt(-1);
+			return;
+		}
+		byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+		output.writeInt(bytes.length);
+		output.write(bytes);
+	}
+
+	@Override
+	public synchronized void close() throws IOException {
+		if (out != null) {
+			out.flush();
+			out = null;
+		}
+		if (channel != null) {
+			channel.close();
+			channel = null;
+		}
+	}
+
+	/**
+	 * The file is not a vector store snapshot. Unlike other read errors, the file may be
+	 * moved aside and replaced.
+	 */
+	public static class SnapshotFormatException extends IOException {
+
+		public SnapshotFormatException(String message) {
+			super(message);
+		}
+
+	}
+
+	/**
+	 * Sequential reader that tracks its offset, so files of any size are read without
+	 * mapping them and a torn record can be cut off at the last complete one.
+	 */
+	private static class SnapshotReader {
+
+		private final DataInputStream in;
+
+		private final long size;
+
+		private long position;
+
+		private long validLength;
+
+		SnapshotReader(DataInputStream in, long size) {
+			this.in = in;
+			this.size = size;
+		}
+
+		boolean hasRemaining() {
+			return position < size;
+		}
+
+		/**
+		 * Mark the current offset as the end of the last complete record.
+		 */
+		void mark() {
+			validLength = position;
+		}
+
+		byte readByte() throws IOException {
+			byte value = in.readByte();
+			position += Byte.BYTES;
+			return value;
+		}
+
+		int readInt() throws IOException {
+			int value = in.readInt();
+			position += Integer.BYTES;
+			return value;
+		}
+
+		String readString() throws IOException {
+			int length = readInt();
+			if (length < 0) {
+				return null;
+			}
+			byte[] bytes = readBytes(length);
+			return new String(bytes, StandardCharsets.UTF_8);
+		}
+
+		float[] readFloats() throws IOException {
+			int length = readInt();
+			if (length < 0 || (long) length * Float.BYTES > size - position) {
+				throw new EOFException();
+			}
+			float[] values = new float[length];
+			ByteBuffer.wrap(readBytes(length * Float.BYTES)).asFloatBuffer().get(values);
+			return values;
+		}
+
+		private byte[] readBytes(int length) throws IOException {
+			if (length > size - position) {
+				throw new EOFException();
+			}
+			byte[] bytes = new byte[length];
+			in.readFully(bytes);
+			position += length;
+			return bytes;
+		}
+
+	}
+
+}
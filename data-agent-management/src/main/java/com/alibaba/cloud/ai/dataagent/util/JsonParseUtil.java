@@ -30,6 +30,8 @@ import reactor.core.publisher.Flux;
 
 import java.util.Map;
 
+import static com.alibaba.cloud.ai.dataagent.constant.Constant.JSON_FIX_CALLER;
+
 /**
  * JSON解析工具类，支持自动修复格式错误的JSON
  */
@@ -120,7 +122,7 @@ public class JsonParseUtil {
 			String prompt = PromptConstant.getJsonFixPromptTemplate()
 				.render(Map.of("json_string", json, "error_message", errorMessage));
 
-			Flux<ChatResponse> responseFlux = llmService.callUser(prompt);
+			Flux<ChatResponse> responseFlux = llmService.forNode(JSON_FIX_CALLER).callUser(prompt);
 			String fixedJson = llmService.toStringFlux(responseFlux)
 				.collect(StringBuilder::new, StringBuilder::append)
 				.map(StringBuilder::toString)
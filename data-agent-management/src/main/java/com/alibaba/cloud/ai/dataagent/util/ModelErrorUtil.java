@@ -0,0 +1,106 @@
+/*
+ * Copyright 2024-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.cloud.ai.dataagent.util;
+
+import org.springframework.web.client.HttpStatusCodeException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+
+import java.io.IOException;
+import java.util.Locale;
+import java.util.concurrent.TimeoutException;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Classifies failures of calls to model providers. The HTTP status is taken from
+ * {@link HttpStatusCodeException} or {@link WebClientResponseException} when present in
+ * the cause chain; Spring AI wraps HTTP errors into its own exceptions whose message
+ * starts with the status code, so that prefix is used otherwise.
+ */
+public final class ModelErrorUtil {
+
+	private static final int TOO_MANY_REQUESTS = 429;
+
+	private static final Pattern STATUS_PREFIX = Pattern.compile("^(?:HTTP\\s+)?(\\d{3})\\b");
+
+	private ModelErrorUtil() {
+	}
+
+	/**
+	 * HTTP status of the failure.
+	 * @return the status code, or -1 when the failure carries none
+	 */
+	public static int statusCode(Throwable error) {
+		for (Throwable t = error; t != null; t = t.getCause() == t ? null : t.getCause()) {
+			if (t instanceof HttpStatusCodeException e) {
+				return e.getStatusCode().value();
+			}
+			if (t instanceof WebClientResponseException e) {
+				return e.getStatusCode().value();
+			}
+		}
+		for (Throwable t = error; t != null; t = t.getCause() == t ? null : t.getCause()) {
+			if (t.getMessage() != null) {
+				Matcher matcher = STATUS_PREFIX.matcher(t.getMessage().trim());
+				if (matcher.find()) {
+					return Integer.parseInt(matcher.group(1));
+				}
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * Whether the provider rejected the request with HTTP 429.
+	 */
+	public static boolean isRateLimited(Throwable error) {
+		if (statusCode(error) == TOO_MANY_REQUESTS) {
+			return true;
+		}
+		for (Throwable t = error; t != null; t = t.getCause() == t ? null : t.getCause()) {
+			String message = t.getMessage();
+			if (message != null) {
+				String lower = message.toLowerCase(Locale.ROOT);
+				if (lower.contains("too many requests") || lower.contains("rate limit")) {
+					return true;
+				}
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Whether the failure points at the provider endpoint rather than at the request: HTTP
+	 * 429, a 5xx status, or an I/O error or timeout. Other 4xx statuses are caused by the
+	 * request and would fail on any endpoint.
+	 */
+	public static boolean isEndpointFailure(Throwable error) {
+		int status = statusCode(error);
+		if (status == TOO_MANY_REQUESTS || status >= 500) {
+			return true;
+		}
+		if (status >= 400) {
+			return false;
+		}
+		for (Throwable t = error; t != null; t = t.getCause() == t ? null : t.getCause()) {
+			if (t instanceof IOException || t instanceof TimeoutException) {
+				return true;
+			}
+		}
+		return isRateLimited(error);
+	}
+
+}
@@ -16,8 +16,11 @@
 package com.alibaba.cloud.ai.dataagent.util;
 
 import com.alibaba.cloud.ai.dataagent.enums.BizDataSourceTypeEnum;
+import com.alibaba.cloud.ai.dataagent.enums.DatabaseDialectEnum;
 import lombok.experimental.UtilityClass;
 
+import java.math.BigDecimal;
+
 /**
  * SQL 工具类
  *
@@ -53,4 +56,58 @@ public class SqlUtil {
 		}
 	}
 
+	/**
+	 * 构建随机抽样SQL，避免只取前几行导致样本偏斜。PostgreSQL 和 SQL Server 使用按数据块抽样的 TABLESAMPLE， MySQL 和
+	 * H2 使用 RAND() 过滤，取满 limit 行即停止扫描
+	 * @param typeName 数据源类型
+	 * @param tableName 表名
+	 * @param columnNames 列名
+	 * @param limit 查询数量限制
+	 * @param percent 抽样比例，取值 (0, 100]
+	 * @return 抽样SQL，方言不支持随机抽样时返回 null
+	 */
+	public static String buildSampleSql(String typeName, String tableName, String columnNames, int limit,
+			double percent) {
+		if (tableName == null || tableName.isEmpty()) {
+			throw new IllegalArgumentException("Table name cannot be empty");
+		}
+		if (columnNames == null || columnNames.isEmpty()) {
+			columnNames = "*";
+		}
+		String percentStr = BigDecimal.valueOf(percent).stripTrailingZeros().toPlainString();
+		String fractionStr = BigDecimal.valueOf(percent / 100).stripTrailingZeros().toPlainString();
+
+		if (BizDataSourceTypeEnum.isPgDialect(typeName)) {
+			return String.format("SELECT %s FROM %s TABLESAMPLE SYSTEM (%s) LIMIT %d", columnNames, tableName,
+					percentStr, limit);
+		}
+		else if (BizDataSourceTypeEnum.isSqlServerDialect(typeName)) {
+			return String.format("SELECT TOP %d %s FROM %s TABLESAMPLE (%s PERCENT)", limit, columnNames, tableName,
+					percentStr);
+		}
+		else if (BizDataSourceTypeEnum.isMysqlDialect(typeName)
+				|| BizDataSourceTypeEnum.isDialect(typeName, DatabaseDialectEnum.H2.getCode())) {
+			return String.format("SELECT %s FROM %s WHERE RAND() < %s LIMIT %d", columnNames, tableName, fractionStr,
+					limit);
+		}
+		return null;
+	}
+
+	/**
+	 * 构建查询列去重非空值的SQL，用于低基数列的取值探测
+	 * @param typeName 数据源类型
+	 * @param tableName 表名
+	 * @param columnName 列名
+	 * @param limit 查询数量限制
+	 * @return 去重查询SQL
+	 */
+	public static String buildDistinctSql(String typeName, String tableName, String columnName, int limit) {
+		if (BizDataSourceTypeEnum.isSqlServerDialect(typeName)) {
+			return String.format("SELECT DISTINCT TOP %d %s FROM %s WHERE %s IS NOT NULL", limit, columnName,
+					tableName, columnName);
+		}
+		return String.format("SELECT DISTINCT %s FROM %s WHERE %s IS NOT NULL LIMIT %d", columnName, tableName,
+				columnName, limit);
+	}
+
 }
@@ -0,0 +1,44 @@
+/*
+ * Copyright 2024-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.cloud.ai.dataagent.util;
+
+public final class VectorUtil {
+
+	private VectorUtil() {
+	}
+
+	/**
+	 * Cosine similarity of two vectors of the same dimension, 0 when either vector is zero.
+	 */
+	public static double cosine(float[] x, float[] y) {
+		if (x.length != y.length) {
+			throw new IllegalArgumentException("Vectors lengths must be equal");
+		}
+		double dot = 0;
+		double normX = 0;
+		double normY = 0;
+		for (int i = 0; i < x.length; i++) {
+			dot += (double) x[i] * y[i];
+			normX += (double) x[i] * x[i];
+			normY += (double) y[i] * y[i];
+		}
+		if (normX == 0 || normY == 0) {
+			return 0;
+		}
+		return dot / (Math.sqrt(normX) * Math.sqrt(normY));
+	}
+
+}
@@ -0,0 +1,67 @@
+/*
+ * Copyright 2024-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.cloud.ai.dataagent.vo;
+
+import com.alibaba.cloud.ai.dataagent.enums.SchemaInitJobStatus;
+import com.alibaba.cloud.ai.dataagent.enums.SchemaInitPhase;
+import lombok.Builder;
+import lombok.Value;
+
+import java.time.LocalDateTime;
+
+/**
+ * Schema 初始化任务的状态快照
+ */
+@Value
+@Builder
+public class SchemaInitJobVO {
+
+	String jobId;
+
+	Long agentId;
+
+	Integer datasourceId;
+
+	Integer tableCount;
+
+	SchemaInitJobStatus status;
+
+	SchemaInitPhase phase;
+
+	/**
+	 * 总进度百分比，0-100
+	 */
+	int percent;
+
+	/**
+	 * 当前阶段已完成数量，例如表数或向量批次数
+	 */
+	int completed;
+
+	/**
+	 * 当前阶段总数量
+	 */
+	int total;
+
+	String message;
+
+	LocalDateTime createTime;
+
+	LocalDateTime startTime;
+
+	LocalDateTime endTime;
+
+}
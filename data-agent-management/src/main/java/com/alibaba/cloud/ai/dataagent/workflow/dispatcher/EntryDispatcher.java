@@ -0,0 +1,42 @@
+/*
+ * Copyright 2024-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.cloud.ai.dataagent.workflow.dispatcher;
+
+import com.alibaba.cloud.ai.graph.OverAllState;
+import com.alibaba.cloud.ai.graph.action.EdgeAction;
+import lombok.extern.slf4j.Slf4j;
+
+import static com.alibaba.cloud.ai.dataagent.constant.Constant.INTENT_RECOGNITION_NODE;
+import static com.alibaba.cloud.ai.dataagent.constant.Constant.QUERY_FAST_PATH_ENABLED;
+import static com.alibaba.cloud.ai.dataagent.constant.Constant.QUERY_UNDERSTANDING_NODE;
+
+/**
+ * 根据智能体是否开启查询理解快速路径决定入口节点的分发器
+ */
+@Slf4j
+public class EntryDispatcher implements EdgeAction {
+
+	@Override
+	public String apply(OverAllState state) throws Exception {
+		Boolean fastPathEnabled = state.value(QUERY_FAST_PATH_ENABLED, false);
+		if (Boolean.TRUE.equals(fastPathEnabled)) {
+			log.info("Query fast path enabled, starting with merged query understanding");
+			return QUERY_UNDERSTANDING_NODE;
+		}
+		return INTENT_RECOGNITION_NODE;
+	}
+
+}
@@ -0,0 +1,42 @@
+/*
+ * Copyright 2024-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.cloud.ai.dataagent.workflow.dispatcher;
+
+import com.alibaba.cloud.ai.graph.OverAllState;
+import com.alibaba.cloud.ai.graph.action.EdgeAction;
+import lombok.extern.slf4j.Slf4j;
+
+import static com.alibaba.cloud.ai.dataagent.constant.Constant.QUERY_ENHANCE_NODE;
+import static com.alibaba.cloud.ai.dataagent.constant.Constant.QUERY_FAST_PATH_ENABLED;
+import static com.alibaba.cloud.ai.dataagent.constant.Constant.SCHEMA_RECALL_NODE;
+
+/**
+ * 证据召回后的分发器，快速路径已在查询理解节点完成查询增强，直接进入Schema召回
+ */
+@Slf4j
+public class EvidenceRecallDispatcher implements EdgeAction {
+
+	@Override
+	public String apply(OverAllState state) throws Exception {
+		Boolean fastPathEnabled = state.value(QUERY_FAST_PATH_ENABLED, false);
+		if (Boolean.TRUE.equals(fastPathEnabled)) {
+			log.info("Query already enhanced by query understanding, proceeding to schema recall");
+			return SCHEMA_RECALL_NODE;
+		}
+		return QUERY_ENHANCE_NODE;
+	}
+
+}
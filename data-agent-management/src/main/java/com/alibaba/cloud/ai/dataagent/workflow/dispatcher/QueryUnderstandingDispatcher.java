@@ -0,0 +1,63 @@
+/*
+ * Copyright 2024-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.cloud.ai.dataagent.workflow.dispatcher;
+
+import com.alibaba.cloud.ai.dataagent.dto.prompt.QueryUnderstandingOutputDTO;
+import com.alibaba.cloud.ai.graph.OverAllState;
+import com.alibaba.cloud.ai.graph.action.EdgeAction;
+import com.alibaba.cloud.ai.dataagent.util.StateUtil;
+import lombok.extern.slf4j.Slf4j;
+
+import static com.alibaba.cloud.ai.dataagent.constant.Constant.EVIDENCE_RECALL_NODE;
+import static com.alibaba.cloud.ai.dataagent.constant.Constant.QUERY_UNDERSTANDING_NODE_OUTPUT;
+import static com.alibaba.cloud.ai.graph.StateGraph.END;
+
+/**
+ * 根据查询理解结果决定下一个节点的分发器
+ */
+@Slf4j
+public class QueryUnderstandingDispatcher implements EdgeAction {
+
+	@Override
+	public String apply(OverAllState state) throws Exception {
+		QueryUnderstandingOutputDTO output = StateUtil.getObjectValue(state, QUERY_UNDERSTANDING_NODE_OUTPUT,
+				QueryUnderstandingOutputDTO.class);
+
+		if (output == null || output.getClassification() == null || output.getClassification().trim().isEmpty()) {
+			log.warn("Query understanding result is null or empty, defaulting to END");
+			return END;
+		}
+
+		if ("《闲聊或无关指令》".equals(output.getClassification())) {
+			log.warn("Intent classified as chat or irrelevant, ending conversation");
+			return END;
+		}
+
+		// 查询增强结果不完整时与标准路径一样结束流程
+		boolean isCanonicalQueryEmpty = output.getCanonicalQuery() == null
+				|| output.getCanonicalQuery().trim().isEmpty();
+		boolean isExpandedQueriesEmpty = output.getExpandedQueries() == null || output.getExpandedQueries().isEmpty();
+		if (isCanonicalQueryEmpty || isExpandedQueriesEmpty) {
+			log.warn("Query understanding output contains empty fields - canonicalQuery: {}, expandedQueries: {}",
+					isCanonicalQueryEmpty, isExpandedQueriesEmpty);
+			return END;
+		}
+
+		log.info("Query understanding output is valid, proceeding to evidence recall");
+		return EVIDENCE_RECALL_NODE;
+	}
+
+}
@@ -23,6 +23,7 @@ import com.alibaba.cloud.ai.dataagent.util.StateUtil;
 import lombok.extern.slf4j.Slf4j;
 
 import static com.alibaba.cloud.ai.dataagent.constant.Constant.*;
+import static com.alibaba.cloud.ai.graph.StateGraph.END;
 
 /**
  * @author zhangshenghang
@@ -32,6 +33,10 @@ public class SQLExecutorDispatcher implements EdgeAction {
 
 	@Override
 	public String apply(OverAllState state) {
+		if (StateUtil.getObjectValue(state, SQL_EXECUTE_BUSY, Boolean.class, false)) {
+			log.warn("SQL执行繁忙，流程结束，等待用户稍后重试");
+			return END;
+		}
 		SqlRetryDto retryDto = StateUtil.getObjectValue(state, SQL_REGENERATE_REASON, SqlRetryDto.class);
 		if (retryDto.sqlExecuteFail()) {
 			log.warn("SQL运行失败，需要重新生成！");
@@ -19,9 +19,11 @@ import com.alibaba.cloud.ai.dataagent.constant.DocumentMetadataConstant;
 import com.alibaba.cloud.ai.dataagent.enums.KnowledgeType;
 import com.alibaba.cloud.ai.dataagent.enums.TextType;
 import com.alibaba.cloud.ai.dataagent.dto.prompt.EvidenceQueryRewriteDTO;
+import com.alibaba.cloud.ai.dataagent.dto.prompt.QueryUnderstandingOutputDTO;
 import com.alibaba.cloud.ai.dataagent.entity.AgentKnowledge;
-import com.alibaba.cloud.ai.dataagent.mapper.AgentKnowledgeMapper;
 import com.alibaba.cloud.ai.dataagent.prompt.PromptHelper;
+import com.alibaba.cloud.ai.dataagent.service.graph.Context.SpeculativeRecallManager;
+import com.alibaba.cloud.ai.dataagent.service.knowledge.AgentKnowledgeMetadataCache;
 import com.alibaba.cloud.ai.dataagent.service.llm.LlmService;
 import com.alibaba.cloud.ai.dataagent.service.vectorstore.AgentVectorStoreService;
 import com.alibaba.cloud.ai.dataagent.util.*;
@@ -30,6 +32,7 @@ import com.alibaba.cloud.ai.graph.OverAllState;
 import com.alibaba.cloud.ai.graph.action.NodeAction;
 import com.alibaba.cloud.ai.graph.streaming.FluxConverter;
 import com.alibaba.cloud.ai.graph.streaming.StreamingOutput;
+import com.fasterxml.jackson.core.JsonProcessingException;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.ai.chat.model.ChatResponse;
@@ -41,8 +44,10 @@ import reactor.core.publisher.Sinks;
 
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import static com.alibaba.cloud.ai.dataagent.constant.Constant.*;
 
@@ -57,7 +62,9 @@ public class EvidenceRecallNode implements NodeAction {
 
 	private final JsonParseUtil jsonParseUtil;
 
-	private final AgentKnowledgeMapper agentKnowledgeMapper;
+	private final AgentKnowledgeMetadataCache agentKnowledgeMetadataCache;
+
+	private final SpeculativeRecallManager speculativeRecallManager;
 
 	@Override
 	public Map<String, Object> apply(OverAllState state) throws Exception {
@@ -77,8 +84,15 @@ public class EvidenceRecallNode implements NodeAction {
 		String prompt = PromptHelper.buildEvidenceQueryRewritePrompt(multiTurn, question);
 		log.debug("Built evidence-query-rewrite prompt as follows \n {} \n", prompt);
 
-		// 调用LLM进行查询重写
-		Flux<ChatResponse> responseFlux = llmService.callUser(prompt);
+		// 调用LLM进行查询重写，快速路径已在查询理解节点完成重写，意图识别时已提前发起的直接复用
+		Flux<ChatResponse> responseFlux = getFastPathRewrite(state);
+		if (responseFlux == null) {
+			responseFlux = speculativeRecallManager
+				.takeEvidenceRewrite(StateUtil.getStringValue(state, THREAD_ID, null), prompt);
+		}
+		if (responseFlux == null) {
+			responseFlux = llmService.callUserCached(EVIDENCE_RECALL_NODE, agentId, question, multiTurn, prompt);
+		}
 		Sinks.Many<String> evidenceDisplaySink = Sinks.many().multicast().onBackpressureBuffer();
 
 		final Map<String, Object> resultMap = new HashMap<>();
@@ -101,6 +115,21 @@ public class EvidenceRecallNode implements NodeAction {
 		return Map.of(EVIDENCE, generator.concatWith(evidenceFlux));
 	}
 
+	/**
+	 * 快速路径下查询理解节点输出的重写结果，按查询重写的输出格式返回
+	 */
+	private Flux<ChatResponse> getFastPathRewrite(OverAllState state) throws JsonProcessingException {
+		Boolean fastPathEnabled = state.value(QUERY_FAST_PATH_ENABLED, false);
+		if (!Boolean.TRUE.equals(fastPathEnabled)) {
+			return null;
+		}
+		QueryUnderstandingOutputDTO understanding = StateUtil.getObjectValue(state, QUERY_UNDERSTANDING_NODE_OUTPUT,
+				QueryUnderstandingOutputDTO.class);
+		EvidenceQueryRewriteDTO rewrite = new EvidenceQueryRewriteDTO();
+		rewrite.setStandaloneQuery(understanding.getStandaloneQuery());
+		return Flux.just(ChatResponseUtil.createPureResponse(JsonUtil.getObjectMapper().writeValueAsString(rewrite)));
+	}
+
 	private Map<String, Object> getEvidences(String llmOutput, String agentId, Sinks.Many<String> sink) {
 		try {
 			String standaloneQuery = extractStandaloneQuery(llmOutput);
@@ -125,7 +154,7 @@ public class EvidenceRecallNode implements NodeAction {
 			}
 
 			// 构建证据内容
-			String evidence = buildFormattedEvidenceContent(retrievalResult.businessTermDocuments(),
+			String evidence = buildFormattedEvidenceContent(agentId, retrievalResult.businessTermDocuments(),
 					retrievalResult.agentKnowledgeDocuments());
 			log.info("Evidence content built as follows \n {} \n", evidence);
 			// 输出证据内容
@@ -152,17 +181,12 @@ public class EvidenceRecallNode implements NodeAction {
 	}
 
 	private DocumentRetrievalResult retrieveDocuments(String agentId, String standaloneQuery) {
-		// 获取业务知识文档
-		List<Document> businessTermDocuments = vectorStoreService
-			.getDocumentsForAgent(agentId, standaloneQuery, DocumentMetadataConstant.BUSINESS_TERM)
-			.stream()
-			.toList();
-
-		// 获取智能体知识文档
-		List<Document> agentKnowledgeDocuments = vectorStoreService
-			.getDocumentsForAgent(agentId, standaloneQuery, DocumentMetadataConstant.AGENT_KNOWLEDGE)
-			.stream()
-			.toList();
+		// 并发获取业务知识文档和智能体知识文档
+		Map<String, List<Document>> documentsByType = vectorStoreService.getDocumentsForAgent(agentId,
+				standaloneQuery,
+				List.of(DocumentMetadataConstant.BUSINESS_TERM, DocumentMetadataConstant.AGENT_KNOWLEDGE));
+		List<Document> businessTermDocuments = documentsByType.get(DocumentMetadataConstant.BUSINESS_TERM);
+		List<Document> agentKnowledgeDocuments = documentsByType.get(DocumentMetadataConstant.AGENT_KNOWLEDGE);
 
 		// 合并所有证据文档
 		List<Document> allDocuments = new ArrayList<>();
@@ -181,13 +205,13 @@ public class EvidenceRecallNode implements NodeAction {
 	// 构建证据内容，输出格式
 	// 1. [来源: 2025Q3报告-销售数据.md] ...华东地区的增长主要来自于核心用户...
 	// 2. [来源: 客服FAQ] Q: 退款怎么算? A: 只统计已入库退货...
-	private String buildFormattedEvidenceContent(List<Document> businessTermDocuments,
+	private String buildFormattedEvidenceContent(String agentId, List<Document> businessTermDocuments,
 			List<Document> agentKnowledgeDocuments) {
 		// 构建业务知识内容
 		String businessKnowledgeContent = buildBusinessKnowledgeContent(businessTermDocuments);
 
 		// 构建智能体知识内容
-		String agentKnowledgeContent = buildAgentKnowledgeContent(agentKnowledgeDocuments);
+		String agentKnowledgeContent = buildAgentKnowledgeContent(agentId, agentKnowledgeDocuments);
 
 		// 使用PromptHelper的模板方法进行渲染
 		String businessPrompt = PromptHelper.buildBusinessKnowledgePrompt(businessKnowledgeContent);
@@ -217,11 +241,14 @@ public class EvidenceRecallNode implements NodeAction {
 		return result.toString();
 	}
 
-	private String buildAgentKnowledgeContent(List<Document> agentKnowledgeDocuments) {
+	private String buildAgentKnowledgeContent(String agentId, List<Document> agentKnowledgeDocuments) {
 		if (agentKnowledgeDocuments.isEmpty()) {
 			return "";
 		}
 
+		// 一次批量获取所有文档对应的知识记录，避免逐条查询
+		Map<Integer, AgentKnowledge> knowledgeById = loadKnowledge(agentId, agentKnowledgeDocuments);
+
 		StringBuilder result = new StringBuilder();
 
 		for (int i = 0; i < agentKnowledgeDocuments.size(); i++) {
@@ -231,30 +258,57 @@ public class EvidenceRecallNode implements NodeAction {
 
 			// 根据知识类型调用不同的处理方法
 			if (KnowledgeType.FAQ.getCode().equals(knowledgeType) || KnowledgeType.QA.getCode().equals(knowledgeType)) {
-				processFaqOrQaKnowledge(doc, i, result);
+				processFaqOrQaKnowledge(doc, i, result, knowledgeById);
 			}
 			else {
-				processDocumentKnowledge(doc, i, result);
+				processDocumentKnowledge(doc, i, result, knowledgeById);
 			}
 		}
 
 		return result.toString();
 	}
 
+	/**
+	 * 批量获取文档对应的知识记录
+	 * @return 知识ID到知识记录的映射，获取失败时返回 null
+	 */
+	private Map<Integer, AgentKnowledge> loadKnowledge(String agentId, List<Document> agentKnowledgeDocuments) {
+		Set<Integer> knowledgeIds = new LinkedHashSet<>();
+		for (Document doc : agentKnowledgeDocuments) {
+			Integer knowledgeId = getKnowledgeId(doc);
+			if (knowledgeId != null) {
+				knowledgeIds.add(knowledgeId);
+			}
+		}
+		try {
+			return agentKnowledgeMetadataCache.getKnowledge(agentId, knowledgeIds);
+		}
+		catch (Exception e) {
+			log.error("Error getting knowledge by ids: {}", knowledgeIds, e);
+			return null;
+		}
+	}
+
+	private static Integer getKnowledgeId(Document doc) {
+		Object knowledgeId = doc.getMetadata().get(DocumentMetadataConstant.DB_AGENT_KNOWLEDGE_ID);
+		return knowledgeId instanceof Number number ? number.intValue() : null;
+	}
+
 	/**
 	 * 处理FAQ或QA类型的知识
 	 */
-	private void processFaqOrQaKnowledge(Document doc, int index, StringBuilder result) {
+	private void processFaqOrQaKnowledge(Document doc, int index, StringBuilder result,
+			Map<Integer, AgentKnowledge> knowledgeById) {
 		Map<String, Object> metadata = doc.getMetadata();
 		String content = doc.getText();
-		Integer knowledgeId = (Integer) metadata.get(DocumentMetadataConstant.DB_AGENT_KNOWLEDGE_ID);
+		Integer knowledgeId = getKnowledgeId(doc);
 		String knowledgeType = (String) metadata.get(DocumentMetadataConstant.CONCRETE_AGENT_KNOWLEDGE_TYPE);
 
 		log.debug("Processing {} type knowledge with id: {}", knowledgeType, knowledgeId);
 
 		if (knowledgeId != null) {
 			try {
-				AgentKnowledge knowledge = agentKnowledgeMapper.selectById(knowledgeId);
+				AgentKnowledge knowledge = getKnowledge(knowledgeById, knowledgeId);
 				if (knowledge != null) {
 					String title = knowledge.getTitle();
 					// 格式：[来源: xxx] Q: xxx A: xxx
@@ -284,10 +338,11 @@ public class EvidenceRecallNode implements NodeAction {
 	/**
 	 * 处理DOCUMENT类型的知识
 	 */
-	private void processDocumentKnowledge(Document doc, int index, StringBuilder result) {
+	private void processDocumentKnowledge(Document doc, int index, StringBuilder result,
+			Map<Integer, AgentKnowledge> knowledgeById) {
 		Map<String, Object> metadata = doc.getMetadata();
 		String content = doc.getText();
-		Integer knowledgeId = ((Number) metadata.get(DocumentMetadataConstant.DB_AGENT_KNOWLEDGE_ID)).intValue();
+		Integer knowledgeId = getKnowledgeId(doc);
 		String knowledgeType = (String) metadata.get(DocumentMetadataConstant.CONCRETE_AGENT_KNOWLEDGE_TYPE);
 		String title = "";
 		String sourceFilename = "";
@@ -296,7 +351,7 @@ public class EvidenceRecallNode implements NodeAction {
 
 		if (knowledgeId != null) {
 			try {
-				AgentKnowledge knowledge = agentKnowledgeMapper.selectById(knowledgeId);
+				AgentKnowledge knowledge = getKnowledge(knowledgeById, knowledgeId);
 				if (knowledge != null) {
 					title = knowledge.getTitle();
 					sourceFilename = knowledge.getSourceFilename();
@@ -324,6 +379,16 @@ public class EvidenceRecallNode implements NodeAction {
 		result.append("] ").append(content).append("\n");
 	}
 
+	/**
+	 * 从批量结果中取出知识记录，批量获取失败时抛出异常，由调用方按原有逻辑降级
+	 */
+	private static AgentKnowledge getKnowledge(Map<Integer, AgentKnowledge> knowledgeById, Integer knowledgeId) {
+		if (knowledgeById == null) {
+			throw new IllegalStateException("Agent knowledge lookup failed");
+		}
+		return knowledgeById.get(knowledgeId);
+	}
+
 	private void outputEvidenceContent(List<Document> allDocuments, Sinks.Many<String> sink) {
 		if (allDocuments.isEmpty()) {
 			return;
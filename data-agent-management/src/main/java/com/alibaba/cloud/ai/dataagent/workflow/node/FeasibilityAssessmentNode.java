@@ -61,7 +61,7 @@ public class FeasibilityAssessmentNode implements NodeAction {
 		log.debug("Built feasibility assessment prompt as follows \n {} \n", prompt);
 
 		// 调用LLM进行可行性评估
-		Flux<ChatResponse> responseFlux = llmService.callUser(prompt);
+		Flux<ChatResponse> responseFlux = llmService.forNode(FEASIBILITY_ASSESSMENT_NODE).callUser(prompt);
 
 		Flux<GraphResponse<StreamingOutput>> generator = FluxUtil.createStreamingGeneratorWithMessages(this.getClass(),
 				state, "正在进行可行性评估...", "可行性评估完成！", llmOutput -> {
@@ -23,6 +23,7 @@ import com.alibaba.cloud.ai.graph.OverAllState;
 import com.alibaba.cloud.ai.graph.action.NodeAction;
 import com.alibaba.cloud.ai.graph.streaming.StreamingOutput;
 import com.alibaba.cloud.ai.dataagent.prompt.PromptHelper;
+import com.alibaba.cloud.ai.dataagent.service.graph.Context.SpeculativeRecallManager;
 import com.alibaba.cloud.ai.dataagent.service.llm.LlmService;
 import com.alibaba.cloud.ai.dataagent.util.ChatResponseUtil;
 import com.alibaba.cloud.ai.dataagent.util.FluxUtil;
@@ -49,6 +50,8 @@ public class IntentRecognitionNode implements NodeAction {
 
 	private final JsonParseUtil jsonParseUtil;
 
+	private final SpeculativeRecallManager speculativeRecallManager;
+
 	@Override
 	public Map<String, Object> apply(OverAllState state) throws Exception {
 
@@ -58,12 +61,18 @@ public class IntentRecognitionNode implements NodeAction {
 
 		String multiTurn = StateUtil.getStringValue(state, MULTI_TURN_CONTEXT, "(无)");
 
+		// 证据查询重写和初步schema召回不依赖意图识别结果，与意图识别并行执行
+		String agentId = StateUtil.getStringValue(state, AGENT_ID, null);
+		speculativeRecallManager.start(StateUtil.getStringValue(state, THREAD_ID, null), agentId, userInput,
+				multiTurn);
+
 		// 构建意图识别提示
 		String prompt = PromptHelper.buildIntentRecognitionPrompt(multiTurn, userInput);
 		log.debug("Built intent recognition prompt as follows \n {} \n", prompt);
 
 		// 调用LLM进行意图识别
-		Flux<ChatResponse> responseFlux = llmService.callUser(prompt);
+		Flux<ChatResponse> responseFlux = llmService.callUserCached(INTENT_RECOGNITION_NODE, agentId, userInput,
+				multiTurn, prompt);
 
 		Flux<GraphResponse<StreamingOutput>> generator = FluxUtil.createStreamingGenerator(this.getClass(), state,
 				responseFlux,
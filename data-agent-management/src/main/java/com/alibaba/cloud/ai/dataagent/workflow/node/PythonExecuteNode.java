@@ -16,6 +16,9 @@
 
 package com.alibaba.cloud.ai.dataagent.workflow.node;
 
+import com.alibaba.cloud.ai.dataagent.bo.schema.ColumnarResultSetBO;
+import com.alibaba.cloud.ai.dataagent.connector.ResultSetStore;
+import com.alibaba.cloud.ai.dataagent.connector.ResultSpool;
 import com.alibaba.cloud.ai.dataagent.enums.TextType;
 import com.alibaba.cloud.ai.dataagent.util.JsonParseUtil;
 import com.alibaba.cloud.ai.dataagent.properties.CodeExecutorProperties;
@@ -34,8 +37,6 @@ import org.springframework.ai.chat.model.ChatResponse;
 import org.springframework.stereotype.Component;
 import reactor.core.publisher.Flux;
 
-import java.util.ArrayList;
-import java.util.List;
 import java.util.Map;
 
 import static com.alibaba.cloud.ai.dataagent.constant.Constant.*;
@@ -58,28 +59,35 @@ public class PythonExecuteNode implements NodeAction {
 
 	private final CodeExecutorProperties codeExecutorProperties;
 
+	private final ResultSetStore resultSetStore;
+
 	public PythonExecuteNode(CodePoolExecutorService codePoolExecutor, JsonParseUtil jsonParseUtil,
-			CodeExecutorProperties codeExecutorProperties) {
+			CodeExecutorProperties codeExecutorProperties, ResultSetStore resultSetStore) {
 		this.codePoolExecutor = codePoolExecutor;
 		this.objectMapper = JsonUtil.getObjectMapper();
 		this.jsonParseUtil = jsonParseUtil;
 		this.codeExecutorProperties = codeExecutorProperties;
+		this.resultSetStore = resultSetStore;
 	}
 
 	@Override
 	public Map<String, Object> apply(OverAllState state) throws Exception {
 
+		// 状态中只保存结果集引用，完整数据从结果存储中读取；结果已失效时节点失败，不基于空数据分析
+		String resultHandle = StateUtil.getStringValue(state, SQL_RESULT_LIST_MEMORY, null);
+		ColumnarResultSetBO sqlResults = resultSetStore.get(resultHandle);
+		// 落盘的结果以文件作为标准输入，内存中的预览仅供无法读取文件的执行器使用
+		ResultSpool spool = resultSetStore.getSpool(resultHandle);
+
 		try {
 			// Get context
 			String pythonCode = StateUtil.getStringValue(state, PYTHON_GENERATE_NODE_OUTPUT);
-			List<Map<String, String>> sqlResults = StateUtil.hasValue(state, SQL_RESULT_LIST_MEMORY)
-					? StateUtil.getListValue(state, SQL_RESULT_LIST_MEMORY) : new ArrayList<>();
 
 			// 检查重试次数
 			int triesCount = StateUtil.getObjectValue(state, PYTHON_TRIES_COUNT, Integer.class, 0);
 
 			CodePoolExecutorService.TaskRequest taskRequest = new CodePoolExecutorService.TaskRequest(pythonCode,
-					objectMapper.writeValueAsString(sqlResults), null);
+					sqlResults.toJsonRows(objectMapper), null, spool != null ? spool.getFile() : null);
 
 			// Run Python code
 			CodePoolExecutorService.TaskResponse taskResponse = this.codePoolExecutor.runTask(taskRequest);
@@ -16,6 +16,8 @@
 
 package com.alibaba.cloud.ai.dataagent.workflow.node;
 
+import com.alibaba.cloud.ai.dataagent.bo.schema.ColumnarResultSetBO;
+import com.alibaba.cloud.ai.dataagent.connector.ResultSetStore;
 import com.alibaba.cloud.ai.dataagent.properties.CodeExecutorProperties;
 import com.alibaba.cloud.ai.dataagent.dto.schema.SchemaDTO;
 import com.alibaba.cloud.ai.dataagent.enums.TextType;
@@ -38,8 +40,6 @@ import org.springframework.ai.chat.model.ChatResponse;
 import org.springframework.stereotype.Component;
 import reactor.core.publisher.Flux;
 
-import java.util.ArrayList;
-import java.util.List;
 import java.util.Map;
 
 import static com.alibaba.cloud.ai.dataagent.constant.Constant.*;
@@ -62,9 +62,13 @@ public class PythonGenerateNode implements NodeAction {
 
 	private final LlmService llmService;
 
-	public PythonGenerateNode(CodeExecutorProperties codeExecutorProperties, LlmService llmService) {
+	private final ResultSetStore resultSetStore;
+
+	public PythonGenerateNode(CodeExecutorProperties codeExecutorProperties, LlmService llmService,
+			ResultSetStore resultSetStore) {
 		this.codeExecutorProperties = codeExecutorProperties;
 		this.llmService = llmService;
+		this.resultSetStore = resultSetStore;
 		this.objectMapper = new ObjectMapper().setSerializationInclusion(JsonInclude.Include.NON_NULL);
 	}
 
@@ -73,8 +77,9 @@ public class PythonGenerateNode implements NodeAction {
 
 		// Get context
 		SchemaDTO schemaDTO = StateUtil.getObjectValue(state, TABLE_RELATION_OUTPUT, SchemaDTO.class);
-		List<Map<String, String>> sqlResults = StateUtil.hasValue(state, SQL_RESULT_LIST_MEMORY)
-				? StateUtil.getListValue(state, SQL_RESULT_LIST_MEMORY) : new ArrayList<>();
+		// 状态中只保存结果集引用，完整数据从结果存储中读取，结果已失效时节点失败
+		ColumnarResultSetBO sqlResults = resultSetStore
+			.get(StateUtil.getStringValue(state, SQL_RESULT_LIST_MEMORY, null));
 		boolean codeRunSuccess = StateUtil.getObjectValue(state, PYTHON_IS_SUCCESS, Boolean.class, true);
 		int triesCount = StateUtil.getObjectValue(state, PYTHON_TRIES_COUNT, Integer.class, 0);
 
@@ -106,10 +111,10 @@ public class PythonGenerateNode implements NodeAction {
 			.render(Map.of("python_memory", codeExecutorProperties.getLimitMemory().toString(), "python_timeout",
 					codeExecutorProperties.getCodeTimeout(), "database_schema",
 					objectMapper.writeValueAsString(schemaDTO), "sample_input",
-					objectMapper.writeValueAsString(sqlResults.stream().limit(SAMPLE_DATA_NUMBER).toList()),
+					sqlResults.head(SAMPLE_DATA_NUMBER).toJsonRows(objectMapper),
 					"plan_description", objectMapper.writeValueAsString(toolParameters)));
 
-		Flux<ChatResponse> pythonGenerateFlux = llmService.call(systemPrompt, userPrompt);
+		Flux<ChatResponse> pythonGenerateFlux = llmService.forNode(PYTHON_GENERATE_NODE).call(systemPrompt, userPrompt);
 
 		Flux<GraphResponse<StreamingOutput>> generator = FluxUtil.createStreamingGeneratorWithMessages(this.getClass(),
 				state, aiResponse -> {
@@ -62,7 +62,8 @@ public class QueryEnhanceNode implements NodeAction {
 		log.debug("Built query enhance prompt as follows \n {} \n", prompt);
 
 		// 调用LLM进行查询处理
-		Flux<ChatResponse> responseFlux = llmService.callUser(prompt);
+		Flux<ChatResponse> responseFlux = llmService.callUserCached(QUERY_ENHANCE_NODE,
+				StateUtil.getStringValue(state, AGENT_ID, null), userInput, multiTurn, prompt);
 
 		Flux<GraphResponse<StreamingOutput>> generator = FluxUtil.createStreamingGenerator(this.getClass(), state,
 				responseFlux,
@@ -0,0 +1,102 @@
+/*
+ * Copyright 2024-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.cloud.ai.dataagent.workflow.node;
+
+import com.alibaba.cloud.ai.dataagent.dto.prompt.QueryUnderstandingOutputDTO;
+import com.alibaba.cloud.ai.dataagent.enums.TextType;
+import com.alibaba.cloud.ai.dataagent.prompt.PromptHelper;
+import com.alibaba.cloud.ai.dataagent.service.llm.LlmService;
+import com.alibaba.cloud.ai.dataagent.util.ChatResponseUtil;
+import com.alibaba.cloud.ai.dataagent.util.FluxUtil;
+import com.alibaba.cloud.ai.dataagent.util.JsonParseUtil;
+import com.alibaba.cloud.ai.dataagent.util.MarkdownParserUtil;
+import com.alibaba.cloud.ai.dataagent.util.StateUtil;
+import com.alibaba.cloud.ai.graph.GraphResponse;
+import com.alibaba.cloud.ai.graph.OverAllState;
+import com.alibaba.cloud.ai.graph.action.NodeAction;
+import com.alibaba.cloud.ai.graph.streaming.StreamingOutput;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.ai.chat.model.ChatResponse;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+
+import java.util.Map;
+
+import static com.alibaba.cloud.ai.dataagent.constant.Constant.*;
+
+/**
+ * 查询理解节点，一次调用同时完成意图识别、证据召回的查询重写和查询增强，作为开启快速路径的智能体的入口节点。
+ * 查询增强在召回证据之前完成，因此不会结合业务知识解析业务术语。
+ */
+@Slf4j
+@Component
+@AllArgsConstructor
+public class QueryUnderstandingNode implements NodeAction {
+
+	private final LlmService llmService;
+
+	private final JsonParseUtil jsonParseUtil;
+
+	@Override
+	public Map<String, Object> apply(OverAllState state) throws Exception {
+
+		// 获取用户输入
+		String userInput = StateUtil.getStringValue(state, INPUT_KEY);
+		log.info("User input for query understanding: {}", userInput);
+
+		String multiTurn = StateUtil.getStringValue(state, MULTI_TURN_CONTEXT, "(无)");
+
+		// 构建查询理解提示
+		String prompt = PromptHelper.buildQueryUnderstandingPrompt(multiTurn, userInput);
+		log.debug("Built query understanding prompt as follows \n {} \n", prompt);
+
+		// 调用LLM进行查询理解
+		Flux<ChatResponse> responseFlux = llmService.callUserCached(QUERY_UNDERSTANDING_NODE,
+				StateUtil.getStringValue(state, AGENT_ID, null), userInput, multiTurn, prompt);
+
+		Flux<GraphResponse<StreamingOutput>> generator = FluxUtil.createStreamingGenerator(this.getClass(), state,
+				responseFlux,
+				Flux.just(ChatResponseUtil.createResponse("正在进行查询理解..."),
+						ChatResponseUtil.createPureResponse(TextType.JSON.getStartSign())),
+				Flux.just(ChatResponseUtil.createPureResponse(TextType.JSON.getEndSign()),
+						ChatResponseUtil.createResponse("\n查询理解完成！")),
+				this::handleQueryUnderstanding);
+		return Map.of(QUERY_UNDERSTANDING_NODE_OUTPUT, generator);
+	}
+
+	private Map<String, Object> handleQueryUnderstanding(String llmOutput) {
+		String result = MarkdownParserUtil.extractRawText(llmOutput.trim());
+		log.info("Query understanding result: {}", result);
+
+		QueryUnderstandingOutputDTO output = null;
+		try {
+			output = jsonParseUtil.tryConvertToObject(result, QueryUnderstandingOutputDTO.class);
+		}
+		catch (Exception e) {
+			log.error("Failed to parse query understanding result: {}", result, e);
+		}
+
+		if (output == null) {
+			// 写入空结果，避免分发器读到上一轮的输出
+			return Map.of(QUERY_UNDERSTANDING_NODE_OUTPUT, new QueryUnderstandingOutputDTO());
+		}
+		// 同时写入意图识别和查询增强的输出，后续节点无需区分是否走快速路径
+		return Map.of(QUERY_UNDERSTANDING_NODE_OUTPUT, output, INTENT_RECOGNITION_NODE_OUTPUT,
+				output.toIntentRecognitionOutput(), QUERY_ENHANCE_NODE_OUTPUT, output.toQueryEnhanceOutput());
+	}
+
+}
@@ -164,7 +164,7 @@ public class ReportGeneratorNode implements NodeAction {
 		String reportPrompt = PromptHelper.buildReportGeneratorPromptWithOptimization(userRequirementsAndPlan,
 				analysisStepsAndData, summaryAndRecommendations, optimizationConfigs, plainReport);
 		log.debug("Report Node Prompt: \n {} \n", reportPrompt);
-		Flux<ChatResponse> llmStream = llmService.callUser(reportPrompt);
+		Flux<ChatResponse> llmStream = llmService.forNode(REPORT_GENERATOR_NODE).callUser(reportPrompt);
 		// 纯md文本报告
 		if (plainReport) {
 			return llmStream;
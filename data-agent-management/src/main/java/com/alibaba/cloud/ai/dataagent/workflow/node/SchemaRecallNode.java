@@ -21,10 +21,14 @@ import com.alibaba.cloud.ai.graph.GraphResponse;
 import com.alibaba.cloud.ai.graph.OverAllState;
 import com.alibaba.cloud.ai.graph.action.NodeAction;
 import com.alibaba.cloud.ai.graph.streaming.StreamingOutput;
+import com.alibaba.cloud.ai.dataagent.service.graph.Context.SpeculativeRecallManager;
+import com.alibaba.cloud.ai.dataagent.service.graph.Context.SpeculativeRecallManager.SchemaRecall;
 import com.alibaba.cloud.ai.dataagent.service.schema.SchemaService;
 import com.alibaba.cloud.ai.dataagent.util.ChatResponseUtil;
 import com.alibaba.cloud.ai.dataagent.util.FluxUtil;
 import com.alibaba.cloud.ai.dataagent.util.StateUtil;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.ai.chat.model.ChatResponse;
@@ -35,6 +39,7 @@ import reactor.core.publisher.Flux;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 import static com.alibaba.cloud.ai.dataagent.constant.Constant.*;
 
@@ -55,6 +60,10 @@ public class SchemaRecallNode implements NodeAction {
 
 	private final SchemaService schemaService;
 
+	private final SpeculativeRecallManager speculativeRecallManager;
+
+	private final MeterRegistry meterRegistry;
+
 	@Override
 	public Map<String, Object> apply(OverAllState state) throws Exception {
 
@@ -63,12 +72,22 @@ public class SchemaRecallNode implements NodeAction {
 				QueryEnhanceOutputDTO.class);
 		String input = queryEnhanceOutputDTO.getCanonicalQuery();
 		String agentId = StateUtil.getStringValue(state, AGENT_ID);
-
-		// Execute business logic first - recall schema information immediately
-		List<Document> tableDocuments = new ArrayList<>(schemaService.getTableDocumentsForAgent(agentId, input));
-		// extract table names
-		List<String> recalledTableNames = extractTableName(tableDocuments);
-		List<Document> columnDocuments = schemaService.getColumnDocumentsByTableName(agentId, recalledTableNames);
+		recordQueryUnderstandingLatency(state);
+
+		// 意图识别时已基于原始问题提前召回，增强后的问题与原始问题一致或相近时直接使用
+		SchemaRecall schemaRecall = speculativeRecallManager
+			.takeSchemaRecall(StateUtil.getStringValue(state, THREAD_ID, null), agentId, input);
+		if (schemaRecall == null) {
+			// Execute business logic first - recall schema information immediately
+			List<Document> recalledTables = new ArrayList<>(schemaService.getTableDocumentsForAgent(agentId, input));
+			// extract table names
+			List<String> recalledNames = extractTableName(recalledTables);
+			schemaRecall = new SchemaRecall(recalledTables, recalledNames,
+					schemaService.getColumnDocumentsByTableName(agentId, recalledNames));
+		}
+		List<Document> tableDocuments = schemaRecall.tableDocuments();
+		List<String> recalledTableNames = schemaRecall.tableNames();
+		List<Document> columnDocuments = schemaRecall.columnDocuments();
 
 		String failMessage = """
 				\n 未检索到相关数据表
@@ -102,6 +121,22 @@ public class SchemaRecallNode implements NodeAction {
 		return Map.of(SCHEMA_RECALL_NODE_OUTPUT, generator);
 	}
 
+	/**
+	 * 记录从流程开始到Schema召回的耗时，按是否走合并的查询理解快速路径区分，用于对比两种路径的延迟
+	 */
+	private void recordQueryUnderstandingLatency(OverAllState state) {
+		Object startTime = state.value(QUERY_START_TIME).orElse(null);
+		if (!(startTime instanceof Number start)) {
+			return;
+		}
+		Boolean fastPathEnabled = state.value(QUERY_FAST_PATH_ENABLED, false);
+		Timer.builder("data-agent.query-understanding.duration")
+			.description("Time from the start of a turn to schema recall")
+			.tag("path", Boolean.TRUE.equals(fastPathEnabled) ? "merged" : "staged")
+			.register(meterRegistry)
+			.record(System.currentTimeMillis() - start.longValue(), TimeUnit.MILLISECONDS);
+	}
+
 	private static List<String> extractTableName(List<Document> tableDocuments) {
 		List<String> tableNames = new ArrayList<>();
 		// metadata中的name字段
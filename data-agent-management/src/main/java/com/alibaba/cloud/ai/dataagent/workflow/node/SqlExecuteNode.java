@@ -18,10 +18,15 @@ package com.alibaba.cloud.ai.dataagent.workflow.node;
 
 import com.alibaba.cloud.ai.dataagent.connector.accessor.Accessor;
 import com.alibaba.cloud.ai.dataagent.connector.DbQueryParameter;
-import com.alibaba.cloud.ai.dataagent.bo.schema.ResultSetBO;
+import com.alibaba.cloud.ai.dataagent.connector.SqlCancellation;
+import com.alibaba.cloud.ai.dataagent.connector.ResultSetStore;
+import com.alibaba.cloud.ai.dataagent.connector.ResultSpool;
+import com.alibaba.cloud.ai.dataagent.connector.SqlExecutionScheduler;
+import com.alibaba.cloud.ai.dataagent.bo.schema.ColumnarResultSetBO;
 import com.alibaba.cloud.ai.dataagent.bo.DbConfigBO;
 import com.alibaba.cloud.ai.dataagent.constant.Constant;
 import com.alibaba.cloud.ai.dataagent.enums.TextType;
+import com.alibaba.cloud.ai.dataagent.properties.DataAgentProperties;
 import com.alibaba.cloud.ai.dataagent.dto.datasource.SqlRetryDto;
 
 import com.alibaba.cloud.ai.dataagent.service.nl2sql.Nl2SqlService;
@@ -32,14 +37,20 @@ import com.alibaba.cloud.ai.graph.GraphResponse;
 import com.alibaba.cloud.ai.graph.OverAllState;
 import com.alibaba.cloud.ai.graph.action.NodeAction;
 import com.alibaba.cloud.ai.graph.streaming.StreamingOutput;
-import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.ai.chat.model.ChatResponse;
 import org.springframework.stereotype.Component;
 import reactor.core.publisher.Flux;
+import reactor.core.publisher.FluxSink;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
 
 import static com.alibaba.cloud.ai.dataagent.constant.Constant.*;
 
@@ -54,13 +65,31 @@ import static com.alibaba.cloud.ai.dataagent.constant.Constant.*;
  */
 @Slf4j
 @Component
-@AllArgsConstructor
 public class SqlExecuteNode implements NodeAction {
 
 	private final DatabaseUtil databaseUtil;
 
 	private final Nl2SqlService nl2SqlService;
 
+	private final SqlExecutionScheduler sqlExecutionScheduler;
+
+	private final ResultSetStore resultSetStore;
+
+	private final DataAgentProperties.SqlExecution sqlExecutionProperties;
+
+	private final DataAgentProperties.ResultSpooling resultSpooling;
+
+	public SqlExecuteNode(DatabaseUtil databaseUtil, Nl2SqlService nl2SqlService,
+			SqlExecutionScheduler sqlExecutionScheduler, ResultSetStore resultSetStore,
+			DataAgentProperties properties) {
+		this.databaseUtil = databaseUtil;
+		this.nl2SqlService = nl2SqlService;
+		this.sqlExecutionScheduler = sqlExecutionScheduler;
+		this.resultSetStore = resultSetStore;
+		this.sqlExecutionProperties = properties.getSqlExecution();
+		this.resultSpooling = properties.getResultSpooling();
+	}
+
 	@Override
 	public Map<String, Object> apply(OverAllState state) throws Exception {
 
@@ -107,6 +136,8 @@ public class SqlExecuteNode implements NodeAction {
 		dbQueryParameter.setSchema(dbConfig.getSchema());
 
 		Accessor dbAccessor = databaseUtil.getAgentAccessor(agentId);
+		String threadId = StateUtil.getStringValue(state, THREAD_ID, null);
+		String previousResultHandle = StateUtil.getStringValue(state, SQL_RESULT_LIST_MEMORY, null);
 		final Map<String, Object> result = new HashMap<>();
 
 		// 先返回流式数据，在执行数据库查询
@@ -117,47 +148,74 @@ public class SqlExecuteNode implements NodeAction {
 			emitter.next(ChatResponseUtil.createResponse(sqlQuery));
 			emitter.next(ChatResponseUtil.createPureResponse(TextType.SQL.getEndSign()));
 
-			try {
-				// Execute SQL query and get results immediately
-				ResultSetBO resultSetBO = dbAccessor.executeSqlAndReturnObject(dbConfig, dbQueryParameter);
-				String jsonStr = JsonUtil.getObjectMapper().writeValueAsString(resultSetBO);
-
-				// 数据执行成功
-				emitter.next(ChatResponseUtil.createResponse("执行SQL完成"));
-				emitter.next(ChatResponseUtil.createResponse("SQL查询结果："));
-				emitter.next(ChatResponseUtil.createPureResponse(TextType.RESULT_SET.getStartSign()));
-				emitter.next(ChatResponseUtil.createPureResponse(jsonStr));
-				emitter.next(ChatResponseUtil.createPureResponse(TextType.RESULT_SET.getEndSign()));
-
-				// Update step results with the query output
-				Map<String, String> existingResults = StateUtil.getObjectValue(state, SQL_EXECUTE_NODE_OUTPUT,
-						Map.class, new HashMap<>());
-				Map<String, String> updatedResults = PlanProcessUtil.addStepResult(existingResults, currentStep,
-						jsonStr);
-
-				log.info("SQL execution successful, result count: {}",
-						resultSetBO.getData() != null ? resultSetBO.getData().size() : 0);
-
-				// 回写最终执行的sql，报告节点需要使用
-				ExecutionStep.ToolParameters currentStepParams = PlanProcessUtil.getCurrentExecutionStep(state)
-					.getToolParameters();
-				currentStepParams.setSqlQuery(sqlQuery);
-
-				// Prepare the final result object
-				// Store List of SQL query results for use by code execution node
-				result
-					.putAll(Map.of(SQL_EXECUTE_NODE_OUTPUT, updatedResults, SQL_REGENERATE_REASON, SqlRetryDto.empty(),
-							SQL_RESULT_LIST_MEMORY, resultSetBO.getData(), PLAN_CURRENT_STEP, currentStep + 1));
-			}
-			catch (Exception e) {
-				String errorMessage = e.getMessage();
-				log.error("SQL execution failed - SQL as follows: \n {} \n ", sqlQuery, e);
-				result.put(SQL_REGENERATE_REASON, SqlRetryDto.sqlExecute(errorMessage));
-				emitter.next(ChatResponseUtil.createResponse("SQL执行失败: " + errorMessage));
-			}
-			finally {
-				emitter.complete();
-			}
+			// SQL在专用线程池中执行，不阻塞图执行线程；流被取消时同时取消正在执行的语句
+			SqlCancellation cancellation = new SqlCancellation();
+			dbQueryParameter.setCancellation(cancellation);
+			CompletableFuture<String> future = sqlExecutionScheduler.submit(agentId, threadId, cancellation,
+					() -> executeAndStore(threadId, dbAccessor, dbConfig, dbQueryParameter));
+			emitter.onDispose(() -> future.cancel(false));
+
+			future.whenComplete((resultHandle, error) -> {
+				try {
+					if (error != null) {
+						throw error instanceof CompletionException ? error.getCause() : error;
+					}
+					// 落盘的结果只在内存中保留预览，展示和报告均基于预览
+					ColumnarResultSetBO columnarResult = resultSetStore.get(resultHandle);
+					ResultSpool spool = resultSetStore.getSpool(resultHandle);
+					// 数据执行成功，结果集分页推送，前端按页合并展示。查询读取完成后才开始推送，
+					// 分页只避免序列化整个结果集的 JSON，不会提前首行到达时间
+					emitter.next(ChatResponseUtil.createResponse("执行SQL完成"));
+					emitter.next(ChatResponseUtil.createResponse("SQL查询结果："));
+					if (spool != null && spool.isPreviewTruncated()) {
+						emitter.next(ChatResponseUtil.createResponse(String.format("查询共返回%d行，以下展示前%d行",
+								spool.getRowCount(), columnarResult.rowCount())));
+					}
+					emitter.next(ChatResponseUtil.createPureResponse(TextType.RESULT_SET.getStartSign()));
+					emitResultPages(emitter, columnarResult);
+					emitter.next(ChatResponseUtil.createPureResponse(TextType.RESULT_SET.getEndSign()));
+
+					// 报告节点仍使用按行组织的 ResultSetBO JSON 格式
+					String jsonStr = columnarResult.toResultSetJson(JsonUtil.getObjectMapper());
+
+					// Update step results with the query output
+					Map<String, String> existingResults = StateUtil.getObjectValue(state, SQL_EXECUTE_NODE_OUTPUT,
+							Map.class, new HashMap<>());
+					Map<String, String> updatedResults = PlanProcessUtil.addStepResult(existingResults, currentStep,
+							jsonStr);
+
+					log.info("SQL execution successful, result count: {}",
+							spool != null ? spool.getRowCount() : columnarResult.rowCount());
+
+					// 回写最终执行的sql，报告节点需要使用
+					ExecutionStep.ToolParameters currentStepParams = PlanProcessUtil.getCurrentExecutionStep(state)
+						.getToolParameters();
+					currentStepParams.setSqlQuery(sqlQuery);
+
+					// Prepare the final result object
+					// 代码执行节点需要的完整结果保存在结果存储中，状态里只保留引用
+					resultSetStore.release(previousResultHandle);
+					result.putAll(Map.of(SQL_EXECUTE_NODE_OUTPUT, updatedResults, SQL_REGENERATE_REASON,
+							SqlRetryDto.empty(), SQL_RESULT_LIST_MEMORY, resultHandle, PLAN_CURRENT_STEP,
+							currentStep + 1, SQL_EXECUTE_BUSY, false));
+				}
+				catch (RejectedExecutionException e) {
+					// 执行线程池和队列已满，与SQL本身无关，不触发重新生成
+					log.warn("SQL execution rejected, scheduler is busy: {}", e.getMessage());
+					result.putAll(Map.of(SQL_REGENERATE_REASON, SqlRetryDto.empty(), SQL_EXECUTE_BUSY, true));
+					emitter.next(ChatResponseUtil.createResponse("当前SQL执行任务繁忙，请稍后重试"));
+				}
+				catch (Throwable e) {
+					String errorMessage = e.getMessage();
+					log.error("SQL execution failed - SQL as follows: \n {} \n ", sqlQuery, e);
+					result.putAll(Map.of(SQL_REGENERATE_REASON, SqlRetryDto.sqlExecute(errorMessage), SQL_EXECUTE_BUSY,
+							false));
+					emitter.next(ChatResponseUtil.createResponse("SQL执行失败: " + errorMessage));
+				}
+				finally {
+					emitter.complete();
+				}
+			});
 		});
 
 		// Create generator using utility class, returning pre-computed business logic
@@ -168,4 +226,44 @@ public class SqlExecuteNode implements NodeAction {
 		return Map.of(SQL_EXECUTE_NODE_OUTPUT, generator);
 	}
 
+	/**
+	 * 执行查询并将结果放入结果存储。开启结果写入文件时，结果写入临时文件，突破内存结果集的行数上限；
+	 * 但开启了结果缓存的数据源仍走可缓存的内存路径，因为写入文件的结果归属于会话线程，无法放入跨请求共享的结果缓存
+	 * @param threadId 会话线程ID，会话的图执行结束时释放其结果
+	 * @return 结果存储中的引用
+	 */
+	private String executeAndStore(String threadId, Accessor dbAccessor, DbConfigBO dbConfig,
+			DbQueryParameter dbQueryParameter) throws Exception {
+		if (!resultSpooling.isEnabled() || dbConfig.isResultCacheEnabled()) {
+			return resultSetStore.put(threadId, dbAccessor.executeSqlAndReturnColumnar(dbConfig, dbQueryParameter));
+		}
+		Path spoolFile = resultSetStore.newSpoolFile();
+		try {
+			return resultSetStore.put(threadId,
+					dbAccessor.executeSqlAndSpool(dbConfig, dbQueryParameter, spoolFile, resultSpooling.getMaxRows()));
+		}
+		catch (Exception e) {
+			Files.deleteIfExists(spoolFile);
+			throw e;
+		}
+	}
+
+	/**
+	 * 将已读取的结果集按页序列化为独立的 ResultSetBO JSON 片段推送，避免一次性构造完整 JSON 再发送
+	 * @param emitter 流式输出
+	 * @param columnarResult 查询结果
+	 */
+	private void emitResultPages(FluxSink<ChatResponse> emitter, ColumnarResultSetBO columnarResult)
+			throws IOException {
+		int pageRows = Math.max(1, sqlExecutionProperties.getResultPageRows());
+		int rows = columnarResult.rowCount();
+		int from = 0;
+		do {
+			ColumnarResultSetBO page = columnarResult.slice(from, from + pageRows);
+			emitter.next(ChatResponseUtil.createPureResponse(page.toResultSetJson(JsonUtil.getObjectMapper())));
+			from += pageRows;
+		}
+		while (from < rows);
+	}
+
 }
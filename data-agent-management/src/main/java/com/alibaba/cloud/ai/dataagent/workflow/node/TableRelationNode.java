@@ -174,16 +174,19 @@ public class TableRelationNode implements NodeAction {
 	private Flux<ChatResponse> processSchemaSelection(SchemaDTO schemaDTO, String input, String evidence,
 			OverAllState state, DbConfigBO agentDbConfig, Consumer<SchemaDTO> dtoConsumer) {
 		String schemaAdvice = StateUtil.getStringValue(state, SQL_GENERATE_SCHEMA_MISSING_ADVICE, null);
+		String agentId = StateUtil.getStringValue(state, AGENT_ID);
 
 		Flux<ChatResponse> schemaFlux;
 		if (schemaAdvice != null) {
 			log.info("[{}] Processing with schema supplement advice: {}", this.getClass().getSimpleName(),
 					schemaAdvice);
-			schemaFlux = nl2SqlService.fineSelect(schemaDTO, input, evidence, schemaAdvice, agentDbConfig, dtoConsumer);
+			schemaFlux = nl2SqlService.fineSelect(agentId, schemaDTO, input, evidence, schemaAdvice, agentDbConfig,
+					dtoConsumer);
 		}
 		else {
 			log.info("[{}] Executing regular schema selection", this.getClass().getSimpleName());
-			schemaFlux = nl2SqlService.fineSelect(schemaDTO, input, evidence, null, agentDbConfig, dtoConsumer);
+			schemaFlux = nl2SqlService.fineSelect(agentId, schemaDTO, input, evidence, null, agentDbConfig,
+					dtoConsumer);
 		}
 		return Flux
 			.just(ChatResponseUtil.createResponse("正在选择合适的数据表...\n"),
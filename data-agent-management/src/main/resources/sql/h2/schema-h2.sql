@@ -16,6 +16,7 @@ CREATE TABLE IF NOT EXISTS agent (
     create_time TIMESTAMP DEFAULT CURRENT_TIMESTAMP COMMENT '创建时间',
     update_time TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP COMMENT '更新时间',
     human_review_enabled TINYINT DEFAULT 0 COMMENT '是否启用计划人工复核 0-否，1-是',
+    query_fast_path_enabled TINYINT DEFAULT 0 COMMENT '是否合并意图识别、查询重写与问题增强为一次调用 0-否，1-是',
     PRIMARY KEY (id),
     INDEX idx_name (name),
     INDEX idx_status (status),
@@ -112,6 +113,11 @@ CREATE TABLE IF NOT EXISTS datasource (
   test_status VARCHAR(50) DEFAULT 'unknown' COMMENT '连接测试状态：success-成功，failed-失败，unknown-未知',
   description TEXT COMMENT '描述',
   creator_id BIGINT COMMENT '创建者ID',
+  pool_initial_size INT DEFAULT NULL COMMENT '连接池初始连接数，为空时使用全局默认值',
+  pool_min_idle INT DEFAULT NULL COMMENT '连接池最小空闲连接数，为空时使用全局默认值',
+  pool_max_active INT DEFAULT NULL COMMENT '连接池最大活跃连接数，为空时使用全局默认值',
+  pool_max_wait_millis BIGINT DEFAULT NULL COMMENT '获取连接最大等待毫秒数，为空时使用全局默认值',
+  result_cache_enabled TINYINT DEFAULT 0 COMMENT '是否缓存查询结果：0-否，1-是',
   create_time TIMESTAMP DEFAULT CURRENT_TIMESTAMP COMMENT '创建时间',
   update_time TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP COMMENT '更新时间',
   PRIMARY KEY (id),
@@ -245,6 +251,19 @@ CREATE TABLE IF NOT EXISTS agent_datasource_tables (
     ) ENGINE = InnoDB COMMENT = '某个智能体某个数据源所选中的数据表';
 
 
+-- 智能体表结构指纹表，用于增量初始化 schema
+CREATE TABLE IF NOT EXISTS agent_schema_fingerprint (
+    id INT NOT NULL AUTO_INCREMENT,
+    agent_id INT NOT NULL COMMENT '智能体ID',
+    table_name VARCHAR(255) NOT NULL COMMENT '数据表名',
+    fingerprint VARCHAR(64) NOT NULL COMMENT '表结构指纹（列名、类型、注释及外键的哈希）',
+    create_time TIMESTAMP DEFAULT CURRENT_TIMESTAMP COMMENT '创建时间',
+    update_time TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP COMMENT '更新时间',
+    PRIMARY KEY (id),
+    UNIQUE KEY uk_agent_table (agent_id, table_name),
+    INDEX idx_agent_id (agent_id)
+    ) ENGINE = InnoDB COMMENT = '智能体表结构指纹';
+
 -- 模型配置表
 CREATE TABLE IF NOT EXISTS `model_config` (
   `id` int(11) NOT NULL AUTO_INCREMENT,
@@ -254,8 +273,9 @@ CREATE TABLE IF NOT EXISTS `model_config` (
   `model_name` varchar(255) NOT NULL COMMENT '模型名称',
   `temperature` decimal(10,2) unsigned DEFAULT '0.00' COMMENT '温度参数',
   `is_active` tinyint(1) DEFAULT '0' COMMENT '是否激活',
+  `pool_weight` int(11) DEFAULT '0' COMMENT '对话模型负载均衡权重，大于0时与激活的配置一起分担请求',
   `max_tokens` int(11) DEFAULT '2000' COMMENT '输出响应最大令牌数',
-  `model_type` varchar(20) NOT NULL DEFAULT 'CHAT' COMMENT '模型类型 (CHAT/EMBEDDING)',
+  `model_type` varchar(20) NOT NULL DEFAULT 'CHAT' COMMENT '模型类型 (CHAT/EMBEDDING，对话模型按节点分配的 CLASSIFY/SQL/PLAN/REPORT)',
   `completions_path` varchar(255) DEFAULT NULL COMMENT 'Chat模型专用。附加到 Base URL 的路径。例如OpenAi的/v1/chat/completions',
   `embeddings_path` varchar(255) DEFAULT NULL COMMENT '嵌入模型专用。附加到 Base URL 的路径。',
   `created_time` datetime DEFAULT NULL COMMENT '创建时间',
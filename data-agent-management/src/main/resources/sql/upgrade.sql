@@ -0,0 +1,42 @@
+-- 已有数据库的升级脚本：为旧版本创建的表补充新增字段，可重复执行，字段已存在时跳过
+-- 新建的数据库由 schema.sql 直接创建完整表结构，无需执行本脚本
+
+-- agent 表
+SET @ddl = (SELECT IF(COUNT(*) = 0, 'ALTER TABLE `agent` ADD COLUMN query_fast_path_enabled TINYINT DEFAULT 0 COMMENT ''是否合并意图识别、查询重写与问题增强为一次调用：0-否，1-是''', 'SELECT 1') FROM information_schema.columns WHERE table_schema = DATABASE() AND table_name = 'agent' AND column_name = 'query_fast_path_enabled');
+PREPARE stmt FROM @ddl;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+-- datasource 表
+SET @ddl = (SELECT IF(COUNT(*) = 0, 'ALTER TABLE `datasource` ADD COLUMN pool_initial_size INT DEFAULT NULL COMMENT ''连接池初始连接数，为空时使用全局默认值''', 'SELECT 1') FROM information_schema.columns WHERE table_schema = DATABASE() AND table_name = 'datasource' AND column_name = 'pool_initial_size');
+PREPARE stmt FROM @ddl;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+SET @ddl = (SELECT IF(COUNT(*) = 0, 'ALTER TABLE `datasource` ADD COLUMN pool_min_idle INT DEFAULT NULL COMMENT ''连接池最小空闲连接数，为空时使用全局默认值''', 'SELECT 1') FROM information_schema.columns WHERE table_schema = DATABASE() AND table_name = 'datasource' AND column_name = 'pool_min_idle');
+PREPARE stmt FROM @ddl;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+SET @ddl = (SELECT IF(COUNT(*) = 0, 'ALTER TABLE `datasource` ADD COLUMN pool_max_active INT DEFAULT NULL COMMENT ''连接池最大活跃连接数，为空时使用全局默认值''', 'SELECT 1') FROM information_schema.columns WHERE table_schema = DATABASE() AND table_name = 'datasource' AND column_name = 'pool_max_active');
+PREPARE stmt FROM @ddl;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+SET @ddl = (SELECT IF(COUNT(*) = 0, 'ALTER TABLE `datasource` ADD COLUMN pool_max_wait_millis BIGINT DEFAULT NULL COMMENT ''获取连接最大等待毫秒数，为空时使用全局默认值''', 'SELECT 1') FROM information_schema.columns WHERE table_schema = DATABASE() AND table_name = 'datasource' AND column_name = 'pool_max_wait_millis');
+PREPARE stmt FROM @ddl;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+SET @ddl = (SELECT IF(COUNT(*) = 0, 'ALTER TABLE `datasource` ADD COLUMN result_cache_enabled TINYINT DEFAULT 0 COMMENT ''是否缓存查询结果：0-否，1-是''', 'SELECT 1') FROM information_schema.columns WHERE table_schema = DATABASE() AND table_name = 'datasource' AND column_name = 'result_cache_enabled');
+PREPARE stmt FROM @ddl;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+-- model_config 表
+SET @ddl = (SELECT IF(COUNT(*) = 0, 'ALTER TABLE `model_config` ADD COLUMN pool_weight INT DEFAULT 0 COMMENT ''对话模型负载均衡权重，大于0时与激活的配置一起分担请求''', 'SELECT 1') FROM information_schema.columns WHERE table_schema = DATABASE() AND table_name = 'model_config' AND column_name = 'pool_weight');
+PREPARE stmt FROM @ddl;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+-- 新增的智能体表结构指纹表 agent_schema_fingerprint 由 schema.sql 中的 CREATE TABLE IF NOT EXISTS 创建
@@ -23,6 +23,8 @@ import org.mybatis.spring.boot.test.autoconfigure.MybatisTest;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
 import org.springframework.boot.testcontainers.context.ImportTestcontainers;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.datasource.init.ScriptUtils;
 import org.testcontainers.containers.MySQLContainer;
 
 import java.sql.Connection;
@@ -30,6 +32,7 @@ import java.sql.DatabaseMetaData;
 import java.sql.DriverManager;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Statement;
 import java.util.Optional;
 
 /**
@@ -46,7 +49,7 @@ public class DatabaseSchemaTest {
 	@Autowired
 	private MySQLContainer<?> container;
 
-	private static final int DATABASE_COUNT = 11;
+	private static final int DATABASE_COUNT = 12;
 
 	@Test
 	public void testDatabaseSchema() {
@@ -84,4 +87,30 @@ public class DatabaseSchemaTest {
 
 	}
 
+	@Test
+	public void testUpgradeScriptIsIdempotent() throws SQLException {
+		try (Connection conn = DriverManager.getConnection(MySqlContainerConfiguration.getJdbcUrl(),
+				MySqlContainerConfiguration.USER_PWD, MySqlContainerConfiguration.USER_PWD);
+				Statement statement = conn.createStatement()) {
+			// 模拟旧版本创建的表
+			statement.execute("ALTER TABLE datasource DROP COLUMN result_cache_enabled");
+			Assertions.assertFalse(hasColumn(conn, "datasource", "result_cache_enabled"));
+
+			ScriptUtils.executeSqlScript(conn, new ClassPathResource("sql/upgrade.sql"));
+			ScriptUtils.executeSqlScript(conn, new ClassPathResource("sql/upgrade.sql"));
+
+			Assertions.assertTrue(hasColumn(conn, "datasource", "result_cache_enabled"));
+			Assertions.assertTrue(hasColumn(conn, "datasource", "pool_max_active"));
+			Assertions.assertTrue(hasColumn(conn, "agent", "query_fast_path_enabled"));
+			Assertions.assertTrue(hasColumn(conn, "model_config", "pool_weight"));
+		}
+	}
+
+	private static boolean hasColumn(Connection conn, String table, String column) throws SQLException {
+		try (ResultSet columns = conn.getMetaData()
+			.getColumns(MySqlContainerConfiguration.DATABASE_NAME, null, table, column)) {
+			return columns.next();
+		}
+	}
+
 }
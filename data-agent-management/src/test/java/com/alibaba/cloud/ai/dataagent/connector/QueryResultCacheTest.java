@@ -0,0 +1,160 @@
+/*
+ * Copyright 2024-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.cloud.ai.dataagent.connector;
+
+import com.alibaba.cloud.ai.dataagent.bo.DbConfigBO;
+import com.alibaba.cloud.ai.dataagent.bo.schema.ColumnarResultSetBO;
+import com.alibaba.cloud.ai.dataagent.properties.DataAgentProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * QueryResultCache的单元测试
+ */
+class QueryResultCacheTest {
+
+	private ExecutorService executor;
+
+	private SimpleMeterRegistry meterRegistry;
+
+	private QueryResultCache cache;
+
+	private final AtomicInteger loads = new AtomicInteger();
+
+	@BeforeEach
+	void setUp() {
+		executor = Executors.newSingleThreadExecutor();
+		meterRegistry = new SimpleMeterRegistry();
+		cache = new QueryResultCache(new DataAgentProperties(), executor, meterRegistry);
+	}
+
+	@AfterEach
+	void tearDown() {
+		executor.shutdownNow();
+	}
+
+	@Test
+	void testNormalizeSql() {
+		assertEquals("select name from t where name = 'Alice  B' and \"Col\" = 1",
+				QueryResultCache.normalizeSql("  SELECT name\n FROM  t WHERE name = 'Alice  B' AND \"Col\" = 1 ; "));
+	}
+
+	@Test
+	void testHitAfterMissWithEquivalentSql() throws Exception {
+		DbConfigBO config = config(true);
+
+		cache.get(config, "public", "SELECT * FROM t", this::load, this::load);
+		ColumnarResultSetBO cached = cache.get(config, "public", "select *\n from t;", this::load, this::load);
+
+		assertEquals(1, loads.get());
+		assertEquals("1", cached.valueAt(0, 0));
+		assertEquals(1.0, requests("hit"));
+		assertEquals(1.0, requests("miss"));
+		assertTrue(cache.currentBytes() > 0);
+	}
+
+	@Test
+	void testDisabledDatasourceAndWritesBypassCache() throws Exception {
+		cache.get(config(false), "public", "SELECT * FROM t", this::load, this::load);
+		cache.get(config(false), "public", "SELECT * FROM t", this::load, this::load);
+		cache.get(config(true), "public", "UPDATE t SET a = 1", this::load, this::load);
+		cache.get(config(true), "public", "UPDATE t SET a = 1", this::load, this::load);
+
+		assertEquals(4, loads.get());
+		assertEquals(0, cache.currentBytes());
+	}
+
+	@Test
+	void testIsReadOnly() {
+		assertTrue(QueryResultCache.isReadOnly(QueryResultCache.normalizeSql(
+				"WITH c AS (SELECT dept, COUNT(*) AS n FROM t GROUP BY dept) SELECT * FROM c WHERE dept IN ('a')")));
+		assertTrue(QueryResultCache.isReadOnly(QueryResultCache.normalizeSql(
+				"SELECT ROUND(SUM(amount), 2), DATE_FORMAT(created, '%Y') FROM t WHERE name = 'delete me'")));
+
+		assertFalse(QueryResultCache.isReadOnly("with d as (delete from t returning *) select * from d"));
+		assertFalse(QueryResultCache.isReadOnly("with c as (select 1) update t set a = 1"));
+		assertFalse(QueryResultCache.isReadOnly("select * from t for update"));
+		assertFalse(QueryResultCache.isReadOnly("select * from t for no key update"));
+		assertFalse(QueryResultCache.isReadOnly("select * from t for share"));
+		assertFalse(QueryResultCache.isReadOnly("select * from t lock in share mode"));
+		assertFalse(QueryResultCache.isReadOnly("select * into t2 from t"));
+		assertFalse(QueryResultCache.isReadOnly("select nextval('seq')"));
+		assertFalse(QueryResultCache.isReadOnly("select rand() from t"));
+		assertFalse(QueryResultCache.isReadOnly("select my_schema.audit_log(id) from t"));
+		assertFalse(QueryResultCache.isReadOnly("select 1; drop table t"));
+		assertFalse(QueryResultCache.isReadOnly("select 1 -- comment"));
+	}
+
+	@Test
+	void testStaleResultIsRefreshedWithRefresher() throws Exception {
+		DataAgentProperties properties = new DataAgentProperties();
+		properties.getQueryResultCache().setTtlSeconds(0);
+		cache = new QueryResultCache(properties, executor, meterRegistry);
+		DbConfigBO config = config(true);
+		AtomicInteger refreshes = new AtomicInteger();
+
+		cache.get(config, "public", "SELECT * FROM t", this::load, this::load);
+		Thread.sleep(5);
+		cache.get(config, "public", "SELECT * FROM t", this::load, () -> {
+			refreshes.incrementAndGet();
+			return load();
+		});
+		executor.submit(() -> {
+		}).get();
+
+		assertEquals(1, refreshes.get());
+		assertEquals(2, loads.get());
+		assertEquals(1.0, requests("stale"));
+	}
+
+	@Test
+	void testInvalidate() throws Exception {
+		DbConfigBO config = config(true);
+		cache.get(config, "public", "SELECT * FROM t", this::load, this::load);
+
+		cache.invalidate(config.getUrl(), config.getUsername());
+		cache.get(config, "public", "SELECT * FROM t", this::load, this::load);
+
+		assertEquals(2, loads.get());
+	}
+
+	private double requests(String result) {
+		return meterRegistry.get("data-agent.query-result-cache.requests").tag("result", result).counter().count();
+	}
+
+	private ColumnarResultSetBO load() {
+		loads.incrementAndGet();
+		return new ColumnarResultSetBO(List.of("a"), new String[][] { { "1" } });
+	}
+
+	private static DbConfigBO config(boolean cacheEnabled) {
+		return DbConfigBO.builder()
+			.url("jdbc:h2:mem:query_result_cache_test")
+			.username("sa")
+			.resultCacheEnabled(cacheEnabled)
+			.build();
+	}
+
+}
@@ -0,0 +1,126 @@
+/*
+ * Copyright 2024-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.cloud.ai.dataagent.connector;
+
+import com.alibaba.cloud.ai.dataagent.bo.schema.ColumnarResultSetBO;
+import com.alibaba.cloud.ai.dataagent.bo.schema.ResultSetBO;
+import com.alibaba.cloud.ai.dataagent.util.JsonUtil;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * ResultSetBuilder列式结果集的单元测试
+ */
+class ResultSetBuilderTest {
+
+	private Connection connection;
+
+	@BeforeEach
+	void setUp() throws Exception {
+		connection = DriverManager.getConnection("jdbc:h2:mem:result_set_builder_test;DB_CLOSE_DELAY=-1", "sa", "");
+		try (Statement statement = connection.createStatement()) {
+			statement.execute("CREATE TABLE IF NOT EXISTS t_user (id INT, name VARCHAR(32))");
+			statement.execute("DELETE FROM t_user");
+			statement.execute("INSERT INTO t_user VALUES (1, 'alice'), (2, NULL)");
+		}
+	}
+
+	@AfterEach
+	void tearDown() throws Exception {
+		connection.close();
+	}
+
+	@Test
+	void testExecuteSqlAndReturnColumnar() throws Exception {
+		ColumnarResultSetBO result = SqlExecutor.executeSqlAndReturnColumnar(connection, null,
+				"SELECT id AS \"`uid`\", name FROM t_user ORDER BY id");
+
+		assertEquals(List.of("uid", "NAME"), result.getColumn());
+		assertEquals(2, result.rowCount());
+		assertEquals(List.of("1", "2"), result.columnValues("uid"));
+		// null值按照原有约定转换为空字符串
+		assertEquals("", result.valueAt(1, 1));
+		assertTrue(result.columnValues("missing").isEmpty());
+	}
+
+	@Test
+	void testAdapterKeepsResultSetBOShape() throws Exception {
+		ColumnarResultSetBO columnar = SqlExecutor.executeSqlAndReturnColumnar(connection, null,
+				"SELECT id, name FROM t_user ORDER BY id");
+		ResultSetBO resultSetBO = columnar.toResultSetBO();
+
+		assertEquals(columnar.getColumn(), resultSetBO.getColumn());
+		assertEquals(2, resultSetBO.getData().size());
+		assertEquals("alice", resultSetBO.getData().get(0).get("NAME"));
+
+		String json = columnar.toResultSetJson(JsonUtil.getObjectMapper());
+		ResultSetBO parsed = JsonUtil.getObjectMapper().readValue(json, ResultSetBO.class);
+		assertEquals(resultSetBO.getData(), parsed.getData());
+		assertEquals(resultSetBO.getColumn(), parsed.getColumn());
+	}
+
+	@Test
+	void testSpoolKeepsPreviewAndWritesAllRows() throws Exception {
+		Path file = Files.createTempFile("result-spool-test", ".json");
+		try (Statement statement = connection.createStatement();
+				ResultSet rs = statement.executeQuery("SELECT id, name FROM t_user ORDER BY id")) {
+			ResultSpool spool = ResultSetBuilder.spoolFrom(rs, file, 1, 10);
+
+			assertEquals(2, spool.getRowCount());
+			assertEquals(1, spool.getPreview().rowCount());
+			assertTrue(spool.isPreviewTruncated());
+			// 文件内容即 Python 代码的标准输入格式
+			assertEquals("[{\"ID\":\"1\",\"NAME\":\"alice\"},{\"ID\":\"2\",\"NAME\":\"\"}]", Files.readString(file));
+		}
+		finally {
+			Files.deleteIfExists(file);
+		}
+	}
+
+	@Test
+	void testHeadAndJsonRoundTrip() throws Exception {
+		ColumnarResultSetBO columnar = SqlExecutor.executeSqlAndReturnColumnar(connection, null,
+				"SELECT id, name FROM t_user ORDER BY id");
+
+		ColumnarResultSetBO head = columnar.head(1);
+		assertEquals(1, head.rowCount());
+		assertEquals("[{\"ID\":\"1\",\"NAME\":\"alice\"}]", head.toJsonRows(JsonUtil.getObjectMapper()));
+
+		// 分页推送时按行区间切片，越界部分自动截断
+		ColumnarResultSetBO secondPage = columnar.slice(1, 5);
+		assertEquals(1, secondPage.rowCount());
+		assertEquals(List.of("2"), secondPage.columnValues("ID"));
+		assertEquals(0, columnar.slice(2, 4).rowCount());
+
+		// 图状态可能以Map形式保存，需能通过Jackson还原
+		Object asMap = JsonUtil.getObjectMapper().convertValue(columnar, Map.class);
+		ColumnarResultSetBO restored = JsonUtil.getObjectMapper().convertValue(asMap, ColumnarResultSetBO.class);
+		assertEquals(columnar, restored);
+	}
+
+}
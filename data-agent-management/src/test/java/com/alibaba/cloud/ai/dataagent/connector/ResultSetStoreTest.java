@@ -0,0 +1,74 @@
+/*
+ * Copyright 2024-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.cloud.ai.dataagent.connector;
+
+import com.alibaba.cloud.ai.dataagent.bo.schema.ColumnarResultSetBO;
+import com.alibaba.cloud.ai.dataagent.properties.DataAgentProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * ResultSetStore的单元测试
+ */
+class ResultSetStoreTest {
+
+	private ResultSetStore store;
+
+	@BeforeEach
+	void setUp() {
+		store = new ResultSetStore(new DataAgentProperties());
+	}
+
+	@Test
+	void testGetStoredResult() {
+		ColumnarResultSetBO result = new ColumnarResultSetBO(List.of("id"), new String[][] { { "1", "2" } });
+		String handle = store.put("t1", result);
+
+		assertSame(result, store.get(handle));
+		assertNull(store.getSpool(handle));
+		assertEquals(0, store.get(null).rowCount());
+	}
+
+	@Test
+	void testReleasedResultFailsInsteadOfReturningEmptyRows() {
+		String handle = store.put("t1", ColumnarResultSetBO.empty());
+		store.release(handle);
+
+		assertThrows(IllegalStateException.class, () -> store.get(handle));
+		assertThrows(IllegalStateException.class, () -> store.getSpool(handle));
+	}
+
+	@Test
+	void testReleaseThreadDropsOnlyItsResults() throws Exception {
+		Path file = store.newSpoolFile();
+		String spooled = store.put("t1", new ResultSpool(file, ColumnarResultSetBO.empty(), 0));
+		String other = store.put("t2", ColumnarResultSetBO.empty());
+
+		store.releaseThread("t1");
+
+		assertFalse(Files.exists(file));
+		assertThrows(IllegalStateException.class, () -> store.get(spooled));
+		assertNotNull(store.get(other));
+		assertEquals(1, store.size());
+	}
+
+}
@@ -0,0 +1,111 @@
+/*
+ * Copyright 2024-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.cloud.ai.dataagent.connector;
+
+import com.alibaba.cloud.ai.dataagent.properties.DataAgentProperties;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * SqlExecutionScheduler并发限制与取消的单元测试
+ */
+class SqlExecutionSchedulerTest {
+
+	private SqlExecutionScheduler scheduler;
+
+	@BeforeEach
+	void setUp() {
+		DataAgentProperties properties = new DataAgentProperties();
+		properties.getSqlExecution().setThreadPoolSize(4);
+		properties.getSqlExecution().setMaxConcurrentPerAgent(2);
+		scheduler = new SqlExecutionScheduler(properties);
+	}
+
+	@AfterEach
+	void tearDown() {
+		scheduler.destroy();
+	}
+
+	@Test
+	void testPerAgentConcurrencyLimit() throws Exception {
+		AtomicInteger running = new AtomicInteger();
+		AtomicInteger maxRunning = new AtomicInteger();
+		List<CompletableFuture<Integer>> futures = new ArrayList<>();
+		for (int i = 0; i < 8; i++) {
+			int value = i;
+			futures.add(scheduler.submit(1, null, new SqlCancellation(), () -> {
+				maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+				Thread.sleep(20);
+				running.decrementAndGet();
+				return value;
+			}));
+		}
+		for (int i = 0; i < futures.size(); i++) {
+			assertEquals(i, futures.get(i).get(5, TimeUnit.SECONDS));
+		}
+		assertEquals(2, maxRunning.get());
+	}
+
+	@Test
+	void testCancelByThreadId() throws Exception {
+		CountDownLatch started = new CountDownLatch(1);
+		SqlCancellation cancellation = new SqlCancellation();
+		CompletableFuture<String> running = scheduler.submit(1, "thread-1", cancellation, () -> {
+			started.countDown();
+			while (!cancellation.isCancelled()) {
+				Thread.sleep(5);
+			}
+			throw new IllegalStateException("cancelled");
+		});
+		assertTrue(started.await(5, TimeUnit.SECONDS));
+
+		assertEquals(1, scheduler.cancel("thread-1"));
+		assertThrows(ExecutionException.class, () -> running.get(5, TimeUnit.SECONDS));
+		assertEquals(0, scheduler.cancel("thread-1"));
+	}
+
+	@Test
+	void testIdleLaneIsRemoved() throws Exception {
+		List<CompletableFuture<Integer>> futures = new ArrayList<>();
+		for (int agentId = 1; agentId <= 3; agentId++) {
+			int value = agentId;
+			futures.add(scheduler.submit(agentId, null, new SqlCancellation(), () -> value));
+		}
+		for (CompletableFuture<Integer> future : futures) {
+			future.get(5, TimeUnit.SECONDS);
+		}
+		// 队列在任务所在线程的收尾阶段移除
+		long deadline = System.currentTimeMillis() + 5000;
+		while (scheduler.laneCount() > 0 && System.currentTimeMillis() < deadline) {
+			Thread.sleep(5);
+		}
+		assertEquals(0, scheduler.laneCount());
+
+		assertEquals(4, scheduler.submit(1, null, new SqlCancellation(), () -> 4).get(5, TimeUnit.SECONDS));
+	}
+
+}
@@ -0,0 +1,146 @@
+/*
+ * Copyright 2024-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.cloud.ai.dataagent.connector;
+
+import com.alibaba.cloud.ai.dataagent.enums.DatabaseDialectEnum;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * SqlExecutor的单元测试
+ */
+class SqlExecutorTest {
+
+	@Test
+	void testMysqlSpoolStreamsRows() throws Exception {
+		Connection connection = connection(DatabaseDialectEnum.MYSQL.code, true);
+		Statement statement = failingStatement(connection);
+
+		assertThrows(SQLException.class, () -> SqlExecutor.executeSqlAndSpool(connection, null, "select 1", null,
+				Path.of("unused"), 10));
+
+		verify(statement).setFetchSize(Integer.MIN_VALUE);
+		verify(connection, never()).setAutoCommit(anyBoolean());
+	}
+
+	@Test
+	void testPostgresSpoolRunsOutsideAutoCommitAndRestoresIt() throws Exception {
+		Connection connection = connection(DatabaseDialectEnum.POSTGRESQL.code, true);
+		Statement statement = failingStatement(connection);
+
+		assertThrows(SQLException.class, () -> SqlExecutor.executeSqlAndSpool(connection, null, "select 1", null,
+				Path.of("unused"), 10));
+
+		verify(statement).setFetchSize(1000);
+		verify(connection).setAutoCommit(false);
+		verify(connection).rollback();
+		verify(connection).setAutoCommit(true);
+	}
+
+	@Test
+	void testFailedRollbackDoesNotHideQueryFailure() throws Exception {
+		Connection connection = connection(DatabaseDialectEnum.POSTGRESQL.code, true);
+		failingStatement(connection);
+		doThrow(new SQLException("rollback failed")).when(connection).rollback();
+
+		SQLException e = assertThrows(SQLException.class, () -> SqlExecutor.executeSqlAndSpool(connection, null,
+				"select 1", null, Path.of("unused"), 10));
+
+		assertEquals("boom", e.getMessage());
+		assertEquals("rollback failed", e.getSuppressed()[0].getMessage());
+		// 回滚失败时仍然恢复自动提交
+		verify(connection).setAutoCommit(true);
+	}
+
+	@Test
+	void testPostgresSpoolKeepsCallerTransaction() throws Exception {
+		Connection connection = connection(DatabaseDialectEnum.POSTGRESQL.code, false);
+		failingStatement(connection);
+
+		assertThrows(SQLException.class, () -> SqlExecutor.executeSqlAndSpool(connection, null, "select 1", null,
+				Path.of("unused"), 10));
+
+		verify(connection, never()).setAutoCommit(anyBoolean());
+		verify(connection, never()).rollback();
+	}
+
+	@Test
+	void testCancelBeforeExecuteDoesNotRunQuery() throws Exception {
+		Connection connection = connection(DatabaseDialectEnum.MYSQL.code, true);
+		Statement statement = mock(Statement.class);
+		when(connection.createStatement()).thenReturn(statement);
+		SqlCancellation cancellation = new SqlCancellation();
+		cancellation.cancel();
+
+		SQLException e = assertThrows(SQLException.class,
+				() -> SqlExecutor.executeSqlAndReturnColumnar(connection, null, "select 1", cancellation));
+
+		assertEquals(SqlCancellation.CANCELLED_SQL_STATE, e.getSQLState());
+		verify(statement, never()).executeQuery(anyString());
+		verify(statement, never()).execute(anyString());
+		verify(statement).close();
+	}
+
+	@Test
+	void testKnownDialectSkipsMetadata() throws Exception {
+		Connection connection = mock(Connection.class);
+		Statement statement = mock(Statement.class);
+		when(connection.createStatement()).thenReturn(statement);
+		when(statement.executeQuery(anyString())).thenThrow(new SQLException("boom"));
+
+		assertThrows(SQLException.class, () -> SqlExecutor.executeSqlAndReturnColumnar(connection,
+				DatabaseDialectEnum.POSTGRESQL.code, "sales", "select 1", null, 10));
+
+		verify(statement).execute("set search_path = 'sales';");
+		verify(connection, never()).getMetaData();
+	}
+
+	@Test
+	void testDialectIsReadFromEachConnection() throws Exception {
+		// 连接池可能复用同一个连接包装对象，方言不能按连接对象缓存
+		Connection connection = connection(DatabaseDialectEnum.MYSQL.code, true);
+		assertEquals(DatabaseDialectEnum.MYSQL.code, SqlExecutor.getDialect(connection));
+
+		when(connection.getMetaData().getDatabaseProductName()).thenReturn(DatabaseDialectEnum.POSTGRESQL.code);
+		assertEquals(DatabaseDialectEnum.POSTGRESQL.code, SqlExecutor.getDialect(connection));
+	}
+
+	private static Connection connection(String dialect, boolean autoCommit) throws SQLException {
+		Connection connection = mock(Connection.class);
+		DatabaseMetaData metaData = mock(DatabaseMetaData.class);
+		when(metaData.getDatabaseProductName()).thenReturn(dialect);
+		when(connection.getMetaData()).thenReturn(metaData);
+		when(connection.getAutoCommit()).thenReturn(autoCommit);
+		return connection;
+	}
+
+	private static Statement failingStatement(Connection connection) throws SQLException {
+		Statement statement = mock(Statement.class);
+		when(connection.createStatement(ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)).thenReturn(statement);
+		when(statement.executeQuery(anyString())).thenThrow(new SQLException("boom"));
+		return statement;
+	}
+
+}
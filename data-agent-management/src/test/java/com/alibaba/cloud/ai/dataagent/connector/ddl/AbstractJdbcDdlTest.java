@@ -0,0 +1,64 @@
+/*
+ * Copyright 2024-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.cloud.ai.dataagent.connector.ddl;
+
+import com.alibaba.cloud.ai.dataagent.bo.schema.ColumnInfoBO;
+import com.alibaba.cloud.ai.dataagent.connector.impls.mysql.MysqlJdbcDdl;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * AbstractJdbcDdl批量查询字段的单元测试
+ */
+class AbstractJdbcDdlTest {
+
+	private final AbstractJdbcDdl ddl = new MysqlJdbcDdl();
+
+	private Map<String, List<ColumnInfoBO>> query(List<String> tables, String[][] rows) {
+		return ddl.queryColumnsForTables(tables, tableListStr -> rows,
+				row -> ColumnInfoBO.builder().name(row[1]).build());
+	}
+
+	@Test
+	void testRowsAreMappedBackToRequestedNames() {
+		// 数据库返回的表名大小写与请求不一致，例如 lower_case_table_names=1
+		String[][] rows = { { "table_name", "column_name" }, { "orders", "id" }, { "orders", "amount" },
+				{ "ORDER_ITEMS", "order_id" } };
+
+		Map<String, List<ColumnInfoBO>> columnsByTable = query(List.of("Orders", "order_items"), rows);
+
+		assertEquals(List.of("Orders", "order_items"), List.copyOf(columnsByTable.keySet()));
+		assertEquals(List.of("id", "amount"),
+				columnsByTable.get("Orders").stream().map(ColumnInfoBO::getName).toList());
+		assertEquals(1, columnsByTable.get("order_items").size());
+	}
+
+	@Test
+	void testExactMatchWinsOverCaseInsensitiveMatch() {
+		// 大小写敏感的数据库中可以同时存在仅大小写不同的表
+		String[][] rows = { { "table_name", "column_name" }, { "Orders", "a" }, { "orders", "b" } };
+
+		Map<String, List<ColumnInfoBO>> columnsByTable = query(List.of("Orders", "orders"), rows);
+
+		assertEquals("a", columnsByTable.get("Orders").get(0).getName());
+		assertEquals("b", columnsByTable.get("orders").get(0).getName());
+	}
+
+}
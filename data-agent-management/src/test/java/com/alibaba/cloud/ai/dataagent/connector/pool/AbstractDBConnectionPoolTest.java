@@ -0,0 +1,79 @@
+/*
+ * Copyright 2024-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.cloud.ai.dataagent.connector.pool;
+
+import com.alibaba.cloud.ai.dataagent.bo.DbPoolConfigBO;
+import com.alibaba.cloud.ai.dataagent.connector.impls.mysql.MysqlJdbcConnectionPool;
+import com.alibaba.cloud.ai.dataagent.properties.DataAgentProperties;
+import com.alibaba.druid.pool.DruidDataSource;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * AbstractDBConnectionPool连接池参数的单元测试
+ */
+class AbstractDBConnectionPoolTest {
+
+	private static final String URL = "jdbc:mysql://localhost:3306/test";
+
+	@Test
+	void testDefaultsComeFromProperties() throws Exception {
+		DataAgentProperties properties = new DataAgentProperties();
+		properties.getConnectionPool().setInitialSize(1);
+		properties.getConnectionPool().setMinIdle(2);
+		properties.getConnectionPool().setMaxActive(7);
+		properties.getConnectionPool().setMaxWaitMillis(3000);
+		MysqlJdbcConnectionPool pool = new MysqlJdbcConnectionPool();
+		pool.setDataAgentProperties(properties);
+
+		try (DruidDataSource dataSource = (DruidDataSource) pool.createdDataSource(URL, "user", "pwd")) {
+			assertEquals(1, dataSource.getInitialSize());
+			assertEquals(2, dataSource.getMinIdle());
+			assertEquals(7, dataSource.getMaxActive());
+			assertEquals(3000, dataSource.getMaxWait());
+		}
+	}
+
+	@Test
+	void testDefaultsWithoutProperties() throws Exception {
+		DataAgentProperties.ConnectionPool defaults = new DataAgentProperties.ConnectionPool();
+
+		try (DruidDataSource dataSource = (DruidDataSource) new MysqlJdbcConnectionPool().createdDataSource(URL,
+				"user", "pwd")) {
+			assertEquals(defaults.getInitialSize(), dataSource.getInitialSize());
+			assertEquals(defaults.getMaxActive(), dataSource.getMaxActive());
+		}
+	}
+
+	@Test
+	void testDatasourcePoolConfigWins() throws Exception {
+		MysqlJdbcConnectionPool pool = new MysqlJdbcConnectionPool();
+		pool.setDataAgentProperties(new DataAgentProperties());
+		DbPoolConfigBO poolConfig = DbPoolConfigBO.builder()
+			.initialSize(0)
+			.minIdle(1)
+			.maxActive(3)
+			.maxWaitMillis(500)
+			.build();
+
+		try (DruidDataSource dataSource = (DruidDataSource) pool.createdDataSource(URL, "user", "pwd", poolConfig)) {
+			assertEquals(3, dataSource.getMaxActive());
+			assertEquals(500, dataSource.getMaxWait());
+		}
+	}
+
+}
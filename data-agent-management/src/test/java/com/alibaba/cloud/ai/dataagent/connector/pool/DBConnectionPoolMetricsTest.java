@@ -0,0 +1,101 @@
+/*
+ * Copyright 2024-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.cloud.ai.dataagent.connector.pool;
+
+import com.alibaba.cloud.ai.dataagent.bo.DbPoolStatsBO;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * DBConnectionPoolMetrics的单元测试
+ */
+class DBConnectionPoolMetricsTest {
+
+	@Test
+	void testRefreshPublishesCurrentPools() {
+		SimpleMeterRegistry registry = new SimpleMeterRegistry();
+		PooledDataSourceCache cache = mock(PooledDataSourceCache.class);
+		DbPoolStatsBO stats = DbPoolStatsBO.builder()
+			.datasourceId(1)
+			.url("jdbc:mysql://db-host:3306/sales")
+			.username("user")
+			.activeCount(2)
+			.idleCount(3)
+			.waitThreadCount(1)
+			.avgAcquireMillis(1.5)
+			.maxAcquireMillis(4)
+			.build();
+		when(cache.getPoolStats()).thenReturn(List.of(stats));
+		DBConnectionPoolMetrics metrics = new DBConnectionPoolMetrics(cache, registry);
+
+		metrics.refresh();
+
+		assertEquals(2, gauge(registry, "active"));
+		assertEquals(3, gauge(registry, "idle"));
+		assertEquals(1, gauge(registry, "wait"));
+		assertEquals(1.5, gauge(registry, "acquire.avg"));
+		assertEquals(4, gauge(registry, "acquire.max"));
+		// 不以连接串和用户名作为标签，避免泄露主机地址和标签基数过高
+		assertTrue(registry.getMeters()
+			.stream()
+			.flatMap(meter -> meter.getId().getTags().stream())
+			.noneMatch(tag -> tag.getKey().equals("url") || tag.getKey().equals("username")));
+	}
+
+	@Test
+	void testPoolsOfSameDatasourceAreFolded() {
+		SimpleMeterRegistry registry = new SimpleMeterRegistry();
+		PooledDataSourceCache cache = mock(PooledDataSourceCache.class);
+		// 同一数据源修改密码后新旧连接池短暂共存
+		when(cache.getPoolStats()).thenReturn(List.of(
+				DbPoolStatsBO.builder().datasourceId(1).url("jdbc:a").activeCount(1).maxAcquireMillis(4).build(),
+				DbPoolStatsBO.builder().datasourceId(1).url("jdbc:a").activeCount(2).maxAcquireMillis(9).build()));
+		DBConnectionPoolMetrics metrics = new DBConnectionPoolMetrics(cache, registry);
+
+		metrics.refresh();
+
+		assertEquals(3, gauge(registry, "active"));
+		assertEquals(9, gauge(registry, "acquire.max"));
+	}
+
+	@Test
+	void testRefreshDropsClosedPools() {
+		SimpleMeterRegistry registry = new SimpleMeterRegistry();
+		PooledDataSourceCache cache = mock(PooledDataSourceCache.class);
+		when(cache.getPoolStats())
+			.thenReturn(List.of(DbPoolStatsBO.builder().datasourceId(1).url("jdbc:a").activeCount(1).build()))
+			.thenReturn(List.of());
+		DBConnectionPoolMetrics metrics = new DBConnectionPoolMetrics(cache, registry);
+
+		metrics.refresh();
+		metrics.refresh();
+
+		assertTrue(registry.find("data-agent.datasource.pool.active").gauges().isEmpty());
+	}
+
+	private static double gauge(SimpleMeterRegistry registry, String name) {
+		return registry.get("data-agent.datasource.pool." + name)
+			.tag("datasource_id", "1")
+			.gauge()
+			.value();
+	}
+
+}
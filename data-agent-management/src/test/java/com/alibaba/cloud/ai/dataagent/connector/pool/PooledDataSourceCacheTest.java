@@ -0,0 +1,127 @@
+/*
+ * Copyright 2024-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.cloud.ai.dataagent.connector.pool;
+
+import com.alibaba.druid.pool.DruidDataSource;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * PooledDataSourceCache的单元测试
+ */
+class PooledDataSourceCacheTest {
+
+	@Test
+	void testEvictIdleClosesOnlyIdlePools() throws Exception {
+		PooledDataSourceCache cache = new PooledDataSourceCache(0, 10);
+		DruidDataSource idle = dataSource(0);
+		DruidDataSource active = dataSource(1);
+		add(cache, "a", "jdbc:a", idle);
+		add(cache, "b", "jdbc:b", active);
+		Thread.sleep(5);
+
+		assertEquals(1, cache.evictIdle());
+
+		verify(idle).close();
+		verify(active, never()).close();
+		assertEquals(1, cache.size());
+	}
+
+	@Test
+	void testEvictIdleKeepsRecentlyUsedPools() {
+		PooledDataSourceCache cache = new PooledDataSourceCache(TimeUnit.MINUTES.toMillis(30), 10);
+		DruidDataSource dataSource = dataSource(0);
+		add(cache, "a", "jdbc:a", dataSource);
+
+		assertEquals(0, cache.evictIdle());
+
+		verify(dataSource, never()).close();
+		assertEquals(1, cache.size());
+	}
+
+	@Test
+	void testEvictLeastRecentlyUsed() throws Exception {
+		PooledDataSourceCache cache = new PooledDataSourceCache(TimeUnit.MINUTES.toMillis(30), 2);
+		DruidDataSource first = dataSource(0);
+		DruidDataSource second = dataSource(0);
+		DruidDataSource third = dataSource(0);
+		PooledDataSource firstPooled = add(cache, "a", "jdbc:a", first);
+		Thread.sleep(5);
+		add(cache, "b", "jdbc:b", second);
+		Thread.sleep(5);
+		add(cache, "c", "jdbc:c", third);
+		Thread.sleep(5);
+		firstPooled.getConnection();
+
+		assertEquals(1, cache.evictLeastRecentlyUsed());
+
+		verify(second).close();
+		verify(first, never()).close();
+		verify(third, never()).close();
+		assertEquals(2, cache.size());
+		assertEquals(0, cache.evictLeastRecentlyUsed());
+	}
+
+	@Test
+	void testEvictLeastRecentlyUsedSkipsActivePools() throws Exception {
+		PooledDataSourceCache cache = new PooledDataSourceCache(TimeUnit.MINUTES.toMillis(30), 1);
+		DruidDataSource active = dataSource(1);
+		DruidDataSource idle = dataSource(0);
+		add(cache, "a", "jdbc:a", active);
+		Thread.sleep(5);
+		add(cache, "b", "jdbc:b", idle);
+
+		assertEquals(1, cache.evictLeastRecentlyUsed());
+
+		verify(idle).close();
+		verify(active, never()).close();
+	}
+
+	@Test
+	void testInvalidateClosesPoolsOfUrlAndUsername() {
+		PooledDataSourceCache cache = new PooledDataSourceCache(TimeUnit.MINUTES.toMillis(30), 10);
+		DruidDataSource oldPassword = dataSource(0);
+		DruidDataSource newPassword = dataSource(0);
+		DruidDataSource other = dataSource(0);
+		add(cache, "a|1", "jdbc:a", oldPassword);
+		add(cache, "a|2", "jdbc:a", newPassword);
+		add(cache, "b|1", "jdbc:b", other);
+
+		assertEquals(2, cache.invalidate("jdbc:a", "user"));
+
+		verify(oldPassword).close();
+		verify(newPassword).close();
+		verify(other, never()).close();
+		assertEquals(1, cache.size());
+		assertEquals("jdbc:b", cache.getPoolStats().get(0).getUrl());
+	}
+
+	private static PooledDataSource add(PooledDataSourceCache cache, String key, String url,
+			DruidDataSource dataSource) {
+		return cache.computeIfAbsent(key, k -> new PooledDataSource(null, url, "user", dataSource));
+	}
+
+	private static DruidDataSource dataSource(int activeCount) {
+		DruidDataSource dataSource = mock(DruidDataSource.class);
+		when(dataSource.getActiveCount()).thenReturn(activeCount);
+		return dataSource;
+	}
+
+}
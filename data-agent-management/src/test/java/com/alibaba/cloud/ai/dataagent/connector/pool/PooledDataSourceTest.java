@@ -0,0 +1,82 @@
+/*
+ * Copyright 2024-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.cloud.ai.dataagent.connector.pool;
+
+import com.alibaba.cloud.ai.dataagent.bo.DbPoolStatsBO;
+import com.alibaba.druid.pool.DruidDataSource;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * PooledDataSource的单元测试
+ */
+class PooledDataSourceTest {
+
+	@Test
+	void testGetConnectionRecordsAcquisition() throws Exception {
+		DruidDataSource dataSource = mock(DruidDataSource.class);
+		Connection connection = mock(Connection.class);
+		when(dataSource.getConnection()).thenReturn(connection);
+		when(dataSource.getActiveCount()).thenReturn(2);
+		when(dataSource.getPoolingCount()).thenReturn(3);
+		when(dataSource.getWaitThreadCount()).thenReturn(1);
+		when(dataSource.getMaxActive()).thenReturn(20);
+		PooledDataSource pooled = new PooledDataSource(1, "jdbc:a", "user", dataSource);
+
+		assertSame(connection, pooled.getConnection());
+		pooled.getConnection();
+		DbPoolStatsBO stats = pooled.toStats();
+
+		assertEquals(1, stats.getDatasourceId());
+		assertEquals("jdbc:a", stats.getUrl());
+		assertEquals("user", stats.getUsername());
+		assertEquals(2, stats.getActiveCount());
+		assertEquals(3, stats.getIdleCount());
+		assertEquals(1, stats.getWaitThreadCount());
+		assertEquals(20, stats.getMaxActive());
+		assertEquals(2, stats.getAcquireCount());
+		assertTrue(stats.getAvgAcquireMillis() >= 0);
+		assertTrue(stats.getMaxAcquireMillis() >= 0);
+	}
+
+	@Test
+	void testStatsBeforeFirstBorrow() {
+		PooledDataSource pooled = new PooledDataSource(1, "jdbc:a", "user", mock(DruidDataSource.class));
+
+		DbPoolStatsBO stats = pooled.toStats();
+
+		assertEquals(0, stats.getAcquireCount());
+		assertEquals(0, stats.getAvgAcquireMillis());
+	}
+
+	@Test
+	void testIsIdle() {
+		DruidDataSource dataSource = mock(DruidDataSource.class);
+		PooledDataSource pooled = new PooledDataSource(1, "jdbc:a", "user", dataSource);
+		long now = pooled.getLastAccessMillis();
+
+		assertFalse(pooled.isIdle(now + 100, 500));
+		assertTrue(pooled.isIdle(now + 1000, 500));
+
+		when(dataSource.getActiveCount()).thenReturn(1);
+		assertFalse(pooled.isIdle(now + 1000, 500));
+	}
+
+}
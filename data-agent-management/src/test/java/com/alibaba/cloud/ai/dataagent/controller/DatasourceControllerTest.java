@@ -0,0 +1,45 @@
+/*
+ * Copyright 2024-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.cloud.ai.dataagent.controller;
+
+import com.alibaba.cloud.ai.dataagent.bo.DbPoolStatsBO;
+import com.alibaba.cloud.ai.dataagent.service.datasource.DatasourceService;
+import com.alibaba.cloud.ai.dataagent.vo.ApiResponse;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * DatasourceController的单元测试
+ */
+class DatasourceControllerTest {
+
+	@Test
+	void testGetPoolStats() {
+		DatasourceService datasourceService = mock(DatasourceService.class);
+		List<DbPoolStatsBO> stats = List.of(DbPoolStatsBO.builder().url("jdbc:a").username("user").build());
+		when(datasourceService.getPoolStats()).thenReturn(stats);
+
+		ApiResponse<List<DbPoolStatsBO>> response = new DatasourceController(datasourceService).getPoolStats();
+
+		assertTrue(response.isSuccess());
+		assertEquals(stats, response.getData());
+	}
+
+}
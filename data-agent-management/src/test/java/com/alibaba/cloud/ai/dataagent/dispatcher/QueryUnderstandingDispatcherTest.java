@@ -0,0 +1,83 @@
+/*
+ * Copyright 2024-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.cloud.ai.dataagent.dispatcher;
+
+import com.alibaba.cloud.ai.dataagent.dto.prompt.QueryUnderstandingOutputDTO;
+import com.alibaba.cloud.ai.dataagent.workflow.dispatcher.QueryUnderstandingDispatcher;
+import com.alibaba.cloud.ai.graph.OverAllState;
+import com.alibaba.cloud.ai.graph.state.strategy.ReplaceStrategy;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static com.alibaba.cloud.ai.dataagent.constant.Constant.*;
+import static com.alibaba.cloud.ai.graph.StateGraph.END;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class QueryUnderstandingDispatcherTest {
+
+	private QueryUnderstandingDispatcher dispatcher;
+
+	private OverAllState state;
+
+	@BeforeEach
+	void setUp() {
+		dispatcher = new QueryUnderstandingDispatcher();
+
+		state = new OverAllState();
+		state.registerKeyAndStrategy(QUERY_UNDERSTANDING_NODE_OUTPUT, new ReplaceStrategy());
+	}
+
+	private static QueryUnderstandingOutputDTO output(String classification, String canonicalQuery,
+			List<String> expandedQueries) {
+		QueryUnderstandingOutputDTO output = new QueryUnderstandingOutputDTO();
+		output.setClassification(classification);
+		output.setStandaloneQuery(canonicalQuery);
+		output.setCanonicalQuery(canonicalQuery);
+		output.setExpandedQueries(expandedQueries);
+		return output;
+	}
+
+	@Test
+	void testDataAnalysisRequest() throws Exception {
+		state.updateState(Map.of(QUERY_UNDERSTANDING_NODE_OUTPUT,
+				output("《可能的数据分析请求》", "查询2025年10月的订单总额", List.of("2025年10月订单金额合计"))));
+
+		assertEquals(EVIDENCE_RECALL_NODE, dispatcher.apply(state));
+	}
+
+	@Test
+	void testChat() throws Exception {
+		state.updateState(Map.of(QUERY_UNDERSTANDING_NODE_OUTPUT, output("《闲聊或无关指令》", "", List.of())));
+
+		assertEquals(END, dispatcher.apply(state));
+	}
+
+	@Test
+	void testMissingEnhancedQuery() throws Exception {
+		state.updateState(Map.of(QUERY_UNDERSTANDING_NODE_OUTPUT, output("《可能的数据分析请求》", "", List.of())));
+
+		assertEquals(END, dispatcher.apply(state));
+	}
+
+	@Test
+	void testNoOutput() throws Exception {
+		assertEquals(END, dispatcher.apply(state));
+	}
+
+}
@@ -62,6 +62,9 @@ public class MappersTest {
 	@Autowired
 	private BusinessKnowledgeMapper businessKnowledgeMapper;
 
+	@Autowired
+	private AgentSchemaFingerprintMapper agentSchemaFingerprintMapper;
+
 	private Long createAgent(String name) {
 		Agent agent = Agent.builder()
 			.name(name)
@@ -263,4 +266,23 @@ public class MappersTest {
 		agentMapper.deleteById(agentId);
 	}
 
+	@Test
+	public void testAgentSchemaFingerprintCrud() {
+		Integer agentId = createAgent("fingerprint-holder").intValue();
+		int ins = agentSchemaFingerprintMapper.batchInsert(List.of(new AgentSchemaFingerprint(agentId, "t_a", "fa"),
+				new AgentSchemaFingerprint(agentId, "t_b", "fb")));
+		Assertions.assertEquals(2, ins);
+		Assertions.assertEquals(2, agentSchemaFingerprintMapper.selectByAgentId(agentId).size());
+
+		int del = agentSchemaFingerprintMapper.deleteByAgentIdAndTables(agentId, List.of("t_a"));
+		Assertions.assertEquals(1, del);
+		List<AgentSchemaFingerprint> remaining = agentSchemaFingerprintMapper.selectByAgentId(agentId);
+		Assertions.assertEquals(1, remaining.size());
+		Assertions.assertEquals("fb", remaining.get(0).getFingerprint());
+
+		agentSchemaFingerprintMapper.deleteByAgentId(agentId);
+		Assertions.assertTrue(agentSchemaFingerprintMapper.selectByAgentId(agentId).isEmpty());
+		agentMapper.deleteById(agentId.longValue());
+	}
+
 }
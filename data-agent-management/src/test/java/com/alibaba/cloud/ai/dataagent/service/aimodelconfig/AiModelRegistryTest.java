@@ -0,0 +1,112 @@
+/*
+ * Copyright 2024-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.cloud.ai.dataagent.service.aimodelconfig;
+
+import com.alibaba.cloud.ai.dataagent.dto.ModelConfigDTO;
+import com.alibaba.cloud.ai.dataagent.enums.ModelType;
+import com.alibaba.cloud.ai.dataagent.properties.DataAgentProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.ai.chat.client.ChatClient;
+import org.springframework.ai.chat.model.ChatModel;
+
+import java.util.List;
+
+import static com.alibaba.cloud.ai.dataagent.constant.Constant.*;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * AiModelRegistry按节点分配对话模型的单元测试
+ */
+class AiModelRegistryTest {
+
+	private ModelConfigDataService modelConfigDataService;
+
+	private DynamicModelFactory modelFactory;
+
+	private AiModelRegistry registry;
+
+	@BeforeEach
+	void setUp() {
+		modelConfigDataService = mock(ModelConfigDataService.class);
+		modelFactory = mock(DynamicModelFactory.class);
+		when(modelFactory.createChatModel(any(ModelConfigDTO.class))).thenAnswer(invocation -> mock(ChatModel.class));
+		when(modelConfigDataService.getPooledConfigsByType(any(ModelType.class))).thenReturn(List.of());
+		when(modelConfigDataService.getPooledConfigsByType(ModelType.CHAT)).thenReturn(List.of(config(1, "CHAT")));
+		registry = new AiModelRegistry(modelFactory, modelConfigDataService, mock(EmbeddingCache.class),
+				new DataAgentProperties());
+	}
+
+	private static ModelConfigDTO config(int id, String modelType) {
+		return ModelConfigDTO.builder()
+			.id(id)
+			.provider("openai")
+			.baseUrl("https://api.example.com")
+			.modelName("model-" + id)
+			.modelType(modelType)
+			.temperature(0.0)
+			.isActive(true)
+			.poolWeight(0)
+			.build();
+	}
+
+	@Test
+	void testNodesAreAssignedModelTypes() {
+		assertEquals(ModelType.CLASSIFY, registry.getModelType(INTENT_RECOGNITION_NODE));
+		assertEquals(ModelType.CLASSIFY, registry.getModelType(JSON_FIX_CALLER));
+		assertEquals(ModelType.SQL, registry.getModelType(SQL_GENERATE_NODE));
+		assertEquals(ModelType.PLAN, registry.getModelType(PLANNER_NODE));
+		assertEquals(ModelType.REPORT, registry.getModelType(REPORT_GENERATOR_NODE));
+		assertEquals(ModelType.CHAT, registry.getModelType(PYTHON_GENERATE_NODE));
+		assertEquals(ModelType.CHAT, registry.getModelType(null));
+	}
+
+	@Test
+	void testModelTypeWithoutActiveConfigFallsBackToChat() {
+		ChatClient chatClient = registry.getChatClient();
+
+		assertSame(chatClient, registry.getChatClient(ModelType.CLASSIFY));
+		assertEquals(registry.getChatModelKey(), registry.getChatModelKey(ModelType.CLASSIFY));
+		// 回退结果被缓存，不会每次调用都查询配置
+		registry.getChatClient(ModelType.CLASSIFY);
+		verify(modelConfigDataService, times(1)).getPooledConfigsByType(ModelType.CLASSIFY);
+	}
+
+	@Test
+	void testActiveConfigOfModelTypeIsUsed() {
+		when(modelConfigDataService.getPooledConfigsByType(ModelType.SQL)).thenReturn(List.of(config(2, "SQL")));
+
+		ChatClient sqlClient = registry.getChatClient(ModelType.SQL);
+
+		assertNotSame(registry.getChatClient(), sqlClient);
+		assertTrue(registry.getChatModelKey(ModelType.SQL).startsWith("2|"));
+		assertTrue(registry.getChatModelKey().startsWith("1|"));
+	}
+
+	@Test
+	void testRefreshChatReloadsModelTypes() {
+		ChatClient before = registry.getChatClient(ModelType.PLAN);
+
+		registry.refreshChat();
+		when(modelConfigDataService.getPooledConfigsByType(ModelType.PLAN)).thenReturn(List.of(config(3, "PLAN")));
+
+		assertNotSame(before, registry.getChatClient(ModelType.PLAN));
+		assertTrue(registry.getChatModelKey(ModelType.PLAN).startsWith("3|"));
+	}
+
+}
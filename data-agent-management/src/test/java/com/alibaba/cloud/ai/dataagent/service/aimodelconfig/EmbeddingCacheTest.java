@@ -0,0 +1,113 @@
+/*
+ * Copyright 2024-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.cloud.ai.dataagent.service.aimodelconfig;
+
+import com.alibaba.cloud.ai.dataagent.dto.ModelConfigDTO;
+import com.alibaba.cloud.ai.dataagent.properties.DataAgentProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.ai.embedding.EmbeddingModel;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * EmbeddingCache的单元测试
+ */
+class EmbeddingCacheTest {
+
+	private DataAgentProperties properties;
+
+	private EmbeddingCache cache;
+
+	private final AtomicInteger loads = new AtomicInteger();
+
+	@BeforeEach
+	void setUp() {
+		properties = new DataAgentProperties();
+		cache = new EmbeddingCache(properties, new SimpleMeterRegistry());
+	}
+
+	private float[] load() {
+		loads.incrementAndGet();
+		return new float[] { 1f, 2f };
+	}
+
+	@Test
+	void testSameTextIsEmbeddedOnce() {
+		float[] first = cache.get("m1", "订单总额", this::load);
+		first[0] = 42f;
+		float[] second = cache.get("m1", "订单总额", this::load);
+
+		assertEquals(1, loads.get());
+		// 返回副本，调用方修改不影响缓存
+		assertArrayEquals(new float[] { 1f, 2f }, second);
+	}
+
+	@Test
+	void testKeyIncludesModel() {
+		cache.get("m1", "订单总额", this::load);
+		cache.get("m2", "订单总额", this::load);
+		cache.get("m1", "订单数量", this::load);
+
+		assertEquals(3, loads.get());
+	}
+
+	@Test
+	void testEvictsLeastRecentlyUsed() {
+		properties.getEmbeddingCache().setMaxEntries(2);
+		cache = new EmbeddingCache(properties, new SimpleMeterRegistry());
+		cache.get("m1", "a", this::load);
+		cache.get("m1", "b", this::load);
+		cache.get("m1", "a", this::load);
+		cache.get("m1", "c", this::load);
+
+		assertEquals(2, cache.size());
+		cache.get("m1", "a", this::load);
+		assertEquals(3, loads.get());
+		cache.get("m1", "b", this::load);
+		assertEquals(4, loads.get());
+	}
+
+	@Test
+	void testInvalidateAll() {
+		cache.get("m1", "a", this::load);
+		cache.invalidateAll();
+		cache.get("m1", "a", this::load);
+
+		assertEquals(2, loads.get());
+	}
+
+	@Test
+	void testWrapCachesOnlyTextEmbeddings() {
+		EmbeddingModel delegate = mock(EmbeddingModel.class);
+		when(delegate.embed("订单总额")).thenReturn(new float[] { 1f });
+		ModelConfigDTO config = ModelConfigDTO.builder().id(1).provider("openai").modelName("text-embedding").build();
+		EmbeddingModel model = cache.wrap(delegate, config);
+
+		model.embed("订单总额");
+		model.embed("订单总额");
+
+		verify(delegate, times(1)).embed("订单总额");
+
+		properties.getEmbeddingCache().setEnabled(false);
+		assertSame(delegate, new EmbeddingCache(properties, new SimpleMeterRegistry()).wrap(delegate, config));
+	}
+
+}
@@ -0,0 +1,131 @@
+/*
+ * Copyright 2024-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.cloud.ai.dataagent.service.aimodelconfig;
+
+import com.alibaba.cloud.ai.dataagent.properties.DataAgentProperties;
+import org.junit.jupiter.api.Test;
+import org.springframework.ai.chat.model.ChatModel;
+import org.springframework.ai.chat.model.ChatResponse;
+import org.springframework.ai.chat.prompt.Prompt;
+import org.springframework.ai.retry.NonTransientAiException;
+import org.springframework.ai.retry.TransientAiException;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * PooledChatModel的单元测试
+ */
+class PooledChatModelTest {
+
+	private final DataAgentProperties.ChatPool config = new DataAgentProperties.ChatPool();
+
+	private final ChatResponse response = new ChatResponse(List.of());
+
+	private final Prompt prompt = new Prompt("你好");
+
+	@Test
+	void testWeightedRoundRobinFollowsWeights() {
+		ChatModel a = mock(ChatModel.class);
+		ChatModel b = mock(ChatModel.class);
+		when(a.call(any(Prompt.class))).thenReturn(response);
+		when(b.call(any(Prompt.class))).thenReturn(response);
+		PooledChatModel pool = new PooledChatModel(
+				List.of(new PooledChatModel.Endpoint("a", a, 3, 0), new PooledChatModel.Endpoint("b", b, 1, 0)),
+				config);
+
+		for (int i = 0; i < 8; i++) {
+			pool.call(prompt);
+		}
+
+		verify(a, times(6)).call(any(Prompt.class));
+		verify(b, times(2)).call(any(Prompt.class));
+	}
+
+	@Test
+	void testRateLimitedEndpointIsEjected() {
+		ChatModel a = mock(ChatModel.class);
+		ChatModel b = mock(ChatModel.class);
+		when(a.call(any(Prompt.class))).thenThrow(new RuntimeException("HTTP 429 - Too Many Requests"));
+		when(b.call(any(Prompt.class))).thenReturn(response);
+		PooledChatModel pool = new PooledChatModel(
+				List.of(new PooledChatModel.Endpoint("a", a, 1, 0), new PooledChatModel.Endpoint("b", b, 1, 0)),
+				config);
+
+		assertThrows(RuntimeException.class, () -> pool.call(prompt));
+		for (int i = 0; i < 4; i++) {
+			assertSame(response, pool.call(prompt));
+		}
+
+		// 429 后立即摘除，冷却期内不再分配到该配置
+		verify(a, times(1)).call(any(Prompt.class));
+		verify(b, times(4)).call(any(Prompt.class));
+	}
+
+	@Test
+	void testOnlyEndpointFailuresCount() {
+		ChatModel a = mock(ChatModel.class);
+		when(a.call(any(Prompt.class))).thenThrow(new NonTransientAiException("400 - invalid request"));
+		ChatModel b = mock(ChatModel.class);
+		when(b.call(any(Prompt.class))).thenThrow(new TransientAiException("503 - service unavailable"));
+		config.setFailureThreshold(2);
+		PooledChatModel pool = new PooledChatModel(
+				List.of(new PooledChatModel.Endpoint("a", a, 1, 0), new PooledChatModel.Endpoint("b", b, 1, 0)),
+				config);
+
+		for (int i = 0; i < 6; i++) {
+			assertThrows(RuntimeException.class, () -> pool.call(prompt));
+		}
+
+		// b 连续两次5xx后被摘除，a 的400不计入失败次数，此后请求都分配到 a
+		verify(b, times(2)).call(any(Prompt.class));
+		verify(a, times(4)).call(any(Prompt.class));
+	}
+
+	@Test
+	void testBusyEndpointOverflowsToNextEndpoint() throws Exception {
+		ChatModel a = mock(ChatModel.class);
+		ChatModel b = mock(ChatModel.class);
+		CountDownLatch started = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		when(a.call(any(Prompt.class))).thenAnswer(invocation -> {
+			started.countDown();
+			release.await(5, TimeUnit.SECONDS);
+			return response;
+		});
+		when(b.call(any(Prompt.class))).thenReturn(response);
+		PooledChatModel pool = new PooledChatModel(
+				List.of(new PooledChatModel.Endpoint("a", a, 10, 1), new PooledChatModel.Endpoint("b", b, 1, 0)),
+				config);
+
+		CompletableFuture<ChatResponse> blocked = CompletableFuture.supplyAsync(() -> pool.call(prompt));
+		assertTrue(started.await(5, TimeUnit.SECONDS));
+
+		// a 的权重更高但已达到并发上限，请求分配到 b
+		pool.call(prompt);
+		verify(b, times(1)).call(any(Prompt.class));
+
+		release.countDown();
+		assertSame(response, blocked.get(5, TimeUnit.SECONDS));
+	}
+
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright 2024-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.cloud.ai.dataagent.service.datasource;
+
+import com.alibaba.cloud.ai.dataagent.bo.DbConfigBO;
+import com.alibaba.cloud.ai.dataagent.bo.DbPoolConfigBO;
+import com.alibaba.cloud.ai.dataagent.connector.QueryResultCache;
+import com.alibaba.cloud.ai.dataagent.connector.accessor.AccessorFactory;
+import com.alibaba.cloud.ai.dataagent.connector.pool.DBConnectionPoolFactory;
+import com.alibaba.cloud.ai.dataagent.connector.pool.PooledDataSourceCache;
+import com.alibaba.cloud.ai.dataagent.entity.Datasource;
+import com.alibaba.cloud.ai.dataagent.mapper.AgentDatasourceMapper;
+import com.alibaba.cloud.ai.dataagent.mapper.DatasourceMapper;
+import com.alibaba.cloud.ai.dataagent.mapper.LogicalRelationMapper;
+import com.alibaba.cloud.ai.dataagent.properties.DataAgentProperties;
+import com.alibaba.cloud.ai.dataagent.service.datasource.handler.DatasourceTypeHandler;
+import com.alibaba.cloud.ai.dataagent.service.datasource.handler.registry.DatasourceTypeHandlerRegistry;
+import com.alibaba.cloud.ai.dataagent.service.datasource.impl.DatasourceServiceImpl;
+import com.alibaba.cloud.ai.dataagent.service.schema.TableSampler;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * DatasourceServiceImpl的单元测试
+ */
+class DatasourceServiceImplTest {
+
+	private DataAgentProperties properties;
+
+	private DatasourceServiceImpl datasourceService;
+
+	@BeforeEach
+	void setUp() {
+		properties = new DataAgentProperties();
+		properties.getConnectionPool().setInitialSize(2);
+		properties.getConnectionPool().setMinIdle(3);
+		properties.getConnectionPool().setMaxActive(30);
+		properties.getConnectionPool().setMaxWaitMillis(4000);
+		DatasourceTypeHandler handler = mock(DatasourceTypeHandler.class);
+		when(handler.toDbConfig(any())).thenAnswer(invocation -> new DbConfigBO());
+		DatasourceTypeHandlerRegistry registry = mock(DatasourceTypeHandlerRegistry.class);
+		when(registry.getRequired("mysql")).thenReturn(handler);
+		datasourceService = new DatasourceServiceImpl(mock(DatasourceMapper.class), mock(AgentDatasourceMapper.class),
+				mock(LogicalRelationMapper.class), mock(DBConnectionPoolFactory.class), mock(AccessorFactory.class),
+				registry, properties, mock(QueryResultCache.class), mock(TableSampler.class),
+				mock(PooledDataSourceCache.class));
+	}
+
+	@Test
+	void testPoolConfigFallsBackToGlobalDefaults() {
+		Datasource datasource = Datasource.builder().type("mysql").build();
+
+		DbPoolConfigBO poolConfig = datasourceService.getDbConfig(datasource).getPoolConfig();
+
+		assertEquals(2, poolConfig.getInitialSize());
+		assertEquals(3, poolConfig.getMinIdle());
+		assertEquals(30, poolConfig.getMaxActive());
+		assertEquals(4000, poolConfig.getMaxWaitMillis());
+	}
+
+	@Test
+	void testPoolConfigOverridesPerDatasource() {
+		Datasource datasource = Datasource.builder().type("mysql").poolMaxActive(50).poolMaxWaitMillis(1000L).build();
+
+		DbPoolConfigBO poolConfig = datasourceService.getDbConfig(datasource).getPoolConfig();
+
+		assertEquals(2, poolConfig.getInitialSize());
+		assertEquals(3, poolConfig.getMinIdle());
+		assertEquals(50, poolConfig.getMaxActive());
+		assertEquals(1000, poolConfig.getMaxWaitMillis());
+	}
+
+	@Test
+	void testResultCacheEnabledOnlyWhenSet() {
+		assertFalse(datasourceService.getDbConfig(Datasource.builder().type("mysql").build()).isResultCacheEnabled());
+		assertTrue(datasourceService.getDbConfig(Datasource.builder().type("mysql").resultCacheEnabled(1).build())
+			.isResultCacheEnabled());
+	}
+
+}
@@ -0,0 +1,154 @@
+/*
+ * Copyright 2024-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.cloud.ai.dataagent.service.graph;
+
+import com.alibaba.cloud.ai.dataagent.prompt.PromptHelper;
+import com.alibaba.cloud.ai.dataagent.properties.DataAgentProperties;
+import com.alibaba.cloud.ai.dataagent.service.graph.Context.SpeculativeRecallManager;
+import com.alibaba.cloud.ai.dataagent.service.graph.Context.SpeculativeRecallManager.SchemaRecall;
+import com.alibaba.cloud.ai.dataagent.service.llm.LlmService;
+import com.alibaba.cloud.ai.dataagent.service.schema.SchemaService;
+import com.alibaba.cloud.ai.dataagent.util.ChatResponseUtil;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.ai.chat.model.ChatResponse;
+import org.springframework.ai.document.Document;
+import reactor.core.publisher.Flux;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static com.alibaba.cloud.ai.dataagent.constant.Constant.EVIDENCE_RECALL_NODE;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * SpeculativeRecallManager的单元测试
+ */
+class SpeculativeRecallManagerTest {
+
+	private LlmService llmService;
+
+	private SchemaService schemaService;
+
+	private ExecutorService executor;
+
+	private SpeculativeRecallManager manager;
+
+	@BeforeEach
+	void setUp() {
+		DataAgentProperties properties = new DataAgentProperties();
+		properties.setSpeculativeRecallEnabled(true);
+		llmService = mock(LlmService.class);
+		schemaService = mock(SchemaService.class);
+		executor = Executors.newSingleThreadExecutor();
+		manager = new SpeculativeRecallManager(properties, llmService, schemaService, executor);
+
+		when(llmService.callUserCached(eq(EVIDENCE_RECALL_NODE), eq("1"), anyString(), anyString(), anyString()))
+			.thenReturn(Flux.just(ChatResponseUtil.createPureResponse("{\"standalone_query\":\"订单总额\"}")));
+		Document table = new Document("orders", Map.of("name", "orders"));
+		when(schemaService.getTableDocumentsForAgent("1", "订单总额是多少")).thenReturn(List.of(table));
+		when(schemaService.getColumnDocumentsByTableName("1", List.of("orders"))).thenReturn(List.of());
+	}
+
+	@AfterEach
+	void tearDown() {
+		executor.shutdownNow();
+	}
+
+	@Test
+	void testEvidenceRewriteIsStartedOnce() {
+		manager.start("t1", "1", "订单总额是多少", "(无)");
+		String prompt = PromptHelper.buildEvidenceQueryRewritePrompt("(无)", "订单总额是多少");
+
+		Flux<ChatResponse> rewrite = manager.takeEvidenceRewrite("t1", prompt);
+
+		assertNotNull(rewrite);
+		assertEquals("{\"standalone_query\":\"订单总额\"}",
+				rewrite.map(ChatResponseUtil::getText).collectList().block().get(0));
+		assertNull(manager.takeEvidenceRewrite("t1", "other prompt"));
+		assertNull(manager.takeEvidenceRewrite("t2", prompt));
+		verify(llmService, times(1)).callUserCached(eq(EVIDENCE_RECALL_NODE), eq("1"), anyString(), anyString(),
+				anyString());
+	}
+
+	@Test
+	void testSchemaRecallIsReusedForMatchingQuery() {
+		manager.start("t1", "1", "订单总额是多少", "(无)");
+		SchemaRecall recall = manager.takeSchemaRecall("t1", "1", "订单总额是多少？");
+
+		assertNotNull(recall);
+		assertEquals(List.of("orders"), recall.tableNames());
+		// 只能取出一次，证据查询重写仍可使用
+		assertNull(manager.takeSchemaRecall("t1", "1", "订单总额是多少"));
+		assertNotNull(manager.takeEvidenceRewrite("t1",
+				PromptHelper.buildEvidenceQueryRewritePrompt("(无)", "订单总额是多少")));
+
+		// 增强后的问题与原始问题相近时同样复用
+		manager.start("t1", "1", "订单总额是多少", "(无)");
+		assertNotNull(manager.takeSchemaRecall("t1", "1", "订单总额是多少呢"));
+		verify(schemaService, times(2)).getTableDocumentsForAgent("1", "订单总额是多少");
+	}
+
+	@Test
+	void testSchemaRecallIsDiscardedForRewrittenQuery() {
+		manager.start("t1", "1", "订单总额是多少", "(无)");
+
+		assertNull(manager.takeSchemaRecall("t1", "1", "查询2024年每个月订单的总金额"));
+		// 已丢弃，即使再次以原始问题获取也不可用
+		assertNull(manager.takeSchemaRecall("t1", "1", "订单总额是多少"));
+
+		manager.start("t1", "1", "订单总额是多少", "(无)");
+		assertNull(manager.takeSchemaRecall("t1", "2", "订单总额是多少"));
+	}
+
+	@Test
+	void testNewTurnReplacesPreviousRewrite() {
+		manager.start("t1", "1", "订单总额是多少", "(无)");
+		manager.start("t1", "1", "按月统计订单总额", "(无)");
+
+		assertNull(manager.takeEvidenceRewrite("t1",
+				PromptHelper.buildEvidenceQueryRewritePrompt("(无)", "订单总额是多少")));
+		assertNotNull(manager.takeEvidenceRewrite("t1",
+				PromptHelper.buildEvidenceQueryRewritePrompt("(无)", "按月统计订单总额")));
+	}
+
+	@Test
+	void testDiscardDropsUnusedWork() {
+		manager.start("t1", "1", "订单总额是多少", "(无)");
+		manager.discard("t1");
+		String prompt = PromptHelper.buildEvidenceQueryRewritePrompt("(无)", "订单总额是多少");
+
+		assertNull(manager.takeEvidenceRewrite("t1", prompt));
+		assertNull(manager.takeSchemaRecall("t1", "1", "订单总额是多少"));
+	}
+
+	@Test
+	void testDisabledDoesNothing() {
+		manager = new SpeculativeRecallManager(new DataAgentProperties(), llmService, schemaService, executor);
+		manager.start("t1", "1", "订单总额是多少", "(无)");
+
+		assertNull(manager.takeEvidenceRewrite("t1",
+				PromptHelper.buildEvidenceQueryRewritePrompt("(无)", "订单总额是多少")));
+		assertNull(manager.takeSchemaRecall("t1", "1", "订单总额是多少"));
+		verifyNoInteractions(llmService, schemaService);
+	}
+
+}
@@ -0,0 +1,92 @@
+/*
+ * Copyright 2024-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.cloud.ai.dataagent.service.knowledge;
+
+import com.alibaba.cloud.ai.dataagent.constant.DocumentMetadataConstant;
+import com.alibaba.cloud.ai.dataagent.entity.AgentKnowledge;
+import com.alibaba.cloud.ai.dataagent.event.KnowledgeRecallChangedEvent;
+import com.alibaba.cloud.ai.dataagent.mapper.AgentKnowledgeMapper;
+import com.alibaba.cloud.ai.dataagent.properties.DataAgentProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * 智能体知识记录缓存的单元测试
+ */
+@ExtendWith(MockitoExtension.class)
+class AgentKnowledgeMetadataCacheTest {
+
+	@Mock
+	private AgentKnowledgeMapper agentKnowledgeMapper;
+
+	private AgentKnowledgeMetadataCache cache;
+
+	@BeforeEach
+	void setUp() {
+		cache = new AgentKnowledgeMetadataCache(agentKnowledgeMapper, new DataAgentProperties());
+	}
+
+	private static AgentKnowledge knowledge(int id, int agentId) {
+		AgentKnowledge knowledge = new AgentKnowledge();
+		knowledge.setId(id);
+		knowledge.setAgentId(agentId);
+		knowledge.setTitle("title-" + id);
+		return knowledge;
+	}
+
+	@Test
+	void testMissingIdsAreLoadedInOneQuery() {
+		when(agentKnowledgeMapper.selectByIds(List.of(1, 2))).thenReturn(List.of(knowledge(1, 7), knowledge(2, 7)));
+		when(agentKnowledgeMapper.selectByIds(List.of(3))).thenReturn(List.of(knowledge(3, 7)));
+
+		assertEquals(2, cache.getKnowledge("7", List.of(1, 2)).size());
+		Map<Integer, AgentKnowledge> result = cache.getKnowledge("7", List.of(1, 2, 3));
+
+		assertEquals("title-3", result.get(3).getTitle());
+		verify(agentKnowledgeMapper, times(1)).selectByIds(List.of(1, 2));
+		verify(agentKnowledgeMapper, times(1)).selectByIds(List.of(3));
+	}
+
+	@Test
+	void testKnowledgeOfOtherAgentIsIgnored() {
+		when(agentKnowledgeMapper.selectByIds(List.of(1))).thenReturn(List.of(knowledge(1, 8)));
+
+		assertTrue(cache.getKnowledge("7", List.of(1)).isEmpty());
+	}
+
+	@Test
+	void testRecallChangedEventInvalidatesAgent() {
+		when(agentKnowledgeMapper.selectByIds(List.of(1))).thenReturn(List.of(knowledge(1, 7)));
+		cache.getKnowledge("7", List.of(1));
+
+		cache.onRecallChanged(new KnowledgeRecallChangedEvent(this, "7", DocumentMetadataConstant.BUSINESS_TERM));
+		cache.getKnowledge("7", List.of(1));
+		cache.onRecallChanged(new KnowledgeRecallChangedEvent(this, "7", DocumentMetadataConstant.AGENT_KNOWLEDGE));
+		cache.getKnowledge("7", List.of(1));
+
+		verify(agentKnowledgeMapper, times(2)).selectByIds(List.of(1));
+	}
+
+}
@@ -0,0 +1,153 @@
+/*
+ * Copyright 2024-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.cloud.ai.dataagent.service.llm;
+
+import com.alibaba.cloud.ai.dataagent.properties.DataAgentProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.ai.embedding.EmbeddingModel;
+
+import static com.alibaba.cloud.ai.dataagent.constant.Constant.EVIDENCE_RECALL_NODE;
+import static com.alibaba.cloud.ai.dataagent.constant.Constant.INTENT_RECOGNITION_NODE;
+import static com.alibaba.cloud.ai.dataagent.constant.Constant.QUERY_ENHANCE_NODE;
+import static com.alibaba.cloud.ai.dataagent.constant.Constant.QUERY_UNDERSTANDING_NODE;
+import static com.alibaba.cloud.ai.dataagent.constant.Constant.SQL_GENERATE_NODE;
+import static com.alibaba.cloud.ai.dataagent.constant.Constant.TABLE_RELATION_NODE;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * LlmResponseCache的单元测试
+ */
+class LlmResponseCacheTest {
+
+	private DataAgentProperties properties;
+
+	private EmbeddingModel embeddingModel;
+
+	private LlmResponseCache cache;
+
+	@BeforeEach
+	void setUp() {
+		properties = new DataAgentProperties();
+		properties.getLlmResponseCache().setEnabled(true);
+		embeddingModel = mock(EmbeddingModel.class);
+		cache = new LlmResponseCache(properties, embeddingModel, new SimpleMeterRegistry());
+	}
+
+	@Test
+	void testOnlyConfiguredNodesAreEnabled() {
+		assertTrue(cache.isEnabled(INTENT_RECOGNITION_NODE));
+		assertFalse(cache.isEnabled(SQL_GENERATE_NODE));
+
+		properties.getLlmResponseCache().setEnabled(false);
+		cache = new LlmResponseCache(properties, embeddingModel, new SimpleMeterRegistry());
+		assertFalse(cache.isEnabled(INTENT_RECOGNITION_NODE));
+	}
+
+	@Test
+	void testExactMatchIsScopedByModelAgentAndNode() {
+		cache.put("m1", "1", INTENT_RECOGNITION_NODE, "prompt", "q", null, "{\"classification\":\"闲聊\"}");
+
+		assertEquals("{\"classification\":\"闲聊\"}", cache.get("m1", "1", INTENT_RECOGNITION_NODE, "prompt", "q", null));
+		assertNull(cache.get("m2", "1", INTENT_RECOGNITION_NODE, "prompt", "q", null));
+		assertNull(cache.get("m1", "2", INTENT_RECOGNITION_NODE, "prompt", "q", null));
+		assertNull(cache.get("m1", "1", QUERY_ENHANCE_NODE, "prompt", "q", null));
+		assertNull(cache.get("m1", "1", INTENT_RECOGNITION_NODE, "other prompt", "q", null));
+		// 未开启相似匹配时不计算向量
+		verifyNoInteractions(embeddingModel);
+	}
+
+	@Test
+	void testSimilarQuestionReusesResponse() {
+		properties.getLlmResponseCache().setSimilarityThreshold(0.95);
+		cache = new LlmResponseCache(properties, embeddingModel, new SimpleMeterRegistry());
+		when(embeddingModel.embed("查询上月订单总额")).thenReturn(new float[] { 1f, 0f });
+		when(embeddingModel.embed("查询上个月的订单总额")).thenReturn(new float[] { 0.99f, 0.05f });
+		when(embeddingModel.embed("统计用户数量")).thenReturn(new float[] { 0f, 1f });
+
+		cache.put("m1", "1", EVIDENCE_RECALL_NODE, "prompt: 查询上月订单总额", "查询上月订单总额", null, "rewritten");
+
+		assertEquals("rewritten",
+				cache.get("m1", "1", EVIDENCE_RECALL_NODE, "prompt: 查询上个月的订单总额", "查询上个月的订单总额", null));
+		assertNull(cache.get("m1", "2", EVIDENCE_RECALL_NODE, "prompt: 查询上个月的订单总额", "查询上个月的订单总额", null));
+		assertNull(cache.get("m1", "1", EVIDENCE_RECALL_NODE, "prompt: 统计用户数量", "统计用户数量", null));
+		// 只对用户问题计算向量，不对完整提示词计算
+		verify(embeddingModel, never()).embed("prompt: 查询上月订单总额");
+	}
+
+	@Test
+	void testSimilarityIsScopedByMultiTurnContext() {
+		properties.getLlmResponseCache().setSimilarityThreshold(0.95);
+		cache = new LlmResponseCache(properties, embeddingModel, new SimpleMeterRegistry());
+		when(embeddingModel.embed("按地区拆分")).thenReturn(new float[] { 1f, 0f });
+		when(embeddingModel.embed("按地区拆分一下")).thenReturn(new float[] { 0.99f, 0.05f });
+		String ordersContext = "用户: 查询上月订单总额";
+		String usersContext = "用户: 统计用户数量";
+
+		cache.put("m1", "1", INTENT_RECOGNITION_NODE, "prompt: 订单 按地区拆分", "按地区拆分", ordersContext, "orders");
+
+		// 同样的追问在另一段对话中含义不同，不能复用
+		assertNull(cache.get("m1", "1", INTENT_RECOGNITION_NODE, "prompt: 用户 按地区拆分一下", "按地区拆分一下", usersContext));
+		assertNull(cache.get("m1", "1", INTENT_RECOGNITION_NODE, "prompt: 按地区拆分一下", "按地区拆分一下", null));
+		assertEquals("orders", cache.get("m1", "1", INTENT_RECOGNITION_NODE, "prompt: 订单 按地区拆分一下", "按地区拆分一下",
+				ordersContext));
+
+		// 无上下文的占位符等同于没有上下文
+		cache.put("m1", "1", INTENT_RECOGNITION_NODE, "prompt: 按地区拆分", "按地区拆分", "(无)", "none");
+		assertEquals("none", cache.get("m1", "1", INTENT_RECOGNITION_NODE, "prompt: 按地区拆分一下", "按地区拆分一下", null));
+	}
+
+	@Test
+	void testQueryEnhanceIsNotCachedByDefault() {
+		properties.getLlmResponseCache().setSimilarityThreshold(0.95);
+		cache = new LlmResponseCache(properties, embeddingModel, new SimpleMeterRegistry());
+
+		// 查询增强和查询理解的提示词包含当前时间，默认不缓存也不做相似匹配
+		assertFalse(cache.isEnabled(QUERY_ENHANCE_NODE));
+		assertFalse(cache.isEnabled(QUERY_UNDERSTANDING_NODE));
+		cache.put("m1", "1", QUERY_ENHANCE_NODE, "prompt: 查询上月订单总额", "查询上月订单总额", null, "enhanced");
+		assertNull(cache.get("m1", "1", QUERY_ENHANCE_NODE, "prompt: 查询上个月的订单总额", "查询上个月的订单总额", null));
+		verifyNoInteractions(embeddingModel);
+	}
+
+	@Test
+	void testSimilarityIsLimitedToShortPromptNodes() {
+		properties.getLlmResponseCache().setSimilarityThreshold(0.95);
+		cache = new LlmResponseCache(properties, embeddingModel, new SimpleMeterRegistry());
+
+		cache.put("m1", "1", TABLE_RELATION_NODE, "schema prompt", "查询上月订单总额", null, "[\"orders\"]");
+
+		assertNull(cache.get("m1", "1", TABLE_RELATION_NODE, "other schema prompt", "查询上月订单总额", null));
+		verifyNoInteractions(embeddingModel);
+	}
+
+	@Test
+	void testEvictsLeastRecentlyUsed() {
+		properties.getLlmResponseCache().setMaxEntries(2);
+		cache = new LlmResponseCache(properties, embeddingModel, new SimpleMeterRegistry());
+		cache.put("m1", "1", QUERY_ENHANCE_NODE, "a", null, null, "A");
+		cache.put("m1", "1", QUERY_ENHANCE_NODE, "b", null, null, "B");
+		cache.get("m1", "1", QUERY_ENHANCE_NODE, "a", null, null);
+		cache.put("m1", "1", QUERY_ENHANCE_NODE, "c", null, null, "C");
+
+		assertEquals("A", cache.get("m1", "1", QUERY_ENHANCE_NODE, "a", null, null));
+		assertNull(cache.get("m1", "1", QUERY_ENHANCE_NODE, "b", null, null));
+		assertEquals("C", cache.get("m1", "1", QUERY_ENHANCE_NODE, "c", null, null));
+	}
+
+}
@@ -0,0 +1,111 @@
+/*
+ * Copyright 2024-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.cloud.ai.dataagent.service.schema;
+
+import com.alibaba.cloud.ai.dataagent.enums.SchemaInitJobStatus;
+import com.alibaba.cloud.ai.dataagent.enums.SchemaInitPhase;
+import com.alibaba.cloud.ai.dataagent.properties.DataAgentProperties;
+import com.alibaba.cloud.ai.dataagent.service.datasource.AgentDatasourceService;
+import com.alibaba.cloud.ai.dataagent.vo.SchemaInitJobVO;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+/**
+ * SchemaInitJobService 单元测试，覆盖进度上报、同一智能体任务去重和取消
+ */
+@ExtendWith(MockitoExtension.class)
+class SchemaInitJobServiceTest {
+
+	@Mock
+	private AgentDatasourceService agentDatasourceService;
+
+	private SchemaInitJobService jobService;
+
+	@BeforeEach
+	void setUp() {
+		jobService = new SchemaInitJobService(agentDatasourceService, new DataAgentProperties());
+	}
+
+	@AfterEach
+	void tearDown() {
+		jobService.destroy();
+	}
+
+	@Test
+	void testJobReportsProgressAndSucceeds() throws Exception {
+		CountDownLatch release = new CountDownLatch(1);
+		when(agentDatasourceService.initializeSchemaForAgentWithDatasource(eq(1L), eq(10), anyList(), any()))
+			.thenAnswer(invocation -> {
+				SchemaInitProgress progress = invocation.getArgument(3);
+				progress.onProgress(SchemaInitPhase.SAMPLES, 1, 2);
+				release.await(5, TimeUnit.SECONDS);
+				progress.onProgress(SchemaInitPhase.EMBEDDING, 2, 2);
+				return true;
+			});
+
+		SchemaInitJobVO job = jobService.submit(1L, 10, List.of("a", "b"));
+		// 同一智能体已有进行中的任务时返回该任务
+		assertEquals(job.getJobId(), jobService.submit(1L, 10, List.of("a")).getJobId());
+
+		release.countDown();
+		SchemaInitJobVO result = jobService.completion(job.getJobId()).get(5, TimeUnit.SECONDS);
+		assertEquals(SchemaInitJobStatus.SUCCEEDED, result.getStatus());
+		assertEquals(SchemaInitPhase.DONE, result.getPhase());
+		assertEquals(100, result.getPercent());
+		assertEquals(1, jobService.listJobs(1L).size());
+
+		// 任务结束后可以再次提交
+		assertNotEquals(job.getJobId(), jobService.submit(1L, 10, List.of("a")).getJobId());
+	}
+
+	@Test
+	void testCancelRunningJob() throws Exception {
+		CountDownLatch started = new CountDownLatch(1);
+		when(agentDatasourceService.initializeSchemaForAgentWithDatasource(eq(2L), eq(10), anyList(), any()))
+			.thenAnswer(invocation -> {
+				SchemaInitProgress progress = invocation.getArgument(3);
+				started.countDown();
+				while (!progress.isCancelled()) {
+					TimeUnit.MILLISECONDS.sleep(10);
+				}
+				throw new CancellationException();
+			});
+
+		SchemaInitJobVO job = jobService.submit(2L, 10, List.of("a"));
+		assertTrue(started.await(5, TimeUnit.SECONDS));
+		assertTrue(jobService.cancel(job.getJobId()).isPresent());
+
+		SchemaInitJobVO result = jobService.completion(job.getJobId()).get(5, TimeUnit.SECONDS);
+		assertEquals(SchemaInitJobStatus.CANCELLED, result.getStatus());
+		assertFalse(jobService.cancel("unknown").isPresent());
+	}
+
+}
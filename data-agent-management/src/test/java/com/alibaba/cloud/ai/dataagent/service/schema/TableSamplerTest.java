@@ -0,0 +1,64 @@
+/*
+ * Copyright 2024-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.cloud.ai.dataagent.service.schema;
+
+import com.alibaba.cloud.ai.dataagent.bo.DbConfigBO;
+import com.alibaba.cloud.ai.dataagent.bo.schema.ColumnInfoBO;
+import com.alibaba.cloud.ai.dataagent.bo.schema.ColumnarResultSetBO;
+import com.alibaba.cloud.ai.dataagent.connector.accessor.AccessorSession;
+import com.alibaba.cloud.ai.dataagent.properties.DataAgentProperties;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * TableSampler的单元测试
+ */
+class TableSamplerTest {
+
+	@Test
+	void testQueryTimeoutFollowsRemainingBudget() {
+		long now = System.nanoTime();
+
+		assertEquals(2, TableSampler.queryTimeoutSeconds(now + TimeUnit.MILLISECONDS.toNanos(1500), now));
+		assertEquals(1, TableSampler.queryTimeoutSeconds(now + TimeUnit.MILLISECONDS.toNanos(200), now));
+		assertEquals(1, TableSampler.queryTimeoutSeconds(now - TimeUnit.SECONDS.toNanos(1), now));
+		assertEquals(30, TableSampler.queryTimeoutSeconds(now + TimeUnit.MINUTES.toNanos(5), now));
+	}
+
+	@Test
+	void testSampleAndProbeStatementsUseBudgetTimeout() throws Exception {
+		DataAgentProperties properties = new DataAgentProperties();
+		properties.getSampling().setTableTimeBudgetMillis(2000);
+		AccessorSession session = mock(AccessorSession.class);
+		DbConfigBO dbConfig = DbConfigBO.builder().url("jdbc:test").username("sa").dialectType("unknown").build();
+		when(session.getDbConfig()).thenReturn(dbConfig);
+		when(session.executeSqlAndReturnColumnar(any(), anyInt()))
+			.thenReturn(new ColumnarResultSetBO(List.of("status"), new String[][] { { "open" } }));
+		List<ColumnInfoBO> columns = List.of(ColumnInfoBO.builder().name("status").type("varchar").build());
+
+		new TableSampler(properties).sample(session, "orders", columns);
+
+		// 读取前几行 + 低基数列去重探测
+		verify(session, times(2)).executeSqlAndReturnColumnar(any(), intThat(timeout -> timeout >= 1 && timeout <= 2));
+		verify(session, never()).executeSqlAndReturnColumnar(any());
+	}
+
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright 2024-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.cloud.ai.dataagent.service.vectorstore;
+
+import com.alibaba.cloud.ai.dataagent.properties.DataAgentProperties;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.ai.document.Document;
+import org.springframework.ai.vectorstore.SearchRequest;
+import org.springframework.ai.vectorstore.VectorStore;
+import org.springframework.ai.vectorstore.filter.Filter;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * AgentVectorStoreServiceImpl的单元测试
+ */
+class AgentVectorStoreServiceImplTest {
+
+	private ExecutorService executor;
+
+	private VectorStore vectorStore;
+
+	private AgentVectorStoreServiceImpl service;
+
+	@BeforeEach
+	void setUp() {
+		executor = Executors.newFixedThreadPool(4);
+		vectorStore = mock(VectorStore.class);
+		DynamicFilterService dynamicFilterService = mock(DynamicFilterService.class);
+		// 以向量类型作为过滤条件的值，便于按类型返回不同的文档
+		when(dynamicFilterService.buildDynamicFilter(eq("1"), anyString()))
+			.thenAnswer(invocation -> new Filter.Expression(Filter.ExpressionType.EQ, new Filter.Key("vectorType"),
+					new Filter.Value(invocation.getArgument(1))));
+		service = new AgentVectorStoreServiceImpl(vectorStore, Optional.empty(), new DataAgentProperties(),
+				dynamicFilterService, executor);
+	}
+
+	@AfterEach
+	void tearDown() {
+		executor.shutdownNow();
+	}
+
+	@Test
+	void testResultsGroupedInRequestedOrder() {
+		when(vectorStore.similaritySearch(any(SearchRequest.class))).thenAnswer(invocation -> {
+			String vectorType = vectorType(invocation.getArgument(0));
+			if ("table".equals(vectorType)) {
+				// 最先提交的类型最后完成，结果顺序仍与请求一致
+				Thread.sleep(50);
+			}
+			return List.of(new Document(vectorType + "-doc"));
+		});
+
+		Map<String, List<Document>> results = service.getDocumentsForAgent("1", "销量",
+				List.of("table", "column", "knowledge"));
+
+		assertEquals(List.of("table", "column", "knowledge"), List.copyOf(results.keySet()));
+		results.forEach((vectorType, documents) -> assertEquals(vectorType + "-doc", documents.get(0).getText()));
+	}
+
+	@Test
+	void testFailurePropagates() {
+		IllegalStateException failure = new IllegalStateException("vector store unavailable");
+		when(vectorStore.similaritySearch(any(SearchRequest.class))).thenAnswer(invocation -> {
+			if ("column".equals(vectorType(invocation.getArgument(0)))) {
+				throw failure;
+			}
+			return List.of();
+		});
+
+		IllegalStateException thrown = assertThrows(IllegalStateException.class,
+				() -> service.getDocumentsForAgent("1", "销量", List.of("table", "column")));
+		assertSame(failure, thrown);
+	}
+
+	private static String vectorType(SearchRequest request) {
+		return String.valueOf(((Filter.Value) request.getFilterExpression().right()).value());
+	}
+
+}
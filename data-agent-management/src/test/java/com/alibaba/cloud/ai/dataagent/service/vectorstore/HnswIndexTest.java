@@ -0,0 +1,141 @@
+/*
+ * Copyright 2024-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.cloud.ai.dataagent.service.vectorstore;
+
+import com.alibaba.cloud.ai.dataagent.util.VectorUtil;
+import org.junit.jupiter.api.Test;
+
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * int8 量化 HNSW 近似索引的单元测试
+ */
+class HnswIndexTest {
+
+	private final Random random = new Random(7);
+
+	private float[][] randomVectors(int count, int dim) {
+		float[][] vectors = new float[count][dim];
+		for (float[] vector : vectors) {
+			for (int i = 0; i < dim; i++) {
+				vector[i] = (float) random.nextGaussian();
+			}
+		}
+		return vectors;
+	}
+
+	private HnswIndex newIndex(float[][] vectors) {
+		HnswIndex index = new HnswIndex(16, 100);
+		for (int i = 0; i < vectors.length; i++) {
+			index.add("d" + i, vectors[i]);
+		}
+		return index;
+	}
+
+	private List<String> exactTop(float[][] vectors, float[] query, int k) {
+		return IntStream.range(0, vectors.length)
+			.boxed()
+			.sorted(Comparator.comparingDouble((Integer i) -> VectorUtil.cosine(query, vectors[i])).reversed())
+			.limit(k)
+			.map(i -> "d" + i)
+			.toList();
+	}
+
+	private double score(float[][] vectors, float[] query, String id) {
+		return VectorUtil.cosine(query, vectors[Integer.parseInt(id.substring(1))]);
+	}
+
+	@Test
+	void testRecallAgainstBruteForce() {
+		float[][] vectors = randomVectors(1000, 64);
+		HnswIndex index = newIndex(vectors);
+		int hits = 0;
+		int queries = 20;
+		for (int q = 0; q < queries; q++) {
+			float[] query = randomVectors(1, 64)[0];
+			// 取 4 倍候选后按原始向量重排，与存储层的检索方式一致
+			List<String> shortlist = index.search(query, 40, 64, id -> true, vectors.length);
+			List<String> reranked = shortlist.stream()
+				.sorted(Comparator.comparingDouble((String id) -> score(vectors, query, id)).reversed())
+				.limit(10)
+				.toList();
+			Set<String> expected = new HashSet<>(exactTop(vectors, query, 10));
+			hits += (int) reranked.stream().filter(expected::contains).count();
+		}
+		double recall = hits / (queries * 10.0);
+		assertTrue(recall >= 0.9, "recall@10 = " + recall);
+	}
+
+	@Test
+	void testIndexIsSmallerThanFloatVectors() {
+		int count = 500;
+		int dim = 512;
+		HnswIndex index = newIndex(randomVectors(count, dim));
+
+		// 量化码每维 1 字节，加上图的链接后仍不到原始 float 向量的一半
+		assertTrue(index.estimatedBytes() < (long) count * dim * Float.BYTES / 2,
+				"estimated bytes = " + index.estimatedBytes());
+	}
+
+	@Test
+	void testSearchOnlyReturnsAcceptedIds() {
+		float[][] vectors = randomVectors(500, 32);
+		HnswIndex index = newIndex(vectors);
+
+		List<String> found = index.search(vectors[0], 10, 64, id -> id.endsWith("0"), vectors.length);
+
+		assertEquals(10, found.size());
+		assertTrue(found.stream().allMatch(id -> id.endsWith("0")));
+		assertEquals("d0", found.get(0));
+	}
+
+	@Test
+	void testSearchGivesUpWhenVisitLimitIsExceeded() {
+		float[][] vectors = randomVectors(500, 32);
+		HnswIndex index = newIndex(vectors);
+
+		// 几乎所有节点都被过滤时放弃近似检索，由调用方精确计算
+		assertNull(index.search(vectors[0], 10, 64, "d499"::equals, 50));
+	}
+
+	@Test
+	void testRemovedAndReplacedVectors() {
+		float[][] vectors = randomVectors(300, 32);
+		HnswIndex index = newIndex(vectors);
+
+		index.remove("d0");
+		assertFalse(index.search(vectors[0], 5, 64, id -> true, vectors.length).contains("d0"));
+
+		index.add("d1", vectors[2]);
+		assertEquals(299, index.size());
+		assertTrue(index.search(vectors[2], 2, 64, id -> true, vectors.length).containsAll(List.of("d1", "d2")));
+
+		// 删除超过半数后重建图，剩余文档仍可检索
+		for (int i = 2; i < 250; i++) {
+			index.remove("d" + i);
+		}
+		assertEquals(51, index.size());
+		assertEquals("d299", index.search(vectors[299], 1, 64, id -> true, vectors.length).get(0));
+	}
+
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright 2024-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.cloud.ai.dataagent.service.vectorstore;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.ai.document.Document;
+import org.springframework.ai.embedding.EmbeddingModel;
+import org.springframework.ai.vectorstore.SearchRequest;
+import org.springframework.ai.vectorstore.SimpleVectorStoreContent;
+import org.springframework.ai.vectorstore.filter.FilterExpressionBuilder;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * 带近似索引的内存向量库检索的单元测试
+ */
+class IndexedSimpleVectorStoreTest {
+
+	private static final int DIM = 32;
+
+	private final Random random = new Random(11);
+
+	private final EmbeddingModel embeddingModel = mock(EmbeddingModel.class);
+
+	private Map<String, SimpleVectorStoreContent> documents(int count) {
+		Map<String, SimpleVectorStoreContent> documents = new HashMap<>();
+		for (int i = 0; i < count; i++) {
+			float[] embedding = new float[DIM];
+			for (int d = 0; d < DIM; d++) {
+				embedding[d] = (float) random.nextGaussian();
+			}
+			String id = "d" + i;
+			documents.put(id, new SimpleVectorStoreContent(id, "text-" + id, Map.of("agentId", String.valueOf(i % 4)),
+					embedding));
+		}
+		return documents;
+	}
+
+	private List<String> search(IndexedSimpleVectorStore store, SearchRequest request) {
+		return store.doSimilaritySearch(request).stream().map(Document::getId).toList();
+	}
+
+	@Test
+	void testApproximateSearchMatchesExactSearch() {
+		Map<String, SimpleVectorStoreContent> documents = documents(2000);
+		IndexedSimpleVectorStore exact = new IndexedSimpleVectorStore(embeddingModel);
+		IndexedSimpleVectorStore approximate = new IndexedSimpleVectorStore(embeddingModel,
+				new IndexedSimpleVectorStore.AnnOptions(16, 100, 64, 4, 100));
+		exact.putAll(documents);
+		approximate.putAll(documents);
+		float[] query = documents.get("d42").getEmbedding();
+		when(embeddingModel.embed("q")).thenReturn(query);
+
+		SearchRequest request = SearchRequest.builder()
+			.query("q")
+			.topK(5)
+			.similarityThresholdAll()
+			.filterExpression(new FilterExpressionBuilder().eq("agentId", "2").build())
+			.build();
+		List<String> approximateIds = search(approximate, request);
+
+		// 近似候选按原始向量重排，分数与精确检索一致
+		assertEquals("d42", approximateIds.get(0));
+		assertEquals(5, approximateIds.size());
+		assertTrue(approximateIds.stream().allMatch(id -> documents.get(id).getMetadata().get("agentId").equals("2")));
+		List<String> exactIds = search(exact, request);
+		assertTrue(exactIds.stream().filter(approximateIds::contains).count() >= 4);
+	}
+
+	@Test
+	void testDeletedDocumentsAreNotReturned() {
+		IndexedSimpleVectorStore store = new IndexedSimpleVectorStore(embeddingModel,
+				new IndexedSimpleVectorStore.AnnOptions(16, 100, 64, 4, 100));
+		Map<String, SimpleVectorStoreContent> documents = documents(500);
+		store.putAll(documents);
+		when(embeddingModel.embed("q")).thenReturn(documents.get("d7").getEmbedding());
+
+		store.doDelete(List.of("d7"));
+
+		assertFalse(search(store, SearchRequest.builder().query("q").topK(5).similarityThresholdAll().build())
+			.contains("d7"));
+	}
+
+}
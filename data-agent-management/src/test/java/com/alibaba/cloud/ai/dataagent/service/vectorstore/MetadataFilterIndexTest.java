@@ -0,0 +1,84 @@
+/*
+ * Copyright 2024-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.cloud.ai.dataagent.service.vectorstore;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.ai.vectorstore.filter.Filter;
+import org.springframework.ai.vectorstore.filter.FilterExpressionBuilder;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 向量元数据过滤索引的单元测试
+ */
+class MetadataFilterIndexTest {
+
+	private final FilterExpressionBuilder b = new FilterExpressionBuilder();
+
+	private MetadataFilterIndex newIndex() {
+		MetadataFilterIndex index = new MetadataFilterIndex(List.of("agentId", "vectorType", "agentKnowledgeId"));
+		index.add("t1", Map.of("agentId", "1", "vectorType", "table", "name", "orders"));
+		index.add("c1", Map.of("agentId", "1", "vectorType", "column", "name", "orders.id"));
+		index.add("k1", Map.of("agentId", "1", "vectorType", "agentKnowledge", "agentKnowledgeId", 10));
+		index.add("k2", Map.of("agentId", "2", "vectorType", "agentKnowledge", "agentKnowledgeId", 20));
+		return index;
+	}
+
+	@Test
+	void testCandidatesNarrowByIndexedKeys() {
+		MetadataFilterIndex index = newIndex();
+
+		assertEquals(Set.of("t1"), index.candidates(b.and(b.eq("agentId", "1"), b.eq("vectorType", "table")).build()));
+		// 数值类型按值比较，Long 条件可以命中 Integer 元数据
+		assertEquals(Set.of("k1", "k2"), index.candidates(b.in("agentKnowledgeId", 10L, 20L).build()));
+		assertEquals(Set.of("t1", "k2"),
+				index.candidates(b.or(b.eq("vectorType", "table"), b.eq("agentId", "2")).build()));
+		// 非索引字段无法缩小范围
+		assertNull(index.candidates(b.eq("name", "orders").build()));
+		assertEquals(Set.of("t1", "c1", "k1"),
+				index.candidates(b.and(b.eq("agentId", "1"), b.eq("name", "orders")).build()));
+	}
+
+	@Test
+	void testRemoveDropsPostings() {
+		MetadataFilterIndex index = newIndex();
+		index.remove("k1", Map.of("agentId", "1", "vectorType", "agentKnowledge", "agentKnowledgeId", 10));
+
+		assertEquals(Set.of("t1", "c1"), index.candidates(b.eq("agentId", "1").build()));
+		assertTrue(index.candidates(b.eq("agentKnowledgeId", 10).build()).isEmpty());
+	}
+
+	@Test
+	void testMatches() {
+		Map<String, Object> metadata = Map.of("agentId", "1", "vectorType", "column", "score", 5);
+
+		assertTrue(MetadataFilterIndex.matches(b.and(b.eq("agentId", "1"), b.ne("vectorType", "table")).build(),
+				metadata));
+		assertTrue(MetadataFilterIndex.matches(b.and(b.gte("score", 5), b.lt("score", 6.5)).build(), metadata));
+		assertTrue(MetadataFilterIndex.matches(b.nin("vectorType", "table", "agentKnowledge").build(), metadata));
+		assertFalse(MetadataFilterIndex.matches(b.not(b.eq("agentId", "1")).build(), metadata));
+		assertFalse(MetadataFilterIndex.matches(b.eq("name", "orders").build(), metadata));
+		Filter.Expression grouped = b.and(b.group(b.or(b.eq("vectorType", "table"), b.eq("vectorType", "column"))),
+				b.eq("agentId", "1"))
+			.build();
+		assertTrue(MetadataFilterIndex.matches(grouped, metadata));
+	}
+
+}
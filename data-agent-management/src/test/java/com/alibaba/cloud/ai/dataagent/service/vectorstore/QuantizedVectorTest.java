@@ -0,0 +1,66 @@
+/*
+ * Copyright 2024-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.cloud.ai.dataagent.service.vectorstore;
+
+import com.alibaba.cloud.ai.dataagent.util.VectorUtil;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * int8 量化向量的单元测试
+ */
+class QuantizedVectorTest {
+
+	@Test
+	void testApproximateCosineIsCloseToExactCosine() {
+		Random random = new Random(3);
+		for (int round = 0; round < 20; round++) {
+			float[] a = new float[256];
+			float[] b = new float[256];
+			for (int i = 0; i < a.length; i++) {
+				a[i] = (float) random.nextGaussian();
+				b[i] = (float) (a[i] * 0.5 + random.nextGaussian());
+			}
+			double approximate = QuantizedVector.of(a).approximateCosine(QuantizedVector.of(b));
+			assertEquals(VectorUtil.cosine(a, b), approximate, 0.02);
+		}
+	}
+
+	@Test
+	void testCodesUseOneBytePerDimension() {
+		QuantizedVector vector = QuantizedVector.of(new float[] { 0.5f, -1.0f, 0.25f });
+
+		assertArrayEquals(new byte[] { 64, -127, 32 }, vector.codes());
+	}
+
+	@Test
+	void testZeroVector() {
+		QuantizedVector zero = QuantizedVector.of(new float[] { 0, 0 });
+
+		assertEquals(0, zero.approximateCosine(QuantizedVector.of(new float[] { 1, 0 })));
+	}
+
+	@Test
+	void testDimensionMismatch() {
+		QuantizedVector a = QuantizedVector.of(new float[] { 1, 0 });
+
+		assertThrows(IllegalArgumentException.class, () -> a.approximateCosine(QuantizedVector.of(new float[] { 1 })));
+	}
+
+}
@@ -0,0 +1,94 @@
+/*
+ * Copyright 2024-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.cloud.ai.dataagent.service.vectorstore;
+
+import com.alibaba.cloud.ai.dataagent.constant.DocumentMetadataConstant;
+import com.alibaba.cloud.ai.dataagent.event.KnowledgeRecallChangedEvent;
+import com.alibaba.cloud.ai.dataagent.mapper.AgentKnowledgeMapper;
+import com.alibaba.cloud.ai.dataagent.mapper.BusinessKnowledgeMapper;
+import com.alibaba.cloud.ai.dataagent.properties.DataAgentProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * 召回知识ID缓存的单元测试
+ */
+@ExtendWith(MockitoExtension.class)
+class RecalledKnowledgeIdCacheTest {
+
+	@Mock
+	private AgentKnowledgeMapper agentKnowledgeMapper;
+
+	@Mock
+	private BusinessKnowledgeMapper businessKnowledgeMapper;
+
+	private RecalledKnowledgeIdCache cache;
+
+	@BeforeEach
+	void setUp() {
+		cache = new RecalledKnowledgeIdCache(agentKnowledgeMapper, businessKnowledgeMapper, new DataAgentProperties());
+	}
+
+	@Test
+	void testIdsAreCachedPerAgent() {
+		when(agentKnowledgeMapper.selectRecalledKnowledgeIds(1)).thenReturn(List.of(10, 11));
+		when(agentKnowledgeMapper.selectRecalledKnowledgeIds(2)).thenReturn(List.of(20));
+
+		assertEquals(List.of(10, 11), cache.getRecalledAgentKnowledgeIds("1"));
+		assertEquals(List.of(10, 11), cache.getRecalledAgentKnowledgeIds("1"));
+		assertEquals(List.of(20), cache.getRecalledAgentKnowledgeIds("2"));
+
+		verify(agentKnowledgeMapper, times(1)).selectRecalledKnowledgeIds(1);
+		verify(agentKnowledgeMapper, times(1)).selectRecalledKnowledgeIds(2);
+	}
+
+	@Test
+	void testRecallChangedEventInvalidatesOnlyThatType() {
+		when(agentKnowledgeMapper.selectRecalledKnowledgeIds(1)).thenReturn(List.of(10));
+		when(businessKnowledgeMapper.selectRecalledKnowledgeIds(1L)).thenReturn(List.of(100L), List.of(100L, 101L));
+		cache.getRecalledAgentKnowledgeIds("1");
+		cache.getRecalledBusinessTermIds("1");
+
+		cache.onRecallChanged(new KnowledgeRecallChangedEvent(this, "1", DocumentMetadataConstant.BUSINESS_TERM));
+
+		assertEquals(List.of(100L, 101L), cache.getRecalledBusinessTermIds("1"));
+		assertEquals(List.of(10), cache.getRecalledAgentKnowledgeIds("1"));
+		verify(businessKnowledgeMapper, times(2)).selectRecalledKnowledgeIds(1L);
+		verify(agentKnowledgeMapper, times(1)).selectRecalledKnowledgeIds(1);
+	}
+
+	@Test
+	void testZeroTtlDisablesCache() {
+		DataAgentProperties properties = new DataAgentProperties();
+		properties.getVectorStore().setRecalledIdCacheTtlSeconds(0);
+		cache = new RecalledKnowledgeIdCache(agentKnowledgeMapper, businessKnowledgeMapper, properties);
+		when(agentKnowledgeMapper.selectRecalledKnowledgeIds(1)).thenReturn(List.of(10));
+
+		cache.getRecalledAgentKnowledgeIds("1");
+		cache.getRecalledAgentKnowledgeIds("1");
+
+		verify(agentKnowledgeMapper, times(2)).selectRecalledKnowledgeIds(1);
+	}
+
+}
@@ -0,0 +1,46 @@
+/*
+ * Copyright 2024-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.cloud.ai.dataagent.service.vectorstore;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 嵌入写入限流的单元测试
+ */
+class TokenBucketRateLimiterTest {
+
+	@Test
+	void testBucketRefillsAtConfiguredRate() {
+		AtomicLong now = new AtomicLong();
+		TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(2, now::get);
+
+		// 初始桶满，允许一秒内的突发
+		assertEquals(0, limiter.tryReserve());
+		assertEquals(0, limiter.tryReserve());
+		long wait = limiter.tryReserve();
+		assertEquals(TimeUnit.MILLISECONDS.toNanos(500), wait);
+
+		now.addAndGet(wait);
+		assertEquals(0, limiter.tryReserve());
+		assertTrue(limiter.tryReserve() > 0);
+	}
+
+}
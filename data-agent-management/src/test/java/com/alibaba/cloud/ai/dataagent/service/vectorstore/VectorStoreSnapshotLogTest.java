@@ -0,0 +1,154 @@
+/*
+ * Copyright 2024-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.cloud.ai.dataagent.service.vectorstore;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.ai.vectorstore.SimpleVectorStoreContent;
+
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * VectorStoreSnapshotLog 单元测试，覆盖追加写入、重启加载、残缺记录截断、压缩和嵌入模型切换
+ */
+class VectorStoreSnapshotLogTest {
+
+	private static final String MODEL = "1|openai|https://api.example.com|text-embedding-3-small";
+
+	@TempDir
+	Path tempDir;
+
+	@Test
+	void testAppendAndReload() throws Exception {
+		Path file = tempDir.resolve("vectors.bin");
+		try (VectorStoreSnapshotLog log = new VectorStoreSnapshotLog(file, MODEL)) {
+			assertTrue(log.load().isEmpty());
+			log.appendPut(List.of(content("a", 1f), content("b", 2f)));
+			log.appendDelete(List.of("a"));
+			log.appendPut(List.of(content("b", 3f)));
+		}
+
+		try (VectorStoreSnapshotLog log = new VectorStoreSnapshotLog(file, MODEL)) {
+			Map<String, SimpleVectorStoreContent> documents = log.load();
+			assertEquals(1, documents.size());
+			SimpleVectorStoreContent b = documents.get("b");
+			assertEquals("text-b", b.getText());
+			assertEquals("1", b.getMetadata().get("agentId"));
+			assertEquals(7, b.getMetadata().get("rank"));
+			assertArrayEquals(new float[] { 3f, -3f, 0.5f }, b.getEmbedding());
+			assertEquals(4, log.getRecordCount());
+		}
+	}
+
+	@Test
+	void testTornRecordIsTruncated() throws Exception {
+		Path file = tempDir.resolve("vectors.bin");
+		try (VectorStoreSnapshotLog log = new VectorStoreSnapshotLog(file, MODEL)) {
+			log.load();
+			log.appendPut(List.of(content("a", 1f), content("b", 2f)));
+		}
+		// 模拟写入最后一条记录时进程退出
+		long size = Files.size(file);
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+			channel.truncate(size - 5);
+		}
+
+		try (VectorStoreSnapshotLog log = new VectorStoreSnapshotLog(file, MODEL)) {
+			Map<String, SimpleVectorStoreContent> documents = log.load();
+			assertEquals(List.of("a"), List.copyOf(documents.keySet()));
+			log.appendPut(List.of(content("c", 4f)));
+		}
+		try (VectorStoreSnapshotLog log = new VectorStoreSnapshotLog(file, MODEL)) {
+			assertEquals(List.of("a", "c"), List.copyOf(log.load().keySet()));
+		}
+	}
+
+	@Test
+	void testCompactKeepsOnlyLiveDocuments() throws Exception {
+		Path file = tempDir.resolve("vectors.bin");
+		try (VectorStoreSnapshotLog log = new VectorStoreSnapshotLog(file, MODEL)) {
+			log.load();
+			for (int i = 0; i < 10; i++) {
+				log.appendPut(List.of(content("a", i)));
+			}
+			long before = Files.size(file);
+			log.compact(List.of(content("a", 9f)));
+			assertEquals(1, log.getRecordCount());
+			assertTrue(Files.size(file) < before);
+			log.appendPut(List.of(content("b", 1f)));
+		}
+		try (VectorStoreSnapshotLog log = new VectorStoreSnapshotLog(file, MODEL)) {
+			Map<String, SimpleVectorStoreContent> documents = log.load();
+			assertEquals(2, documents.size());
+			assertEquals(9f, documents.get("a").getEmbedding()[0]);
+		}
+	}
+
+	@Test
+	void testRejectsForeignFile() throws Exception {
+		Path file = tempDir.resolve("vectors.bin");
+		Files.writeString(file, "not a snapshot");
+		try (VectorStoreSnapshotLog log = new VectorStoreSnapshotLog(file, MODEL)) {
+			assertThrows(VectorStoreSnapshotLog.SnapshotFormatException.class, log::load);
+		}
+	}
+
+	@Test
+	void testSnapshotOfAnotherModelIsDropped() throws Exception {
+		Path file = tempDir.resolve("vectors.bin");
+		try (VectorStoreSnapshotLog log = new VectorStoreSnapshotLog(file, MODEL)) {
+			log.load();
+			log.appendPut(List.of(content("a", 1f)));
+		}
+
+		String otherModel = "2|qwen|https://dashscope.aliyuncs.com|text-embedding-v4";
+		try (VectorStoreSnapshotLog log = new VectorStoreSnapshotLog(file, otherModel)) {
+			assertTrue(log.load().isEmpty());
+			log.appendPut(List.of(content("b", 1f)));
+		}
+		try (VectorStoreSnapshotLog log = new VectorStoreSnapshotLog(file, MODEL)) {
+			assertTrue(log.load().isEmpty());
+		}
+	}
+
+	@Test
+	void testVectorsOfAnotherDimensionDropSnapshot() throws Exception {
+		Path file = tempDir.resolve("vectors.bin");
+		try (VectorStoreSnapshotLog log = new VectorStoreSnapshotLog(file, MODEL)) {
+			log.load();
+			log.appendPut(List.of(content("a", 1f)));
+			log.appendPut(List.of(new SimpleVectorStoreContent("b", "text-b", Map.of(), new float[] { 1f, 2f })));
+		}
+
+		try (VectorStoreSnapshotLog log = new VectorStoreSnapshotLog(file, MODEL)) {
+			assertTrue(log.load().isEmpty());
+			assertEquals(0, log.getRecordCount());
+		}
+	}
+
+	private static SimpleVectorStoreContent content(String id, float value) {
+		return new SimpleVectorStoreContent(id, "text-" + id, Map.of("agentId", "1", "rank", 7),
+				new float[] { value, -value, 0.5f });
+	}
+
+}
@@ -0,0 +1,66 @@
+/*
+ * Copyright 2024-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.cloud.ai.dataagent.util;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.ai.retry.NonTransientAiException;
+import org.springframework.ai.retry.TransientAiException;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.net.ConnectException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * ModelErrorUtil的单元测试
+ */
+class ModelErrorUtilTest {
+
+	@Test
+	void testStatusCode() {
+		assertEquals(429, ModelErrorUtil.statusCode(new RuntimeException(HttpClientErrorException
+			.create(HttpStatus.TOO_MANY_REQUESTS, "Too Many Requests", null, null, null))));
+		assertEquals(401, ModelErrorUtil.statusCode(new NonTransientAiException("401 - invalid api key")));
+		assertEquals(-1, ModelErrorUtil.statusCode(new IllegalStateException("failed after 429 ms")));
+	}
+
+	@Test
+	void testIsRateLimited() {
+		assertTrue(ModelErrorUtil.isRateLimited(new RuntimeException(HttpClientErrorException
+			.create(HttpStatus.TOO_MANY_REQUESTS, "Too Many Requests", null, null, null))));
+		assertTrue(ModelErrorUtil.isRateLimited(new NonTransientAiException("429 - {\"error\":\"quota\"}")));
+		assertFalse(ModelErrorUtil.isRateLimited(new NonTransientAiException("401 - invalid api key")));
+		assertFalse(ModelErrorUtil.isRateLimited(new IllegalStateException("failed after 429 ms")));
+		assertFalse(ModelErrorUtil.isRateLimited(new IllegalStateException()));
+	}
+
+	@Test
+	void testIsEndpointFailure() {
+		assertTrue(ModelErrorUtil.isEndpointFailure(new NonTransientAiException("429 - quota")));
+		assertTrue(ModelErrorUtil.isEndpointFailure(new TransientAiException("503 - service unavailable")));
+		assertTrue(ModelErrorUtil.isEndpointFailure(
+				HttpServerErrorException.create(HttpStatus.BAD_GATEWAY, "Bad Gateway", null, null, null)));
+		assertTrue(ModelErrorUtil.isEndpointFailure(
+				new ResourceAccessException("I/O error", new ConnectException("Connection refused"))));
+		assertFalse(ModelErrorUtil.isEndpointFailure(new NonTransientAiException("400 - invalid request")));
+		assertFalse(ModelErrorUtil.isEndpointFailure(new NonTransientAiException("401 - invalid api key")));
+		assertFalse(ModelErrorUtil.isEndpointFailure(new IllegalArgumentException("prompt is empty")));
+	}
+
+}
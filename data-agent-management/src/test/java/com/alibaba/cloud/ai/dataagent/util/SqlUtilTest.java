@@ -0,0 +1,49 @@
+/*
+ * Copyright 2024-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.cloud.ai.dataagent.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * SqlUtil 抽样SQL构建的单元测试
+ */
+class SqlUtilTest {
+
+	@Test
+	void testBuildSampleSqlByDialect() {
+		assertEquals("SELECT a, b FROM t TABLESAMPLE SYSTEM (10) LIMIT 5",
+				SqlUtil.buildSampleSql("postgresql", "t", "a, b", 5, 10));
+		assertEquals("SELECT TOP 5 a, b FROM t TABLESAMPLE (12.5 PERCENT)",
+				SqlUtil.buildSampleSql("sqlserver", "t", "a, b", 5, 12.5));
+		assertEquals("SELECT a, b FROM t WHERE RAND() < 0.1 LIMIT 5",
+				SqlUtil.buildSampleSql("mysql", "t", "a, b", 5, 10));
+		assertEquals("SELECT * FROM t WHERE RAND() < 0.1 LIMIT 5", SqlUtil.buildSampleSql("h2", "t", "", 5, 10));
+		// 不支持随机抽样的方言由调用方退化为读取前几行
+		assertNull(SqlUtil.buildSampleSql("dameng", "t", "a", 5, 10));
+		assertThrows(IllegalArgumentException.class, () -> SqlUtil.buildSampleSql("mysql", "", "a", 5, 10));
+	}
+
+	@Test
+	void testBuildDistinctSql() {
+		assertEquals("SELECT DISTINCT TOP 3 a FROM t WHERE a IS NOT NULL",
+				SqlUtil.buildDistinctSql("sqlserver", "t", "a", 3));
+		assertEquals("SELECT DISTINCT a FROM t WHERE a IS NOT NULL LIMIT 3",
+				SqlUtil.buildDistinctSql("mysql", "t", "a", 3));
+	}
+
+}
@@ -0,0 +1,42 @@
+/*
+ * Copyright 2024-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.cloud.ai.dataagent.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * VectorUtil的单元测试
+ */
+class VectorUtilTest {
+
+	@Test
+	void testCosine() {
+		float[] vector = { 0.5f, -1f, 2f };
+		assertEquals(1.0, VectorUtil.cosine(vector, new float[] { 1f, -2f, 4f }), 1e-9);
+		assertEquals(-1.0, VectorUtil.cosine(vector, new float[] { -0.5f, 1f, -2f }), 1e-9);
+		assertEquals(0.0, VectorUtil.cosine(new float[] { 1f, 0f }, new float[] { 0f, 1f }), 1e-9);
+	}
+
+	@Test
+	void testZeroVectorAndDimensionMismatch() {
+		assertEquals(0, VectorUtil.cosine(new float[3], new float[] { 1f, 2f, 3f }));
+		assertThrows(IllegalArgumentException.class,
+				() -> VectorUtil.cosine(new float[] { 1f, 2f, 3f }, new float[] { 1f, 2f }));
+	}
+
+}